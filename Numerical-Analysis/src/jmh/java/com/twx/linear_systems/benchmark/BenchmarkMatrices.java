@@ -0,0 +1,114 @@
+// 文件路径: src/jmh/java/com/twx/linear_systems/benchmark/BenchmarkMatrices.java
+package com.twx.linear_systems.benchmark;
+
+import org.apache.commons.math3.linear.Array2DRowRealMatrix;
+import org.apache.commons.math3.linear.RealMatrix;
+
+import java.util.Random;
+
+/**
+ * 基准测试用的系数矩阵 (固定随机种子, 每次生成相同的矩阵).
+ * <ul>
+ *     <li>dense: 元素在 [-1, 1) 上均匀分布的稠密矩阵;</li>
+ *     <li>spd: Bᵀ·B + n·I, 对称正定;</li>
+ *     <li>diagonally-dominant: 随机稠密矩阵, 对角元为该行其余元素绝对值之和加 1 (严格对角占优);</li>
+ *     <li>tridiagonal: 三对角矩阵 tridiag(-1, 4, -1);</li>
+ *     <li>poisson2d: √n × √n 网格上二维泊松方程的五点差分矩阵 (n 须为完全平方数).</li>
+ * </ul>
+ */
+final class BenchmarkMatrices {
+
+    private static final long SEED = 20240517L;
+
+    private BenchmarkMatrices() {
+    }
+
+    static RealMatrix create(String structure, int n) {
+        return switch (structure) {
+            case "dense" -> dense(n);
+            case "spd" -> spd(n);
+            case "diagonally-dominant" -> diagonallyDominant(n);
+            case "tridiagonal" -> tridiagonal(n);
+            case "poisson2d" -> poisson2d(n);
+            default -> throw new IllegalArgumentException("未知的矩阵结构: " + structure);
+        };
+    }
+
+    /**
+     * @return 矩阵的非零元个数 (用于计算迭代法每步的浮点运算次数)
+     */
+    static long nonZeros(RealMatrix a) {
+        long count = 0;
+        for (int i = 0; i < a.getRowDimension(); i++) {
+            for (int j = 0; j < a.getColumnDimension(); j++) {
+                if (a.getEntry(i, j) != 0.0) count++;
+            }
+        }
+        return count;
+    }
+
+    private static double[][] random(int n) {
+        Random random = new Random(SEED);
+        double[][] data = new double[n][n];
+        for (double[] row : data) {
+            for (int j = 0; j < n; j++) {
+                row[j] = 2 * random.nextDouble() - 1;
+            }
+        }
+        return data;
+    }
+
+    private static RealMatrix dense(int n) {
+        return new Array2DRowRealMatrix(random(n), false);
+    }
+
+    private static RealMatrix spd(int n) {
+        double[][] b = random(n);
+        double[][] data = new double[n][n];
+        // Bᵀ·B, 按 k 外层循环保持行连续访问
+        for (int k = 0; k < n; k++) {
+            double[] bk = b[k];
+            for (int i = 0; i < n; i++) {
+                double bki = bk[i];
+                double[] row = data[i];
+                for (int j = 0; j < n; j++) {
+                    row[j] += bki * bk[j];
+                }
+            }
+        }
+        for (int i = 0; i < n; i++) {
+            data[i][i] += n;
+        }
+        return new Array2DRowRealMatrix(data, false);
+    }
+
+    private static RealMatrix diagonallyDominant(int n) {
+        double[][] data = random(n);
+        for (int i = 0; i < n; i++) {
+            double sum = 0.0;
+            for (int j = 0; j < n; j++) {
+                if (j != i) sum += Math.abs(data[i][j]);
+            }
+            data[i][i] = sum + 1.0;
+        }
+        return new Array2DRowRealMatrix(data, false);
+    }
+
+    private static RealMatrix tridiagonal(int n) {
+        RealMatrix a = new Array2DRowRealMatrix(n, n);
+        for (int i = 0; i < n; i++) {
+            a.setEntry(i, i, 4.0);
+            if (i > 0) a.setEntry(i, i - 1, -1.0);
+            if (i < n - 1) a.setEntry(i, i + 1, -1.0);
+        }
+        return a;
+    }
+
+    private static RealMatrix poisson2d(int n) {
+        int m = (int) Math.round(Math.sqrt(n));
+        if (m * m != n) {
+            throw new IllegalArgumentException("poisson2d 要求 n 为完全平方数: " + n);
+        }
+        return StationaryScalingBenchmark.poisson2d(m);
+    }
+}
@@ -0,0 +1,89 @@
+// 文件路径: src/jmh/java/com/twx/linear_systems/benchmark/DirectSolverBenchmark.java
+package com.twx.linear_systems.benchmark;
+
+import com.twx.linear_systems.model.DirectSolution;
+import com.twx.linear_systems.model.DirectSolver;
+import com.twx.linear_systems.model.Direct_impl.CholeskySolver;
+import com.twx.linear_systems.model.Direct_impl.CompletePivotingGaussianSolver;
+import com.twx.linear_systems.model.Direct_impl.CroutSolver;
+import com.twx.linear_systems.model.Direct_impl.GaussianEliminationSolver;
+import org.apache.commons.math3.linear.ArrayRealVector;
+import org.apache.commons.math3.linear.RealMatrix;
+import org.apache.commons.math3.linear.RealVector;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 直接法随阶数 n 与矩阵结构的扩展性, 分别测量记录逐步历史的 solve() 与不记录历史的 solveFast().
+ * avgt 行给出每次求解的耗时; thrpt 行中的辅助计数器 gflops 给出达到的 GFLOP/s (按分解 + 前代回代的理论运算量计算:
+ * LU 类 2n³/3 + 2n², 楚列斯基 n³/3 + 2n²; avgt 行中同一计数器是每次浮点运算的纳秒数), 只需其一时用 -bm avgt 或 -bm thrpt;
+ * 分配速率用 JMH 的 GC 分析器测量 (-prof gc, 见 gc.alloc.rate 与 gc.alloc.rate.norm).
+ * 记录历史时每步保存一份 n×(n+1) 增广矩阵, 内存为 O(n³), 因此只在 n ≤ {@value #MAX_HISTORY_SIZE} 时测量;
+ * 超出范围或方法不适用 (如楚列斯基分解遇到非对称矩阵) 的参数组合在准备阶段报错, JMH 跳过该组合继续运行.
+ * 运行: mvn -Pjmh compile exec:exec -Djmh.args="DirectSolver -prof gc -p n=256,1024 -p structure=spd"
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.AverageTime, Mode.Throughput})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DirectSolverBenchmark {
+
+    private static final int MAX_HISTORY_SIZE = 256;
+
+    @Param({"16", "64", "256", "1024", "4096"})
+    public int n;
+
+    @Param({"dense", "spd", "diagonally-dominant", "tridiagonal", "poisson2d"})
+    public String structure;
+
+    @Param({"gauss", "crout", "complete-pivoting", "cholesky"})
+    public String method;
+
+    @Param({"fast", "history"})
+    public String mode;
+
+    private DirectSolver solver;
+    private RealMatrix a;
+    private RealVector b;
+    private double flopsPerSolve;
+
+    /**
+     * 每次调用完成的浮点运算 (以 10⁶ 为单位). 吞吐量模式下计数器按输出时间单位 (毫秒) 归一化, 报告值即为 GFLOP/s.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Flops {
+        public double gflops;
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        if (mode.equals("history") && n > MAX_HISTORY_SIZE) {
+            throw new IllegalStateException("记录历史的求解只测量 n ≤ " + MAX_HISTORY_SIZE);
+        }
+        solver = switch (method) {
+            case "gauss" -> new GaussianEliminationSolver();
+            case "crout" -> new CroutSolver();
+            case "complete-pivoting" -> new CompletePivotingGaussianSolver();
+            case "cholesky" -> new CholeskySolver();
+            default -> throw new IllegalArgumentException("未知的方法: " + method);
+        };
+        a = BenchmarkMatrices.create(structure, n);
+        if (!solver.isApplicable(a)) {
+            throw new IllegalStateException(solver.getName() + " 不适用于 " + structure + " 矩阵");
+        }
+        b = new ArrayRealVector(n, 1.0);
+        double cube = (double) n * n * n;
+        flopsPerSolve = (method.equals("cholesky") ? cube / 3 : 2 * cube / 3) + 2.0 * n * n;
+    }
+
+    @Benchmark
+    public DirectSolution solve(Flops flops) {
+        DirectSolution solution = mode.equals("history") ? solver.solve(a, b) : solver.solveFast(a, b);
+        flops.gflops += flopsPerSolve / 1e6;
+        return solution;
+    }
+}
@@ -0,0 +1,104 @@
+// 文件路径: src/jmh/java/com/twx/linear_systems/benchmark/StationaryScalingBenchmark.java
+package com.twx.linear_systems.benchmark;
+
+import com.twx.linear_systems.model.IterativeSolver;
+import com.twx.linear_systems.model.VectorIterationState;
+import com.twx.linear_systems.model.Iterative_impl.GaussSeidelSolver;
+import com.twx.linear_systems.model.Iterative_impl.ParallelJacobiSolver;
+import com.twx.linear_systems.model.Iterative_impl.SuccessiveOverRelaxationSolver;
+import org.apache.commons.math3.linear.Array2DRowRealMatrix;
+import org.apache.commons.math3.linear.ArrayRealVector;
+import org.apache.commons.math3.linear.RealMatrix;
+import org.apache.commons.math3.linear.RealVector;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Iterator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 并行雅可比与多色高斯-赛德尔/SOR 在 1..N 个线程上的扩展性.
+ * 系数矩阵为二维泊松方程的五点差分矩阵 (红黑排序), 每次调用执行固定的 SWEEPS 次扫描.
+ * 运行: mvn -Pjmh compile exec:exec -Djmh.args="StationaryScaling"
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class StationaryScalingBenchmark {
+
+    private static final int SWEEPS = 10;
+
+    /** 网格边长, 未知量个数为 grid². */
+    @Param({"48"})
+    public int grid;
+
+    @Param({"1", "2", "4", "8"})
+    public int threads;
+
+    @Param({"jacobi", "gauss-seidel", "sor"})
+    public String method;
+
+    private ForkJoinPool pool;
+    private IterativeSolver solver;
+    private RealMatrix a;
+    private RealVector b;
+    private RealVector x0;
+    private Iterator<VectorIterationState> iterator;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        int n = grid * grid;
+        a = poisson2d(grid);
+        b = new ArrayRealVector(n, 1.0);
+        x0 = new ArrayRealVector(n);
+        pool = new ForkJoinPool(threads);
+        solver = switch (method) {
+            case "jacobi" -> new ParallelJacobiSolver(pool);
+            case "gauss-seidel" -> new GaussSeidelSolver(pool);
+            case "sor" -> new SuccessiveOverRelaxationSolver(pool);
+            default -> throw new IllegalArgumentException("未知的方法: " + method);
+        };
+    }
+
+    @Setup(Level.Invocation)
+    public void createIterator() {
+        // 容差为 0, 保证每次调用都执行满 SWEEPS 次扫描; 多色排序的构造不计入测量
+        iterator = (solver instanceof SuccessiveOverRelaxationSolver sor)
+                ? sor.createIterator(a, b, x0, 1.5, 0.0, SWEEPS)
+                : solver.createIterator(a, b, x0, 0.0, SWEEPS);
+        iterator.next();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    @Benchmark
+    public double sweeps() {
+        double residual = 0.0;
+        while (iterator.hasNext()) {
+            residual = iterator.next().residualNorm();
+        }
+        return residual;
+    }
+
+    static RealMatrix poisson2d(int m) {
+        int n = m * m;
+        RealMatrix a = new Array2DRowRealMatrix(n, n);
+        for (int i = 0; i < m; i++) {
+            for (int j = 0; j < m; j++) {
+                int k = i * m + j;
+                a.setEntry(k, k, 4.0);
+                if (i > 0) a.setEntry(k, k - m, -1.0);
+                if (i < m - 1) a.setEntry(k, k + m, -1.0);
+                if (j > 0) a.setEntry(k, k - 1, -1.0);
+                if (j < m - 1) a.setEntry(k, k + 1, -1.0);
+            }
+        }
+        return a;
+    }
+}
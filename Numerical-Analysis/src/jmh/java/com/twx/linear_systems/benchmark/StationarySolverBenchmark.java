@@ -0,0 +1,105 @@
+// 文件路径: src/jmh/java/com/twx/linear_systems/benchmark/StationarySolverBenchmark.java
+package com.twx.linear_systems.benchmark;
+
+import com.twx.linear_systems.model.IterativeSolver;
+import com.twx.linear_systems.model.VectorIterationState;
+import com.twx.linear_systems.model.Iterative_impl.GaussSeidelSolver;
+import com.twx.linear_systems.model.Iterative_impl.JacobiSolver;
+import com.twx.linear_systems.model.Iterative_impl.SuccessiveOverRelaxationSolver;
+import org.apache.commons.math3.linear.ArrayRealVector;
+import org.apache.commons.math3.linear.RealMatrix;
+import org.apache.commons.math3.linear.RealVector;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 单线程雅可比、高斯-赛德尔与 SOR 随阶数 n 与矩阵结构的扩展性 (多线程扩展性见 {@link StationaryScalingBenchmark}).
+ * 每次调用执行固定的 {@value #SWEEPS} 次扫描; history 模式像界面一样保存每一步的 snapshot(), fast 模式只取最后一步.
+ * thrpt 行中的辅助计数器 gflops 按每次扫描 2·nnz 次运算 (矩阵-向量乘法) 计算达到的 GFLOP/s
+ * (含义同 {@link DirectSolverBenchmark}); 分配速率用 -prof gc 测量.
+ * 只使用迭代法收敛的结构 (对角占优、三对角、二维泊松).
+ * 运行: mvn -Pjmh compile exec:exec -Djmh.args="StationarySolver -prof gc -p n=1024,4096"
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.AverageTime, Mode.Throughput})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class StationarySolverBenchmark {
+
+    private static final int SWEEPS = 10;
+
+    @Param({"16", "64", "256", "1024", "4096"})
+    public int n;
+
+    @Param({"diagonally-dominant", "tridiagonal", "poisson2d"})
+    public String structure;
+
+    @Param({"jacobi", "gauss-seidel", "sor"})
+    public String method;
+
+    @Param({"fast", "history"})
+    public String mode;
+
+    private IterativeSolver solver;
+    private RealMatrix a;
+    private RealVector b;
+    private RealVector x0;
+    private double flopsPerCall;
+    private Iterator<VectorIterationState> iterator;
+
+    /** 同 {@link DirectSolverBenchmark.Flops}: 以 10⁶ 次运算为单位, 吞吐量模式下按毫秒归一化即为 GFLOP/s. */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Flops {
+        public double gflops;
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        a = BenchmarkMatrices.create(structure, n);
+        b = new ArrayRealVector(n, 1.0);
+        x0 = new ArrayRealVector(n);
+        solver = switch (method) {
+            case "jacobi" -> new JacobiSolver();
+            case "gauss-seidel" -> new GaussSeidelSolver();
+            case "sor" -> new SuccessiveOverRelaxationSolver();
+            default -> throw new IllegalArgumentException("未知的方法: " + method);
+        };
+        flopsPerCall = 2.0 * BenchmarkMatrices.nonZeros(a) * SWEEPS;
+    }
+
+    @Setup(Level.Invocation)
+    public void createIterator() {
+        // 容差为 0, 保证每次调用都执行满 SWEEPS 次扫描; 迭代器的构造 (稀疏化、排序) 不计入测量
+        iterator = (solver instanceof SuccessiveOverRelaxationSolver sor)
+                ? sor.createIterator(a, b, x0, 1.5, 0.0, SWEEPS)
+                : solver.createIterator(a, b, x0, 0.0, SWEEPS);
+        iterator.next();
+    }
+
+    @Benchmark
+    public Object sweeps(Flops flops) {
+        Object result;
+        if (mode.equals("history")) {
+            List<VectorIterationState> history = new ArrayList<>();
+            while (iterator.hasNext()) {
+                history.add(iterator.next().snapshot());
+            }
+            result = history;
+        } else {
+            VectorIterationState last = null;
+            while (iterator.hasNext()) {
+                last = iterator.next();
+            }
+            result = last;
+        }
+        flops.gflops += flopsPerCall / 1e6;
+        return result;
+    }
+}
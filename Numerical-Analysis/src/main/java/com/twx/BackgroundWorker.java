@@ -0,0 +1,193 @@
+// 文件路径: src/main/java/com/twx/BackgroundWorker.java
+package com.twx;
+
+import javafx.animation.PauseTransition;
+import javafx.application.Platform;
+import javafx.concurrent.Task;
+import javafx.scene.control.Button;
+import javafx.scene.control.ProgressIndicator;
+import javafx.util.Duration;
+
+import java.util.Queue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+/**
+ * 在后台线程上执行界面触发的计算 (求解、迭代、采样), JavaFX 应用线程只负责绘制.
+ * <p>
+ * 同一时刻只有一个作业; 作业在唯一的后台线程上依次执行, 因此迭代器等有状态的对象只需在作业中访问, 不必加锁.
+ * 作业运行超过 {@value #INDICATOR_DELAY_MILLIS} ms 才显示进度指示, 短作业 (如单步迭代) 不会引起闪烁;
+ * 运行期间取消按钮可用, 取消后作业在下一次 {@link Context#check()} 时退出, 之后不再执行它发布的界面更新.
+ * <p>
+ * 作业经 {@link Context#publish} 发布的界面更新 (如收敛曲线上的点) 先放入队列, 每次 Platform.runLater 执行一批,
+ * 每批最多占用 {@value #FRAME_BUDGET_MILLIS} ms, 剩余的留到下一批, 大量更新不会使界面低于 60 帧/秒.
+ */
+public final class BackgroundWorker {
+
+    /** 后台作业. */
+    @FunctionalInterface
+    public interface Job<T> {
+        T run(Context context) throws Exception;
+    }
+
+    /** 作业与界面之间的通道, 可以在后台线程上调用. */
+    public final class Context {
+        private final ProgressTask<?> task;
+
+        private Context(ProgressTask<?> task) {
+            this.task = task;
+        }
+
+        public boolean isCancelled() {
+            return task.isCancelled();
+        }
+
+        /**
+         * @throws CancellationException 作业已被取消时
+         */
+        public void check() {
+            if (task.isCancelled()) {
+                throw new CancellationException("已取消");
+            }
+        }
+
+        /** 报告进度 (JavaFX 自动合并频繁的更新). */
+        public void progress(double done, double total) {
+            task.report(done, total);
+        }
+
+        /** 在应用线程上执行界面更新; 作业被取消后发布的更新被丢弃. */
+        public void publish(Runnable update) {
+            pending.add(() -> {
+                if (!task.isCancelled()) {
+                    update.run();
+                }
+            });
+            if (scheduled.compareAndSet(false, true)) {
+                Platform.runLater(BackgroundWorker.this::drain);
+            }
+        }
+    }
+
+    private static final long INDICATOR_DELAY_MILLIS = 100;
+    private static final long FRAME_BUDGET_MILLIS = 8;
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "ui-solver");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final Queue<Runnable> pending = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+    private final ProgressIndicator indicator;
+    private final Button cancelButton;
+    private final PauseTransition indicatorDelay = new PauseTransition(Duration.millis(INDICATOR_DELAY_MILLIS));
+    private Task<?> current;
+
+    /**
+     * @param indicator    运行较久时显示的进度指示
+     * @param cancelButton 取消按钮, 只在作业运行时可用
+     */
+    public BackgroundWorker(ProgressIndicator indicator, Button cancelButton) {
+        this.indicator = indicator;
+        this.cancelButton = cancelButton;
+        indicator.setVisible(false);
+        cancelButton.setDisable(true);
+        cancelButton.setOnAction(e -> cancel());
+        indicatorDelay.setOnFinished(e -> indicator.setVisible(current != null));
+    }
+
+    /**
+     * 提交作业, 先取消仍在运行的作业. 须在应用线程上调用.
+     * @param onSuccess 作业正常结束时在应用线程上调用
+     * @param onFailure 作业抛出异常或被取消 (CancellationException) 时在应用线程上调用
+     */
+    public <T> void submit(Job<T> job, Consumer<T> onSuccess, Consumer<Throwable> onFailure) {
+        cancel();
+        ProgressTask<T> task = new ProgressTask<>() {
+            @Override
+            protected T call() throws Exception {
+                return job.run(new Context(this));
+            }
+        };
+        task.setOnSucceeded(e -> {
+            if (finished(task)) {
+                onSuccess.accept(task.getValue());
+            }
+        });
+        task.setOnFailed(e -> {
+            if (finished(task)) {
+                onFailure.accept(task.getException());
+            }
+        });
+        task.setOnCancelled(e -> {
+            if (finished(task)) {
+                onFailure.accept(new CancellationException("已取消"));
+            }
+        });
+        current = task;
+        indicator.progressProperty().bind(task.progressProperty());
+        cancelButton.setDisable(false);
+        indicatorDelay.playFromStart();
+        executor.execute(task);
+    }
+
+    /** @return 是否有作业正在运行 */
+    public boolean isRunning() {
+        return current != null;
+    }
+
+    /** 取消正在运行的作业 (须在应用线程上调用); 没有作业时什么也不做. */
+    public void cancel() {
+        if (current != null) {
+            current.cancel(false);
+        }
+    }
+
+    /**
+     * 作业结束时先执行它发布的全部界面更新, 保证结果回调看到的界面是完整的.
+     * @return 是否仍是当前作业; 已被新作业取代时不再调用它的回调
+     */
+    private boolean finished(Task<?> task) {
+        if (current != task) {
+            return false;
+        }
+        Runnable update;
+        while ((update = pending.poll()) != null) {
+            update.run();
+        }
+        current = null;
+        indicatorDelay.stop();
+        indicator.progressProperty().unbind();
+        indicator.setVisible(false);
+        cancelButton.setDisable(true);
+        return true;
+    }
+
+    /** 执行一批排队的界面更新, 超出时间预算的留到下一批. */
+    private void drain() {
+        scheduled.set(false);
+        long deadline = System.nanoTime() + FRAME_BUDGET_MILLIS * 1_000_000;
+        Runnable update;
+        while ((update = pending.poll()) != null) {
+            update.run();
+            if (System.nanoTime() > deadline) {
+                break;
+            }
+        }
+        if (!pending.isEmpty() && scheduled.compareAndSet(false, true)) {
+            Platform.runLater(this::drain);
+        }
+    }
+
+    /** 公开 Task.updateProgress, 供 Context 调用. */
+    private abstract static class ProgressTask<T> extends Task<T> {
+        void report(double done, double total) {
+            updateProgress(done, total);
+        }
+    }
+}
@@ -1,7 +1,22 @@
 package com.twx;
 
+import com.twx.batch.BatchMain;
+import com.twx.server.SolveServer;
+
+import java.util.Arrays;
+
 public class Main {
     public static void main(String [] args) {
+        // --batch: 无界面批处理, 不启动 JavaFX
+        if (args.length > 0 && args[0].equals("--batch")) {
+            BatchMain.main(Arrays.copyOfRange(args, 1, args.length));
+            return;
+        }
+        // --serve: 本地 HTTP/JSON 求解服务, 同样不启动 JavaFX
+        if (args.length > 0 && args[0].equals("--serve")) {
+            SolveServer.main(Arrays.copyOfRange(args, 1, args.length));
+            return;
+        }
         MainApplication.main(args);
     }
 }
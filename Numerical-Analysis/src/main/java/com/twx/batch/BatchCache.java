@@ -0,0 +1,304 @@
+// 文件路径: src/main/java/com/twx/batch/BatchCache.java
+package com.twx.batch;
+
+import com.twx.cache.CacheKey;
+import com.twx.cache.ResultCache;
+import com.twx.linear_systems.metrics.MetricsRecorder;
+import com.twx.linear_systems.metrics.SolveMetrics;
+import com.twx.linear_systems.model.DirectSolver;
+import com.twx.linear_systems.model.LinearOperator;
+import com.twx.linear_systems.model.Preconditioner;
+import org.apache.commons.math3.linear.RealMatrix;
+import org.apache.commons.math3.linear.RealVector;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Set;
+
+/**
+ * 批处理作业的结果缓存 (由 {@link BatchRunner} 使用, 可以被多个工作线程共享).
+ * <p>
+ * 结果按作业的内容计算键: 作业类型、求解参数 (除输入与输出以外的所有键) 以及系数矩阵或算子、向量 b、初值 x0 的每个元素,
+ * 与输入来自哪个文件或以何种格式给出无关. 命中时返回缓存的解, 开销统计只含一个 cache 阶段 (计算键与查找的耗时).
+ * 直接法另外在内存中缓存分解 (只对覆盖了 {@link DirectSolver#factorize} 的求解器),
+ * 同一矩阵配不同的右端向量时只做 O(n²) 的回代. 持有堆外内存的分解在被淘汰且没有作业仍在使用时关闭.
+ * 写迭代轨迹 (trace) 或给出 cache = false 的作业不使用缓存.
+ */
+public final class BatchCache {
+
+    /** 输入与输出相关的键 (其内容另行计入) 及不影响结果的键, 不计入缓存键. */
+    private static final String[] INPUT_PREFIXES = {"matrix", "vector", "initial"};
+    private static final Set<String> IGNORED_KEYS = Set.of(
+            "operator", "size", "output", "trace", "trace.interval", "solution.binary", "timeout", "cache");
+
+    /** 只给出磁盘层目录时内存层的大小上限. */
+    private static final long DEFAULT_MEGABYTES = 64;
+    /** 磁盘层的大小上限. */
+    private static final long DISK_BYTES = 1L << 30;
+
+    /**
+     * 缓存的分解. 每次取用都登记一个使用者, 用完后关闭 ({@link #close()}) 以注销;
+     * 被淘汰后等最后一个使用者注销时才关闭其中的求解器 (如堆外的 LU 因子), 不会释放仍在使用的内存.
+     */
+    static final class Factorization implements AutoCloseable {
+        private final Preconditioner solver;
+        private final long bytes;
+        private int users = 1;
+        private boolean evicted;
+
+        private Factorization(Preconditioner solver, long bytes) {
+            this.solver = solver;
+            this.bytes = bytes;
+        }
+
+        Preconditioner solver() {
+            return solver;
+        }
+
+        private synchronized boolean acquire() {
+            if (evicted) {
+                return false;
+            }
+            users++;
+            return true;
+        }
+
+        private synchronized void evict() {
+            evicted = true;
+            releaseIfUnused();
+        }
+
+        @Override
+        public synchronized void close() {
+            users--;
+            releaseIfUnused();
+        }
+
+        private void releaseIfUnused() {
+            if (evicted && users == 0 && solver instanceof AutoCloseable resource) {
+                try {
+                    resource.close();
+                } catch (Exception e) {
+                    // 释放失败只影响内存, 不影响结果
+                }
+            }
+        }
+    }
+
+    private final ResultCache<BatchResult> results;
+    private final ResultCache<Factorization> factorizations;
+
+    /**
+     * @param maxBytes 结果与分解各自在内存中的大小上限
+     */
+    public BatchCache(long maxBytes) {
+        this.results = new ResultCache<>(maxBytes, result -> 256 + ResultCache.weightOf(result.solution()));
+        this.factorizations = new ResultCache<Factorization>(maxBytes, factorization -> factorization.bytes)
+                .onEviction(Factorization::evict);
+    }
+
+    /**
+     * 启用结果的磁盘层 (分解只缓存在内存中), 不同进程之间可以共享.
+     * @param maxDiskBytes 磁盘层的大小上限
+     */
+    public BatchCache withDiskTier(Path directory, long maxDiskBytes) {
+        results.withDiskTier(directory, maxDiskBytes, CODEC);
+        return this;
+    }
+
+    /**
+     * 按命令行选项 --cache (内存上限, MB) 与 --cache-dir (磁盘层目录) 构造.
+     * @return 两者都未给出时为 null
+     * @throws IllegalArgumentException megabytes 为负数时
+     */
+    public static BatchCache create(long megabytes, String directory) {
+        if (megabytes < 0) {
+            throw new IllegalArgumentException("缓存大小不能为负数: " + megabytes);
+        }
+        if (megabytes == 0 && directory == null) {
+            return null;
+        }
+        BatchCache cache = new BatchCache((megabytes > 0 ? megabytes : DEFAULT_MEGABYTES) << 20);
+        return directory == null ? cache : cache.withDiskTier(Path.of(directory), DISK_BYTES);
+    }
+
+    /** 结果缓存的统计. */
+    public ResultCache.Stats stats() {
+        return results.stats();
+    }
+
+    /** 分解缓存的统计. */
+    public ResultCache.Stats factorizationStats() {
+        return factorizations.stats();
+    }
+
+    /** 一行可读的摘要. */
+    public String describe() {
+        String text = "结果缓存: " + results.stats().describe();
+        ResultCache.Stats factors = factorizations.stats();
+        if (factors.hits() + factors.misses() > 0) {
+            text += "; 分解缓存: " + factors.describe();
+        }
+        return text;
+    }
+
+    static boolean applies(BatchJob job) {
+        return !job.has("trace") && job.getBoolean("cache", true);
+    }
+
+    /** @return 系数矩阵内容的键 */
+    static CacheKey matrixKey(RealMatrix a) {
+        return CacheKey.builder().putMatrix(a).build();
+    }
+
+    /** @return 算子内容的键; 算子不支持按行访问时为 null (不缓存) */
+    static CacheKey operatorKey(LinearOperator operator) {
+        return operator.hasRowAccess() ? CacheKey.builder().putOperator(operator).build() : null;
+    }
+
+    /**
+     * @param system 系数矩阵或算子的键; 非线性方程求根为 null
+     * @param b      常数向量; 非线性方程求根为 null
+     * @param x0     迭代初值; 直接法与非线性方程求根为 null
+     */
+    static CacheKey resultKey(BatchJob job, CacheKey system, RealVector b, RealVector x0) {
+        CacheKey.Builder key = CacheKey.builder().putString(job.type().name());
+        for (String name : job.keys()) {
+            if (!isInputKey(name)) {
+                key.putString(name).putString(job.get(name));
+            }
+        }
+        key.putLong(system == null ? 0 : 1);
+        if (system != null) {
+            key.putKey(system).putVector(b);
+        }
+        key.putLong(x0 == null ? 0 : 1);
+        if (x0 != null) {
+            key.putVector(x0);
+        }
+        return key.build();
+    }
+
+    /**
+     * 一次查找: 系数矩阵或算子的键、结果的键与缓存的结果.
+     * @param result 未命中时为 null
+     */
+    record Lookup(CacheKey system, CacheKey key, BatchResult result) {
+    }
+
+    /**
+     * 计算结果的键并查找 (参数同 {@link #resultKey}).
+     */
+    Lookup lookup(BatchJob job, CacheKey system, RealVector b, RealVector x0) {
+        CacheKey key = resultKey(job, system, b, x0);
+        return new Lookup(system, key, results.get(key));
+    }
+
+    /**
+     * @return 缓存的结果, 开销统计换成 recorder 中记录的查找开销 (cache 阶段)
+     */
+    static BatchResult hit(BatchResult cached, MetricsRecorder recorder) {
+        recorder.setIterations(cached.iterations());
+        SolveMetrics metrics = recorder.finish();
+        return new BatchResult(cached.type(), cached.method(), cached.status(), cached.iterations(), cached.residualNorm(),
+                cached.solution(), 0.0, metrics.totalMillis(), metrics);
+    }
+
+    void put(CacheKey key, BatchResult result) {
+        results.put(key, result);
+    }
+
+    /**
+     * @return 缓存的分解, 用完后须关闭; 没有时为 null
+     */
+    Factorization cachedFactorization(DirectSolver solver, CacheKey matrix) {
+        if (!reusesFactorization(solver)) {
+            return null;
+        }
+        Factorization cached = factorizations.get(factorizationKey(solver, matrix));
+        return cached != null && cached.acquire() ? cached : null;
+    }
+
+    /**
+     * 分解 a 并放入缓存 (在 recorder 的 factorize 阶段计时).
+     * @return 分解, 用完后须关闭; 求解器没有可复用的分解或矩阵奇异 (此时由 solveFast 给出失败的结果) 时为 null
+     */
+    Factorization factorize(DirectSolver solver, RealMatrix a, CacheKey matrix, MetricsRecorder recorder) {
+        if (!reusesFactorization(solver)) {
+            return null;
+        }
+        try {
+            Preconditioner factor = recorder.phase("factorize", () -> solver.factorize(a));
+            long n = a.getRowDimension();
+            Factorization factorization = new Factorization(factor, 8 * n * n);
+            factorizations.put(factorizationKey(solver, matrix), factorization);
+            return factorization;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static CacheKey factorizationKey(DirectSolver solver, CacheKey matrix) {
+        return CacheKey.builder().putString(solver.getName()).putKey(matrix).build();
+    }
+
+    /** 只有覆盖了缺省实现的求解器, 其 factorize 才真正保存分解. */
+    private static boolean reusesFactorization(DirectSolver solver) {
+        try {
+            return solver.getClass().getMethod("factorize", RealMatrix.class).getDeclaringClass() != DirectSolver.class;
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
+
+    private static boolean isInputKey(String name) {
+        if (IGNORED_KEYS.contains(name)) {
+            return true;
+        }
+        for (String prefix : INPUT_PREFIXES) {
+            if (name.equals(prefix) || name.startsWith(prefix + ".")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /** 磁盘层的格式. 开销统计不写入 (命中时重新生成). */
+    private static final ResultCache.Codec<BatchResult> CODEC = new ResultCache.Codec<>() {
+        @Override
+        public void write(BatchResult result, DataOutput out) throws IOException {
+            out.writeInt(result.type().ordinal());
+            out.writeUTF(result.method());
+            out.writeUTF(result.status());
+            out.writeInt(result.iterations());
+            out.writeDouble(result.residualNorm());
+            double[] x = result.solution();
+            out.writeInt(x == null ? -1 : x.length);
+            if (x != null) {
+                for (double v : x) {
+                    out.writeDouble(v);
+                }
+            }
+        }
+
+        @Override
+        public BatchResult read(DataInput in) throws IOException {
+            BatchJob.Type type = BatchJob.Type.values()[in.readInt()];
+            String method = in.readUTF();
+            String status = in.readUTF();
+            int iterations = in.readInt();
+            double residual = in.readDouble();
+            int length = in.readInt();
+            double[] x = null;
+            if (length >= 0) {
+                x = new double[length];
+                for (int i = 0; i < length; i++) {
+                    x[i] = in.readDouble();
+                }
+            }
+            return new BatchResult(type, method, status, iterations, residual, x, 0.0, 0.0, null);
+        }
+    };
+}
@@ -0,0 +1,131 @@
+// 文件路径: src/main/java/com/twx/batch/BatchJob.java
+package com.twx.batch;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Properties;
+import java.util.SortedSet;
+import java.util.TreeSet;
+
+/**
+ * 批处理作业文件 (Properties 格式, UTF-8), 例如:
+ * <pre>
+ * type = iterative
+ * method = cg
+ * operator = laplacian2D 200 200
+ * vector.fill = 1
+ * tolerance = 1e-8
+ * maxIterations = 5000
+ * output = result.txt
+ * </pre>
+ * 相对路径 (矩阵、向量和输出文件) 相对于作业文件所在的目录解析.
+ */
+public final class BatchJob {
+
+    public enum Type { DIRECT, ITERATIVE, ROOT }
+
+    private final Path source;
+    private final Properties properties;
+
+    BatchJob(Path source, Properties properties) {
+        this.source = source;
+        this.properties = properties;
+    }
+
+    /**
+     * @throws IOException 文件无法读取时
+     */
+    public static BatchJob load(Path file) throws IOException {
+        Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            properties.load(reader);
+        }
+        return new BatchJob(file, properties);
+    }
+
+    /**
+     * 由内存中的键值构造作业 (如网络请求), 相对路径相对于当前目录解析.
+     */
+    public static BatchJob of(Properties properties) {
+        return new BatchJob(Path.of("job.properties"), properties);
+    }
+
+    public Path source() {
+        return source;
+    }
+
+    /**
+     * @throws IllegalArgumentException type 缺失或不是 direct / iterative / root 之一时
+     */
+    public Type type() {
+        String type = require("type");
+        try {
+            return Type.valueOf(type.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("未知的作业类型 type = " + type + " (可选 direct / iterative / root)");
+        }
+    }
+
+    /** @return 所有的键, 按字典序排列 */
+    public SortedSet<String> keys() {
+        return new TreeSet<>(properties.stringPropertyNames());
+    }
+
+    public boolean has(String key) {
+        String value = properties.getProperty(key);
+        return value != null && !value.isBlank();
+    }
+
+    /** @return 去掉首尾空白的值; 缺失时返回 null */
+    public String get(String key) {
+        String value = properties.getProperty(key);
+        return value == null ? null : value.trim();
+    }
+
+    /**
+     * @throws IllegalArgumentException 键缺失时
+     */
+    public String require(String key) {
+        if (!has(key)) {
+            throw new IllegalArgumentException("作业文件缺少 " + key);
+        }
+        return get(key);
+    }
+
+    /**
+     * @throws IllegalArgumentException 值不是数字时
+     */
+    public double getDouble(String key, double defaultValue) {
+        if (!has(key)) return defaultValue;
+        try {
+            return Double.parseDouble(get(key));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(key + " 必须是数字: " + get(key));
+        }
+    }
+
+    /**
+     * @throws IllegalArgumentException 值不是整数时
+     */
+    public int getInt(String key, int defaultValue) {
+        if (!has(key)) return defaultValue;
+        try {
+            return Integer.parseInt(get(key));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(key + " 必须是整数: " + get(key));
+        }
+    }
+
+    public boolean getBoolean(String key, boolean defaultValue) {
+        return has(key) ? Boolean.parseBoolean(get(key)) : defaultValue;
+    }
+
+    /** 相对于作业文件所在目录解析路径. */
+    public Path resolve(String path) {
+        Path parent = source.toAbsolutePath().getParent();
+        return parent == null ? Path.of(path) : parent.resolve(path);
+    }
+}
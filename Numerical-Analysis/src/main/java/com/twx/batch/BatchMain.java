@@ -0,0 +1,161 @@
+// 文件路径: src/main/java/com/twx/batch/BatchMain.java
+package com.twx.batch;
+
+import com.twx.linear_systems.io.BinaryMatrixFile;
+
+import java.io.BufferedWriter;
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintStream;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * 无界面的批处理入口: 依次执行命令行给出的作业文件 (格式见 {@link BatchJob}、{@link SystemInput}、{@link BatchRunner}),
+ * 把结果写到作业的 output 文件, 未指定时写到标准输出; 给出 solution.binary 时另把解向量写成 {@link BinaryMatrixFile} 格式.
+ * 只加载模型层的类, 不会启动 JavaFX 运行时, 也不加载任何 javafx.* 类;
+ * 首个作业完成后在标准错误上报告从 JVM 启动到首次求解完成的耗时.
+ * 作业经由 {@link SolveService} 执行: -j 指定同时求解的作业数 (缺省 1, 即依次执行),
+ * --timeout 指定每个作业的时限 (秒), 超时的作业被取消并计为失败. 结果按命令行的顺序输出.
+ * --cache 指定结果缓存的内存上限 (MB), --cache-dir 指定磁盘层目录 (可在多次运行之间共享), 见 {@link BatchCache};
+ * 使用缓存时在标准错误上报告命中率.
+ * <pre>
+ * java -cp ... com.twx.batch.BatchMain job1.properties job2.properties
+ * java -cp ... com.twx.batch.BatchMain -j 4 --timeout 60 jobs/*.properties
+ * java -cp ... com.twx.batch.BatchMain --cache-dir .solve-cache jobs/*.properties
+ * java -cp ... com.twx.Main --batch job.properties
+ * </pre>
+ * 所有作业成功时退出码为 0, 有作业失败时为 1, 参数错误时为 2.
+ */
+public final class BatchMain {
+
+    /** 标准错误按 UTF-8 输出, 不受平台默认编码影响. */
+    private static final PrintStream ERR = new PrintStream(new FileOutputStream(FileDescriptor.err), true, StandardCharsets.UTF_8);
+
+    private BatchMain() {
+    }
+
+    public static void main(String[] args) {
+        long entered = System.nanoTime();
+        int threads = 1;
+        Duration timeout = null;
+        long cacheMegabytes = 0;
+        String cacheDir = null;
+        BatchCache cache = null;
+        int index = 0;
+        try {
+            for (; index < args.length && args[index].startsWith("-"); index++) {
+                switch (args[index]) {
+                    case "-j" -> threads = Integer.parseInt(args[++index]);
+                    case "--timeout" -> timeout = Duration.ofMillis(Math.round(Double.parseDouble(args[++index]) * 1000));
+                    case "--cache" -> cacheMegabytes = Long.parseLong(args[++index]);
+                    case "--cache-dir" -> cacheDir = args[++index];
+                    default -> throw new IllegalArgumentException("未知的选项 " + args[index]);
+                }
+            }
+            cache = BatchCache.create(cacheMegabytes, cacheDir);
+        } catch (ArrayIndexOutOfBoundsException | IllegalArgumentException e) {
+            index = -1;
+        }
+        if (index < 0 || index == args.length || threads <= 0) {
+            ERR.println("用法: BatchMain [-j 并发数] [--timeout 秒] [--cache MB] [--cache-dir 目录] <作业文件>...");
+            System.exit(2);
+        }
+
+        int failures = 0;
+        boolean first = true;
+        try (SolveService service = new SolveService(threads, cache)) {
+            List<String> files = List.of(args).subList(index, args.length);
+            List<BatchJob> jobs = new ArrayList<>();
+            List<CompletableFuture<BatchResult>> results = new ArrayList<>();
+            for (String arg : files) {
+                try {
+                    BatchJob job = BatchJob.load(Path.of(arg));
+                    jobs.add(job);
+                    results.add(service.submit(job, timeout));
+                } catch (IOException | RuntimeException e) {
+                    jobs.add(null);
+                    results.add(CompletableFuture.failedFuture(e));
+                }
+            }
+            for (int i = 0; i < files.size(); i++) {
+                String arg = files.get(i);
+                try {
+                    BatchResult result = join(results.get(i));
+                    if (first) {
+                        reportStartup(entered);
+                        first = false;
+                    }
+                    write(jobs.get(i), result);
+                    ERR.printf("%s: %s, %s, 残差 %.3e, %s%n", arg, result.method(), result.status(),
+                            result.residualNorm(), result.metrics().describe());
+                } catch (IOException | RuntimeException e) {
+                    ERR.println(arg + ": 错误: " + e.getMessage());
+                    failures++;
+                }
+            }
+            if (threads > 1) {
+                ERR.println("求解服务: " + service.stats().describe());
+            }
+            if (cache != null) {
+                ERR.println(cache.describe());
+            }
+        }
+        System.exit(failures == 0 ? 0 : 1);
+    }
+
+    /**
+     * 等待作业完成, 把包装过的异常还原为作业本身抛出的异常.
+     */
+    private static BatchResult join(CompletableFuture<BatchResult> result) throws IOException {
+        try {
+            return result.join();
+        } catch (CancellationException e) {
+            throw new IllegalStateException("作业已取消", e);
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException io) throw io;
+            if (cause instanceof RuntimeException runtime) throw runtime;
+            if (cause instanceof TimeoutException) throw new IllegalStateException("超时", cause);
+            throw new IllegalStateException(cause);
+        }
+    }
+
+    private static void write(BatchJob job, BatchResult result) throws IOException {
+        if (job.has("solution.binary") && result.solution() != null) {
+            BinaryMatrixFile.writeVector(result.solution(), job.resolve(job.get("solution.binary")));
+        }
+        if (job.has("output")) {
+            try (Writer out = Files.newBufferedWriter(job.resolve(job.get("output")), StandardCharsets.UTF_8)) {
+                result.writeTo(out);
+            }
+            return;
+        }
+        Writer out = new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8));
+        result.writeTo(out);
+        out.flush();
+    }
+
+    /**
+     * JVM 的启动时刻由 RuntimeMXBean 给出; 加载管理接口本身需要几十毫秒,
+     * 因此先记下完成时刻, 首次求解之后才查询, 不计入被测量的时间.
+     */
+    private static void reportStartup(long entered) {
+        long finished = System.currentTimeMillis();
+        double sinceMain = (System.nanoTime() - entered) / 1e6;
+        long started = ManagementFactory.getRuntimeMXBean().getStartTime();
+        ERR.printf("首次求解完成: JVM 启动后 %d ms (进入 main 后 %.1f ms)%n", finished - started, sinceMain);
+    }
+}
@@ -0,0 +1,50 @@
+// 文件路径: src/main/java/com/twx/batch/BatchResult.java
+package com.twx.batch;
+
+import com.twx.linear_systems.metrics.SolveMetrics;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * 一个批处理作业的结果.
+ *
+ * @param type         作业类型
+ * @param method       求解方法的名称
+ * @param status       结束状态的描述 (如"已收敛")
+ * @param iterations   迭代次数; 直接法为 0
+ * @param residualNorm 线性方程组为 ||A·x - b||_2, 非线性方程为 |f(x)|
+ * @param solution     解向量; 非线性方程为只含根的一元数组; 求解失败时为 null
+ * @param setupMillis  准备耗时 (构造迭代器、预处理子等), 毫秒
+ * @param solveMillis  求解耗时, 毫秒
+ * @param metrics      开销统计 (各阶段耗时、分配量、估计的运算量)
+ */
+public record BatchResult(BatchJob.Type type, String method, String status, int iterations, double residualNorm,
+                          double[] solution, double setupMillis, double solveMillis, SolveMetrics metrics) {
+
+    /**
+     * 以 "键 = 值" 的文本格式写出结果, 开销统计的键以 metrics. 开头; 解向量在最后, 每行一个分量 (Double.toString, 可无损读回).
+     */
+    public void writeTo(Writer out) throws IOException {
+        out.write("type = " + type.name().toLowerCase() + "\n");
+        out.write("method = " + method + "\n");
+        out.write("status = " + status + "\n");
+        out.write("iterations = " + iterations + "\n");
+        out.write("residual = " + residualNorm + "\n");
+        out.write(String.format("setupMillis = %.3f%n", setupMillis));
+        out.write(String.format("solveMillis = %.3f%n", solveMillis));
+        metrics.writeTo(out);
+        if (solution == null) {
+            out.write("solution = \n");
+            return;
+        }
+        out.write("solution.size = " + solution.length + "\n");
+        out.write("solution =\n");
+        StringBuilder line = new StringBuilder();
+        for (double v : solution) {
+            line.setLength(0);
+            line.append(v).append('\n');
+            out.write(line.toString());
+        }
+    }
+}
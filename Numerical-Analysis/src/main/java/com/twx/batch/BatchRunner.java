@@ -0,0 +1,320 @@
+// 文件路径: src/main/java/com/twx/batch/BatchRunner.java
+package com.twx.batch;
+
+import com.twx.cache.CacheKey;
+import com.twx.iterative_methods.model.IterationState;
+import com.twx.iterative_methods.model.IterativeMethod;
+import com.twx.iterative_methods.model.MethodIterator;
+import com.twx.iterative_methods.model.impl.DoublePointSecantMethod;
+import com.twx.iterative_methods.model.impl.Equation;
+import com.twx.iterative_methods.model.impl.ModifiedSecantMethod;
+import com.twx.iterative_methods.model.impl.SinglePointSecantMethod;
+import com.twx.linear_systems.io.TraceWriter;
+import com.twx.linear_systems.metrics.FlopEstimates;
+import com.twx.linear_systems.metrics.MetricsRecorder;
+import com.twx.linear_systems.model.ConvergencePolicy;
+import com.twx.linear_systems.model.ConvergenceStatus;
+import com.twx.linear_systems.model.DirectSolution;
+import com.twx.linear_systems.model.DirectSolver;
+import com.twx.linear_systems.model.Direct_impl.GaussianEliminationSolver;
+import com.twx.linear_systems.model.IterativeSolver;
+import com.twx.linear_systems.model.Iterative_impl.SuccessiveOverRelaxationSolver;
+import com.twx.linear_systems.model.Operator_impl.OffHeapDenseMatrix;
+import com.twx.linear_systems.model.Preconditioner;
+import com.twx.linear_systems.model.PreconditionerFactory;
+import com.twx.linear_systems.model.VectorIterationState;
+import org.apache.commons.math3.linear.ArrayRealVector;
+import org.apache.commons.math3.linear.RealMatrix;
+import org.apache.commons.math3.linear.RealVector;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+
+/**
+ * 执行批处理作业. 迭代法的收敛策略:
+ * tolerance (缺省 1e-6), relative (按初始残差的相对容差), maxIterations (缺省 1000), checkInterval (缺省 1),
+ * stagnationWindow (缺省 0, 即不检测停滞; 大规模问题上 Krylov 方法的残差在前期可能长时间不下降), 并启用发散检测;
+ * 逐次超松弛法可用 omega 指定松弛因子, omega = auto 时使用自适应 SOR;
+ * 支持预处理的方法可用 preconditioner 指定预处理方法 (需要显式矩阵);
+ * 给出 trace 时把迭代轨迹写入该文件 ({@link TraceWriter}), trace.interval (缺省 100) 为保存完整迭代向量的间隔.
+ * 非线性方程求根使用 f、g (普通迭代法和艾特肯法)、x0、x1 (弦截法), 当 |f(x_k)| 或 |x_k - x_{k-1}|
+ * 小于 tolerance (缺省 1e-12, 与界面相同) 时停止.
+ * 每个作业都用 {@link MetricsRecorder} 记录各阶段的耗时、分配量和估计的运算量, 随结果一起输出.
+ * 迭代循环的每一步都检查 {@link Cancellation}, 供 {@link SolveService} 取消或超时终止作业.
+ * 给出 {@link BatchCache} 时先按作业内容查找缓存的结果, 求解后放入缓存.
+ */
+public final class BatchRunner {
+
+    /** 残差超过初始残差的这么多倍时判为发散 (与界面相同). */
+    private static final double DIVERGENCE_FACTOR = 1e6;
+
+    private BatchRunner() {
+    }
+
+    /**
+     * @throws IllegalArgumentException 作业文件内容无效或方法不适用时
+     * @throws IOException              输入文件无法读取时
+     */
+    public static BatchResult run(BatchJob job) throws IOException {
+        return run(job, Cancellation.NONE);
+    }
+
+    /**
+     * @throws java.util.concurrent.CancellationException 作业被取消时 (在读入输入之后、每一步迭代之前检查)
+     */
+    public static BatchResult run(BatchJob job, Cancellation cancellation) throws IOException {
+        return run(job, cancellation, null);
+    }
+
+    /**
+     * @param cache 结果缓存; 为 null 时不使用缓存
+     */
+    public static BatchResult run(BatchJob job, Cancellation cancellation, BatchCache cache) throws IOException {
+        if (cache != null && !BatchCache.applies(job)) {
+            cache = null;
+        }
+        return switch (job.type()) {
+            case DIRECT -> runDirect(job, cancellation, cache);
+            case ITERATIVE -> runIterative(job, cancellation, cache);
+            case ROOT -> runRoot(job, cancellation, cache);
+        };
+    }
+
+    private static BatchResult runDirect(BatchJob job, Cancellation cancellation, BatchCache cache) throws IOException {
+        DirectSolver solver = SolverCatalog.direct(job.require("method"));
+        try (SystemInput input = SystemInput.read(job)) {
+            return solveDirect(job, solver, input, cancellation, cache);
+        }
+    }
+
+    private static BatchResult solveDirect(BatchJob job, DirectSolver solver, SystemInput input, Cancellation cancellation,
+                                           BatchCache cache) throws IOException {
+        RealMatrix a = input.matrix();
+        if (a == null) {
+            throw new IllegalArgumentException("直接法需要显式的系数矩阵, 不能使用模板算子");
+        }
+        if (a instanceof OffHeapDenseMatrix && !(solver instanceof GaussianEliminationSolver)) {
+            // 其他直接法都先把矩阵整体复制到堆上, 堆外存储就失去了意义
+            throw new IllegalArgumentException("堆外存储的矩阵 (matrix.offheap) 只能用高斯列主元消元法或迭代法求解");
+        }
+        if (!solver.isApplicable(a)) {
+            throw new IllegalArgumentException(solver.getName() + " 不适用于该系数矩阵");
+        }
+        cancellation.check();
+        MetricsRecorder recorder = new MetricsRecorder(solver.getName(), a.getRowDimension());
+        CacheKey matrixKey = null;
+        CacheKey key = null;
+        if (cache != null) {
+            BatchCache.Lookup lookup = recorder.phase("cache", () -> cache.lookup(job, BatchCache.matrixKey(a), input.b(), null));
+            if (lookup.result() != null) {
+                return BatchCache.hit(lookup.result(), recorder);
+            }
+            matrixKey = lookup.system();
+            key = lookup.key();
+        }
+        long start = System.nanoTime();
+        BatchCache.Factorization factorization = cache == null ? null : cache.cachedFactorization(solver, matrixKey);
+        boolean reused = factorization != null;
+        if (cache != null && !reused) {
+            factorization = cache.factorize(solver, a, matrixKey, recorder);
+        }
+        DirectSolution solution;
+        if (factorization != null) {
+            try (BatchCache.Factorization lu = factorization) {
+                solution = recorder.phase("solve", () -> {
+                    double[] x = new double[a.getRowDimension()];
+                    lu.solver().apply(input.b().toArray(), x);
+                    return new DirectSolution(new ArrayList<>(), new ArrayRealVector(x, false));
+                });
+            }
+        } else {
+            solution = recorder.phase("solve", () -> solver.solveFast(a, input.b()));
+        }
+        double solveMillis = (System.nanoTime() - start) / 1e6;
+        double n = a.getRowDimension();
+        recorder.addFlops(reused ? 2 * n * n : FlopEstimates.direct(solver, a, solution));
+        BatchResult result;
+        if (solution.solution() == null) {
+            result = new BatchResult(BatchJob.Type.DIRECT, solver.getName(), "求解失败", 0, Double.NaN, null, 0.0, solveMillis,
+                    recorder.finish());
+        } else {
+            double[] x = solution.solution().toArray();
+            result = new BatchResult(BatchJob.Type.DIRECT, solver.getName(), "已求解", 0,
+                    residualNorm(input, x), x, 0.0, solveMillis, recorder.finish());
+        }
+        if (cache != null) {
+            cache.put(key, result);
+        }
+        return result;
+    }
+
+    private static BatchResult runIterative(BatchJob job, Cancellation cancellation, BatchCache cache) throws IOException {
+        IterativeSolver solver = SolverCatalog.iterative(job.require("method"));
+        try (SystemInput input = SystemInput.read(job)) {
+            return solveIterative(job, solver, input, cancellation, cache);
+        }
+    }
+
+    private static BatchResult solveIterative(BatchJob job, IterativeSolver solver, SystemInput input, Cancellation cancellation,
+                                           BatchCache cache) throws IOException {
+        RealVector x0 = input.initialGuess(job);
+        ConvergencePolicy policy = readPolicy(job);
+
+        MetricsRecorder recorder = new MetricsRecorder(solver.getName(), input.dimension());
+        CacheKey key = null;
+        if (cache != null) {
+            BatchCache.Lookup lookup = recorder.phase("cache", () -> {
+                CacheKey system = input.matrix() != null
+                        ? BatchCache.matrixKey(input.matrix())
+                        : BatchCache.operatorKey(input.operator());
+                return system == null ? null : cache.lookup(job, system, input.b(), x0);
+            });
+            if (lookup != null && lookup.result() != null) {
+                return BatchCache.hit(lookup.result(), recorder);
+            }
+            key = lookup == null ? null : lookup.key();
+        }
+        long start = System.nanoTime();
+        Iterator<VectorIterationState> iterator = recorder.phase("setup", () -> {
+            if (solver instanceof SuccessiveOverRelaxationSolver sor && job.has("omega")) {
+                return job.get("omega").equalsIgnoreCase("auto")
+                        ? sor.createAdaptiveIterator(input.operator(), input.b(), x0, policy, w -> { })
+                        : sor.createIterator(input.operator(), input.b(), x0, job.getDouble("omega", 1.0), policy);
+            }
+            return solver.createIterator(input.operator(), input.b(), x0, buildPreconditioner(job, solver, input), policy);
+        });
+        double setupMillis = (System.nanoTime() - start) / 1e6;
+        iterator = recorder.iterate(iterator,
+                FlopEstimates.perIteration(solver, input.operator(), job.has("preconditioner")));
+
+        start = System.nanoTime();
+        VectorIterationState last = null;
+        if (job.has("trace")) {
+            try (TraceWriter trace = new TraceWriter(job.resolve(job.get("trace")), input.dimension(), job.getInt("trace.interval", 100))) {
+                while (iterator.hasNext()) {
+                    cancellation.check();
+                    last = iterator.next();
+                    trace.write(last);
+                }
+            }
+        } else {
+            while (iterator.hasNext()) {
+                cancellation.check();
+                last = iterator.next();
+            }
+        }
+        double solveMillis = (System.nanoTime() - start) / 1e6;
+        double[] x = last.x_k().toArray();
+        double residual = last.hasResidual() ? last.residualNorm() : residualNorm(input, x);
+        ConvergenceStatus status = last.status();
+        BatchResult result = new BatchResult(BatchJob.Type.ITERATIVE, solver.getName(), status.description(), last.k(),
+                residual, x, setupMillis, solveMillis, recorder.finish());
+        if (key != null) {
+            cache.put(key, result);
+        }
+        return result;
+    }
+
+    private static BatchResult runRoot(BatchJob job, Cancellation cancellation, BatchCache cache) {
+        IterativeMethod method = SolverCatalog.rootFinding(job.require("method"));
+        Equation equation = new Equation(job.require("f"), job.get("g"));
+        double x0 = job.getDouble("x0", Double.NaN);
+        if (Double.isNaN(x0)) {
+            throw new IllegalArgumentException("作业文件缺少初值 x0");
+        }
+        double tol = job.getDouble("tolerance", 1e-12);
+        if (method instanceof ModifiedSecantMethod modified) {
+            modified.setUpdateInterval(job.getInt("updateInterval", 1));
+        }
+
+        MetricsRecorder recorder = new MetricsRecorder(method.getName(), 1);
+        CacheKey key = null;
+        if (cache != null) {
+            BatchCache.Lookup lookup = recorder.phase("cache", () -> cache.lookup(job, null, null, null));
+            if (lookup.result() != null) {
+                return BatchCache.hit(lookup.result(), recorder);
+            }
+            key = lookup.key();
+        }
+        long start = System.nanoTime();
+        IterationState last = recorder.phase("solve", () -> {
+            MethodIterator iterator;
+            if (method instanceof DoublePointSecantMethod || method instanceof SinglePointSecantMethod) {
+                double x1 = job.getDouble("x1", Double.NaN);
+                if (Double.isNaN(x1)) {
+                    throw new IllegalArgumentException(method.getName() + " 需要第二个初值 x1");
+                }
+                iterator = method.createIterator(equation, x0, x1);
+            } else {
+                iterator = method.createIterator(equation, x0);
+            }
+            IterationState state = null;
+            while (iterator.hasNext() && (state == null || !rootConverged(state, tol))) {
+                cancellation.check();
+                state = iterator.next();
+            }
+            return state;
+        });
+        boolean converged = last != null && rootConverged(last, tol);
+        double solveMillis = (System.nanoTime() - start) / 1e6;
+        recorder.setIterations(last == null ? 0 : last.k());
+        BatchResult result;
+        if (last == null || !Double.isFinite(last.x_k())) {
+            result = new BatchResult(BatchJob.Type.ROOT, method.getName(), "迭代失败", last == null ? 0 : last.k(),
+                    Double.NaN, null, 0.0, solveMillis, recorder.finish());
+        } else {
+            result = new BatchResult(BatchJob.Type.ROOT, method.getName(), converged ? "已收敛" : "未收敛", last.k(),
+                    Math.abs(last.fx_k()), new double[]{last.x_k()}, 0.0, solveMillis, recorder.finish());
+        }
+        if (cache != null) {
+            cache.put(key, result);
+        }
+        return result;
+    }
+
+    private static boolean rootConverged(IterationState state, double tol) {
+        return Math.abs(state.fx_k()) < tol || state.error_abs() < tol;
+    }
+
+    private static ConvergencePolicy readPolicy(BatchJob job) {
+        double tol = job.getDouble("tolerance", 1e-6);
+        int maxIter = job.getInt("maxIterations", 1000);
+        ConvergencePolicy policy = job.getBoolean("relative", false)
+                ? ConvergencePolicy.of(0.0, maxIter).withRelativeTolerance(tol)
+                : ConvergencePolicy.of(tol, maxIter);
+        return policy.withCheckInterval(job.getInt("checkInterval", 1))
+                .withStagnationWindow(job.getInt("stagnationWindow", 0))
+                .withDivergenceFactor(DIVERGENCE_FACTOR);
+    }
+
+    /**
+     * @return 预处理子; 未指定时返回 null
+     */
+    private static Preconditioner buildPreconditioner(BatchJob job, IterativeSolver solver, SystemInput input) {
+        if (!job.has("preconditioner")) {
+            return null;
+        }
+        if (!solver.supportsPreconditioner()) {
+            throw new IllegalArgumentException(solver.getName() + " 不支持预处理");
+        }
+        if (input.matrix() == null) {
+            throw new IllegalArgumentException("构造预处理子需要显式的系数矩阵, 不能使用模板算子");
+        }
+        PreconditionerFactory factory = SolverCatalog.preconditioner(job.get("preconditioner"));
+        return factory.build(input.matrix());
+    }
+
+    /** ||A·x - b||_2. */
+    private static double residualNorm(SystemInput input, double[] x) {
+        int n = x.length;
+        double[] ax = new double[n];
+        input.operator().apply(x, ax);
+        double sumSq = 0.0;
+        for (int i = 0; i < n; i++) {
+            double r = ax[i] - input.b().getEntry(i);
+            sumSq += r * r;
+        }
+        return Math.sqrt(sumSq);
+    }
+}
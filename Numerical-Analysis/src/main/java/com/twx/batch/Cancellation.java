@@ -0,0 +1,48 @@
+// 文件路径: src/main/java/com/twx/batch/Cancellation.java
+package com.twx.batch;
+
+import java.util.concurrent.CancellationException;
+
+/**
+ * 协作式取消的标记: 取消方调用 {@link #cancel}, 执行方在迭代循环的每一步调用 {@link #check()}.
+ * 不中断线程, 因此正在进行的一次分解或一步迭代会先做完. 可以在任意线程上使用.
+ */
+public final class Cancellation {
+
+    /** 从不取消的标记, 供不需要取消的调用方使用. */
+    public static final Cancellation NONE = new Cancellation();
+
+    /** 取消的原因; 未取消时为 null. */
+    private volatile String reason;
+
+    /**
+     * 请求取消; 已经取消时保留最初的原因.
+     */
+    public void cancel(String reason) {
+        if (this == NONE) {
+            throw new UnsupportedOperationException("Cancellation.NONE 不能取消");
+        }
+        if (this.reason == null) {
+            this.reason = reason;
+        }
+    }
+
+    public boolean isCancelled() {
+        return reason != null;
+    }
+
+    /** @return 取消的原因; 未取消时为 null */
+    public String reason() {
+        return reason;
+    }
+
+    /**
+     * @throws CancellationException 已经请求取消时
+     */
+    public void check() {
+        String current = reason;
+        if (current != null) {
+            throw new CancellationException(current);
+        }
+    }
+}
@@ -0,0 +1,284 @@
+// 文件路径: src/main/java/com/twx/batch/SolveService.java
+package com.twx.batch;
+
+import com.twx.iterative_methods.model.IterationState;
+import com.twx.iterative_methods.model.IterativeMethod;
+import com.twx.iterative_methods.model.MethodIterator;
+import com.twx.iterative_methods.model.impl.Equation;
+import com.twx.linear_systems.model.ConvergencePolicy;
+import com.twx.linear_systems.model.DirectSolution;
+import com.twx.linear_systems.model.DirectSolver;
+import com.twx.linear_systems.model.IterativeSolver;
+import com.twx.linear_systems.model.LinearOperator;
+import com.twx.linear_systems.model.Preconditioner;
+import com.twx.linear_systems.model.VectorIterationState;
+import org.apache.commons.math3.linear.RealMatrix;
+import org.apache.commons.math3.linear.RealVector;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 并发求解服务: 同时提交许多互相独立的作业 (批处理作业、直接法、迭代法、非线性方程求根或任意 {@link Task}),
+ * 每个作业返回一个 CompletableFuture.
+ * <p>
+ * 计算在固定数目的工作线程上执行 (缺省为处理器个数), 多出的作业排队等待. 作业的编排不占用线程:
+ * 超时由 {@link CompletableFuture#orTimeout} 计时, 超时或调用 future.cancel() 时通过回调把作业的
+ * {@link Cancellation} 标记为取消, 迭代循环在下一步之前检查到后退出 (直接法的一次分解不能中途打断);
+ * 尚未开始的作业出队时直接跳过. Java 17 没有虚拟线程, 这里用回调代替 "每个作业一个编排线程".
+ * <p>
+ * {@link #stats()} 给出队列深度、运行中的作业数、各结果的计数、吞吐量和平均等待/运行时间.
+ * 构造时给出 {@link BatchCache} 时, 批处理作业先查找缓存的结果.
+ */
+public final class SolveService implements AutoCloseable {
+
+    /**
+     * 可以提交的作业. 较长的循环应在每一步调用 {@link Cancellation#check()}.
+     */
+    @FunctionalInterface
+    public interface Task<T> {
+        T run(Cancellation cancellation) throws Exception;
+    }
+
+    /**
+     * 服务的统计信息.
+     *
+     * @param queued          排队等待的作业数
+     * @param running         正在运行的作业数
+     * @param submitted       已提交的作业总数
+     * @param completed       正常完成的作业数
+     * @param failed          抛出异常的作业数
+     * @param cancelled       被取消的作业数
+     * @param timedOut        超时的作业数
+     * @param throughput      服务启动以来平均每秒完成的作业数
+     * @param meanWaitMillis  开始运行的作业在队列中的平均等待时间, 毫秒
+     * @param meanRunMillis   运行结束的作业的平均运行时间, 毫秒
+     */
+    public record Stats(int queued, int running, long submitted, long completed, long failed, long cancelled,
+                        long timedOut, double throughput, double meanWaitMillis, double meanRunMillis) {
+
+        /** 一行可读的摘要. */
+        public String describe() {
+            return String.format("排队 %d, 运行 %d, 完成 %d/%d (失败 %d, 取消 %d, 超时 %d), %.2f 个/秒, 平均等待 %.1f ms, 平均运行 %.1f ms",
+                    queued, running, completed, submitted, failed, cancelled, timedOut, throughput, meanWaitMillis, meanRunMillis);
+        }
+    }
+
+    private final ThreadPoolExecutor workers;
+    private final BatchCache cache;
+    /** 尚未完成的作业. */
+    private final Set<CompletableFuture<?>> pending = ConcurrentHashMap.newKeySet();
+    private final long startNanos = System.nanoTime();
+
+    private final AtomicInteger queued = new AtomicInteger();
+    private final AtomicInteger running = new AtomicInteger();
+    private final LongAdder submitted = new LongAdder();
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder cancelled = new LongAdder();
+    private final LongAdder timedOut = new LongAdder();
+    private final LongAdder started = new LongAdder();
+    private final LongAdder waitNanos = new LongAdder();
+    private final LongAdder finished = new LongAdder();
+    private final LongAdder runNanos = new LongAdder();
+
+    /** 工作线程数为处理器个数. */
+    public SolveService() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * @param threads 同时执行计算的线程数
+     * @throws IllegalArgumentException threads 不是正数时
+     */
+    public SolveService(int threads) {
+        this(threads, null);
+    }
+
+    /**
+     * @param threads 同时执行计算的线程数
+     * @param cache   批处理作业的结果缓存; 为 null 时不使用缓存
+     * @throws IllegalArgumentException threads 不是正数时
+     */
+    public SolveService(int threads, BatchCache cache) {
+        if (threads <= 0) {
+            throw new IllegalArgumentException("工作线程数必须是正数: " + threads);
+        }
+        this.cache = cache;
+        AtomicInteger counter = new AtomicInteger();
+        this.workers = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(), r -> {
+            Thread thread = new Thread(r, "solve-worker-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * 提交任意作业.
+     * @param timeout 从提交开始计算的时限 (包括排队时间); 为 null 时不限时
+     * @return 作业的结果; 超时时以 TimeoutException 异常完成, 取消时以 CancellationException 完成
+     * @throws IllegalStateException 服务已经关闭时
+     */
+    public <T> CompletableFuture<T> submit(Task<T> task, Duration timeout) {
+        Cancellation cancellation = new Cancellation();
+        CompletableFuture<T> future = new CompletableFuture<>();
+        pending.add(future);
+        future.whenComplete((result, error) -> {
+            pending.remove(future);
+            finish(cancellation, error);
+        });
+        long submittedAt = System.nanoTime();
+        submitted.increment();
+        queued.incrementAndGet();
+        try {
+            workers.execute(() -> execute(task, cancellation, future, submittedAt));
+        } catch (RejectedExecutionException e) {
+            queued.decrementAndGet();
+            submitted.decrement();
+            pending.remove(future);
+            throw new IllegalStateException("求解服务已经关闭", e);
+        }
+        if (timeout != null) {
+            future.orTimeout(timeout.toNanos(), TimeUnit.NANOSECONDS);
+        }
+        return future;
+    }
+
+    /**
+     * 提交批处理作业 (见 {@link BatchRunner}).
+     */
+    public CompletableFuture<BatchResult> submit(BatchJob job, Duration timeout) {
+        return submit(cancellation -> BatchRunner.run(job, cancellation, cache), timeout);
+    }
+
+    /** @return 批处理作业的结果缓存; 未使用缓存时为 null */
+    public BatchCache cache() {
+        return cache;
+    }
+
+    /**
+     * 提交直接法求解 (快速路径 solveFast). 只在开始前检查取消.
+     */
+    public CompletableFuture<DirectSolution> submitDirect(DirectSolver solver, RealMatrix a, RealVector b, Duration timeout) {
+        return submit(cancellation -> {
+            cancellation.check();
+            return solver.solveFast(a, b);
+        }, timeout);
+    }
+
+    /**
+     * 提交迭代法求解, 结果为最后一步的状态.
+     * @param m 预处理子, 可以为 null
+     */
+    public CompletableFuture<VectorIterationState> submitIterative(IterativeSolver solver, LinearOperator a, RealVector b,
+                                                                   RealVector x0, Preconditioner m, ConvergencePolicy policy,
+                                                                   Duration timeout) {
+        return submit(cancellation -> {
+            Iterator<VectorIterationState> iterator = solver.createIterator(a, b, x0, m, policy);
+            VectorIterationState last = null;
+            while (iterator.hasNext()) {
+                cancellation.check();
+                last = iterator.next();
+            }
+            return last;
+        }, timeout);
+    }
+
+    /**
+     * 提交非线性方程求根, 当 |f(x_k)| 或 |x_k - x_{k-1}| 小于 tolerance 时停止 (与批处理相同), 结果为最后一步的状态.
+     * @param x1 第二个初值 (弦截法); 其他方法传 Double.NaN
+     */
+    public CompletableFuture<IterationState> submitRoot(IterativeMethod method, Equation equation, double x0, double x1,
+                                                        double tolerance, Duration timeout) {
+        return submit(cancellation -> {
+            MethodIterator iterator = Double.isNaN(x1)
+                    ? method.createIterator(equation, x0)
+                    : method.createIterator(equation, x0, x1);
+            IterationState last = null;
+            boolean converged = false;
+            while (iterator.hasNext() && !converged) {
+                cancellation.check();
+                last = iterator.next();
+                converged = Math.abs(last.fx_k()) < tolerance || last.error_abs() < tolerance;
+            }
+            return last;
+        }, timeout);
+    }
+
+    public Stats stats() {
+        long startedCount = started.sum();
+        long finishedCount = finished.sum();
+        long completedCount = completed.sum();
+        double seconds = (System.nanoTime() - startNanos) / 1e9;
+        return new Stats(queued.get(), running.get(), submitted.sum(), completedCount, failed.sum(), cancelled.sum(),
+                timedOut.sum(), seconds > 0 ? completedCount / seconds : 0.0,
+                startedCount == 0 ? 0.0 : waitNanos.sum() / 1e6 / startedCount,
+                finishedCount == 0 ? 0.0 : runNanos.sum() / 1e6 / finishedCount);
+    }
+
+    /**
+     * 不再接受新作业, 取消排队和运行中的作业, 并等待工作线程退出.
+     */
+    @Override
+    public void close() {
+        workers.shutdown();
+        pending.forEach(future -> future.cancel(false));
+        try {
+            workers.awaitTermination(1, TimeUnit.MINUTES);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private <T> void execute(Task<T> task, Cancellation cancellation, CompletableFuture<T> future, long submittedAt) {
+        queued.decrementAndGet();
+        if (future.isDone()) {
+            return;  // 排队时已被取消或超时
+        }
+        long start = System.nanoTime();
+        started.increment();
+        waitNanos.add(start - submittedAt);
+        running.incrementAndGet();
+        try {
+            future.complete(task.run(cancellation));
+        } catch (CancellationException e) {
+            future.cancel(false);
+        } catch (Throwable e) {
+            future.completeExceptionally(e);
+        } finally {
+            running.decrementAndGet();
+            finished.increment();
+            runNanos.add(System.nanoTime() - start);
+        }
+    }
+
+    /** future 完成时: 记录结果, 异常结束 (超时、取消) 时通知仍在运行的作业停止. */
+    private void finish(Cancellation cancellation, Throwable error) {
+        Throwable cause = (error instanceof CompletionException && error.getCause() != null) ? error.getCause() : error;
+        if (cause == null) {
+            completed.increment();
+            return;
+        }
+        if (cause instanceof TimeoutException) {
+            timedOut.increment();
+            cancellation.cancel("超时");
+        } else if (cause instanceof CancellationException) {
+            cancelled.increment();
+            cancellation.cancel("已取消");
+        } else {
+            failed.increment();
+        }
+    }
+}
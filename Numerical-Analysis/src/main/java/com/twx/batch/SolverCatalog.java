@@ -0,0 +1,176 @@
+// 文件路径: src/main/java/com/twx/batch/SolverCatalog.java
+package com.twx.batch;
+
+import com.twx.iterative_methods.model.IterativeMethod;
+import com.twx.iterative_methods.model.impl.AitkenMethod;
+import com.twx.iterative_methods.model.impl.DampedNewtonMethod;
+import com.twx.iterative_methods.model.impl.DoublePointSecantMethod;
+import com.twx.iterative_methods.model.impl.ModifiedSecantMethod;
+import com.twx.iterative_methods.model.impl.NewtonMethod;
+import com.twx.iterative_methods.model.impl.SimpleIterationMethod;
+import com.twx.iterative_methods.model.impl.SimplifiedNewtonMethod;
+import com.twx.iterative_methods.model.impl.SinglePointSecantMethod;
+import com.twx.linear_systems.model.DirectSolver;
+import com.twx.linear_systems.model.Direct_impl.BandedCholeskySolver;
+import com.twx.linear_systems.model.Direct_impl.BandedLUSolver;
+import com.twx.linear_systems.model.Direct_impl.CholeskySolver;
+import com.twx.linear_systems.model.Direct_impl.CompletePivotingGaussianSolver;
+import com.twx.linear_systems.model.Direct_impl.CroutSolver;
+import com.twx.linear_systems.model.Direct_impl.GaussianEliminationSolver;
+import com.twx.linear_systems.model.Direct_impl.LDLTSolver;
+import com.twx.linear_systems.model.Direct_impl.MixedPrecisionLUSolver;
+import com.twx.linear_systems.model.Direct_impl.SimpleGaussianEliminationSolver;
+import com.twx.linear_systems.model.Direct_impl.TridiagonalSolver;
+import com.twx.linear_systems.model.IterativeSolver;
+import com.twx.linear_systems.model.Iterative_impl.AndersonAccelerator;
+import com.twx.linear_systems.model.Iterative_impl.BiCGStabSolver;
+import com.twx.linear_systems.model.Iterative_impl.BlockJacobiSolver;
+import com.twx.linear_systems.model.Iterative_impl.ChebyshevAccelerator;
+import com.twx.linear_systems.model.Iterative_impl.ConjugateGradientSolver;
+import com.twx.linear_systems.model.Iterative_impl.GaussSeidelSolver;
+import com.twx.linear_systems.model.Iterative_impl.GmresSolver;
+import com.twx.linear_systems.model.Iterative_impl.JacobiSolver;
+import com.twx.linear_systems.model.Iterative_impl.MultigridSolver;
+import com.twx.linear_systems.model.Iterative_impl.ParallelJacobiSolver;
+import com.twx.linear_systems.model.Iterative_impl.PreconditionedRichardsonSolver;
+import com.twx.linear_systems.model.Iterative_impl.SuccessiveOverRelaxationSolver;
+import com.twx.linear_systems.model.PreconditionerFactory;
+import com.twx.linear_systems.model.Preconditioner_impl.Ilu0Preconditioner;
+import com.twx.linear_systems.model.Preconditioner_impl.IncompleteCholeskyPreconditioner;
+import com.twx.linear_systems.model.Preconditioner_impl.JacobiPreconditioner;
+import com.twx.linear_systems.model.Preconditioner_impl.SsorPreconditioner;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+
+/**
+ * 批处理模式可用的求解器, 按简短的英文键名查找 (也接受界面中显示的名称).
+ * 只引用模型层的类, 不会加载任何 JavaFX 类. 求解器按需实例化;
+ * 用 switch 而不是 lambda 表登记, 避免启动时为几十个调用点引导 invokedynamic.
+ */
+public final class SolverCatalog {
+
+    public static final List<String> DIRECT_KEYS = List.of(
+            "crout", "complete-pivoting", "rook-pivoting", "gauss-simple", "gauss", "mixed-lu",
+            "cholesky", "ldlt", "tridiagonal", "banded-lu", "banded-cholesky");
+    public static final List<String> ITERATIVE_KEYS = List.of(
+            "sor", "sor-parallel", "gauss-seidel", "gauss-seidel-parallel", "jacobi", "jacobi-parallel",
+            "cg", "gmres", "bicgstab", "richardson", "multigrid", "multigrid-w", "block-jacobi", "schwarz",
+            "anderson-jacobi", "anderson-gauss-seidel", "chebyshev-jacobi");
+    public static final List<String> PRECONDITIONER_KEYS = List.of("jacobi", "ssor", "ilu0", "ic0");
+    public static final List<String> ROOT_FINDING_KEYS = List.of(
+            "newton", "simplified-newton", "damped-newton", "modified-secant", "simple-iteration",
+            "aitken", "secant", "single-point-secant");
+
+    private SolverCatalog() {
+    }
+
+    /**
+     * @throws IllegalArgumentException 没有该名称的直接法时
+     */
+    public static DirectSolver direct(String name) {
+        return lookup(DIRECT_KEYS, SolverCatalog::newDirect, name, "直接法", DirectSolver::getName);
+    }
+
+    /**
+     * @throws IllegalArgumentException 没有该名称的迭代法时
+     */
+    public static IterativeSolver iterative(String name) {
+        return lookup(ITERATIVE_KEYS, SolverCatalog::newIterative, name, "迭代法", IterativeSolver::getName);
+    }
+
+    /**
+     * @throws IllegalArgumentException 没有该名称的预处理方法时
+     */
+    public static PreconditionerFactory preconditioner(String name) {
+        return lookup(PRECONDITIONER_KEYS, SolverCatalog::newPreconditioner, name, "预处理方法", PreconditionerFactory::getName);
+    }
+
+    /**
+     * @throws IllegalArgumentException 没有该名称的非线性方程求根方法时
+     */
+    public static IterativeMethod rootFinding(String name) {
+        return lookup(ROOT_FINDING_KEYS, SolverCatalog::newRootFinding, name, "求根方法", IterativeMethod::getName);
+    }
+
+    private static DirectSolver newDirect(String key) {
+        return switch (key) {
+            case "crout" -> new CroutSolver();
+            case "complete-pivoting" -> new CompletePivotingGaussianSolver();
+            case "rook-pivoting" -> new CompletePivotingGaussianSolver(CompletePivotingGaussianSolver.PivotStrategy.ROOK);
+            case "gauss-simple" -> new SimpleGaussianEliminationSolver();
+            case "gauss" -> new GaussianEliminationSolver();
+            case "mixed-lu" -> new MixedPrecisionLUSolver();
+            case "cholesky" -> new CholeskySolver();
+            case "ldlt" -> new LDLTSolver();
+            case "tridiagonal" -> new TridiagonalSolver();
+            case "banded-lu" -> new BandedLUSolver();
+            case "banded-cholesky" -> new BandedCholeskySolver();
+            default -> null;
+        };
+    }
+
+    private static IterativeSolver newIterative(String key) {
+        return switch (key) {
+            case "sor" -> new SuccessiveOverRelaxationSolver();
+            case "sor-parallel" -> new SuccessiveOverRelaxationSolver(ForkJoinPool.commonPool());
+            case "gauss-seidel" -> new GaussSeidelSolver();
+            case "gauss-seidel-parallel" -> new GaussSeidelSolver(ForkJoinPool.commonPool());
+            case "jacobi" -> new JacobiSolver();
+            case "jacobi-parallel" -> new ParallelJacobiSolver();
+            case "cg" -> new ConjugateGradientSolver();
+            case "gmres" -> new GmresSolver();
+            case "bicgstab" -> new BiCGStabSolver();
+            case "richardson" -> new PreconditionedRichardsonSolver();
+            case "multigrid" -> new MultigridSolver();
+            case "multigrid-w" -> new MultigridSolver(MultigridSolver.Cycle.W, MultigridSolver.Smoother.GAUSS_SEIDEL);
+            case "block-jacobi" -> new BlockJacobiSolver();
+            case "schwarz" -> new BlockJacobiSolver(3, 1);
+            case "anderson-jacobi" -> new AndersonAccelerator(new JacobiSolver(), 5);
+            case "anderson-gauss-seidel" -> new AndersonAccelerator(new GaussSeidelSolver(), 5);
+            case "chebyshev-jacobi" -> new ChebyshevAccelerator(new JacobiSolver());
+            default -> null;
+        };
+    }
+
+    private static PreconditionerFactory newPreconditioner(String key) {
+        return switch (key) {
+            case "jacobi" -> new JacobiPreconditioner();
+            case "ssor" -> new SsorPreconditioner();
+            case "ilu0" -> new Ilu0Preconditioner();
+            case "ic0" -> new IncompleteCholeskyPreconditioner();
+            default -> null;
+        };
+    }
+
+    private static IterativeMethod newRootFinding(String key) {
+        return switch (key) {
+            case "newton" -> new NewtonMethod();
+            case "simplified-newton" -> new SimplifiedNewtonMethod();
+            case "damped-newton" -> new DampedNewtonMethod();
+            case "modified-secant" -> new ModifiedSecantMethod();
+            case "simple-iteration" -> new SimpleIterationMethod();
+            case "aitken" -> new AitkenMethod();
+            case "secant" -> new DoublePointSecantMethod();
+            case "single-point-secant" -> new SinglePointSecantMethod();
+            default -> null;
+        };
+    }
+
+    /** 先按键名 (忽略大小写) 查找, 再按求解器的显示名称查找. */
+    private static <T> T lookup(List<String> keys, Function<String, T> factory, String name, String kind,
+                                Function<T, String> displayName) {
+        T instance = factory.apply(name.toLowerCase());
+        if (instance != null) {
+            return instance;
+        }
+        for (String key : keys) {
+            T candidate = factory.apply(key);
+            if (displayName.apply(candidate).equals(name)) {
+                return candidate;
+            }
+        }
+        throw new IllegalArgumentException("未知的" + kind + ": " + name + " (可选 " + String.join(", ", keys) + ")");
+    }
+}
@@ -0,0 +1,295 @@
+// 文件路径: src/main/java/com/twx/batch/SystemInput.java
+package com.twx.batch;
+
+import com.twx.linear_systems.io.BinaryMatrixFile;
+import com.twx.linear_systems.io.MappedDenseMatrix;
+import com.twx.linear_systems.io.MatrixMarket;
+import com.twx.linear_systems.model.LinearOperator;
+import com.twx.linear_systems.model.Operator_impl.DenseOperator;
+import com.twx.linear_systems.model.Operator_impl.OffHeapDenseMatrix;
+import com.twx.linear_systems.model.Operator_impl.StencilOperator;
+import net.objecthunter.exp4j.Expression;
+import net.objecthunter.exp4j.ExpressionBuilder;
+import net.objecthunter.exp4j.function.Function;
+import org.apache.commons.math3.linear.Array2DRowRealMatrix;
+import org.apache.commons.math3.linear.ArrayRealVector;
+import org.apache.commons.math3.linear.RealMatrix;
+import org.apache.commons.math3.linear.RealVector;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * 从作业文件读取线性方程组 A·x = b.
+ * 系数矩阵 (四选一):
+ * <ul>
+ *     <li>{@code matrix = 文件}: 每行一行矩阵元素, 以空白或逗号分隔, # 开头为注释;
+ *         也可以是 {@link BinaryMatrixFile} 格式 (按魔数识别, 直接映射, 不复制到堆上)
+ *         或 Matrix Market 文件 (扩展名 .mtx; 迭代法作业中的 coordinate 格式先转换为临时的二进制 CSR 文件再映射, 关闭输入时删除);</li>
+ *     <li>{@code matrix.inline = 4 -1 0; -1 4 -1; 0 -1 4}: 行之间以分号分隔;</li>
+ *     <li>{@code matrix.expr = 4*delta(i,j) - delta(abs(i-j),1)} 与 {@code size = n}:
+ *         以行号 i、列号 j (从 1 开始) 为变量的表达式, delta(a, b) 在 a = b 时为 1, 否则为 0;</li>
+ *     <li>{@code operator = laplacian1D n | laplacian2D nx ny | ninePoint nx ny}: 无矩阵的模板算子.</li>
+ * </ul>
+ * 给出 {@code matrix.offheap = true} 时把显式的系数矩阵逐行复制到堆外 ({@link OffHeapDenseMatrix}), 高斯列主元消元法在堆外分解,
+ * 迭代法直接以它为算子; 二进制 DENSE 文件经映射逐行复制, 堆上不出现整个矩阵. 堆外内存在 {@link #close()} 时释放.
+ * 向量 b (前缀 vector) 与迭代初值 x0 (前缀 initial, 缺省为零向量) 以同样的方式给出:
+ * {@code 前缀 = 文件} (文本或二进制向量文件), {@code 前缀.inline = 1 2 3}, {@code 前缀.expr = 以 i 为变量的表达式}, {@code 前缀.fill = 常数}.
+ */
+public final class SystemInput implements AutoCloseable {
+
+    private static final Pattern SEPARATOR = Pattern.compile("[\\s,]+");
+
+    /** Kronecker δ, 用于在表达式中区分对角元和非对角元. */
+    private static final Function DELTA = new Function("delta", 2) {
+        @Override
+        public double apply(double... args) {
+            return args[0] == args[1] ? 1.0 : 0.0;
+        }
+    };
+
+    private final RealMatrix matrix;
+    private final LinearOperator operator;
+    private final RealVector b;
+    /** coordinate 格式转换得到的临时二进制文件, 在 {@link #close()} 时删除; 没有时为 null. */
+    private final Path temporary;
+
+    private SystemInput(RealMatrix matrix, LinearOperator operator, RealVector b, Path temporary) {
+        this.matrix = matrix;
+        this.operator = operator;
+        this.b = b;
+        this.temporary = temporary;
+    }
+
+    /**
+     * @throws IllegalArgumentException 作业文件缺少输入、格式错误或维数不一致时
+     * @throws IOException              矩阵或向量文件无法读取时
+     */
+    public static SystemInput read(BatchJob job) throws IOException {
+        RealMatrix matrix = null;
+        LinearOperator operator;
+        Path temporary = null;
+        if (job.has("operator")) {
+            operator = parseOperator(job.get("operator"));
+        } else if (job.has("matrix") && BinaryMatrixFile.isBinaryMatrixFile(job.resolve(job.get("matrix")))) {
+            operator = BinaryMatrixFile.open(job.resolve(job.get("matrix")));
+            if (operator instanceof MappedDenseMatrix dense) {
+                matrix = dense;
+            }
+        } else if (job.has("matrix") && job.get("matrix").toLowerCase().endsWith(".mtx")) {
+            Path file = job.resolve(job.get("matrix"));
+            if (job.type() == BatchJob.Type.ITERATIVE && MatrixMarket.readInfo(file).coordinate()) {
+                temporary = Files.createTempFile("matrix", ".namx");
+                try {
+                    MatrixMarket.convert(file, temporary);
+                    operator = BinaryMatrixFile.open(temporary);
+                } catch (IOException | RuntimeException e) {
+                    delete(temporary);
+                    throw e;
+                }
+            } else {
+                matrix = MatrixMarket.readMatrix(file);
+                if (!matrix.isSquare()) {
+                    throw new IllegalArgumentException(String.format("系数矩阵必须是方阵: %d×%d",
+                            matrix.getRowDimension(), matrix.getColumnDimension()));
+                }
+                operator = new DenseOperator(matrix);
+            }
+        } else {
+            matrix = readMatrix(job);
+            operator = new DenseOperator(matrix);
+        }
+        try {
+            int n = operator.dimension();
+            RealVector b = readVector(job, "vector", n);
+            if (b == null) {
+                throw new IllegalArgumentException("作业文件缺少常数向量 (vector / vector.inline / vector.expr / vector.fill)");
+            }
+            if (job.getBoolean("matrix.offheap", false)) {
+                if (matrix == null) {
+                    throw new IllegalArgumentException("matrix.offheap 需要显式的稠密系数矩阵");
+                }
+                OffHeapDenseMatrix offHeap = OffHeapDenseMatrix.copyOf(matrix);
+                matrix = offHeap;
+                operator = offHeap;
+            }
+            return new SystemInput(matrix, operator, b, temporary);
+        } catch (IOException | RuntimeException e) {
+            delete(temporary);
+            throw e;
+        }
+    }
+
+    /**
+     * 释放堆外存储的系数矩阵 (matrix.offheap) 并删除转换得到的临时文件; 其他输入不需要释放.
+     * 长期运行的求解服务依赖它, 否则每个 coordinate 格式的作业都会在临时目录中留下一个文件.
+     */
+    @Override
+    public void close() {
+        if (matrix instanceof OffHeapDenseMatrix offHeap) {
+            offHeap.close();
+        }
+        delete(temporary);
+    }
+
+    /** 删除临时文件; 部分平台不能删除仍被映射的文件, 此时改为在退出时删除. */
+    private static void delete(Path file) {
+        if (file == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            file.toFile().deleteOnExit();
+        }
+    }
+
+    /** @return 显式给出的系数矩阵; 使用模板算子时为 null */
+    public RealMatrix matrix() {
+        return matrix;
+    }
+
+    public LinearOperator operator() {
+        return operator;
+    }
+
+    public RealVector b() {
+        return b;
+    }
+
+    public int dimension() {
+        return operator.dimension();
+    }
+
+    /**
+     * @return 迭代初值 (前缀 initial); 未给出时为零向量
+     */
+    public RealVector initialGuess(BatchJob job) throws IOException {
+        RealVector x0 = readVector(job, "initial", dimension());
+        return x0 != null ? x0 : new ArrayRealVector(dimension());
+    }
+
+    private static LinearOperator parseOperator(String spec) {
+        String[] parts = spec.trim().split("\\s+");
+        try {
+            return switch (parts[0].toLowerCase()) {
+                case "laplacian1d" -> StencilOperator.laplacian1D(Integer.parseInt(parts[1]));
+                case "laplacian2d" -> StencilOperator.laplacian2D(Integer.parseInt(parts[1]), Integer.parseInt(parts[2]));
+                case "ninepoint" -> StencilOperator.ninePointLaplacian(Integer.parseInt(parts[1]), Integer.parseInt(parts[2]));
+                default -> throw new IllegalArgumentException("未知的模板算子: " + parts[0] + " (可选 laplacian1D / laplacian2D / ninePoint)");
+            };
+        } catch (ArrayIndexOutOfBoundsException | NumberFormatException e) {
+            throw new IllegalArgumentException("模板算子的格式应为 \"名称 网格尺寸...\": " + spec);
+        }
+    }
+
+    private static RealMatrix readMatrix(BatchJob job) throws IOException {
+        double[][] data;
+        if (job.has("matrix")) {
+            data = parseRows(readLines(job.resolve(job.get("matrix"))));
+        } else if (job.has("matrix.inline")) {
+            data = parseRows(List.of(job.get("matrix.inline").split(";")));
+        } else if (job.has("matrix.expr")) {
+            data = evaluateMatrix(job.get("matrix.expr"), job.getInt("size", 0));
+        } else {
+            throw new IllegalArgumentException("作业文件缺少系数矩阵 (matrix / matrix.inline / matrix.expr / operator)");
+        }
+        for (double[] row : data) {
+            if (row.length != data.length) {
+                throw new IllegalArgumentException(String.format("系数矩阵必须是方阵: %d 行, 某行有 %d 个元素", data.length, row.length));
+            }
+        }
+        return new Array2DRowRealMatrix(data, false);
+    }
+
+    private static RealVector readVector(BatchJob job, String prefix, int n) throws IOException {
+        double[] data;
+        if (job.has(prefix) && BinaryMatrixFile.isBinaryMatrixFile(job.resolve(job.get(prefix)))) {
+            data = BinaryMatrixFile.readVector(job.resolve(job.get(prefix))).toArray();
+        } else if (job.has(prefix)) {
+            data = parseValues(String.join(" ", readLines(job.resolve(job.get(prefix)))));
+        } else if (job.has(prefix + ".inline")) {
+            data = parseValues(job.get(prefix + ".inline"));
+        } else if (job.has(prefix + ".expr")) {
+            Expression expression = new ExpressionBuilder(job.get(prefix + ".expr")).function(DELTA).variables("i", "n").build();
+            data = new double[n];
+            for (int i = 0; i < n; i++) {
+                data[i] = expression.setVariable("i", i + 1).setVariable("n", n).evaluate();
+            }
+        } else if (job.has(prefix + ".fill")) {
+            data = new double[n];
+            Arrays.fill(data, job.getDouble(prefix + ".fill", 0.0));
+        } else {
+            return null;
+        }
+        if (data.length != n) {
+            throw new IllegalArgumentException(String.format("%s 的维数 %d 与系数矩阵的阶数 %d 不一致", prefix, data.length, n));
+        }
+        return new ArrayRealVector(data, false);
+    }
+
+    private static double[][] evaluateMatrix(String expr, int n) {
+        if (n < 1) {
+            throw new IllegalArgumentException("matrix.expr 需要正整数 size");
+        }
+        Expression expression = new ExpressionBuilder(expr).function(DELTA).variables("i", "j", "n").build();
+        expression.setVariable("n", n);
+        double[][] data = new double[n][n];
+        for (int i = 0; i < n; i++) {
+            expression.setVariable("i", i + 1);
+            for (int j = 0; j < n; j++) {
+                data[i][j] = expression.setVariable("j", j + 1).evaluate();
+            }
+        }
+        return data;
+    }
+
+    /** 读取非空、非注释行. */
+    private static List<String> readLines(Path file) throws IOException {
+        List<String> lines = new ArrayList<>();
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String trimmed = line.trim();
+                if (!trimmed.isEmpty() && !trimmed.startsWith("#")) {
+                    lines.add(trimmed);
+                }
+            }
+        }
+        return lines;
+    }
+
+    private static double[][] parseRows(List<String> rows) {
+        List<double[]> parsed = new ArrayList<>();
+        for (String row : rows) {
+            if (!row.isBlank()) {
+                parsed.add(parseValues(row));
+            }
+        }
+        return parsed.toArray(new double[0][]);
+    }
+
+    private static double[] parseValues(String text) {
+        String trimmed = text.trim();
+        if (trimmed.isEmpty()) {
+            return new double[0];
+        }
+        String[] tokens = SEPARATOR.split(trimmed);
+        double[] values = new double[tokens.length];
+        for (int i = 0; i < tokens.length; i++) {
+            try {
+                values[i] = Double.parseDouble(tokens[i]);
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("无法解析的数值: " + tokens[i]);
+            }
+        }
+        return values;
+    }
+}
@@ -0,0 +1,156 @@
+// 文件路径: src/main/java/com/twx/cache/CacheKey.java
+package com.twx.cache;
+
+import com.twx.linear_systems.model.LinearOperator;
+import org.apache.commons.math3.linear.Array2DRowRealMatrix;
+import org.apache.commons.math3.linear.RealMatrix;
+import org.apache.commons.math3.linear.RealVector;
+
+/**
+ * 按内容计算的 128 位缓存键: 同样的输入 (矩阵和向量的每个元素、方法名称、参数) 总是得到同样的键,
+ * 与对象的身份或文件路径无关. 使用非加密的 MurmurHash3 风格混合函数, 每个 64 位字只需几次乘法和移位;
+ * 128 位下偶然碰撞的概率可以忽略, 但不能抵御有意构造的碰撞.
+ */
+public record CacheKey(long high, long low) {
+
+    /** @return 32 个十六进制字符, 用作磁盘缓存的文件名 */
+    public String hex() {
+        return String.format("%016x%016x", high, low);
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * 逐项累加输入. 字符串与数组先累加长度, 因此 ("ab", "c") 与 ("a", "bc") 得到不同的键;
+     * 各项不带类型标记 (putLong 与 putDouble 按 64 位字累加), 同一用途的键须按固定的顺序累加同样类型的项.
+     */
+    public static final class Builder {
+        private static final long C1 = 0x87c37b91114253d5L;
+        private static final long C2 = 0x4cf5ad432745937fL;
+
+        private long h1 = 0x9368e53c2f6af274L;
+        private long h2 = 0x586dcd208f7cd3fdL;
+        private long words;
+
+        private Builder() {
+        }
+
+        public Builder putLong(long value) {
+            long k1 = Long.rotateLeft(value * C1, 31) * C2;
+            h1 ^= k1;
+            h1 = Long.rotateLeft(h1, 27) + h2;
+            h1 = h1 * 5 + 0x52dce729;
+            long k2 = Long.rotateLeft(value * C2, 33) * C1;
+            h2 ^= k2;
+            h2 = Long.rotateLeft(h2, 31) + h1;
+            h2 = h2 * 5 + 0x38495ab5;
+            words++;
+            return this;
+        }
+
+        /** 按位累加; 0.0 与 -0.0、不同的 NaN 视为不同的值. */
+        public Builder putDouble(double value) {
+            return putLong(Double.doubleToRawLongBits(value));
+        }
+
+        /** null 与空串视为不同的值. */
+        public Builder putString(String value) {
+            if (value == null) {
+                return putLong(-1);
+            }
+            putLong(value.length());
+            long word = 0;
+            for (int i = 0; i < value.length(); i++) {
+                word = (word << 16) | value.charAt(i);
+                if ((i & 3) == 3) {
+                    putLong(word);
+                    word = 0;
+                }
+            }
+            return (value.length() & 3) == 0 ? this : putLong(word);
+        }
+
+        /** 累加另一个键 (如先单独计算的矩阵内容的键). */
+        public Builder putKey(CacheKey key) {
+            return putLong(key.high()).putLong(key.low());
+        }
+
+        public Builder putDoubles(double[] values) {
+            putLong(values.length);
+            for (double value : values) {
+                putDouble(value);
+            }
+            return this;
+        }
+
+        public Builder putVector(RealVector vector) {
+            putLong(vector.getDimension());
+            for (int i = 0; i < vector.getDimension(); i++) {
+                putDouble(vector.getEntry(i));
+            }
+            return this;
+        }
+
+        public Builder putMatrix(RealMatrix matrix) {
+            putLong(matrix.getRowDimension());
+            putLong(matrix.getColumnDimension());
+            if (matrix instanceof Array2DRowRealMatrix dense) {
+                for (double[] row : dense.getDataRef()) {
+                    for (double value : row) {
+                        putDouble(value);
+                    }
+                }
+                return this;
+            }
+            for (int i = 0; i < matrix.getRowDimension(); i++) {
+                for (int j = 0; j < matrix.getColumnDimension(); j++) {
+                    putDouble(matrix.getEntry(i, j));
+                }
+            }
+            return this;
+        }
+
+        /**
+         * 按行累加线性算子的非零元 (列号与数值), 与其存储方式 (模板、CSR、映射文件) 无关.
+         * @throws IllegalArgumentException 算子不支持按行访问时
+         */
+        public Builder putOperator(LinearOperator operator) {
+            if (!operator.hasRowAccess()) {
+                throw new IllegalArgumentException("不支持按行访问的算子不能作为缓存键");
+            }
+            int n = operator.dimension();
+            putLong(n);
+            for (int i = 0; i < n; i++) {
+                putLong(-2 - i);  // 行分隔标记
+                operator.forEachInRow(i, (j, value) -> {
+                    putLong(j);
+                    putDouble(value);
+                });
+            }
+            return this;
+        }
+
+        public CacheKey build() {
+            long a = h1 ^ words;
+            long b = h2 ^ words;
+            a += b;
+            b += a;
+            a = mix(a);
+            b = mix(b);
+            a += b;
+            b += a;
+            return new CacheKey(a, b);
+        }
+
+        private static long mix(long k) {
+            k ^= k >>> 33;
+            k *= 0xff51afd7ed558ccdL;
+            k ^= k >>> 33;
+            k *= 0xc4ceb9fe1a85ec53L;
+            k ^= k >>> 33;
+            return k;
+        }
+    }
+}
@@ -0,0 +1,292 @@
+// 文件路径: src/main/java/com/twx/cache/ResultCache.java
+package com.twx.cache;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.ToLongFunction;
+import java.util.stream.Stream;
+
+/**
+ * 按 {@link CacheKey} 存放求解结果的缓存, 可以被多个线程同时使用.
+ * <p>
+ * 内存层按估计的字节数 (由 weigher 给出) 限制总大小, 超出时淘汰最久未使用的项 (LRU); 单项超过上限时不放入内存.
+ * 可选的磁盘层 ({@link #withDiskTier}) 把每一项写成目录下以键命名的文件, 内存未命中时再查磁盘, 命中后放回内存;
+ * 磁盘层同样有总大小上限, 超出时删除最久未访问的文件. 磁盘读写失败时只当作未命中, 不影响求解.
+ * 持有外部资源的值 (如堆外内存) 可以用 {@link #onEviction} 在离开内存层时释放.
+ */
+public final class ResultCache<V> {
+
+    /**
+     * 磁盘层的序列化方式.
+     */
+    public interface Codec<V> {
+        void write(V value, DataOutput out) throws IOException;
+
+        V read(DataInput in) throws IOException;
+    }
+
+    /**
+     * 缓存的统计信息.
+     *
+     * @param hits      内存层命中次数
+     * @param diskHits  内存未命中、磁盘层命中的次数
+     * @param misses    未命中次数
+     * @param evictions 内存层淘汰的项数
+     * @param entries   内存层的项数
+     * @param bytes     内存层的估计字节数
+     */
+    public record Stats(long hits, long diskHits, long misses, long evictions, int entries, long bytes) {
+
+        /** @return 命中率 (含磁盘层); 还没有查询时为 0 */
+        public double hitRatio() {
+            long lookups = hits + diskHits + misses;
+            return lookups == 0 ? 0.0 : (double) (hits + diskHits) / lookups;
+        }
+
+        /** 一行可读的摘要. */
+        public String describe() {
+            return String.format("命中率 %.1f%% (命中 %d, 磁盘命中 %d, 未命中 %d), %d 项 %.1f KB, 淘汰 %d",
+                    100 * hitRatio(), hits, diskHits, misses, entries, bytes / 1024.0, evictions);
+        }
+    }
+
+    private static final int FILE_MAGIC = 0x4e415243;  // "NARC"
+    private static final String SUFFIX = ".cache";
+
+    private final long maxBytes;
+    private final ToLongFunction<V> weigher;
+    private Consumer<V> evictionListener = value -> { };
+    private final LinkedHashMap<CacheKey, Entry<V>> memory = new LinkedHashMap<>(16, 0.75f, true);
+    private long bytes;
+
+    private Path directory;
+    private long maxDiskBytes;
+    private Codec<V> codec;
+    private final AtomicLong diskBytes = new AtomicLong();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder diskHits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    private record Entry<V>(V value, long weight) {
+    }
+
+    /**
+     * @param maxBytes 内存层的总大小上限 (估计值)
+     * @param weigher  估计一项占用的字节数
+     */
+    public ResultCache(long maxBytes, ToLongFunction<V> weigher) {
+        this.maxBytes = maxBytes;
+        this.weigher = weigher;
+    }
+
+    /**
+     * 启用磁盘层 (须在使用缓存之前调用).
+     * @param directory    存放缓存文件的目录, 不存在时创建
+     * @param maxDiskBytes 磁盘层的总大小上限
+     * @throws UncheckedIOException 无法创建或读取目录时
+     */
+    public ResultCache<V> withDiskTier(Path directory, long maxDiskBytes, Codec<V> codec) {
+        try {
+            Files.createDirectories(directory);
+            try (Stream<Path> files = Files.list(directory)) {
+                diskBytes.set(files.filter(f -> f.toString().endsWith(SUFFIX)).mapToLong(ResultCache::sizeOf).sum());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        this.directory = directory;
+        this.maxDiskBytes = maxDiskBytes;
+        this.codec = codec;
+        return this;
+    }
+
+    /**
+     * 设置离开内存层的值的处理 (须在使用缓存之前调用): 被淘汰、被同一键的新值替换、因过大未放入, 以及 {@link #clear()}.
+     * 在锁外调用, 此时其他线程可能仍在使用先前取得的值.
+     */
+    public ResultCache<V> onEviction(Consumer<V> listener) {
+        this.evictionListener = listener;
+        return this;
+    }
+
+    /**
+     * @return 缓存的值; 未命中时为 null
+     */
+    public V get(CacheKey key) {
+        synchronized (memory) {
+            Entry<V> entry = memory.get(key);
+            if (entry != null) {
+                hits.increment();
+                return entry.value();
+            }
+        }
+        V value = readDisk(key);
+        if (value == null) {
+            misses.increment();
+            return null;
+        }
+        diskHits.increment();
+        putMemory(key, value);
+        return value;
+    }
+
+    /**
+     * 放入缓存 (同时写入磁盘层).
+     */
+    public void put(CacheKey key, V value) {
+        putMemory(key, value);
+        writeDisk(key, value);
+    }
+
+    public Stats stats() {
+        synchronized (memory) {
+            return new Stats(hits.sum(), diskHits.sum(), misses.sum(), evictions.sum(), memory.size(), bytes);
+        }
+    }
+
+    /** 清空内存层 (磁盘层保留). */
+    public void clear() {
+        List<Entry<V>> removed;
+        synchronized (memory) {
+            removed = new ArrayList<>(memory.values());
+            memory.clear();
+            bytes = 0;
+        }
+        removed.forEach(entry -> evictionListener.accept(entry.value()));
+    }
+
+    private void putMemory(CacheKey key, V value) {
+        long weight = weigher.applyAsLong(value);
+        if (weight > maxBytes) {
+            evictionListener.accept(value);
+            return;
+        }
+        List<V> removed = new ArrayList<>();
+        synchronized (memory) {
+            Entry<V> old = memory.put(key, new Entry<>(value, weight));
+            bytes += weight - (old == null ? 0 : old.weight());
+            if (old != null && old.value() != value) {
+                removed.add(old.value());
+            }
+            Iterator<Entry<V>> eldest = memory.values().iterator();
+            while (bytes > maxBytes && eldest.hasNext()) {
+                Entry<V> entry = eldest.next();
+                bytes -= entry.weight();
+                eldest.remove();
+                evictions.increment();
+                removed.add(entry.value());
+            }
+        }
+        removed.forEach(evictionListener);
+    }
+
+    private V readDisk(CacheKey key) {
+        if (directory == null) {
+            return null;
+        }
+        Path file = directory.resolve(key.hex() + SUFFIX);
+        if (!Files.isRegularFile(file)) {
+            return null;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readInt() != FILE_MAGIC) {
+                return null;
+            }
+            V value = codec.read(in);
+            Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis()));
+            return value;
+        } catch (IOException | RuntimeException e) {
+            return null;  // 损坏或正在被替换的文件当作未命中
+        }
+    }
+
+    private void writeDisk(CacheKey key, V value) {
+        if (directory == null) {
+            return;
+        }
+        Path file = directory.resolve(key.hex() + SUFFIX);
+        Path temp = null;
+        boolean moved = false;
+        try {
+            temp = Files.createTempFile(directory, key.hex(), ".tmp");
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+                out.writeInt(FILE_MAGIC);
+                codec.write(value, out);
+            }
+            long previous = Files.exists(file) ? sizeOf(file) : 0;
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            moved = true;
+            if (diskBytes.addAndGet(sizeOf(file) - previous) > maxDiskBytes) {
+                trimDisk();
+            }
+        } catch (IOException | RuntimeException e) {
+            // 写入失败只是少缓存一项
+        } finally {
+            if (temp != null && !moved) {
+                try {
+                    Files.deleteIfExists(temp);
+                } catch (IOException e) {
+                    // 删除失败时留下的临时文件不计入磁盘层的大小
+                }
+            }
+        }
+    }
+
+    /** 按最后访问时间从旧到新删除文件, 直到不超过上限. */
+    private synchronized void trimDisk() throws IOException {
+        List<Path> files;
+        try (Stream<Path> list = Files.list(directory)) {
+            files = list.filter(f -> f.toString().endsWith(SUFFIX))
+                    .sorted(Comparator.comparing(ResultCache::lastModified))
+                    .toList();
+        }
+        for (Path file : files) {
+            if (diskBytes.get() <= maxDiskBytes) break;
+            long size = sizeOf(file);
+            if (Files.deleteIfExists(file)) {
+                diskBytes.addAndGet(-size);
+            }
+        }
+    }
+
+    private static long sizeOf(Path file) {
+        try {
+            return Files.size(file);
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    private static FileTime lastModified(Path file) {
+        try {
+            return Files.getLastModifiedTime(file);
+        } catch (IOException e) {
+            return FileTime.fromMillis(0);
+        }
+    }
+
+    /** 供 weigher 使用: 一个 double[] 的大致字节数. */
+    public static long weightOf(double[] values) {
+        return values == null ? 16 : 16 + 8L * values.length;
+    }
+}
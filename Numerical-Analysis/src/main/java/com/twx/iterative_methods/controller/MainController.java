@@ -1,5 +1,8 @@
 package com.twx.iterative_methods.controller;
 
+import com.twx.BackgroundWorker;
+import com.twx.cache.CacheKey;
+import com.twx.cache.ResultCache;
 import com.twx.iterative_methods.model.IterationState;
 import com.twx.iterative_methods.model.IterativeMethod;
 import com.twx.iterative_methods.model.MethodIterator;
@@ -15,7 +18,9 @@ import javafx.scene.paint.Color;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.CancellationException;
 import java.util.stream.Stream;
 
 public class MainController {
@@ -25,7 +30,8 @@ public class MainController {
     @FXML private TextField fField, gField, initialValueField, secondInitialValueField;
     @FXML private Label gLabel;
     @FXML private ComboBox<String> methodComboBox;
-    @FXML private Button resetButton, nextStepButton, clearButton;
+    @FXML private Button resetButton, nextStepButton, clearButton, cancelButton;
+    @FXML private ProgressIndicator progressIndicator;
     @FXML private TwoDimPlot twoDimPlot;
     @FXML private OneDimPlot oneDimPlot;
     @FXML private HBox x1Container;
@@ -38,6 +44,20 @@ public class MainController {
     private Equation currentEquation;
     private MethodIterator currentIterator;
     private final List<IterationState> iterationHistory = new ArrayList<>();
+    // --- 结果缓存: 同样的方程、方法和初值再次迭代时直接回放缓存的步骤 (进程内共享) ---
+    private static final ResultCache<List<IterationState>> CACHE = new ResultCache<>(4L << 20, states -> 64L * states.size());
+    /** 当前迭代的缓存键; 正在回放缓存时为 null. */
+    private CacheKey currentKey;
+    /** 迭代和绘图范围的采样都在后台执行, 界面线程只负责绘制. */
+    private BackgroundWorker worker;
+
+    /** 后台算出的初始状态; cachedSteps 为回放缓存的步数, 未命中时为 -1. */
+    private record Start(MethodIterator iterator, IterationState initial, int cachedSteps) {
+    }
+
+    /** 后台算出的一步迭代及新的绘图范围. */
+    private record Step(IterationState state, double[] bounds2D, double[] bounds1D, boolean last) {
+    }
     // --- 修改：添加了 AitkenMethod ---
     private final IterativeMethod[] methods = {
             new SimpleIterationMethod(), new NewtonMethod(), new AitkenMethod(),
@@ -65,12 +85,15 @@ public class MainController {
         methodComboBox.getSelectionModel().selectedItemProperty().addListener((obs, oldVal, newVal) -> updateUiForSelectedMethod());
         updateUiForSelectedMethod();
 
+        worker = new BackgroundWorker(progressIndicator, cancelButton);
         resetButton.setOnAction(e -> initializeIteration());
         nextStepButton.setOnAction(e -> performNextStep());
         clearButton.setOnAction(e -> clearAll());
     }
 
-    // 在 MainController.java 中，替换整个方法
+    /**
+     * 读取界面输入后在后台创建迭代器并算出初始状态 (命中缓存时回放缓存的步骤).
+     */
     private void initializeIteration() {
         try {
             clearAll();
@@ -80,7 +103,8 @@ public class MainController {
             String gStr = (selectedMethodName.equals(simpleIterationName) || selectedMethodName.equals(aitkenMethodName))
                     ? gField.getText() : "";
 
-            currentEquation = new Equation(fField.getText(), gStr);
+            Equation equation = new Equation(fField.getText(), gStr);
+            currentEquation = equation;
             double x0 = Double.parseDouble(initialValueField.getText());
 
             IterativeMethod selectedMethod = methods[methodComboBox.getSelectionModel().getSelectedIndex()];
@@ -90,31 +114,47 @@ public class MainController {
                 ((ModifiedSecantMethod) selectedMethod).setUpdateInterval(interval);
             }
 
-            twoDimPlot.setPlotData(currentEquation, selectedMethod, iterationHistory);
+            twoDimPlot.setPlotData(equation, selectedMethod, iterationHistory);
             oneDimPlot.setPlotData(iterationHistory, getColorForMethod(selectedMethod));
 
-            // --- 核心修改在这里 ---
-            // 判断方法是否为“割线法”或“单点弦截法”
-            if (selectedMethod.getName().equals(secantMethodName) || selectedMethod.getName().equals(singlePointSecantMethodName)) {
-                // 如果是，就读取第二个输入框的值，并调用双参数的createIterator
-                double x1 = Double.parseDouble(secondInitialValueField.getText());
-                currentIterator = selectedMethod.createIterator(currentEquation, x0, x1);
-            } else {
-                // 否则，调用单参数的createIterator
-                currentIterator = selectedMethod.createIterator(currentEquation, x0);
-            }
-
-            if (currentIterator.hasNext()) {
-                IterationState initialState = currentIterator.next();
-                iterationHistory.add(initialState);
-                logInitialState(initialState);
-            } else {
-                showError("Initialization Error", "Could not create iterator. Check function and initial value.");
-                return;
+            boolean secant = selectedMethod.getName().equals(secantMethodName)
+                    || selectedMethod.getName().equals(singlePointSecantMethodName);
+            double x1 = secant ? Double.parseDouble(secondInitialValueField.getText()) : Double.NaN;
+            CacheKey.Builder key = CacheKey.builder().putString(selectedMethodName)
+                    .putString(fField.getText()).putString(gStr).putDouble(x0).putDouble(x1);
+            if (selectedMethod instanceof ModifiedSecantMethod) {
+                key.putLong(intervalSpinner.getValue());
             }
-
-            drawFunctionWithInitialBounds(x0);
-            nextStepButton.setDisable(false);
+            CacheKey cacheKey = key.build();
+
+            worker.submit(context -> {
+                List<IterationState> cached = CACHE.get(cacheKey);
+                MethodIterator iterator;
+                if (cached != null) {
+                    iterator = replay(cached);
+                } else if (secant) {
+                    // 割线法和单点弦截法使用第二个初值, 调用双参数的 createIterator
+                    iterator = selectedMethod.createIterator(equation, x0, x1);
+                } else {
+                    iterator = selectedMethod.createIterator(equation, x0);
+                }
+                IterationState initial = iterator.hasNext() ? iterator.next() : null;
+                return new Start(iterator, initial, cached == null ? -1 : cached.size());
+            }, start -> {
+                if (start.initial() == null) {
+                    showError("Initialization Error", "Could not create iterator. Check function and initial value.");
+                    return;
+                }
+                currentIterator = start.iterator();
+                currentKey = start.cachedSteps() < 0 ? cacheKey : null;
+                iterationHistory.add(start.initial());
+                logInitialState(start.initial());
+                if (start.cachedSteps() >= 0) {
+                    logArea.appendText("(命中结果缓存, 回放 " + start.cachedSteps() + " 步; " + CACHE.stats().describe() + ")\n");
+                }
+                drawFunctionWithInitialBounds(x0);
+                nextStepButton.setDisable(false);
+            }, this::backgroundFailed);
 
         } catch (Exception e) {
             // 这里就是捕捉到并显示您看到的错误的“功臣”
@@ -123,27 +163,83 @@ public class MainController {
         }
     }
 
+    /**
+     * 在后台算出下一步及新的绘图范围 (对函数采样), 回到界面线程后只做绘制.
+     */
     private void performNextStep() {
-        if (currentIterator == null || !currentIterator.hasNext()) {
+        MethodIterator iterator = currentIterator;
+        if (iterator == null) {
             nextStepButton.setDisable(true);
             return;
         }
-        IterationState newState = currentIterator.next();
-        iterationHistory.add(newState);
-        logIterationStep(newState);
+        Equation equation = currentEquation;
         IterativeMethod selectedMethod = methods[methodComboBox.getSelectionModel().getSelectedIndex()];
-        double[] newBounds2D = calculateDynamicBounds2D(newState, selectedMethod);
-        twoDimPlot.animateToNewRange(newBounds2D[0], newBounds2D[1], newBounds2D[2], newBounds2D[3],
-                currentEquation.getF(), currentEquation.getG());
-        double[] newBounds1D = calculateDynamicBounds1D(newState);
-        oneDimPlot.animateToNewRange(newBounds1D[0], newBounds1D[1]);
-        if (!currentIterator.hasNext() || Math.abs(newState.fx_k()) < 1e-12 || newState.error_abs() < 1e-12) {
-            nextStepButton.setDisable(true);
+        nextStepButton.setDisable(true);
+        worker.submit(context -> {
+            if (!iterator.hasNext()) {
+                return null;
+            }
+            IterationState newState = iterator.next();
+            boolean last = !iterator.hasNext() || Math.abs(newState.fx_k()) < 1e-12 || newState.error_abs() < 1e-12;
+            return new Step(newState, calculateDynamicBounds2D(equation, newState, selectedMethod),
+                    calculateDynamicBounds1D(newState), last);
+        }, step -> {
+            if (step == null || iterator != currentIterator) {
+                return;
+            }
+            IterationState newState = step.state();
+            iterationHistory.add(newState);
+            logIterationStep(newState);
+            double[] newBounds2D = step.bounds2D();
+            twoDimPlot.animateToNewRange(newBounds2D[0], newBounds2D[1], newBounds2D[2], newBounds2D[3],
+                    equation.getF(), equation.getG());
+            double[] newBounds1D = step.bounds1D();
+            oneDimPlot.animateToNewRange(newBounds1D[0], newBounds1D[1]);
+            if (!step.last()) {
+                nextStepButton.setDisable(false);
+                return;
+            }
+            if (currentKey != null) {
+                CACHE.put(currentKey, List.copyOf(iterationHistory));
+                currentKey = null;
+            }
+        }, this::backgroundFailed);
+    }
+
+    /**
+     * 后台作业失败或被取消时结束本次迭代 (被取消的一步可能已推进了迭代器, 不能再继续), 须重新开始.
+     */
+    private void backgroundFailed(Throwable error) {
+        currentIterator = null;
+        currentKey = null;
+        nextStepButton.setDisable(true);
+        if (error instanceof CancellationException) {
+            logArea.appendText("已取消。\n");
+        } else {
+            showError("Iteration Error", "Error: " + error.getMessage());
         }
     }
 
+    /** 按顺序回放缓存的迭代步骤. */
+    private static MethodIterator replay(List<IterationState> states) {
+        Iterator<IterationState> iterator = states.iterator();
+        return new MethodIterator() {
+            @Override
+            public boolean hasNext() {
+                return iterator.hasNext();
+            }
+
+            @Override
+            public IterationState next() {
+                return iterator.next();
+            }
+        };
+    }
+
     private void clearAll() {
+        if (worker != null) worker.cancel();
         currentIterator = null;
+        currentKey = null;
         iterationHistory.clear();
         if (twoDimPlot != null) twoDimPlot.setPlotData(null, null, null);
         if (oneDimPlot != null) oneDimPlot.setPlotData(Collections.emptyList(), Color.BLACK);
@@ -168,7 +264,8 @@ public class MainController {
         twoDimPlot.animateToNewRange(x0 - range / 2, x0 + range / 2, y_at_x0 - range / 2, y_at_x0 + range / 2, currentEquation.getF(), currentEquation.getG());
     }
 
-    private double[] calculateDynamicBounds2D(IterationState state, IterativeMethod method) {
+    /** (后台) 对函数采样, 算出包含新旧迭代点的绘图范围. */
+    private static double[] calculateDynamicBounds2D(Equation equation, IterationState state, IterativeMethod method) {
         double x1 = state.x_k_minus_1(), x2 = state.x_k();
         double minX = Math.min(x1, x2), maxX = Math.max(x1, x2);
         double paddingX = Math.max((maxX - minX) * 0.5, 0.01);
@@ -180,7 +277,7 @@ public class MainController {
             for (int i = 0; i <= 100; i++) {
                 double x = finalMinX + i * (finalMaxX - finalMinX) / 100;
                 try {
-                    double valG = currentEquation.getG().apply(x);
+                    double valG = equation.getG().apply(x);
                     if (Double.isFinite(valG)) { minY = Math.min(minY, valG); maxY = Math.max(maxY, valG); }
                 } catch (Exception ignored) {}
             }
@@ -190,7 +287,7 @@ public class MainController {
             for (int i = 0; i <= 100; i++) {
                 double x = finalMinX + i * (finalMaxX - finalMinX) / 100;
                 try {
-                    double valF = currentEquation.getF().apply(x);
+                    double valF = equation.getF().apply(x);
                     if (Double.isFinite(valF)) { minY = Math.min(minY, valF); maxY = Math.max(maxY, valF); }
                 } catch (Exception ignored) {}
             }
@@ -201,7 +298,7 @@ public class MainController {
         return new double[]{finalMinX, finalMaxX, minY - paddingY, maxY + paddingY};
     }
 
-    private double[] calculateDynamicBounds1D(IterationState state) {
+    private static double[] calculateDynamicBounds1D(IterationState state) {
         double x1 = state.x_k_minus_1(), x2 = state.x_k();
         double minX = Math.min(x1, x2), maxX = Math.max(x1, x2);
         double paddingX = Math.max((maxX - minX) * 1.5, 0.01);
@@ -1,8 +1,6 @@
 package com.twx.iterative_methods.model;
 
 import com.twx.iterative_methods.model.impl.Equation;
-import com.twx.iterative_methods.view.TwoDimPlot;
-import javafx.scene.canvas.GraphicsContext;
 
 public interface IterativeMethod {
     /**
@@ -22,7 +20,6 @@ public interface IterativeMethod {
         throw new UnsupportedOperationException("This method does not support two initial values.");
     }
 
-    // draw2DStep 和 getName 保持不变
-    void draw2DStep(GraphicsContext gc, Equation equation, double x_n, double x_n1, TwoDimPlot plot);
+    // 每一步的绘图由视图层的 StepRenderer 负责, 模型不依赖 JavaFX
     String getName();
 }
\ No newline at end of file
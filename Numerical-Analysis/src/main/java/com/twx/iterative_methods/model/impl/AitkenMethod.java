@@ -3,9 +3,6 @@ package com.twx.iterative_methods.model.impl;
 import com.twx.iterative_methods.model.IterationState;
 import com.twx.iterative_methods.model.IterativeMethod;
 import com.twx.iterative_methods.model.MethodIterator;
-import com.twx.iterative_methods.view.TwoDimPlot;
-import javafx.scene.canvas.GraphicsContext;
-import javafx.scene.paint.Color;
 
 import java.util.function.Function;
 
@@ -80,61 +77,6 @@ public class AitkenMethod implements IterativeMethod {
         }
     }
 
-    /**
-     * 修改：重写了艾特肯法的绘图逻辑以画出轨迹线。
-     * 1. 首先用灰色虚线绘制出艾特肯法所加速的两次不动点迭代的“蛛网”轨迹。
-     * 2. 然后用主题颜色绘制出从 (x_n,f(x_n)) 到最终加速点 (x_{n+1},0) 的路径。
-     */
-    @Override
-    public void draw2DStep(GraphicsContext gc, Equation equation, double x_n, double x_n1, TwoDimPlot plot) {
-        Function<Double, Double> g = equation.getG();
-        if (g == null) return;
-
-        // --- 1. 绘制作为加速基础的两次不动点迭代（蛛网图） ---
-        // 计算中间步骤
-        double x_intermediate_1 = g.apply(x_n);
-        double x_intermediate_2 = g.apply(x_intermediate_1);
-
-        // 映射到画布坐标
-        double pXn_x = plot.mapX(x_n);
-        double pXi1_x = plot.mapX(x_intermediate_1);
-        double pXi1_y = plot.mapY(x_intermediate_1); // 注意这里是y=g(x)=x_intermediate_1
-        double pXi2_y = plot.mapY(x_intermediate_2);
-
-        gc.setStroke(Color.LIGHTSLATEGRAY);
-        gc.setLineWidth(1.0);
-        gc.setLineDashes(4, 4);
-
-        // 蛛网轨迹:
-        // (x_n, f(x_n)) -> (x_n, g(x_n)) -> (g(x_n), g(x_n)) -> (g(x_n), g(g(x_n)))
-        // 为了和 y=x 辅助线关联，我们从 (x_n, y=x_n) 开始画蛛网更清晰
-        gc.strokeLine(plot.mapX(x_n), plot.mapY(x_n), pXn_x, pXi1_y); // | 垂直线到 g(x)
-        gc.strokeLine(pXn_x, pXi1_y, pXi1_x, pXi1_y);                 // -- 水平线到 y=x
-        gc.strokeLine(pXi1_x, pXi1_y, pXi1_x, pXi2_y);                 // | 垂直线到 g(g(x))
-
-        gc.setLineDashes(0);
-
-        // --- 2. 绘制艾特肯加速的最终步骤 ---
-        double y_n = equation.getF().apply(x_n);
-        double pYn_y = plot.mapY(y_n);
-        double pXn1_x = plot.mapX(x_n1);
-        double pZero_y = plot.mapY(0);
-
-        gc.setStroke(Color.DEEPPINK);
-        gc.setLineWidth(1.5);
-
-        // 从 (x_n, f(x_n)) 画一条垂直线到x轴
-        gc.strokeLine(pXn_x, pYn_y, pXn_x, pZero_y);
-        // 从 (x_n, 0) 画一条水平线到 (x_{n+1}, 0)，表示加速后的跳跃
-        gc.strokeLine(pXn_x, pZero_y, pXn1_x, pZero_y);
-
-        // 绘制点
-        gc.setFill(Color.DEEPPINK);
-        gc.fillOval(pXn_x - 3, pYn_y - 3, 6, 6);
-        gc.setFill(Color.DARKVIOLET);
-        gc.fillOval(pXn1_x - 3, pZero_y - 3, 6, 6);
-    }
-
     @Override
     public String getName() {
         return "艾特肯法";
@@ -3,8 +3,6 @@ package com.twx.iterative_methods.model.impl;
 import com.twx.iterative_methods.model.IterationState;
 import com.twx.iterative_methods.model.IterativeMethod;
 import com.twx.iterative_methods.model.MethodIterator;
-import com.twx.iterative_methods.view.TwoDimPlot;
-import javafx.scene.canvas.GraphicsContext;
 
 public class DampedNewtonMethod implements IterativeMethod {
 
@@ -79,12 +77,6 @@ public class DampedNewtonMethod implements IterativeMethod {
         }
     }
 
-    @Override
-    public void draw2DStep(GraphicsContext gc, Equation equation, double x_n, double x_n1, TwoDimPlot plot) {
-        // 它的绘图方式与标准牛顿法完全相同
-        new NewtonMethod().draw2DStep(gc, equation, x_n, x_n1, plot);
-    }
-
     @Override
     public String getName() {
         return "牛顿下山法";
@@ -3,9 +3,6 @@ package com.twx.iterative_methods.model.impl;
 import com.twx.iterative_methods.model.IterationState;
 import com.twx.iterative_methods.model.IterativeMethod;
 import com.twx.iterative_methods.model.MethodIterator;
-import com.twx.iterative_methods.view.TwoDimPlot;
-import javafx.scene.canvas.GraphicsContext;
-import javafx.scene.paint.Color;
 
 public class NewtonMethod implements IterativeMethod {
 
@@ -68,20 +65,6 @@ public class NewtonMethod implements IterativeMethod {
         }
     }
 
-    // draw2DStep 和 getName 方法保持不变
-    @Override
-    public void draw2DStep(GraphicsContext gc, Equation equation, double x_n, double x_n1, TwoDimPlot plot) {
-        double y_n = equation.getF().apply(x_n);
-        double pXn_x = plot.mapX(x_n);
-        double pYn_y = plot.mapY(y_n);
-        double pXn1_x = plot.mapX(x_n1);
-        double pZero_y = plot.mapY(0);
-        gc.setStroke(Color.BLUE);
-        gc.setLineWidth(1.5);
-        gc.strokeLine(pXn_x, pYn_y, pXn_x, pZero_y);
-        gc.strokeLine(pXn_x, pYn_y, pXn1_x, pZero_y);
-    }
-
     @Override
     public String getName() {
         return "牛顿迭代法";
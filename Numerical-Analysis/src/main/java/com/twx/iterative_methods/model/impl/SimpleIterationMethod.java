@@ -3,9 +3,6 @@ package com.twx.iterative_methods.model.impl;
 import com.twx.iterative_methods.model.IterationState;
 import com.twx.iterative_methods.model.IterativeMethod;
 import com.twx.iterative_methods.model.MethodIterator;
-import com.twx.iterative_methods.view.TwoDimPlot;
-import javafx.scene.canvas.GraphicsContext;
-import javafx.scene.paint.Color;
 
 public class SimpleIterationMethod implements IterativeMethod {
 
@@ -59,21 +56,6 @@ public class SimpleIterationMethod implements IterativeMethod {
         }
     }
 
-    @Override
-    public void draw2DStep(GraphicsContext gc, Equation equation, double x_n, double x_n1, TwoDimPlot plot) {
-        double y_n_on_g = equation.getG().apply(x_n);
-        double pXn_x = plot.mapX(x_n);
-        double pXn_y_on_line = plot.mapY(x_n);
-        double pYn_y_on_g = plot.mapY(y_n_on_g);
-        double pXn1_x = plot.mapX(x_n1);
-        gc.setStroke(Color.RED);
-        gc.setLineWidth(1.5);
-        // 垂直线: 从 y=x 到 y=g(x)
-        gc.strokeLine(pXn_x, pXn_y_on_line, pXn_x, pYn_y_on_g);
-        // 水平线: 从 (x_n, g(x_n)) 到 (x_{n+1}, g(x_n))
-        gc.strokeLine(pXn_x, pYn_y_on_g, pXn1_x, pYn_y_on_g);
-    }
-
     @Override
     public String getName() {
         return "普通迭代法";
@@ -3,8 +3,6 @@ package com.twx.iterative_methods.model.impl;
 import com.twx.iterative_methods.model.IterationState;
 import com.twx.iterative_methods.model.IterativeMethod;
 import com.twx.iterative_methods.model.MethodIterator;
-import com.twx.iterative_methods.view.TwoDimPlot;
-import javafx.scene.canvas.GraphicsContext;
 
 public class SimplifiedNewtonMethod implements IterativeMethod {
 
@@ -59,11 +57,6 @@ public class SimplifiedNewtonMethod implements IterativeMethod {
         }
     }
 
-    @Override
-    public void draw2DStep(GraphicsContext gc, Equation equation, double x_n, double x_n1, TwoDimPlot plot) {
-        new NewtonMethod().draw2DStep(gc, equation, x_n, x_n1, plot);
-    }
-
     @Override
     public String getName() {
         return "简化切线法";
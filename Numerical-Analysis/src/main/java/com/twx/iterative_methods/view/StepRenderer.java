@@ -0,0 +1,219 @@
+package com.twx.iterative_methods.view;
+
+import com.twx.iterative_methods.model.IterationState;
+import com.twx.iterative_methods.model.IterativeMethod;
+import com.twx.iterative_methods.model.impl.AitkenMethod;
+import com.twx.iterative_methods.model.impl.DoublePointSecantMethod;
+import com.twx.iterative_methods.model.impl.Equation;
+import com.twx.iterative_methods.model.impl.SimpleIterationMethod;
+import com.twx.iterative_methods.model.impl.SinglePointSecantMethod;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.paint.Color;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * 在二维图上绘制一次迭代步骤的几何意义。
+ * 绘图代码放在视图层, 模型层 (迭代法本身) 不依赖 JavaFX, 可以在无界面的批处理模式下使用。
+ * 牛顿法、简化切线法、牛顿下山法、修正切线法都按切线法的方式绘制。
+ */
+public final class StepRenderer {
+
+    private StepRenderer() {
+    }
+
+    /**
+     * 绘制历史中第 index 个状态对应的一步 (从 x_{k-1} 到 x_k)。
+     * 弦截法需要的更早的点 (固定点、x_{k-2}) 也从历史中取, 不依赖迭代法对象的状态, 因此回放缓存的步骤时同样正确。
+     */
+    public static void draw(IterativeMethod method, GraphicsContext gc, Equation equation,
+                            List<IterationState> history, int index, TwoDimPlot plot) {
+        IterationState step = history.get(index);
+        double x_n = step.x_k_minus_1();
+        double x_n1 = step.x_k();
+        if (method instanceof SimpleIterationMethod) {
+            drawCobweb(gc, equation, x_n, x_n1, plot);
+        } else if (method instanceof AitkenMethod) {
+            drawAitken(gc, equation, x_n, x_n1, plot);
+        } else if (method instanceof SinglePointSecantMethod) {
+            // 单点弦截法的第一个状态就是 (x0, x1), 固定点 x0 即其 x_{k-1}
+            drawSinglePointSecant(gc, equation, history.get(0).x_k_minus_1(), x_n, x_n1, plot);
+        } else if (method instanceof DoublePointSecantMethod) {
+            double x_n_minus_1 = index > 0 ? history.get(index - 1).x_k_minus_1() : Double.NaN;
+            drawDoublePointSecant(gc, equation, x_n_minus_1, x_n, x_n1, plot);
+        } else {
+            drawTangent(gc, equation, x_n, x_n1, plot);
+        }
+    }
+
+    private static void drawTangent(GraphicsContext gc, Equation equation, double x_n, double x_n1, TwoDimPlot plot) {
+        double y_n = equation.getF().apply(x_n);
+        double pXn_x = plot.mapX(x_n);
+        double pYn_y = plot.mapY(y_n);
+        double pXn1_x = plot.mapX(x_n1);
+        double pZero_y = plot.mapY(0);
+        gc.setStroke(Color.BLUE);
+        gc.setLineWidth(1.5);
+        gc.strokeLine(pXn_x, pYn_y, pXn_x, pZero_y);
+        gc.strokeLine(pXn_x, pYn_y, pXn1_x, pZero_y);
+    }
+
+    private static void drawCobweb(GraphicsContext gc, Equation equation, double x_n, double x_n1, TwoDimPlot plot) {
+        double y_n_on_g = equation.getG().apply(x_n);
+        double pXn_x = plot.mapX(x_n);
+        double pXn_y_on_line = plot.mapY(x_n);
+        double pYn_y_on_g = plot.mapY(y_n_on_g);
+        double pXn1_x = plot.mapX(x_n1);
+        gc.setStroke(Color.RED);
+        gc.setLineWidth(1.5);
+        // 垂直线: 从 y=x 到 y=g(x)
+        gc.strokeLine(pXn_x, pXn_y_on_line, pXn_x, pYn_y_on_g);
+        // 水平线: 从 (x_n, g(x_n)) 到 (x_{n+1}, g(x_n))
+        gc.strokeLine(pXn_x, pYn_y_on_g, pXn1_x, pYn_y_on_g);
+    }
+
+    /**
+     * 1. 首先用灰色虚线绘制出艾特肯法所加速的两次不动点迭代的“蛛网”轨迹。
+     * 2. 然后用主题颜色绘制出从 (x_n,f(x_n)) 到最终加速点 (x_{n+1},0) 的路径。
+     */
+    private static void drawAitken(GraphicsContext gc, Equation equation, double x_n, double x_n1, TwoDimPlot plot) {
+        Function<Double, Double> g = equation.getG();
+        if (g == null) return;
+
+        // --- 1. 绘制作为加速基础的两次不动点迭代（蛛网图） ---
+        double x_intermediate_1 = g.apply(x_n);
+        double x_intermediate_2 = g.apply(x_intermediate_1);
+
+        double pXn_x = plot.mapX(x_n);
+        double pXi1_x = plot.mapX(x_intermediate_1);
+        double pXi1_y = plot.mapY(x_intermediate_1); // 注意这里是y=g(x)=x_intermediate_1
+        double pXi2_y = plot.mapY(x_intermediate_2);
+
+        gc.setStroke(Color.LIGHTSLATEGRAY);
+        gc.setLineWidth(1.0);
+        gc.setLineDashes(4, 4);
+
+        // 蛛网轨迹: 从 (x_n, y=x_n) 开始, 与 y=x 辅助线关联
+        gc.strokeLine(plot.mapX(x_n), plot.mapY(x_n), pXn_x, pXi1_y); // | 垂直线到 g(x)
+        gc.strokeLine(pXn_x, pXi1_y, pXi1_x, pXi1_y);                 // -- 水平线到 y=x
+        gc.strokeLine(pXi1_x, pXi1_y, pXi1_x, pXi2_y);                 // | 垂直线到 g(g(x))
+
+        gc.setLineDashes(0);
+
+        // --- 2. 绘制艾特肯加速的最终步骤 ---
+        double y_n = equation.getF().apply(x_n);
+        double pYn_y = plot.mapY(y_n);
+        double pXn1_x = plot.mapX(x_n1);
+        double pZero_y = plot.mapY(0);
+
+        gc.setStroke(Color.DEEPPINK);
+        gc.setLineWidth(1.5);
+
+        // 从 (x_n, f(x_n)) 画一条垂直线到x轴
+        gc.strokeLine(pXn_x, pYn_y, pXn_x, pZero_y);
+        // 从 (x_n, 0) 画一条水平线到 (x_{n+1}, 0)，表示加速后的跳跃
+        gc.strokeLine(pXn_x, pZero_y, pXn1_x, pZero_y);
+
+        gc.setFill(Color.DEEPPINK);
+        gc.fillOval(pXn_x - 3, pYn_y - 3, 6, 6);
+        gc.setFill(Color.DARKVIOLET);
+        gc.fillOval(pXn1_x - 3, pZero_y - 3, 6, 6);
+    }
+
+    /**
+     * 当 x_n 是固定点时 (第一步), 只画出两个初始点, 不画连线。
+     */
+    private static void drawSinglePointSecant(GraphicsContext gc, Equation equation, double x_fixed,
+                                              double x_n, double x_n1, TwoDimPlot plot) {
+        double y_fixed = equation.getF().apply(x_fixed);
+        double pXfixed_x = plot.mapX(x_fixed);
+        double pYfixed_y = plot.mapY(y_fixed);
+
+        if (Math.abs(x_n - x_fixed) < 1e-12) {
+            double y_n1 = equation.getF().apply(x_n1); // y_n1 就是 f(x1)
+            double pXn1_x = plot.mapX(x_n1);
+            double pYn1_y = plot.mapY(y_n1);
+
+            // 绘制固定点 (x0, f(x0))
+            gc.setFill(Color.DARKGOLDENROD);
+            gc.fillOval(pXfixed_x - 4, pYfixed_y - 4, 8, 8);
+            // 绘制第一个活动点 (x1, f(x1))
+            gc.setFill(Color.ORANGE);
+            gc.fillOval(pXn1_x - 3, pYn1_y - 3, 6, 6);
+            return;
+        }
+
+        double y_n = equation.getF().apply(x_n);
+        double pXn_x = plot.mapX(x_n);
+        double pYn_y = plot.mapY(y_n);
+        double pXn1_x = plot.mapX(x_n1);
+        double pZero_y = plot.mapY(0);
+
+        // 1. 绘制核心的割线：连接 (x_n, y_n) 和固定的 (x_fixed, y_fixed)
+        gc.setStroke(Color.ORANGE);
+        gc.setLineWidth(1.5);
+        gc.strokeLine(pXfixed_x, pYfixed_y, pXn_x, pYn_y);
+
+        // 2. 将割线延长至与x轴的交点 (x_{n+1}, 0)
+        gc.setLineDashes(2, 4);
+        gc.strokeLine(pXn_x, pYn_y, pXn1_x, pZero_y);
+        gc.setLineDashes(0);
+
+        // 3. 绘制点
+        gc.setFill(Color.DARKGOLDENROD); // 固定点
+        gc.fillOval(pXfixed_x - 4, pYfixed_y - 4, 8, 8);
+        gc.setFill(Color.ORANGE); // 当前活动点
+        gc.fillOval(pXn_x - 3, pYn_y - 3, 6, 6);
+        gc.setFill(Color.DARKORANGE); // 新产生的点
+        gc.fillOval(pXn1_x - 3, pZero_y - 3, 6, 6);
+    }
+
+    /**
+     * 割线连接 x_{n-1} 和 x_n, 与 x 轴交于 x_{n+1}; 第一步 (x_{n-1} 为 NaN) 只画出 x0 和 x1 两个点。
+     */
+    private static void drawDoublePointSecant(GraphicsContext gc, Equation equation,
+                                              double x_prev_prev, double x_prev, double x_curr, TwoDimPlot plot) {
+        // --- 初始步骤: 只画出 x0 和 x1 两个点 ---
+        if (Double.isNaN(x_prev_prev)) {
+            double x0 = x_prev;
+            double x1 = x_curr;
+            double y0 = equation.getF().apply(x0);
+            double y1 = equation.getF().apply(x1);
+
+            gc.setFill(Color.PURPLE);
+            gc.fillOval(plot.mapX(x0) - 3, plot.mapY(y0) - 3, 6, 6);
+            gc.setFill(Color.MEDIUMPURPLE);
+            gc.fillOval(plot.mapX(x1) - 3, plot.mapY(y1) - 3, 6, 6);
+            return;
+        }
+
+        // --- 常规步骤: 画出连接最近两点的割线 ---
+        double y_prev_prev = equation.getF().apply(x_prev_prev);
+        double y_prev = equation.getF().apply(x_prev);
+
+        double pX_prev_prev_x = plot.mapX(x_prev_prev);
+        double pY_prev_prev_y = plot.mapY(y_prev_prev);
+        double pX_prev_x = plot.mapX(x_prev);
+        double pY_prev_y = plot.mapY(y_prev);
+        double pX_curr_x = plot.mapX(x_curr);
+        double pZero_y = plot.mapY(0);
+
+        // 1. 绘制割线 (连接 x_{k-1} 和 x_k)
+        gc.setStroke(Color.PURPLE);
+        gc.setLineWidth(1.5);
+        gc.strokeLine(pX_prev_prev_x, pY_prev_prev_y, pX_prev_x, pY_prev_y);
+
+        // 2. 延长割线至交点 (x_{k+1})
+        gc.setLineDashes(2, 4);
+        gc.strokeLine(pX_prev_x, pY_prev_y, pX_curr_x, pZero_y);
+        gc.setLineDashes(0);
+
+        // 3. 绘制点
+        gc.setFill(Color.PURPLE);
+        gc.fillOval(pX_prev_prev_x - 3, pY_prev_prev_y - 3, 6, 6);
+        gc.fillOval(pX_prev_x - 3, pY_prev_y - 3, 6, 6);
+        gc.setFill(Color.DARKMAGENTA);
+        gc.fillOval(pX_curr_x - 3, pZero_y - 3, 6, 6);
+    }
+}
@@ -101,9 +101,9 @@ public class TwoDimPlot extends Pane {
         GraphicsContext gc = iterationCanvas.getGraphicsContext2D();
         gc.clearRect(0, 0, getWidth(), getHeight());
         if (currentMethod == null || currentEquation == null || iterationHistory.isEmpty()) return;
-        for (IterationState step : iterationHistory) {
-            if (!Double.isNaN(step.x_k_minus_1())) {
-                currentMethod.draw2DStep(gc, currentEquation, step.x_k_minus_1(), step.x_k(), this);
+        for (int i = 0; i < iterationHistory.size(); i++) {
+            if (!Double.isNaN(iterationHistory.get(i).x_k_minus_1())) {
+                StepRenderer.draw(currentMethod, gc, currentEquation, iterationHistory, i, this);
             }
         }
     }
@@ -0,0 +1,387 @@
+// 文件路径: src/main/java/com/twx/linear_systems/io/BinaryMatrixFile.java
+package com.twx.linear_systems.io;
+
+import com.twx.linear_systems.model.LinearOperator;
+import com.twx.linear_systems.model.Preconditioner;
+import org.apache.commons.math3.linear.ArrayRealVector;
+import org.apache.commons.math3.linear.RealMatrix;
+import org.apache.commons.math3.linear.RealVector;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * 紧凑的二进制矩阵格式 (小端), 读取时以 {@link FileChannel#map} 映射, 数据不复制到堆上.
+ * <pre>
+ * 文件头 64 字节: "NAMX" | int 版本 (1) | int 类型 | int 保留 | long 行数 | long 列数 | long 非零元个数 | 填充
+ * DENSE  (1): double[行数·列数], 按行存放
+ * CSR    (2): long[行数 + 1] 行指针 | int[非零元] 列号 | 填充到 8 字节 | double[非零元] 数值
+ * VECTOR (3): double[行数]
+ * LU     (4): double[n·n] 列主元 LU 分解 P·A = L·U 的合并存储 (第 i 行对应原始行 perm[i]) | int[n] perm
+ * </pre>
+ * 数据区都从 8 字节对齐的位置开始, 超过 2 GB 的文件分块映射.
+ */
+public final class BinaryMatrixFile {
+
+    private static final byte[] MAGIC = "NAMX".getBytes(StandardCharsets.US_ASCII);
+    private static final int VERSION = 1;
+    public static final int HEADER_BYTES = 64;
+
+    /** 文件中存放的对象类型. */
+    public enum Kind {
+        DENSE(1), CSR(2), VECTOR(3), LU(4);
+
+        private final int code;
+
+        Kind(int code) {
+            this.code = code;
+        }
+
+        static Kind of(int code) {
+            for (Kind kind : values()) {
+                if (kind.code == code) return kind;
+            }
+            throw new IllegalArgumentException("未知的矩阵文件类型: " + code);
+        }
+    }
+
+    /**
+     * 文件头.
+     */
+    public record Header(Kind kind, long rows, long columns, long nonZeros) {
+
+        /** 完整文件 (文件头加数据区) 的字节数, 用于从连续的字节流中切出一个文件. */
+        public long fileBytes() {
+            return switch (kind) {
+                case DENSE -> HEADER_BYTES + 8L * rows * columns;
+                case CSR -> csrValuesOffset(rows, nonZeros) + 8L * nonZeros;
+                case VECTOR -> HEADER_BYTES + 8L * rows;
+                case LU -> HEADER_BYTES + 8L * rows * rows + 4L * rows;
+            };
+        }
+    }
+
+    private BinaryMatrixFile() {
+    }
+
+    /**
+     * @return 文件是否以本格式的魔数开头
+     */
+    public static boolean isBinaryMatrixFile(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer magic = ByteBuffer.allocate(MAGIC.length);
+            while (magic.hasRemaining() && channel.read(magic) >= 0) {
+                // 读满魔数或到达文件末尾
+            }
+            return !magic.hasRemaining() && Arrays.equals(magic.array(), MAGIC);
+        }
+    }
+
+    /**
+     * @throws IllegalArgumentException 不是本格式的文件时
+     */
+    public static Header readHeader(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return readHeader(channel);
+        }
+    }
+
+    /**
+     * 映射稠密矩阵 ({@link MappedDenseMatrix}) 或 CSR 稀疏矩阵 ({@link MappedCsrMatrix}) 作为线性算子.
+     * @throws IllegalArgumentException 文件不是矩阵、不是方阵或已被截断时
+     */
+    public static LinearOperator open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            Header header = readHeader(channel);
+            if (header.rows() != header.columns()) {
+                throw new IllegalArgumentException(String.format("线性算子必须是方阵: %d×%d", header.rows(), header.columns()));
+            }
+            return switch (header.kind()) {
+                case DENSE -> mapDense(channel, header);
+                case CSR -> mapCsr(channel, header);
+                default -> throw new IllegalArgumentException("文件中不是矩阵: " + header.kind());
+            };
+        }
+    }
+
+    /**
+     * 映射稠密矩阵 (可以不是方阵), 可作为 {@link RealMatrix} 交给直接法.
+     * @throws IllegalArgumentException 文件中不是稠密矩阵时
+     */
+    public static MappedDenseMatrix openDense(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            Header header = readHeader(channel);
+            if (header.kind() != Kind.DENSE) {
+                throw new IllegalArgumentException("文件中不是稠密矩阵: " + header.kind());
+            }
+            return mapDense(channel, header);
+        }
+    }
+
+    /**
+     * 读取向量 (复制到堆上, O(n)).
+     * @throws IllegalArgumentException 文件中不是向量时
+     */
+    public static RealVector readVector(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            Header header = readHeader(channel);
+            if (header.kind() != Kind.VECTOR) {
+                throw new IllegalArgumentException("文件中不是向量: " + header.kind());
+            }
+            int n = toInt(header.rows());
+            requireSize(channel, HEADER_BYTES + 8L * n);
+            MappedArray data = MappedArray.map(channel, FileChannel.MapMode.READ_ONLY, HEADER_BYTES, 8L * n);
+            double[] v = new double[n];
+            for (int i = 0; i < n; i++) {
+                v[i] = data.getDouble(i);
+            }
+            return new ArrayRealVector(v, false);
+        }
+    }
+
+    /**
+     * 映射已保存的 LU 分解, 返回的求解器每次调用都直接在映射区上做前代和回代 (O(n²)), 可被多个线程同时调用.
+     * @throws IllegalArgumentException 文件中不是 LU 分解时
+     */
+    public static Preconditioner openFactorization(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            Header header = readHeader(channel);
+            if (header.kind() != Kind.LU) {
+                throw new IllegalArgumentException("文件中不是 LU 分解: " + header.kind());
+            }
+            int n = toInt(header.rows());
+            long matrixBytes = 8L * n * n;
+            requireSize(channel, HEADER_BYTES + matrixBytes + 4L * n);
+            MappedArray lu = MappedArray.map(channel, FileChannel.MapMode.READ_ONLY, HEADER_BYTES, matrixBytes);
+            MappedArray permData = MappedArray.map(channel, FileChannel.MapMode.READ_ONLY, HEADER_BYTES + matrixBytes, 4L * n);
+            int[] perm = new int[n];
+            for (int i = 0; i < n; i++) {
+                perm[i] = permData.getInt(i);
+            }
+            return (r, z) -> {
+                for (int i = 0; i < n; i++) {
+                    z[i] = r[perm[i]];
+                }
+                // L·y = P·r
+                for (int i = 1; i < n; i++) {
+                    long base = (long) i * n;
+                    double sum = 0.0;
+                    for (int j = 0; j < i; j++) {
+                        sum += lu.getDouble(base + j) * z[j];
+                    }
+                    z[i] -= sum;
+                }
+                // U·z = y
+                for (int i = n - 1; i >= 0; i--) {
+                    long base = (long) i * n;
+                    double sum = 0.0;
+                    for (int j = i + 1; j < n; j++) {
+                        sum += lu.getDouble(base + j) * z[j];
+                    }
+                    z[i] = (z[i] - sum) / lu.getDouble(base + i);
+                }
+            };
+        }
+    }
+
+    /**
+     * 按行写出稠密矩阵.
+     */
+    public static void writeDense(RealMatrix a, Path file) throws IOException {
+        int rows = a.getRowDimension();
+        int columns = a.getColumnDimension();
+        try (ChannelOutput out = new ChannelOutput(file)) {
+            writeHeader(out, Kind.DENSE, rows, columns, 0);
+            for (int i = 0; i < rows; i++) {
+                for (int j = 0; j < columns; j++) {
+                    out.putDouble(a.getEntry(i, j));
+                }
+            }
+        }
+    }
+
+    /**
+     * 通过按行访问把线性算子写成 CSR 格式 (先计数, 再依次写出行指针、列号和数值).
+     * @throws IllegalArgumentException 算子不支持按行访问时
+     */
+    public static void writeCsr(LinearOperator op, Path file) throws IOException {
+        if (!op.hasRowAccess()) {
+            throw new IllegalArgumentException("写出 CSR 格式需要能按行访问的线性算子");
+        }
+        int n = op.dimension();
+        long[] count = {0};
+        long[] rowStart = new long[n + 1];
+        for (int i = 0; i < n; i++) {
+            op.forEachInRow(i, (j, value) -> count[0]++);
+            rowStart[i + 1] = count[0];
+        }
+        try (ChannelOutput out = new ChannelOutput(file)) {
+            writeHeader(out, Kind.CSR, n, n, count[0]);
+            for (long p : rowStart) {
+                out.putLong(p);
+            }
+            try {
+                for (int i = 0; i < n; i++) {
+                    op.forEachInRow(i, (j, value) -> {
+                        try {
+                            out.putInt(j);
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                    });
+                }
+                out.align(8);
+                for (int i = 0; i < n; i++) {
+                    op.forEachInRow(i, (j, value) -> {
+                        try {
+                            out.putDouble(value);
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                    });
+                }
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+        }
+    }
+
+    public static void writeVector(RealVector v, Path file) throws IOException {
+        writeVector(v.toArray(), file);
+    }
+
+    public static void writeVector(double[] v, Path file) throws IOException {
+        try (ChannelOutput out = new ChannelOutput(file)) {
+            writeHeader(out, Kind.VECTOR, v.length, 1, 0);
+            for (double value : v) {
+                out.putDouble(value);
+            }
+        }
+    }
+
+    /**
+     * 写出列主元 LU 分解.
+     * @param lu   L (单位下三角, 不含对角线) 与 U 的合并存储, 第 i 行对应原始行 perm[i]
+     * @param perm 行置换
+     */
+    public static void writeFactorization(double[][] lu, int[] perm, Path file) throws IOException {
+        int n = lu.length;
+        try (ChannelOutput out = new ChannelOutput(file)) {
+            writeHeader(out, Kind.LU, n, n, 0);
+            for (double[] row : lu) {
+                for (double value : row) {
+                    out.putDouble(value);
+                }
+            }
+            for (int p : perm) {
+                out.putInt(p);
+            }
+        }
+    }
+
+    static void writeHeader(ChannelOutput out, Kind kind, long rows, long columns, long nonZeros) throws IOException {
+        out.putBytes(MAGIC);
+        out.putInt(VERSION);
+        out.putInt(kind.code);
+        out.putInt(0);
+        out.putLong(rows);
+        out.putLong(columns);
+        out.putLong(nonZeros);
+        out.align(HEADER_BYTES);
+    }
+
+    /** 与 {@link #writeHeader} 相同的文件头, 写入映射缓冲区 (供原地生成文件的转换使用). */
+    static ByteBuffer header(Kind kind, long rows, long columns, long nonZeros) {
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.put(MAGIC).putInt(VERSION).putInt(kind.code).putInt(0).putLong(rows).putLong(columns).putLong(nonZeros);
+        buffer.clear();
+        return buffer;
+    }
+
+    /** CSR 文件中列号区的起点. */
+    static long csrColumnsOffset(long rows) {
+        return HEADER_BYTES + 8L * (rows + 1);
+    }
+
+    /** CSR 文件中数值区的起点 (8 字节对齐). */
+    static long csrValuesOffset(long rows, long nonZeros) {
+        long end = csrColumnsOffset(rows) + 4L * nonZeros;
+        return (end + 7) & ~7L;
+    }
+
+    private static Header readHeader(FileChannel channel) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_BYTES);
+        while (buffer.hasRemaining() && channel.read(buffer, buffer.position()) > 0) {
+            // 读满文件头
+        }
+        if (buffer.hasRemaining()) {
+            throw new IllegalArgumentException("不是二进制矩阵文件: 文件头不完整");
+        }
+        return parseHeader(buffer.array());
+    }
+
+    /**
+     * 解析文件开头的 {@value #HEADER_BYTES} 字节 (如从网络流中读到的文件头).
+     * @throws IllegalArgumentException 字节数不足或不是本格式时
+     */
+    public static Header parseHeader(byte[] bytes) {
+        if (bytes.length < HEADER_BYTES) {
+            throw new IllegalArgumentException("不是二进制矩阵文件: 文件头不完整");
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(bytes, 0, HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        byte[] magic = new byte[MAGIC.length];
+        buffer.get(magic);
+        if (!Arrays.equals(magic, MAGIC)) {
+            throw new IllegalArgumentException("不是二进制矩阵文件: 魔数不符");
+        }
+        int version = buffer.getInt();
+        if (version != VERSION) {
+            throw new IllegalArgumentException("不支持的矩阵文件版本: " + version);
+        }
+        Kind kind = Kind.of(buffer.getInt());
+        buffer.getInt();
+        return new Header(kind, buffer.getLong(), buffer.getLong(), buffer.getLong());
+    }
+
+    private static MappedDenseMatrix mapDense(FileChannel channel, Header header) throws IOException {
+        int rows = toInt(header.rows());
+        int columns = toInt(header.columns());
+        long bytes = 8L * rows * columns;
+        requireSize(channel, HEADER_BYTES + bytes);
+        return new MappedDenseMatrix(MappedArray.map(channel, FileChannel.MapMode.READ_ONLY, HEADER_BYTES, bytes), rows, columns);
+    }
+
+    private static MappedCsrMatrix mapCsr(FileChannel channel, Header header) throws IOException {
+        int n = toInt(header.rows());
+        long nnz = header.nonZeros();
+        long valuesOffset = csrValuesOffset(n, nnz);
+        requireSize(channel, valuesOffset + 8L * nnz);
+        MappedArray rowStart = MappedArray.map(channel, FileChannel.MapMode.READ_ONLY, HEADER_BYTES, 8L * (n + 1));
+        MappedArray columns = MappedArray.map(channel, FileChannel.MapMode.READ_ONLY, csrColumnsOffset(n), 4L * nnz);
+        MappedArray values = MappedArray.map(channel, FileChannel.MapMode.READ_ONLY, valuesOffset, 8L * nnz);
+        if (rowStart.getLong(n) != nnz) {
+            throw new IllegalArgumentException("CSR 文件的行指针与非零元个数不一致");
+        }
+        return new MappedCsrMatrix(rowStart, columns, values, n, nnz);
+    }
+
+    private static void requireSize(FileChannel channel, long bytes) throws IOException {
+        if (channel.size() < bytes) {
+            throw new IllegalArgumentException(String.format("矩阵文件已被截断: 需要 %d 字节, 实际 %d 字节", bytes, channel.size()));
+        }
+    }
+
+    private static int toInt(long dimension) {
+        if (dimension < 0 || dimension > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("矩阵维数超出范围: " + dimension);
+        }
+        return (int) dimension;
+    }
+}
@@ -0,0 +1,94 @@
+// 文件路径: src/main/java/com/twx/linear_systems/io/ChannelInput.java
+package com.twx.linear_systems.io;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * 顺序读取小端二进制数据的缓冲输入, 与 {@link ChannelOutput} 对应; 支持跳转 (缓冲区内的跳转不读文件).
+ * 记录长度可变、不适合按下标映射的文件 (如迭代轨迹) 用它读取.
+ */
+final class ChannelInput implements AutoCloseable {
+
+    private static final int BUFFER_BYTES = 1 << 20;
+
+    private final FileChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+    /** 缓冲区第 0 个字节在文件中的位置. */
+    private long bufferStart = 0;
+
+    ChannelInput(Path file) throws IOException {
+        this.channel = FileChannel.open(file, StandardOpenOption.READ);
+        buffer.limit(0);
+    }
+
+    long size() throws IOException {
+        return channel.size();
+    }
+
+    /** @return 当前读取位置 */
+    long position() {
+        return bufferStart + buffer.position();
+    }
+
+    /** @return 从当前位置起文件中是否至少还有 bytes 个字节 */
+    boolean has(long bytes) throws IOException {
+        return position() + bytes <= channel.size();
+    }
+
+    byte getByte() throws IOException {
+        ensure(Byte.BYTES);
+        return buffer.get();
+    }
+
+    int getInt() throws IOException {
+        ensure(Integer.BYTES);
+        return buffer.getInt();
+    }
+
+    double getDouble() throws IOException {
+        ensure(Double.BYTES);
+        return buffer.getDouble();
+    }
+
+    void skip(long bytes) {
+        seek(position() + bytes);
+    }
+
+    void seek(long position) {
+        long offset = position - bufferStart;
+        if (offset >= 0 && offset <= buffer.limit()) {
+            buffer.position((int) offset);
+        } else {
+            bufferStart = position;
+            buffer.clear().limit(0);
+        }
+    }
+
+    private void ensure(int bytes) throws IOException {
+        if (buffer.remaining() >= bytes) {
+            return;
+        }
+        long position = position();
+        buffer.compact();
+        bufferStart = position;
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, bufferStart + buffer.position());
+            if (read < 0) break;
+        }
+        buffer.flip();
+        if (buffer.remaining() < bytes) {
+            throw new EOFException("文件在位置 " + position + " 处提前结束");
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
@@ -0,0 +1,88 @@
+// 文件路径: src/main/java/com/twx/linear_systems/io/ChannelOutput.java
+package com.twx.linear_systems.io;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * 顺序写出小端二进制数据的缓冲输出, 缓冲区为堆外内存, 写满后整块交给文件通道.
+ */
+final class ChannelOutput implements AutoCloseable {
+
+    private static final int BUFFER_BYTES = 1 << 20;
+
+    private final FileChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+    private long written = 0;
+
+    ChannelOutput(Path file) throws IOException {
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+    }
+
+    void putDouble(double value) throws IOException {
+        ensure(Double.BYTES);
+        buffer.putDouble(value);
+    }
+
+    void putLong(long value) throws IOException {
+        ensure(Long.BYTES);
+        buffer.putLong(value);
+    }
+
+    void putInt(int value) throws IOException {
+        ensure(Integer.BYTES);
+        buffer.putInt(value);
+    }
+
+    void putByte(byte value) throws IOException {
+        ensure(Byte.BYTES);
+        buffer.put(value);
+    }
+
+    void putBytes(byte[] bytes) throws IOException {
+        ensure(bytes.length);
+        buffer.put(bytes);
+    }
+
+    /** 以零字节填充到 alignment 的整数倍. */
+    void align(int alignment) throws IOException {
+        while (position() % alignment != 0) {
+            ensure(1);
+            buffer.put((byte) 0);
+        }
+    }
+
+    /** @return 已写出的字节数 (含缓冲中尚未写入文件的部分) */
+    long position() {
+        return written + buffer.position();
+    }
+
+    private void ensure(int bytes) throws IOException {
+        if (buffer.remaining() < bytes) {
+            flush();
+        }
+    }
+
+    /** 把缓冲中的数据写入文件通道 (不强制落盘). */
+    void flush() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            written += channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            flush();
+        } finally {
+            channel.close();
+        }
+    }
+}
@@ -0,0 +1,79 @@
+// 文件路径: src/main/java/com/twx/linear_systems/io/MappedArray.java
+package com.twx.linear_systems.io;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * 文件中一段连续区域的内存映射, 按元素下标 (long) 读写 double / long / int.
+ * 单个 MappedByteBuffer 至多 2 GB, 因此按 {@link #CHUNK_BYTES} 分块映射;
+ * 块大小是 8 的倍数, 区域内对齐存放的元素不会跨越两块.
+ * 映射在对象被回收后才释放 (Java 17 没有显式解除映射的公开接口), 关闭文件通道不影响已建立的映射.
+ */
+final class MappedArray {
+
+    private static final int CHUNK_SHIFT = 30;
+    /** 每块 1 GB. */
+    static final long CHUNK_BYTES = 1L << CHUNK_SHIFT;
+    private static final long CHUNK_MASK = CHUNK_BYTES - 1;
+
+    private final MappedByteBuffer[] chunks;
+
+    private MappedArray(MappedByteBuffer[] chunks) {
+        this.chunks = chunks;
+    }
+
+    /**
+     * 映射 [position, position + bytes).
+     * @param mode 只读或读写
+     */
+    static MappedArray map(FileChannel channel, FileChannel.MapMode mode, long position, long bytes) throws IOException {
+        int count = (int) ((bytes + CHUNK_BYTES - 1) >>> CHUNK_SHIFT);
+        MappedByteBuffer[] chunks = new MappedByteBuffer[count];
+        for (int c = 0; c < count; c++) {
+            long start = (long) c << CHUNK_SHIFT;
+            chunks[c] = channel.map(mode, position + start, Math.min(CHUNK_BYTES, bytes - start));
+            chunks[c].order(ByteOrder.LITTLE_ENDIAN);
+        }
+        return new MappedArray(chunks);
+    }
+
+    double getDouble(long index) {
+        long offset = index << 3;
+        return chunks[(int) (offset >>> CHUNK_SHIFT)].getDouble((int) (offset & CHUNK_MASK));
+    }
+
+    long getLong(long index) {
+        long offset = index << 3;
+        return chunks[(int) (offset >>> CHUNK_SHIFT)].getLong((int) (offset & CHUNK_MASK));
+    }
+
+    int getInt(long index) {
+        long offset = index << 2;
+        return chunks[(int) (offset >>> CHUNK_SHIFT)].getInt((int) (offset & CHUNK_MASK));
+    }
+
+    void putDouble(long index, double value) {
+        long offset = index << 3;
+        chunks[(int) (offset >>> CHUNK_SHIFT)].putDouble((int) (offset & CHUNK_MASK), value);
+    }
+
+    void putLong(long index, long value) {
+        long offset = index << 3;
+        chunks[(int) (offset >>> CHUNK_SHIFT)].putLong((int) (offset & CHUNK_MASK), value);
+    }
+
+    void putInt(long index, int value) {
+        long offset = index << 2;
+        chunks[(int) (offset >>> CHUNK_SHIFT)].putInt((int) (offset & CHUNK_MASK), value);
+    }
+
+    /** 把修改写回文件 (读写映射). */
+    void force() {
+        for (MappedByteBuffer chunk : chunks) {
+            chunk.force();
+        }
+    }
+}
@@ -0,0 +1,86 @@
+// 文件路径: src/main/java/com/twx/linear_systems/io/MappedCsrMatrix.java
+package com.twx.linear_systems.io;
+
+import com.twx.linear_systems.model.LinearOperator;
+
+/**
+ * 以内存映射方式读取的只读 CSR 稀疏方阵, 行指针、列号和数值都不复制到堆上.
+ * 第 i 行的元素位于 [rowStart(i), rowStart(i+1)), 各行列号升序; 非零元个数可以超过 2^31.
+ */
+public final class MappedCsrMatrix implements LinearOperator {
+
+    private final MappedArray rowStart;
+    private final MappedArray columns;
+    private final MappedArray values;
+    private final int n;
+    private final long nonZeros;
+
+    MappedCsrMatrix(MappedArray rowStart, MappedArray columns, MappedArray values, int n, long nonZeros) {
+        this.rowStart = rowStart;
+        this.columns = columns;
+        this.values = values;
+        this.n = n;
+        this.nonZeros = nonZeros;
+    }
+
+    @Override
+    public int dimension() {
+        return n;
+    }
+
+    /**
+     * @return 存储的非零元个数
+     */
+    public long nonZeros() {
+        return nonZeros;
+    }
+
+    @Override
+    public void apply(double[] x, double[] y) {
+        for (int i = 0; i < n; i++) {
+            y[i] = rowDot(i, x);
+        }
+    }
+
+    /** 在第 i 行中查找列号为 i 的元素 (行内列号升序, 二分查找); 没有存储时为 0. */
+    @Override
+    public double diagonal(int i) {
+        long lo = rowStart.getLong(i);
+        long hi = rowStart.getLong(i + 1) - 1;
+        while (lo <= hi) {
+            long mid = (lo + hi) >>> 1;
+            int column = columns.getInt(mid);
+            if (column < i) {
+                lo = mid + 1;
+            } else if (column > i) {
+                hi = mid - 1;
+            } else {
+                return values.getDouble(mid);
+            }
+        }
+        return 0.0;
+    }
+
+    @Override
+    public boolean hasRowAccess() {
+        return true;
+    }
+
+    @Override
+    public double rowDot(int i, double[] x) {
+        long end = rowStart.getLong(i + 1);
+        double sum = 0.0;
+        for (long p = rowStart.getLong(i); p < end; p++) {
+            sum += values.getDouble(p) * x[columns.getInt(p)];
+        }
+        return sum;
+    }
+
+    @Override
+    public void forEachInRow(int i, RowVisitor visitor) {
+        long end = rowStart.getLong(i + 1);
+        for (long p = rowStart.getLong(i); p < end; p++) {
+            visitor.accept(columns.getInt(p), values.getDouble(p));
+        }
+    }
+}
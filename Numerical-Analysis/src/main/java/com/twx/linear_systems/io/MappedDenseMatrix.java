@@ -0,0 +1,129 @@
+// 文件路径: src/main/java/com/twx/linear_systems/io/MappedDenseMatrix.java
+package com.twx.linear_systems.io;
+
+import com.twx.linear_systems.model.LinearOperator;
+import org.apache.commons.math3.linear.AbstractRealMatrix;
+import org.apache.commons.math3.linear.Array2DRowRealMatrix;
+import org.apache.commons.math3.linear.RealMatrix;
+
+/**
+ * 以内存映射方式读取的只读稠密矩阵 (按行存放), 元素不复制到堆上.
+ * 作为 {@link LinearOperator} (须为方阵) 可以直接交给迭代法, 每次乘法都从映射区读取;
+ * 作为 {@link RealMatrix} 可以交给直接法, 但直接法原地分解时会先调用 getData() 复制一份到堆上.
+ */
+public final class MappedDenseMatrix extends AbstractRealMatrix implements LinearOperator {
+
+    private final MappedArray data;
+    private final int rows;
+    private final int columns;
+
+    MappedDenseMatrix(MappedArray data, int rows, int columns) {
+        super(rows, columns);
+        this.data = data;
+        this.rows = rows;
+        this.columns = columns;
+    }
+
+    @Override
+    public int getRowDimension() {
+        return rows;
+    }
+
+    @Override
+    public int getColumnDimension() {
+        return columns;
+    }
+
+    @Override
+    public double getEntry(int row, int column) {
+        checkIndex(row, column);
+        return data.getDouble((long) row * columns + column);
+    }
+
+    /**
+     * @throws UnsupportedOperationException 映射矩阵是只读的
+     */
+    @Override
+    public void setEntry(int row, int column, double value) {
+        throw new UnsupportedOperationException("映射矩阵是只读的");
+    }
+
+    @Override
+    public RealMatrix createMatrix(int rowDimension, int columnDimension) {
+        return new Array2DRowRealMatrix(rowDimension, columnDimension);
+    }
+
+    /** 复制到堆上的可写矩阵. */
+    @Override
+    public RealMatrix copy() {
+        return new Array2DRowRealMatrix(getData(), false);
+    }
+
+    @Override
+    public double[][] getData() {
+        double[][] copy = new double[rows][columns];
+        for (int i = 0; i < rows; i++) {
+            long base = (long) i * columns;
+            double[] row = copy[i];
+            for (int j = 0; j < columns; j++) {
+                row[j] = data.getDouble(base + j);
+            }
+        }
+        return copy;
+    }
+
+    /**
+     * @throws IllegalStateException 矩阵不是方阵时
+     */
+    @Override
+    public int dimension() {
+        if (rows != columns) {
+            throw new IllegalStateException(String.format("只有方阵可以作为线性算子: %d×%d", rows, columns));
+        }
+        return rows;
+    }
+
+    @Override
+    public void apply(double[] x, double[] y) {
+        for (int i = 0; i < rows; i++) {
+            y[i] = rowDot(i, x);
+        }
+    }
+
+    @Override
+    public double diagonal(int i) {
+        return data.getDouble((long) i * columns + i);
+    }
+
+    @Override
+    public boolean hasRowAccess() {
+        return true;
+    }
+
+    @Override
+    public double rowDot(int i, double[] x) {
+        long base = (long) i * columns;
+        double sum = 0.0;
+        for (int j = 0; j < columns; j++) {
+            sum += data.getDouble(base + j) * x[j];
+        }
+        return sum;
+    }
+
+    @Override
+    public void forEachInRow(int i, RowVisitor visitor) {
+        long base = (long) i * columns;
+        for (int j = 0; j < columns; j++) {
+            double value = data.getDouble(base + j);
+            if (value != 0.0) {
+                visitor.accept(j, value);
+            }
+        }
+    }
+
+    private void checkIndex(int row, int column) {
+        if (row < 0 || row >= rows || column < 0 || column >= columns) {
+            throw new IndexOutOfBoundsException(String.format("(%d, %d) 超出 %d×%d 矩阵的范围", row, column, rows, columns));
+        }
+    }
+}
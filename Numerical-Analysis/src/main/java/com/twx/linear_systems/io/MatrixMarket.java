@@ -0,0 +1,440 @@
+// 文件路径: src/main/java/com/twx/linear_systems/io/MatrixMarket.java
+package com.twx.linear_systems.io;
+
+import com.twx.linear_systems.model.LinearOperator;
+import org.apache.commons.math3.linear.Array2DRowRealMatrix;
+import org.apache.commons.math3.linear.RealMatrix;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.LineNumberReader;
+import java.io.Writer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * Matrix Market 文本格式 (.mtx) 的读写.
+ * 支持 array (稠密, 按列存放) 与 coordinate (稀疏, 下标从 1 开始) 两种格式,
+ * 数据类型 real / integer / pattern (仅 coordinate), 对称性 general / symmetric / skew-symmetric;
+ * 复数与 hermitian 矩阵不支持. 对称矩阵只存下三角, 读入时补全上三角.
+ * 小矩阵可以用 {@link #readMatrix} 直接读到堆上; 大矩阵先用 {@link #convert} 流式转换为
+ * {@link BinaryMatrixFile} 格式, 再映射使用, 转换过程只占用 O(n) 的堆内存.
+ */
+public final class MatrixMarket {
+
+    private static final String BANNER = "%%MatrixMarket";
+
+    private enum Symmetry { GENERAL, SYMMETRIC, SKEW_SYMMETRIC }
+
+    /**
+     * 文件的格式与规模.
+     * @param coordinate 是否为 coordinate (稀疏) 格式
+     * @param entries    coordinate 格式中存储的元素个数 (对称矩阵只计下三角); array 格式为 0
+     */
+    public record Info(boolean coordinate, int rows, int columns, long entries) {
+    }
+
+    /** 文件头: 格式、类型、对称性与规模. */
+    private record Banner(boolean coordinate, boolean pattern, Symmetry symmetry, int rows, int columns, long entries) {
+    }
+
+    private MatrixMarket() {
+    }
+
+    /**
+     * 只读取文件头, 不读数据.
+     * @throws IllegalArgumentException 不是受支持的 Matrix Market 文件时
+     */
+    public static Info readInfo(Path file) throws IOException {
+        try (LineNumberReader reader = open(file)) {
+            Banner banner = readBanner(reader);
+            return new Info(banner.coordinate(), banner.rows(), banner.columns(), banner.entries());
+        }
+    }
+
+    /**
+     * 把整个矩阵读到堆上 (稠密存储, 重复出现的元素累加).
+     * @throws IllegalArgumentException 文件格式错误时
+     */
+    public static RealMatrix readMatrix(Path file) throws IOException {
+        try (LineNumberReader reader = open(file)) {
+            Banner banner = readBanner(reader);
+            double[][] data = new double[banner.rows()][banner.columns()];
+            if (banner.coordinate()) {
+                for (long k = 0; k < banner.entries(); k++) {
+                    Tokens line = nextDataLine(reader);
+                    int i = line.nextIndex(banner.rows());
+                    int j = line.nextIndex(banner.columns());
+                    double value = banner.pattern() ? 1.0 : line.nextDouble();
+                    data[i][j] += value;
+                    if (i != j && banner.symmetry() != Symmetry.GENERAL) {
+                        data[j][i] += banner.symmetry() == Symmetry.SYMMETRIC ? value : -value;
+                    }
+                }
+            } else {
+                forEachArrayEntry(reader, banner, (i, j, value) -> {
+                    data[i][j] = value;
+                    if (i != j && banner.symmetry() != Symmetry.GENERAL) {
+                        data[j][i] = banner.symmetry() == Symmetry.SYMMETRIC ? value : -value;
+                    }
+                });
+            }
+            return new Array2DRowRealMatrix(data, false);
+        }
+    }
+
+    /**
+     * 把 Matrix Market 文件流式转换为二进制矩阵文件: array 格式转为 DENSE, coordinate 格式转为 CSR.
+     * 输出文件以读写方式映射后直接填充, 不在堆上保存矩阵; coordinate 格式需要读两遍输入 (先按行计数, 再分发),
+     * 最后把每行按列号排序, 并像 {@link #readMatrix} 一样把重复出现的元素累加为一个.
+     * @return 写出的文件头
+     * @throws IllegalArgumentException 文件格式错误时
+     */
+    public static BinaryMatrixFile.Header convert(Path mtx, Path binary) throws IOException {
+        Banner banner;
+        try (LineNumberReader reader = open(mtx)) {
+            banner = readBanner(reader);
+        }
+        return banner.coordinate() ? convertCoordinate(mtx, binary, banner) : convertArray(mtx, binary, banner);
+    }
+
+    /**
+     * 以 array 格式 (general, 按列) 写出稠密矩阵, 数值保留完整精度.
+     */
+    public static void writeArray(RealMatrix a, Path file) throws IOException {
+        int rows = a.getRowDimension();
+        int columns = a.getColumnDimension();
+        try (Writer out = Files.newBufferedWriter(file, StandardCharsets.US_ASCII)) {
+            out.write(BANNER + " matrix array real general\n");
+            out.write(rows + " " + columns + "\n");
+            for (int j = 0; j < columns; j++) {
+                for (int i = 0; i < rows; i++) {
+                    out.write(Double.toString(a.getEntry(i, j)));
+                    out.write('\n');
+                }
+            }
+        }
+    }
+
+    /**
+     * 以 coordinate 格式 (general) 写出线性算子的非零元 (先遍历一遍计数).
+     * @throws IllegalArgumentException 算子不支持按行访问时
+     */
+    public static void writeCoordinate(LinearOperator op, Path file) throws IOException {
+        if (!op.hasRowAccess()) {
+            throw new IllegalArgumentException("写出 coordinate 格式需要能按行访问的线性算子");
+        }
+        int n = op.dimension();
+        long[] count = {0};
+        for (int i = 0; i < n; i++) {
+            op.forEachInRow(i, (j, value) -> count[0]++);
+        }
+        try (BufferedWriter out = Files.newBufferedWriter(file, StandardCharsets.US_ASCII)) {
+            out.write(BANNER + " matrix coordinate real general\n");
+            out.write(n + " " + n + " " + count[0] + "\n");
+            StringBuilder line = new StringBuilder();
+            for (int i = 0; i < n; i++) {
+                int row = i + 1;
+                line.setLength(0);
+                op.forEachInRow(i, (j, value) -> line.append(row).append(' ').append(j + 1).append(' ').append(value).append('\n'));
+                out.append(line);
+            }
+        }
+    }
+
+    private static BinaryMatrixFile.Header convertArray(Path mtx, Path binary, Banner banner) throws IOException {
+        int rows = banner.rows();
+        int columns = banner.columns();
+        long bytes = 8L * rows * columns;
+        try (FileChannel channel = createOutput(binary);
+             LineNumberReader reader = open(mtx)) {
+            readBanner(reader);
+            channel.write(BinaryMatrixFile.header(BinaryMatrixFile.Kind.DENSE, rows, columns, 0), 0);
+            MappedArray data = MappedArray.map(channel, FileChannel.MapMode.READ_WRITE, BinaryMatrixFile.HEADER_BYTES, bytes);
+            forEachArrayEntry(reader, banner, (i, j, value) -> {
+                data.putDouble((long) i * columns + j, value);
+                if (i != j && banner.symmetry() != Symmetry.GENERAL) {
+                    data.putDouble((long) j * columns + i, banner.symmetry() == Symmetry.SYMMETRIC ? value : -value);
+                }
+            });
+            data.force();
+        }
+        return new BinaryMatrixFile.Header(BinaryMatrixFile.Kind.DENSE, rows, columns, 0);
+    }
+
+    private static BinaryMatrixFile.Header convertCoordinate(Path mtx, Path binary, Banner banner) throws IOException {
+        int rows = banner.rows();
+        boolean mirrored = banner.symmetry() != Symmetry.GENERAL;
+        // 第一遍: 每行的元素个数 (对称矩阵的镜像元素计入对应行)
+        long[] cursor = new long[rows + 1];
+        try (LineNumberReader reader = open(mtx)) {
+            readBanner(reader);
+            for (long k = 0; k < banner.entries(); k++) {
+                Tokens line = nextDataLine(reader);
+                int i = line.nextIndex(rows);
+                int j = line.nextIndex(banner.columns());
+                cursor[i + 1]++;
+                if (mirrored && i != j) {
+                    cursor[j + 1]++;
+                }
+            }
+        }
+        for (int i = 0; i < rows; i++) {
+            cursor[i + 1] += cursor[i];
+        }
+        long nnz = cursor[rows];
+        long columnsOffset = BinaryMatrixFile.csrColumnsOffset(rows);
+        long valuesOffset = BinaryMatrixFile.csrValuesOffset(rows, nnz);
+
+        try (FileChannel channel = createOutput(binary);
+             LineNumberReader reader = open(mtx)) {
+            channel.write(BinaryMatrixFile.header(BinaryMatrixFile.Kind.CSR, rows, banner.columns(), nnz), 0);
+            MappedArray rowStart = MappedArray.map(channel, FileChannel.MapMode.READ_WRITE, BinaryMatrixFile.HEADER_BYTES, 8L * (rows + 1));
+            MappedArray columnData = MappedArray.map(channel, FileChannel.MapMode.READ_WRITE, columnsOffset, 4L * nnz);
+            MappedArray valueData = MappedArray.map(channel, FileChannel.MapMode.READ_WRITE, valuesOffset, 8L * nnz);
+            for (int i = 0; i <= rows; i++) {
+                rowStart.putLong(i, cursor[i]);
+            }
+
+            // 第二遍: 按行分发, cursor[i] 是第 i 行的下一个空位
+            readBanner(reader);
+            for (long k = 0; k < banner.entries(); k++) {
+                Tokens line = nextDataLine(reader);
+                int i = line.nextIndex(rows);
+                int j = line.nextIndex(banner.columns());
+                double value = banner.pattern() ? 1.0 : line.nextDouble();
+                long p = cursor[i]++;
+                columnData.putInt(p, j);
+                valueData.putDouble(p, value);
+                if (mirrored && i != j) {
+                    long q = cursor[j]++;
+                    columnData.putInt(q, i);
+                    valueData.putDouble(q, banner.symmetry() == Symmetry.SYMMETRIC ? value : -value);
+                }
+            }
+
+            for (int i = 0; i < rows; i++) {
+                sortRow(columnData, valueData, rowStart.getLong(i), rowStart.getLong(i + 1));
+            }
+            long merged = mergeDuplicates(rowStart, columnData, valueData, rows);
+            rowStart.force();
+            columnData.force();
+            if (merged < nnz) {
+                // 非零元变少, 数值区的起点随之前移; 目标位置不在源位置之后, 按顺序复制不会覆盖未读的数值
+                MappedArray target = MappedArray.map(channel, FileChannel.MapMode.READ_WRITE,
+                        BinaryMatrixFile.csrValuesOffset(rows, merged), 8L * merged);
+                for (long p = 0; p < merged; p++) {
+                    target.putDouble(p, valueData.getDouble(p));
+                }
+                target.force();
+                channel.write(BinaryMatrixFile.header(BinaryMatrixFile.Kind.CSR, rows, banner.columns(), merged), 0);
+                try {
+                    channel.truncate(BinaryMatrixFile.csrValuesOffset(rows, merged) + 8L * merged);
+                } catch (IOException e) {
+                    // 部分平台不能截断仍被映射的文件; 末尾多余的字节不影响读取
+                }
+                nnz = merged;
+            } else {
+                valueData.force();
+            }
+        }
+        return new BinaryMatrixFile.Header(BinaryMatrixFile.Kind.CSR, rows, banner.columns(), nnz);
+    }
+
+    /**
+     * 在已按列号排序的各行中把列号相同的元素累加为一个, 并把各行向前紧凑排列 (写入位置从不超过读取位置).
+     * @return 合并后的非零元个数
+     */
+    private static long mergeDuplicates(MappedArray rowStart, MappedArray columnData, MappedArray valueData, int rows) {
+        long write = 0;
+        long start = rowStart.getLong(0);
+        for (int i = 0; i < rows; i++) {
+            long end = rowStart.getLong(i + 1);
+            long rowBegin = write;
+            rowStart.putLong(i, rowBegin);
+            for (long p = start; p < end; p++) {
+                int column = columnData.getInt(p);
+                double value = valueData.getDouble(p);
+                if (write > rowBegin && columnData.getInt(write - 1) == column) {
+                    valueData.putDouble(write - 1, valueData.getDouble(write - 1) + value);
+                } else {
+                    columnData.putInt(write, column);
+                    valueData.putDouble(write, value);
+                    write++;
+                }
+            }
+            start = end;
+        }
+        rowStart.putLong(rows, write);
+        return write;
+    }
+
+    /** 把 [start, end) 按列号升序排列; 已经有序的行 (常见情形) 不做任何操作. */
+    private static void sortRow(MappedArray columnData, MappedArray valueData, long start, long end) {
+        boolean sorted = true;
+        for (long p = start + 1; p < end && sorted; p++) {
+            sorted = columnData.getInt(p - 1) <= columnData.getInt(p);
+        }
+        if (sorted) return;
+
+        int length = (int) (end - start);
+        // 高 32 位为列号, 低 32 位为行内原始位置, 一次排序同时得到新顺序
+        long[] keys = new long[length];
+        double[] values = new double[length];
+        for (int k = 0; k < length; k++) {
+            keys[k] = ((long) columnData.getInt(start + k) << 32) | k;
+            values[k] = valueData.getDouble(start + k);
+        }
+        Arrays.sort(keys);
+        for (int k = 0; k < length; k++) {
+            columnData.putInt(start + k, (int) (keys[k] >>> 32));
+            valueData.putDouble(start + k, values[(int) keys[k]]);
+        }
+    }
+
+    private static FileChannel createOutput(Path file) throws IOException {
+        return FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+    }
+
+    @FunctionalInterface
+    private interface EntryVisitor {
+        void accept(int i, int j, double value);
+    }
+
+    /** 按列顺序读出 array 格式的元素; 对称矩阵只含下三角 (反对称矩阵不含对角线). */
+    private static void forEachArrayEntry(LineNumberReader reader, Banner banner, EntryVisitor visitor) throws IOException {
+        for (int j = 0; j < banner.columns(); j++) {
+            int first = switch (banner.symmetry()) {
+                case GENERAL -> 0;
+                case SYMMETRIC -> j;
+                case SKEW_SYMMETRIC -> j + 1;
+            };
+            for (int i = first; i < banner.rows(); i++) {
+                visitor.accept(i, j, nextDataLine(reader).nextDouble());
+            }
+        }
+    }
+
+    /** 按 ISO-8859-1 解码: 与 ASCII 兼容且不会因非法字节抛出异常, 误选的二进制文件在检查文件头时被拒绝. */
+    private static LineNumberReader open(Path file) throws IOException {
+        return new LineNumberReader(Files.newBufferedReader(file, StandardCharsets.ISO_8859_1), 1 << 16);
+    }
+
+    private static Banner readBanner(LineNumberReader reader) throws IOException {
+        String first = reader.readLine();
+        if (first == null || !first.startsWith(BANNER)) {
+            throw new IllegalArgumentException("不是 Matrix Market 文件: 缺少 " + BANNER + " 文件头");
+        }
+        String[] words = first.trim().toLowerCase(Locale.ROOT).split("\\s+");
+        if (words.length != 5 || !words[1].equals("matrix")) {
+            throw new IllegalArgumentException("无法识别的 Matrix Market 文件头: " + first);
+        }
+        boolean coordinate = switch (words[2]) {
+            case "coordinate" -> true;
+            case "array" -> false;
+            default -> throw new IllegalArgumentException("不支持的存储格式: " + words[2]);
+        };
+        boolean pattern = switch (words[3]) {
+            case "real", "integer", "double" -> false;
+            case "pattern" -> true;
+            default -> throw new IllegalArgumentException("不支持的数据类型: " + words[3]);
+        };
+        if (pattern && !coordinate) {
+            throw new IllegalArgumentException("array 格式不能是 pattern 类型");
+        }
+        Symmetry symmetry = switch (words[4]) {
+            case "general" -> Symmetry.GENERAL;
+            case "symmetric" -> Symmetry.SYMMETRIC;
+            case "skew-symmetric" -> Symmetry.SKEW_SYMMETRIC;
+            default -> throw new IllegalArgumentException("不支持的对称性: " + words[4]);
+        };
+
+        Tokens size = nextDataLine(reader);
+        int rows = size.nextDimension();
+        int columns = size.nextDimension();
+        long entries = coordinate ? size.nextLong() : 0;
+        if (symmetry != Symmetry.GENERAL && rows != columns) {
+            throw new IllegalArgumentException(String.format("对称矩阵必须是方阵: %d×%d", rows, columns));
+        }
+        return new Banner(coordinate, pattern, symmetry, rows, columns, entries);
+    }
+
+    /** 跳过注释与空行, 返回下一行数据. */
+    private static Tokens nextDataLine(LineNumberReader reader) throws IOException {
+        String line;
+        while ((line = reader.readLine()) != null) {
+            if (!line.isBlank() && line.charAt(0) != '%') {
+                return new Tokens(line, reader.getLineNumber());
+            }
+        }
+        throw new IllegalArgumentException("Matrix Market 文件提前结束 (第 " + reader.getLineNumber() + " 行)");
+    }
+
+    /** 一行中以空白分隔的字段, 不经过正则表达式. */
+    private static final class Tokens {
+        private final String line;
+        private final int lineNumber;
+        private int pos = 0;
+
+        Tokens(String line, int lineNumber) {
+            this.line = line;
+            this.lineNumber = lineNumber;
+        }
+
+        String next() {
+            int length = line.length();
+            while (pos < length && Character.isWhitespace(line.charAt(pos))) pos++;
+            int start = pos;
+            while (pos < length && !Character.isWhitespace(line.charAt(pos))) pos++;
+            if (start == pos) {
+                throw error("字段不足");
+            }
+            return line.substring(start, pos);
+        }
+
+        double nextDouble() {
+            String token = next();
+            try {
+                return Double.parseDouble(token);
+            } catch (NumberFormatException e) {
+                throw error("无法解析数值 \"" + token + "\"");
+            }
+        }
+
+        long nextLong() {
+            String token = next();
+            try {
+                return Long.parseLong(token);
+            } catch (NumberFormatException e) {
+                throw error("无法解析整数 \"" + token + "\"");
+            }
+        }
+
+        int nextDimension() {
+            long value = nextLong();
+            if (value < 0 || value > Integer.MAX_VALUE) {
+                throw error("维数超出范围: " + value);
+            }
+            return (int) value;
+        }
+
+        /** 读取从 1 开始的下标, 返回从 0 开始的下标. */
+        int nextIndex(int bound) {
+            long value = nextLong();
+            if (value < 1 || value > bound) {
+                throw error(String.format("下标 %d 超出范围 [1, %d]", value, bound));
+            }
+            return (int) (value - 1);
+        }
+
+        private IllegalArgumentException error(String message) {
+            return new IllegalArgumentException("Matrix Market 文件第 " + lineNumber + " 行: " + message);
+        }
+    }
+}
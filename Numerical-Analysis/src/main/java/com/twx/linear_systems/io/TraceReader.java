@@ -0,0 +1,176 @@
+// 文件路径: src/main/java/com/twx/linear_systems/io/TraceReader.java
+package com.twx.linear_systems.io;
+
+import com.twx.linear_systems.model.ConvergenceStatus;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+/**
+ * 读取 {@link TraceWriter} 写出的迭代轨迹.
+ * 打开时顺序扫描一遍建立索引 (步数、保存了迭代向量的位置), 跳过向量数据本身;
+ * 之后可以逐步回放残差 ({@link #forEachStep}), 或按需读取某个保存的迭代向量.
+ * 文件末尾不完整的记录 (写入过程中断) 被忽略.
+ */
+public final class TraceReader {
+
+    /** 逐步回放的回调. */
+    @FunctionalInterface
+    public interface StepVisitor {
+        /**
+         * @param residualNorm 残差; 该步未计算时为 NaN
+         * @param updateNorm   修正量; 求解器不提供时为 NaN
+         */
+        void accept(int k, double residualNorm, double updateNorm, ConvergenceStatus status);
+    }
+
+    private static final ConvergenceStatus[] STATUSES = ConvergenceStatus.values();
+
+    private final Path file;
+    private final int dimension;
+    private final int snapshotInterval;
+    private final int stepCount;
+    private final int residualCount;
+    private final int[] snapshotSteps;
+    private final long[] snapshotOffsets;
+    /** 最后一条完整记录的结束位置. */
+    private final long end;
+
+    private TraceReader(Path file, int dimension, int snapshotInterval, int stepCount, int residualCount,
+                        int[] snapshotSteps, long[] snapshotOffsets, long end) {
+        this.file = file;
+        this.dimension = dimension;
+        this.snapshotInterval = snapshotInterval;
+        this.stepCount = stepCount;
+        this.residualCount = residualCount;
+        this.snapshotSteps = snapshotSteps;
+        this.snapshotOffsets = snapshotOffsets;
+        this.end = end;
+    }
+
+    /**
+     * @throws IllegalArgumentException 不是轨迹文件或记录损坏时
+     */
+    public static TraceReader open(Path file) throws IOException {
+        try (ChannelInput in = new ChannelInput(file)) {
+            if (!in.has(TraceWriter.HEADER_BYTES)) {
+                throw new IllegalArgumentException("不是迭代轨迹文件: 文件头不完整");
+            }
+            byte[] magic = new byte[TraceWriter.MAGIC.length];
+            for (int i = 0; i < magic.length; i++) {
+                magic[i] = in.getByte();
+            }
+            if (!Arrays.equals(magic, TraceWriter.MAGIC)) {
+                throw new IllegalArgumentException("不是迭代轨迹文件: 魔数不符");
+            }
+            int version = in.getInt();
+            if (version != TraceWriter.VERSION) {
+                throw new IllegalArgumentException("不支持的轨迹文件版本: " + version);
+            }
+            int dimension = in.getInt();
+            int snapshotInterval = in.getInt();
+            in.seek(TraceWriter.HEADER_BYTES);
+
+            long iterateBytes = Integer.BYTES + 8L * dimension;
+            int steps = 0;
+            int residuals = 0;
+            int snapshots = 0;
+            int[] snapshotSteps = new int[16];
+            long[] snapshotOffsets = new long[16];
+            long end = in.position();
+            while (in.has(1)) {
+                byte tag = in.getByte();
+                if (tag == TraceWriter.STEP) {
+                    if (!in.has(TraceWriter.STEP_BYTES)) break;
+                    in.getInt();
+                    if (!Double.isNaN(in.getDouble())) residuals++;
+                    in.skip(Double.BYTES + Byte.BYTES);
+                    steps++;
+                } else if (tag == TraceWriter.ITERATE) {
+                    if (!in.has(iterateBytes)) break;
+                    if (snapshots == snapshotSteps.length) {
+                        snapshotSteps = Arrays.copyOf(snapshotSteps, 2 * snapshots);
+                        snapshotOffsets = Arrays.copyOf(snapshotOffsets, 2 * snapshots);
+                    }
+                    snapshotSteps[snapshots] = in.getInt();
+                    snapshotOffsets[snapshots] = in.position();
+                    snapshots++;
+                    in.skip(8L * dimension);
+                } else {
+                    throw new IllegalArgumentException("轨迹文件在位置 " + (in.position() - 1) + " 处损坏: 未知的记录类型 " + tag);
+                }
+                end = in.position();
+            }
+            return new TraceReader(file, dimension, snapshotInterval, steps, residuals,
+                    Arrays.copyOf(snapshotSteps, snapshots), Arrays.copyOf(snapshotOffsets, snapshots), end);
+        }
+    }
+
+    public int dimension() {
+        return dimension;
+    }
+
+    /** @return 保存完整迭代向量的间隔; 0 表示只保存最后一步 */
+    public int snapshotInterval() {
+        return snapshotInterval;
+    }
+
+    /** @return 记录的步数 */
+    public int stepCount() {
+        return stepCount;
+    }
+
+    /** @return 计算了残差的步数 */
+    public int residualCount() {
+        return residualCount;
+    }
+
+    /** @return 保存的迭代向量个数 */
+    public int snapshotCount() {
+        return snapshotSteps.length;
+    }
+
+    /** @return 第 index 个保存的迭代向量对应的步数 k */
+    public int snapshotStep(int index) {
+        return snapshotSteps[index];
+    }
+
+    /**
+     * 按记录顺序回放每一步 (不读取迭代向量).
+     */
+    public void forEachStep(StepVisitor visitor) throws IOException {
+        long iterateBytes = Integer.BYTES + 8L * dimension;
+        try (ChannelInput in = new ChannelInput(file)) {
+            in.seek(TraceWriter.HEADER_BYTES);
+            while (in.position() < end) {
+                if (in.getByte() == TraceWriter.STEP) {
+                    int k = in.getInt();
+                    double residual = in.getDouble();
+                    double update = in.getDouble();
+                    int status = in.getByte();
+                    if (status < 0 || status >= STATUSES.length) {
+                        throw new IllegalArgumentException("轨迹文件损坏: 第 " + k + " 步的状态序号 " + status + " 无效");
+                    }
+                    visitor.accept(k, residual, update, STATUSES[status]);
+                } else {
+                    in.skip(iterateBytes);
+                }
+            }
+        }
+    }
+
+    /**
+     * @return 第 index 个保存的迭代向量 (复制到堆上)
+     */
+    public double[] readSnapshot(int index) throws IOException {
+        try (ChannelInput in = new ChannelInput(file)) {
+            in.seek(snapshotOffsets[index]);
+            double[] x = new double[dimension];
+            for (int i = 0; i < dimension; i++) {
+                x[i] = in.getDouble();
+            }
+            return x;
+        }
+    }
+}
@@ -0,0 +1,98 @@
+// 文件路径: src/main/java/com/twx/linear_systems/io/TraceWriter.java
+package com.twx.linear_systems.io;
+
+import com.twx.linear_systems.model.ConvergenceStatus;
+import com.twx.linear_systems.model.VectorIterationState;
+import org.apache.commons.math3.linear.ArrayRealVector;
+import org.apache.commons.math3.linear.RealVector;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+
+/**
+ * 把迭代过程流式写入紧凑的二进制轨迹文件, 长时间、大规模的迭代不必把各步状态留在内存中.
+ * 每一步写一条 22 字节的记录 (步数、残差、修正量、状态), 每 snapshotInterval 步及最后一步另写出完整的迭代向量.
+ * 数据先写入 1 MiB 的堆外缓冲, 写满后整块交给文件通道, 不会每步都进行系统调用.
+ * <pre>
+ * 文件头 32 字节: "NATR" | int 版本 (1) | int 维数 n | int snapshotInterval | 填充
+ * STEP    (1): byte 1 | int k | double 残差 (未计算时为 NaN) | double 修正量 | byte 状态序号
+ * ITERATE (2): byte 2 | int k | double[n] x_k
+ * </pre>
+ * 用 {@link TraceReader} 读回.
+ */
+public final class TraceWriter implements AutoCloseable {
+
+    static final byte[] MAGIC = "NATR".getBytes(StandardCharsets.US_ASCII);
+    static final int VERSION = 1;
+    static final int HEADER_BYTES = 32;
+    static final byte STEP = 1;
+    static final byte ITERATE = 2;
+    /** STEP 记录除标记字节外的长度. */
+    static final int STEP_BYTES = Integer.BYTES + 2 * Double.BYTES + Byte.BYTES;
+
+    private final ChannelOutput out;
+    private final int dimension;
+    private final int snapshotInterval;
+
+    /**
+     * @param dimension        迭代向量的维数
+     * @param snapshotInterval 每隔多少步保存一次完整迭代向量; ≤ 0 时只保存最后一步
+     */
+    public TraceWriter(Path file, int dimension, int snapshotInterval) throws IOException {
+        if (dimension < 0) {
+            throw new IllegalArgumentException("维数不能为负: " + dimension);
+        }
+        this.dimension = dimension;
+        this.snapshotInterval = Math.max(0, snapshotInterval);
+        this.out = new ChannelOutput(file);
+        out.putBytes(MAGIC);
+        out.putInt(VERSION);
+        out.putInt(dimension);
+        out.putInt(this.snapshotInterval);
+        out.align(HEADER_BYTES);
+    }
+
+    /**
+     * 追加一步. x_k 在写出时读取, 因此可以直接传入迭代器返回的 (包装工作数组的) 状态, 不必先 snapshot().
+     * @throws IllegalArgumentException x_k 的维数与文件不一致时
+     */
+    public void write(VectorIterationState state) throws IOException {
+        out.putByte(STEP);
+        out.putInt(state.k());
+        out.putDouble(state.residualNorm());
+        out.putDouble(state.updateNorm());
+        out.putByte((byte) state.status().ordinal());
+        boolean last = state.status() != ConvergenceStatus.RUNNING;
+        if (last || (snapshotInterval > 0 && state.k() % snapshotInterval == 0)) {
+            writeIterate(state.k(), state.x_k());
+        }
+    }
+
+    /** 把缓冲中的记录交给文件通道, 使其他进程 (或崩溃之后) 能读到已完成的步. */
+    public void flush() throws IOException {
+        out.flush();
+    }
+
+    private void writeIterate(int k, RealVector x) throws IOException {
+        if (x.getDimension() != dimension) {
+            throw new IllegalArgumentException(String.format("迭代向量维数 %d 与轨迹文件的维数 %d 不一致", x.getDimension(), dimension));
+        }
+        out.putByte(ITERATE);
+        out.putInt(k);
+        if (x instanceof ArrayRealVector array) {
+            for (double value : array.getDataRef()) {
+                out.putDouble(value);
+            }
+        } else {
+            for (int i = 0; i < dimension; i++) {
+                out.putDouble(x.getEntry(i));
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        out.close();
+    }
+}
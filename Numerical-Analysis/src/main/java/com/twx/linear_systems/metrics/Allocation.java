@@ -0,0 +1,38 @@
+// 文件路径: src/main/java/com/twx/linear_systems/metrics/Allocation.java
+package com.twx.linear_systems.metrics;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * 当前线程累计分配的堆内存字节数 (HotSpot 的 com.sun.management.ThreadMXBean).
+ * 管理接口在第一次使用时才加载 (约几十毫秒), 不影响不需要度量的启动路径.
+ * 只统计调用线程自身的分配, 并行求解器在线程池中的分配不计入.
+ */
+final class Allocation {
+
+    private Allocation() {
+    }
+
+    private static final class Holder {
+        static final com.sun.management.ThreadMXBean BEAN = load();
+
+        private static com.sun.management.ThreadMXBean load() {
+            if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean bean
+                    && bean.isThreadAllocatedMemorySupported()) {
+                if (!bean.isThreadAllocatedMemoryEnabled()) {
+                    bean.setThreadAllocatedMemoryEnabled(true);
+                }
+                return bean;
+            }
+            return null;
+        }
+    }
+
+    /**
+     * @return 当前线程累计分配的字节数; 当前 JVM 不支持时为 -1
+     */
+    static long currentThreadBytes() {
+        com.sun.management.ThreadMXBean bean = Holder.BEAN;
+        return bean == null ? -1 : bean.getCurrentThreadAllocatedBytes();
+    }
+}
@@ -0,0 +1,118 @@
+// 文件路径: src/main/java/com/twx/linear_systems/metrics/FlopEstimates.java
+package com.twx.linear_systems.metrics;
+
+import com.twx.linear_systems.model.BandStructure;
+import com.twx.linear_systems.model.DirectSolution;
+import com.twx.linear_systems.model.DirectSolver;
+import com.twx.linear_systems.model.IterativeSolver;
+import com.twx.linear_systems.model.LinearOperator;
+import com.twx.linear_systems.model.Direct_impl.BandedCholeskySolver;
+import com.twx.linear_systems.model.Direct_impl.BandedLUSolver;
+import com.twx.linear_systems.model.Direct_impl.CholeskySolver;
+import com.twx.linear_systems.model.Direct_impl.LDLTSolver;
+import com.twx.linear_systems.model.Direct_impl.MixedPrecisionLUSolver;
+import com.twx.linear_systems.model.Direct_impl.TridiagonalSolver;
+import com.twx.linear_systems.model.Iterative_impl.AcceleratedSolver;
+import com.twx.linear_systems.model.Iterative_impl.BiCGStabSolver;
+import com.twx.linear_systems.model.Iterative_impl.BlockJacobiSolver;
+import com.twx.linear_systems.model.Iterative_impl.ConjugateGradientSolver;
+import com.twx.linear_systems.model.Iterative_impl.GaussSeidelSolver;
+import com.twx.linear_systems.model.Iterative_impl.GmresSolver;
+import com.twx.linear_systems.model.Iterative_impl.MultigridSolver;
+import com.twx.linear_systems.model.Iterative_impl.PreconditionedRichardsonSolver;
+import com.twx.linear_systems.model.Iterative_impl.SuccessiveOverRelaxationSolver;
+import org.apache.commons.math3.linear.RealMatrix;
+
+/**
+ * 各求解器浮点运算次数的估计 (加法与乘法各计一次, 忽略比较和开方), 用于计算达到的 GFLOP/s.
+ * 直接法按教科书中的主项计算; 迭代法每步按 2·nnz 次运算的矩阵-向量乘法加上向量运算计算,
+ * 预处理一次按 2·nnz 计 (ILU(0)、IC(0)、SSOR 的三角求解).
+ */
+public final class FlopEstimates {
+
+    private FlopEstimates() {
+    }
+
+    /**
+     * 直接法一次求解 (分解 + 前代回代) 的运算量.
+     * @param solution 求解结果, 用于计入迭代精化的步数; 可以为 null
+     */
+    public static double direct(DirectSolver solver, RealMatrix a, DirectSolution solution) {
+        double n = a.getRowDimension();
+        double substitution = 2 * n * n;
+        if (solver instanceof TridiagonalSolver) {
+            return 8 * n;
+        }
+        if (solver instanceof BandedLUSolver || solver instanceof BandedCholeskySolver) {
+            BandStructure band = BandStructure.detect(a);
+            double p = band.lower();
+            double q = band.upper();
+            return solver instanceof BandedCholeskySolver
+                    ? n * p * p + 4 * n * p
+                    : 2 * n * p * q + 2 * n * (p + q);
+        }
+        if (solver instanceof CholeskySolver || solver instanceof LDLTSolver) {
+            return n * n * n / 3 + substitution;
+        }
+        double lu = 2 * n * n * n / 3 + substitution;
+        if (solver instanceof MixedPrecisionLUSolver && solution != null) {
+            // 每步精化: 残差 (2n²) + 用已有分解求修正量 (2n²)
+            lu += solution.refinementSteps() * 2 * substitution;
+        }
+        return lu;
+    }
+
+    /**
+     * 迭代法每一步的运算量.
+     * @param preconditioned 是否使用了预处理子
+     */
+    public static double perIteration(IterativeSolver solver, LinearOperator a, boolean preconditioned) {
+        double n = a.dimension();
+        double matvec = 2.0 * nonZeros(a);
+        double precondition = preconditioned ? matvec : 0.0;
+        if (solver instanceof AcceleratedSolver accelerated) {
+            // 加速器在内层迭代之外还要做若干次向量组合; 内层缓存残差时, 替换迭代向量后还要重算一次残差
+            IterativeSolver inner = accelerated.inner();
+            boolean cachesResidual = !(inner instanceof GaussSeidelSolver || inner instanceof SuccessiveOverRelaxationSolver);
+            return perIteration(inner, a, preconditioned) + (cachesResidual ? matvec : 0.0) + 10 * n;
+        }
+        if (solver instanceof ConjugateGradientSolver) {
+            return matvec + precondition + 10 * n;
+        }
+        if (solver instanceof BiCGStabSolver) {
+            return 2 * (matvec + precondition) + 20 * n;
+        }
+        if (solver instanceof GmresSolver gmres) {
+            // Arnoldi 过程平均与 m/2 个基向量正交化
+            return matvec + precondition + 4 * n * (gmres.restart() / 2.0) + 4 * n;
+        }
+        if (solver instanceof MultigridSolver) {
+            // 前后光滑各两次、残差与限制/延拓, 各层合计约为最细层的 4/3
+            return 6 * matvec * 4 / 3;
+        }
+        if (solver instanceof BlockJacobiSolver) {
+            // 残差 + 各子区域的局部求解 (与子区域内的非零元同阶)
+            return 2 * matvec + 2 * n;
+        }
+        if (solver instanceof PreconditionedRichardsonSolver) {
+            return matvec + precondition + 3 * n;
+        }
+        // 雅可比、高斯-赛德尔、SOR: 一次扫描加上修正量
+        return matvec + 3 * n;
+    }
+
+    /**
+     * 统计非零元个数; 不支持按行访问的算子按稠密矩阵计.
+     */
+    public static long nonZeros(LinearOperator a) {
+        int n = a.dimension();
+        if (!a.hasRowAccess()) {
+            return (long) n * n;
+        }
+        long[] count = {0};
+        for (int i = 0; i < n; i++) {
+            a.forEachInRow(i, (j, value) -> count[0]++);
+        }
+        return count[0];
+    }
+}
@@ -0,0 +1,196 @@
+// 文件路径: src/main/java/com/twx/linear_systems/metrics/MetricsRecorder.java
+package com.twx.linear_systems.metrics;
+
+import com.twx.linear_systems.model.VectorIterationState;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * 记录一次求解的开销, 适用于所有求解器 (不需要修改求解器本身):
+ * 用 {@link #phase} 或 {@link #begin} 包住准备和求解的代码, 用 {@link #iterate} 包装迭代器逐步计时,
+ * 最后 {@link #finish()} 得到 {@link SolveMetrics}. 飞行记录器启动后, 每个阶段、每一步和整次求解同时作为 JFR 事件提交.
+ * 同名阶段的时间与分配量累加. 只在创建它的线程上使用.
+ * <pre>
+ * MetricsRecorder recorder = new MetricsRecorder(solver.getName(), n);
+ * Iterator&lt;VectorIterationState&gt; it = recorder.phase("setup", () -&gt; solver.createIterator(...));
+ * it = recorder.iterate(it, FlopEstimates.perIteration(solver, op, false));
+ * while (it.hasNext()) it.next();
+ * SolveMetrics metrics = recorder.finish();
+ * </pre>
+ */
+public final class MetricsRecorder {
+
+    private final String solver;
+    private final int dimension;
+    private final Map<String, Accumulator> phases = new LinkedHashMap<>();
+    private double flops = 0.0;
+    private int iterations = 0;
+
+    public MetricsRecorder(String solver, int dimension) {
+        this.solver = solver;
+        this.dimension = dimension;
+    }
+
+    /** 一个阶段的计时, 用 try-with-resources 包住该阶段的代码. */
+    public final class PhaseTimer implements AutoCloseable {
+        private final String name;
+        /** 飞行记录器未启动时为 null. */
+        private final SolverEvents.PhaseEvent event = SolverEvents.active() ? new SolverEvents.PhaseEvent() : null;
+        private final long startNanos;
+        private final long startBytes;
+
+        private PhaseTimer(String name) {
+            this.name = name;
+            if (event != null) {
+                event.begin();
+            }
+            this.startBytes = Allocation.currentThreadBytes();
+            this.startNanos = System.nanoTime();
+        }
+
+        /** 结束计时 (不抛出受检异常). */
+        @Override
+        public void close() {
+            long nanos = System.nanoTime() - startNanos;
+            long bytes = allocatedSince(startBytes);
+            record(name, nanos, bytes);
+            if (event == null) {
+                return;
+            }
+            event.end();
+            if (event.shouldCommit()) {
+                event.solver = solver;
+                event.phase = name;
+                event.dimension = dimension;
+                event.allocatedBytes = bytes;
+                event.commit();
+            }
+        }
+    }
+
+    /**
+     * 开始一个阶段.
+     * @param name 阶段名称, 作为机器可读输出的键, 应为不含空格的英文 (如 setup / solve)
+     */
+    public PhaseTimer begin(String name) {
+        return new PhaseTimer(name);
+    }
+
+    /**
+     * 执行 body 并记为一个阶段.
+     */
+    public <T> T phase(String name, Supplier<T> body) {
+        PhaseTimer timer = begin(name);
+        try {
+            return body.get();
+        } finally {
+            timer.close();
+        }
+    }
+
+    /**
+     * 累加估计的浮点运算次数 (见 {@link FlopEstimates}).
+     */
+    public void addFlops(double flops) {
+        this.flops += flops;
+    }
+
+    /**
+     * 包装迭代器: 每次 next() 的耗时与分配量计入 "iterate" 阶段, 每步累加 flopsPerStep 次运算 (并在记录时提交一个 JFR 事件).
+     * 两次 next() 之间 (如界面等待用户点击) 的时间不计入.
+     */
+    public Iterator<VectorIterationState> iterate(Iterator<VectorIterationState> iterator, double flopsPerStep) {
+        return new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                return iterator.hasNext();
+            }
+
+            @Override
+            public VectorIterationState next() {
+                SolverEvents.IterationEvent event = SolverEvents.active() ? new SolverEvents.IterationEvent() : null;
+                if (event != null) {
+                    event.begin();
+                }
+                long startBytes = Allocation.currentThreadBytes();
+                long start = System.nanoTime();
+                VectorIterationState state = iterator.next();
+                long nanos = System.nanoTime() - start;
+                long bytes = allocatedSince(startBytes);
+                record("iterate", nanos, bytes);
+                flops += flopsPerStep;
+                iterations = Math.max(iterations, state.k());
+                if (event == null) {
+                    return state;
+                }
+                event.end();
+                if (event.shouldCommit()) {
+                    event.solver = solver;
+                    event.k = state.k();
+                    event.residualNorm = state.residualNorm();
+                    event.flops = flopsPerStep;
+                    event.allocatedBytes = bytes;
+                    event.commit();
+                }
+                return state;
+            }
+        };
+    }
+
+    /**
+     * 设置迭代步数 (不经过 {@link #iterate} 的迭代, 如非线性方程求根).
+     */
+    public void setIterations(int iterations) {
+        this.iterations = iterations;
+    }
+
+    /**
+     * @return 到目前为止的开销; 同时提交汇总的 JFR 事件. 可以多次调用.
+     */
+    public SolveMetrics finish() {
+        List<SolveMetrics.Phase> result = new ArrayList<>(phases.size());
+        long totalBytes = 0;
+        for (Map.Entry<String, Accumulator> entry : phases.entrySet()) {
+            Accumulator phase = entry.getValue();
+            result.add(new SolveMetrics.Phase(entry.getKey(), phase.nanos / 1e6, phase.bytes));
+            totalBytes = totalBytes < 0 || phase.bytes < 0 ? -1 : totalBytes + phase.bytes;
+        }
+        SolveMetrics metrics = new SolveMetrics(solver, dimension, List.copyOf(result), flops, totalBytes, iterations);
+
+        if (!SolverEvents.active()) {
+            return metrics;
+        }
+        SolverEvents.SolveEvent event = new SolverEvents.SolveEvent();
+        if (event.shouldCommit()) {
+            event.solver = solver;
+            event.dimension = dimension;
+            event.iterations = iterations;
+            event.flops = flops;
+            event.gflops = metrics.gflops();
+            event.allocatedBytes = totalBytes;
+            event.commit();
+        }
+        return metrics;
+    }
+
+    private void record(String name, long nanos, long bytes) {
+        Accumulator phase = phases.computeIfAbsent(name, key -> new Accumulator());
+        phase.nanos += nanos;
+        phase.bytes = phase.bytes < 0 || bytes < 0 ? -1 : phase.bytes + bytes;
+    }
+
+    private static long allocatedSince(long startBytes) {
+        if (startBytes < 0) return -1;
+        return Allocation.currentThreadBytes() - startBytes;
+    }
+
+    private static final class Accumulator {
+        long nanos;
+        long bytes;
+    }
+}
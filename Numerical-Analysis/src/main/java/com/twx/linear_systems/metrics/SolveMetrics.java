@@ -0,0 +1,86 @@
+// 文件路径: src/main/java/com/twx/linear_systems/metrics/SolveMetrics.java
+package com.twx.linear_systems.metrics;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Collectors;
+
+/**
+ * 一次求解的开销: 各阶段的墙钟时间与分配量、估计的浮点运算次数和迭代步数. 由 {@link MetricsRecorder} 生成.
+ *
+ * @param solver         求解器名称
+ * @param dimension      方程组的阶数
+ * @param phases         按首次出现顺序排列的各阶段
+ * @param flops          估计的浮点运算次数 (见 {@link FlopEstimates}); 未估计时为 0
+ * @param allocatedBytes 调用线程在各阶段中分配的堆内存总字节数; JVM 不支持统计时为 -1
+ * @param iterations     迭代步数; 直接法为 0
+ */
+public record SolveMetrics(String solver, int dimension, List<Phase> phases, double flops, long allocatedBytes,
+                           int iterations) {
+
+    /**
+     * @param name           阶段名称 (setup / solve / iterate 等)
+     * @param millis         墙钟时间, 毫秒
+     * @param allocatedBytes 分配的字节数; 不支持统计时为 -1
+     */
+    public record Phase(String name, double millis, long allocatedBytes) {
+    }
+
+    public double totalMillis() {
+        return phases.stream().mapToDouble(Phase::millis).sum();
+    }
+
+    /**
+     * @return 按总耗时计算的 GFLOP/s; 未估计运算量时为 0
+     */
+    public double gflops() {
+        double millis = totalMillis();
+        return millis > 0 ? flops / (millis * 1e6) : 0.0;
+    }
+
+    /**
+     * @return 供界面日志显示的一行摘要
+     */
+    public String describe() {
+        StringBuilder text = new StringBuilder(String.format("耗时 %.3f ms", totalMillis()));
+        if (phases.size() > 1) {
+            text.append(phases.stream()
+                    .map(p -> String.format("%s %.3f ms", p.name(), p.millis()))
+                    .collect(Collectors.joining(", ", " (", ")")));
+        }
+        if (flops > 0) {
+            text.append(String.format(", 约 %.3e 次浮点运算 (%.3f GFLOP/s)", flops, gflops()));
+        }
+        if (allocatedBytes >= 0) {
+            text.append(", 分配 ").append(formatBytes(allocatedBytes));
+        }
+        if (iterations > 0) {
+            text.append(", ").append(iterations).append(" 步");
+        }
+        return text.toString();
+    }
+
+    /**
+     * 以 "metrics.键 = 值" 的文本格式写出 (与批处理结果的格式一致, 数值不带单位, 便于脚本读取).
+     */
+    public void writeTo(Writer out) throws IOException {
+        out.write("metrics.dimension = " + dimension + "\n");
+        out.write("metrics.iterations = " + iterations + "\n");
+        out.write(String.format(Locale.ROOT, "metrics.totalMillis = %.3f%n", totalMillis()));
+        out.write("metrics.flops = " + flops + "\n");
+        out.write(String.format(Locale.ROOT, "metrics.gflops = %.3f%n", gflops()));
+        out.write("metrics.allocatedBytes = " + allocatedBytes + "\n");
+        for (Phase phase : phases) {
+            out.write(String.format(Locale.ROOT, "metrics.phase.%s.millis = %.3f%n", phase.name(), phase.millis()));
+            out.write("metrics.phase." + phase.name() + ".allocatedBytes = " + phase.allocatedBytes() + "\n");
+        }
+    }
+
+    private static String formatBytes(long bytes) {
+        if (bytes < 1024) return bytes + " B";
+        if (bytes < 1024 * 1024) return String.format("%.1f KB", bytes / 1024.0);
+        return String.format("%.1f MB", bytes / (1024.0 * 1024.0));
+    }
+}
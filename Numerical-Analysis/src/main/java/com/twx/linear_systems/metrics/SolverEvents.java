@@ -0,0 +1,100 @@
+// 文件路径: src/main/java/com/twx/linear_systems/metrics/SolverEvents.java
+package com.twx.linear_systems.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * 求解器的 JFR 自定义事件. 在生产环境中用 -XX:StartFlightRecording 或 jcmd JFR.start 记录,
+ * 在 JDK Mission Control 的 "Numerical Analysis" 分类下查看. 单步事件数量可能很大,
+ * 可在记录配置中单独关闭 com.twx.SolverIteration.
+ * 第一次创建事件会初始化整个 JFR 框架 (约 200 ms), 因此只在飞行记录器已经启动后才创建事件 ({@link #active()}),
+ * 批处理等对启动时间敏感的路径不受影响.
+ */
+final class SolverEvents {
+
+    private SolverEvents() {
+    }
+
+    /**
+     * @return 飞行记录器是否已经启动 (启动参数或 jcmd 均可, 之后创建的事件即被记录)
+     */
+    static boolean active() {
+        return FlightRecorder.isInitialized();
+    }
+
+    @Name("com.twx.SolverPhase")
+    @Label("Solver Phase")
+    @Description("求解的一个阶段 (准备、求解、迭代)")
+    @Category({"Numerical Analysis", "Linear Systems"})
+    @StackTrace(false)
+    static final class PhaseEvent extends Event {
+        @Label("Solver")
+        String solver;
+
+        @Label("Phase")
+        String phase;
+
+        @Label("Dimension")
+        int dimension;
+
+        @Label("Allocated")
+        @DataAmount
+        long allocatedBytes;
+    }
+
+    @Name("com.twx.SolverIteration")
+    @Label("Solver Iteration")
+    @Description("迭代法的一步")
+    @Category({"Numerical Analysis", "Linear Systems"})
+    @StackTrace(false)
+    static final class IterationEvent extends Event {
+        @Label("Solver")
+        String solver;
+
+        @Label("Step")
+        int k;
+
+        @Label("Residual Norm")
+        double residualNorm;
+
+        @Label("Estimated Flops")
+        double flops;
+
+        @Label("Allocated")
+        @DataAmount
+        long allocatedBytes;
+    }
+
+    @Name("com.twx.Solve")
+    @Label("Solve")
+    @Description("一次完整求解的汇总")
+    @Category({"Numerical Analysis", "Linear Systems"})
+    @StackTrace(false)
+    static final class SolveEvent extends Event {
+        @Label("Solver")
+        String solver;
+
+        @Label("Dimension")
+        int dimension;
+
+        @Label("Iterations")
+        int iterations;
+
+        @Label("Estimated Flops")
+        double flops;
+
+        @Label("GFLOP/s")
+        double gflops;
+
+        @Label("Allocated")
+        @DataAmount
+        long allocatedBytes;
+    }
+}
@@ -0,0 +1,70 @@
+// 文件路径: src/main/java/com/twx/linear_systems/model/BandStructure.java
+package com.twx.linear_systems.model;
+
+import org.apache.commons.math3.linear.RealMatrix;
+
+/**
+ * 矩阵的带状结构.
+ * lower 为主对角线以下非零对角线的条数 (下带宽), upper 为主对角线以上的条数 (上带宽).
+ * 例如三对角矩阵为 (1, 1), 五对角矩阵为 (2, 2), 满矩阵为 (n-1, n-1).
+ */
+public record BandStructure(int lower, int upper) {
+
+    /**
+     * 从系数矩阵中自动检测带宽. 逐行从两端向主对角线扫描, 遇到第一个非零元即停止.
+     * @param a 方阵
+     * @return 检测到的带状结构
+     */
+    public static BandStructure detect(RealMatrix a) {
+        int n = a.getRowDimension();
+        int lower = 0;
+        int upper = 0;
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < i - lower; j++) {
+                if (a.getEntry(i, j) != 0.0) {
+                    lower = i - j;
+                    break;
+                }
+            }
+            for (int j = n - 1; j > i + upper; j--) {
+                if (a.getEntry(i, j) != 0.0) {
+                    upper = j - i;
+                    break;
+                }
+            }
+        }
+        return new BandStructure(lower, upper);
+    }
+
+    /**
+     * 判断矩阵在带内是否对称 (带外元素均为零, 无需检查).
+     */
+    public static boolean isSymmetric(RealMatrix a, BandStructure band) {
+        if (band.lower != band.upper) return false;
+        int n = a.getRowDimension();
+        for (int i = 0; i < n; i++) {
+            for (int j = i + 1; j <= Math.min(i + band.upper, n - 1); j++) {
+                if (a.getEntry(i, j) != a.getEntry(j, i)) return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 带内存储每行所需的元素个数 lower + upper + 1.
+     */
+    public int width() {
+        return lower + upper + 1;
+    }
+
+    public boolean isTridiagonal() {
+        return lower <= 1 && upper <= 1;
+    }
+
+    /**
+     * 对 n 阶矩阵而言, 只有带宽明显小于矩阵阶数时按带存储才有意义.
+     */
+    public boolean isNarrowerThan(int n) {
+        return width() < n;
+    }
+}
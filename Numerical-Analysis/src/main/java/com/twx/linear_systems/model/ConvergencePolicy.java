@@ -0,0 +1,67 @@
+// 文件路径: src/main/java/com/twx/linear_systems/model/ConvergencePolicy.java
+package com.twx.linear_systems.model;
+
+/**
+ * 迭代法的收敛判定策略.
+ * 完整残差 ||A·x - b||_2 需要一次矩阵-向量乘法, 与一次定常迭代扫描的工作量相当;
+ * 因此可以每隔 checkInterval 次扫描才计算一次, 其间以扫描时顺带得到的修正量 ||x_k - x_{k-1}||∞ 作为廉价的代理量:
+ * 修正量降到收敛阈值以下时立即在下一步计算残差确认. Krylov 方法的残差由递推免费得到, 每步都会检查.
+ *
+ * @param absoluteTolerance 绝对容差: ||r|| <= absoluteTolerance 时收敛
+ * @param relativeTolerance 相对容差: ||r|| <= relativeTolerance·||r_0|| 时收敛, 为 0 时不使用
+ * @param maxIterations     最大迭代次数
+ * @param checkInterval     每隔多少次扫描计算一次完整残差 (>= 1)
+ * @param stagnationWindow  已检查的残差在这么多步内没有比历史最小值下降 0.1% 以上时判为停滞, 为 0 时不检测
+ * @param divergenceFactor  ||r|| > divergenceFactor·||r_0|| 时判为发散, 为无穷大时不检测 (出现非有限值总是判为发散)
+ */
+public record ConvergencePolicy(double absoluteTolerance, double relativeTolerance, int maxIterations,
+                                int checkInterval, int stagnationWindow, double divergenceFactor) {
+
+    public ConvergencePolicy {
+        if (!(absoluteTolerance >= 0) || !(relativeTolerance >= 0)) {
+            throw new IllegalArgumentException("容差必须非负");
+        }
+        if (maxIterations < 0) {
+            throw new IllegalArgumentException("最大迭代次数必须非负: " + maxIterations);
+        }
+        if (checkInterval < 1) {
+            throw new IllegalArgumentException("残差检查间隔必须为正整数: " + checkInterval);
+        }
+        if (stagnationWindow < 0) {
+            throw new IllegalArgumentException("停滞检测窗口必须非负: " + stagnationWindow);
+        }
+        if (!(divergenceFactor > 1)) {
+            throw new IllegalArgumentException("发散判定倍数必须大于 1: " + divergenceFactor);
+        }
+    }
+
+    /**
+     * 只使用绝对容差和最大迭代次数, 每步检查残差, 与原先 (tol, maxIter) 参数的行为相同.
+     */
+    public static ConvergencePolicy of(double tol, int maxIter) {
+        return new ConvergencePolicy(tol, 0.0, maxIter, 1, 0, Double.POSITIVE_INFINITY);
+    }
+
+    public ConvergencePolicy withRelativeTolerance(double relativeTolerance) {
+        return new ConvergencePolicy(absoluteTolerance, relativeTolerance, maxIterations, checkInterval, stagnationWindow, divergenceFactor);
+    }
+
+    public ConvergencePolicy withCheckInterval(int checkInterval) {
+        return new ConvergencePolicy(absoluteTolerance, relativeTolerance, maxIterations, checkInterval, stagnationWindow, divergenceFactor);
+    }
+
+    public ConvergencePolicy withStagnationWindow(int stagnationWindow) {
+        return new ConvergencePolicy(absoluteTolerance, relativeTolerance, maxIterations, checkInterval, stagnationWindow, divergenceFactor);
+    }
+
+    public ConvergencePolicy withDivergenceFactor(double divergenceFactor) {
+        return new ConvergencePolicy(absoluteTolerance, relativeTolerance, maxIterations, checkInterval, stagnationWindow, divergenceFactor);
+    }
+
+    /**
+     * @return 收敛阈值 max(absoluteTolerance, relativeTolerance·||r_0||)
+     */
+    public double threshold(double initialResidual) {
+        return Math.max(absoluteTolerance, relativeTolerance * initialResidual);
+    }
+}
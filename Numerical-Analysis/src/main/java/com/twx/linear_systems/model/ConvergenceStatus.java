@@ -0,0 +1,24 @@
+// 文件路径: src/main/java/com/twx/linear_systems/model/ConvergenceStatus.java
+package com.twx.linear_systems.model;
+
+/**
+ * 迭代过程的状态. 除 RUNNING 外都是终止状态, 迭代器在返回带终止状态的那一步之后不再继续.
+ */
+public enum ConvergenceStatus {
+    RUNNING("迭代中"),
+    CONVERGED("已收敛"),
+    MAX_ITERATIONS("达到最大迭代次数"),
+    STAGNATED("残差停滞"),
+    DIVERGED("发散"),
+    BREAKDOWN("算法中断");
+
+    private final String description;
+
+    ConvergenceStatus(String description) {
+        this.description = description;
+    }
+
+    public String description() {
+        return description;
+    }
+}
@@ -6,6 +6,42 @@ import java.util.List;
 
 /**
  * 封装直接法求解的结果，包括过程历史和最终解.
+ *
+ * @param history            求解过程的各个步骤 (快速求解时为空)
+ * @param solution           最终解, 求解失败时为 null
+ * @param refinementSteps    迭代精化的步数 (不做迭代精化的求解器为 0)
+ * @param precisionFallback  迭代精化停滞后是否已回退到全双精度求解
+ * @param conditionEstimate  由分解结果估计的 1-范数条件数 κ_1(A), 求解器不支持估计时为 NaN
+ * @param forwardErrorBound  解的相对误差上界 ||x - x̂||_1 / ||x̂||_1 的估计, 不支持时为 NaN
  */
-public record DirectSolution(List<MatrixState> history, RealVector solution) {
-}
\ No newline at end of file
+public record DirectSolution(List<MatrixState> history, RealVector solution,
+                             int refinementSteps, boolean precisionFallback,
+                             double conditionEstimate, double forwardErrorBound) {
+
+    /** 条件数估计超过该值时, 解至多只有约 16 - log10(κ) 位有效数字, 视为病态. */
+    public static final double ILL_CONDITIONED = 1e8;
+
+    public DirectSolution(List<MatrixState> history, RealVector solution) {
+        this(history, solution, 0, false);
+    }
+
+    public DirectSolution(List<MatrixState> history, RealVector solution,
+                          int refinementSteps, boolean precisionFallback) {
+        this(history, solution, refinementSteps, precisionFallback, Double.NaN, Double.NaN);
+    }
+
+    public boolean hasConditionEstimate() {
+        return !Double.isNaN(conditionEstimate);
+    }
+
+    /**
+     * 条件数估计表明矩阵病态, 应考虑迭代精化或更高精度求解.
+     */
+    public boolean isIllConditioned() {
+        return hasConditionEstimate() && !(conditionEstimate < ILL_CONDITIONED);
+    }
+
+    public DirectSolution withConditioning(double conditionEstimate, double forwardErrorBound) {
+        return new DirectSolution(history, solution, refinementSteps, precisionFallback, conditionEstimate, forwardErrorBound);
+    }
+}
@@ -1,6 +1,7 @@
 // 文件路径: src/main/java/com/twx/linear_systems/model/DirectSolver.java
 package com.twx.linear_systems.model;
 
+import org.apache.commons.math3.linear.ArrayRealVector;
 import org.apache.commons.math3.linear.RealMatrix;
 import org.apache.commons.math3.linear.RealVector;
 
@@ -15,4 +16,39 @@ public interface DirectSolver extends LinearSystemSolver {
      * @return 包含所有求解步骤和最终解的封装对象
      */
     DirectSolution solve(RealMatrix a, RealVector b);
-}
\ No newline at end of file
+
+    /**
+     * 快速求解线性方程组, 不记录可视化所需的中间步骤 (history 为空).
+     * 默认实现直接调用 {@link #solve}, 面向大规模问题的求解器应覆盖此方法.
+     */
+    default DirectSolution solveFast(RealMatrix a, RealVector b) {
+        return solve(a, b);
+    }
+
+    /**
+     * 分解 A 一次, 此后可以反复求解 A·z = r (如区域分解中每个子块在每步外迭代都要求解一次).
+     * 返回的 {@link Preconditioner} 精确求解 A·z = r, 可以被多个线程同时调用.
+     * 默认实现每次调用都执行一次 {@link #solveFast}, 不复用分解; 基于 LU / Cholesky 分解的求解器应覆盖此方法.
+     * @throws IllegalArgumentException 矩阵奇异或不满足该求解器的适用条件时
+     */
+    default Preconditioner factorize(RealMatrix a) {
+        return (r, z) -> {
+            RealVector solution = solveFast(a, new ArrayRealVector(r)).solution();
+            if (solution == null) {
+                throw new IllegalArgumentException(getName() + " 求解失败: 矩阵奇异或不满足适用条件");
+            }
+            for (int i = 0; i < z.length; i++) {
+                z[i] = solution.getEntry(i);
+            }
+        };
+    }
+
+    /**
+     * 判断该求解器能否用于给定的系数矩阵 (例如追赶法只适用于三对角矩阵).
+     * @param a 系数矩阵 A
+     * @return 默认对任意方阵均适用
+     */
+    default boolean isApplicable(RealMatrix a) {
+        return true;
+    }
+}
@@ -0,0 +1,161 @@
+// 文件路径: src/main/java/com/twx/linear_systems/model/Direct_impl/BandedCholeskySolver.java
+package com.twx.linear_systems.model.Direct_impl;
+
+import com.twx.linear_systems.model.BandStructure;
+import com.twx.linear_systems.model.DirectSolution;
+import com.twx.linear_systems.model.DirectSolver;
+import com.twx.linear_systems.model.MatrixState;
+import org.apache.commons.math3.linear.Array2DRowRealMatrix;
+import org.apache.commons.math3.linear.ArrayRealVector;
+import org.apache.commons.math3.linear.RealMatrix;
+import org.apache.commons.math3.linear.RealVector;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 带状矩阵的平方根法 (Cholesky 分解)
+ * 对称正定带状矩阵 A = L * L^T 中, L 与 A 具有相同的下带宽 p,
+ * 因此只需存储 l[i][j - i + p] (每行 p + 1 个元素), 计算量为 O(n·p²).
+ * 与 {@link CholeskySolver} 一样按列计算 L (即按行得到 U = L^T), 同时完成对 b 的前代.
+ */
+public class BandedCholeskySolver implements DirectSolver {
+
+    private static final double EPSILON = 1e-10;
+
+    @Override
+    public String getName() {
+        return "带状平方根法";
+    }
+
+    @Override
+    public boolean isApplicable(RealMatrix a) {
+        BandStructure band = BandStructure.detect(a);
+        return band.isNarrowerThan(a.getRowDimension()) && BandStructure.isSymmetric(a, band);
+    }
+
+    @Override
+    public DirectSolution solve(RealMatrix a, RealVector b) {
+        return solve(a, b, true);
+    }
+
+    @Override
+    public DirectSolution solveFast(RealMatrix a, RealVector b) {
+        return solve(a, b, false);
+    }
+
+    private DirectSolution solve(RealMatrix a, RealVector b, boolean recordHistory) {
+        List<MatrixState> history = new ArrayList<>();
+        int n = b.getDimension();
+        int p = BandStructure.detect(a).lower();
+
+        // l[i][j - i + p] 初始存放 A 的下三角带, 分解后原地变为 L
+        double[][] l = new double[n][p + 1];
+        for (int i = 0; i < n; i++) {
+            for (int j = Math.max(0, i - p); j <= i; j++) {
+                l[i][j - i + p] = a.getEntry(i, j);
+            }
+        }
+        double[] y = b.toArray();
+
+        if (recordHistory) {
+            String desc = String.format("初始增广矩阵, 检测到半带宽 p=%d, 每行仅存储 %d 个元素", p, p + 1);
+            history.add(new MatrixState(desc, toDisplay(l, p, y, 0), null));
+        }
+
+        // 1. 分解 A = L * L^T, 并同时求解 L * y = b
+        for (int j = 0; j < n; j++) {
+            int first = Math.max(0, j - p);
+            double sumSq = 0.0;
+            for (int k = first; k < j; k++) {
+                double ljk = l[j][k - j + p];
+                sumSq += ljk * ljk;
+            }
+            double ajj = l[j][p] - sumSq;
+            if (ajj < EPSILON) {
+                if (recordHistory) {
+                    history.add(new MatrixState("错误: 矩阵非正定或计算不稳定", toDisplay(l, p, y, j), new int[]{j}));
+                }
+                return new DirectSolution(history, null);
+            }
+            double ljj = Math.sqrt(ajj);
+            l[j][p] = ljj;
+
+            for (int i = j + 1; i <= Math.min(n - 1, j + p); i++) {
+                double sumProd = 0.0;
+                for (int k = Math.max(first, i - p); k < j; k++) {
+                    sumProd += l[i][k - i + p] * l[j][k - j + p];
+                }
+                l[i][j - i + p] = (l[i][j - i + p] - sumProd) / ljj;
+            }
+
+            double sumY = 0.0;
+            for (int k = first; k < j; k++) {
+                sumY += l[j][k - j + p] * y[k];
+            }
+            y[j] = (y[j] - sumY) / ljj;
+
+            if (recordHistory) {
+                String desc = String.format("计算 U 第 %d 行: U(%d,%d) = sqrt(%.3f - %.3f) = %.3f, y%d = %.3f",
+                        j + 1, j + 1, j + 1, ajj + sumSq, sumSq, ljj, j + 1, y[j]);
+                history.add(new MatrixState(desc, toDisplay(l, p, y, j + 1), new int[]{j}));
+            }
+        }
+        if (recordHistory) {
+            history.add(new MatrixState("变换完成，形成上三角矩阵 U 和新向量 y", toDisplay(l, p, y, n), null));
+        }
+
+        // 2. 回代求解 U * x = y (U = L^T, 第 i 行只有 L 第 i 列带内的 p 个元素)
+        double[] x = y;
+        for (int i = n - 1; i >= 0; i--) {
+            double sum = 0.0;
+            for (int k = i + 1; k <= Math.min(n - 1, i + p); k++) {
+                sum += l[k][i - k + p] * x[k];
+            }
+            double divisor = l[i][p];
+            double newB = y[i] - sum;
+            x[i] = newB / divisor;
+            if (recordHistory) {
+                String desc = String.format("回代: x%d = (%.3f - %.3f) / %.3f = %.4f", i + 1, newB + sum, sum, divisor, x[i]);
+                RealMatrix display = toDisplay(l, p, x, n);
+                for (int r = i; r < n; r++) {
+                    for (int c = r + 1; c < n; c++) display.setEntry(r, c, 0.0);
+                    display.setEntry(r, r, 1.0);
+                }
+                history.add(new MatrixState(desc, display, new int[]{i}));
+            }
+        }
+
+        RealVector solutionVector = new ArrayRealVector(x);
+        if (recordHistory) {
+            RealMatrix display = new Array2DRowRealMatrix(n, n + 1);
+            for (int i = 0; i < n; i++) {
+                display.setEntry(i, i, 1.0);
+                display.setEntry(i, n, x[i]);
+            }
+            history.add(new MatrixState("回代完成，得到最终解", display, null));
+        }
+        return new DirectSolution(history, solutionVector);
+    }
+
+    /**
+     * 仅在可视化时使用: 前 done 行显示 U = L^T 的对应行, 其余行显示 A 的带内元素 (利用对称性).
+     */
+    private RealMatrix toDisplay(double[][] l, int p, double[] rhs, int done) {
+        int n = l.length;
+        RealMatrix aug = new Array2DRowRealMatrix(n, n + 1);
+        for (int i = 0; i < n; i++) {
+            for (int j = Math.max(0, i - p); j <= i; j++) {
+                double value = l[i][j - i + p];
+                if (j < done) {
+                    aug.setEntry(j, i, value);
+                } else {
+                    aug.setEntry(i, j, value);
+                    aug.setEntry(j, i, value);
+                }
+            }
+            aug.setEntry(i, n, rhs[i]);
+        }
+        return aug;
+    }
+}
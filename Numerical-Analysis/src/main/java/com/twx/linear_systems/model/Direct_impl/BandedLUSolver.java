@@ -0,0 +1,135 @@
+// 文件路径: src/main/java/com/twx/linear_systems/model/Direct_impl/BandedLUSolver.java
+package com.twx.linear_systems.model.Direct_impl;
+
+import com.twx.linear_systems.model.BandStructure;
+import com.twx.linear_systems.model.DirectSolution;
+import com.twx.linear_systems.model.DirectSolver;
+import com.twx.linear_systems.model.MatrixState;
+import org.apache.commons.math3.linear.Array2DRowRealMatrix;
+import org.apache.commons.math3.linear.ArrayRealVector;
+import org.apache.commons.math3.linear.RealMatrix;
+import org.apache.commons.math3.linear.RealVector;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 带状矩阵的 LU 分解法 (不选主元)
+ * 下带宽为 p、上带宽为 q 的矩阵在不选主元的消元过程中不会在带外产生填充元,
+ * 因此只需按行存储 band[i][j - i + p] (p + q + 1 个元素), 计算量为 O(n·p·q).
+ * 带宽从输入矩阵中自动检测; 要求消元过程中主元不为零 (例如对角占优矩阵).
+ */
+public class BandedLUSolver implements DirectSolver {
+
+    private static final double EPSILON = 1e-10;
+
+    @Override
+    public String getName() {
+        return "带状LU分解法";
+    }
+
+    @Override
+    public boolean isApplicable(RealMatrix a) {
+        return BandStructure.detect(a).isNarrowerThan(a.getRowDimension());
+    }
+
+    @Override
+    public DirectSolution solve(RealMatrix a, RealVector b) {
+        return solve(a, b, true);
+    }
+
+    @Override
+    public DirectSolution solveFast(RealMatrix a, RealVector b) {
+        return solve(a, b, false);
+    }
+
+    private DirectSolution solve(RealMatrix a, RealVector b, boolean recordHistory) {
+        List<MatrixState> history = new ArrayList<>();
+        int n = b.getDimension();
+        BandStructure structure = BandStructure.detect(a);
+        int p = structure.lower();
+        int q = structure.upper();
+
+        double[][] band = new double[n][structure.width()];
+        for (int i = 0; i < n; i++) {
+            for (int j = Math.max(0, i - p); j <= Math.min(n - 1, i + q); j++) {
+                band[i][j - i + p] = a.getEntry(i, j);
+            }
+        }
+        double[] y = b.toArray();
+
+        if (recordHistory) {
+            String desc = String.format("初始增广矩阵, 检测到下带宽 p=%d, 上带宽 q=%d, 每行仅存储 %d 个元素", p, q, structure.width());
+            history.add(new MatrixState(desc, toDisplay(band, p, q, y), null));
+        }
+
+        // 1. 前向消元: 只处理主元下方 p 行, 每行只更新主元右侧 q 列
+        for (int k = 0; k < n; k++) {
+            double pivot = band[k][p];
+            if (Math.abs(pivot) < EPSILON) {
+                if (recordHistory) {
+                    history.add(new MatrixState("错误: 主元 A(" + (k + 1) + "," + (k + 1) + ") 为零或过小，无法继续", toDisplay(band, p, q, y), new int[]{k}));
+                }
+                return new DirectSolution(history, null);
+            }
+            int lastRow = Math.min(n - 1, k + p);
+            int lastCol = Math.min(n - 1, k + q);
+            for (int i = k + 1; i <= lastRow; i++) {
+                double[] rowI = band[i];
+                double factor = rowI[k - i + p] / pivot;
+                if (factor == 0.0) continue;
+                rowI[k - i + p] = 0.0;
+                for (int j = k + 1; j <= lastCol; j++) {
+                    rowI[j - i + p] -= factor * band[k][j - k + p];
+                }
+                y[i] -= factor * y[k];
+                if (recordHistory) {
+                    String desc = String.format("行变换: R%d = R%d - (%.3f) * R%d (仅更新带内 %d 个元素)", i + 1, i + 1, factor, k + 1, lastCol - k);
+                    history.add(new MatrixState(desc, toDisplay(band, p, q, y), new int[]{k, i}));
+                }
+            }
+        }
+        if (recordHistory) {
+            history.add(new MatrixState("前向消元完成，形成上带宽为 q 的上三角矩阵", toDisplay(band, p, q, y), null));
+        }
+
+        // 2. 回代求解: 每行只有主元右侧 q 个非零元
+        double[] x = y;
+        for (int i = n - 1; i >= 0; i--) {
+            double sum = 0.0;
+            for (int j = i + 1; j <= Math.min(n - 1, i + q); j++) {
+                sum += band[i][j - i + p] * x[j];
+            }
+            double divisor = band[i][p];
+            double newB = y[i] - sum;
+            x[i] = newB / divisor;
+            if (recordHistory) {
+                for (int j = i + 1; j <= Math.min(n - 1, i + q); j++) band[i][j - i + p] = 0.0;
+                band[i][p] = 1.0;
+                String desc = String.format("回代: x%d = (%.3f - %.3f) / %.3f = %.4f", i + 1, newB + sum, sum, divisor, x[i]);
+                history.add(new MatrixState(desc, toDisplay(band, p, q, x), new int[]{i}));
+            }
+        }
+
+        RealVector solutionVector = new ArrayRealVector(x);
+        if (recordHistory) {
+            history.add(new MatrixState("回代完成，得到最终解", toDisplay(band, p, q, x), null));
+        }
+        return new DirectSolution(history, solutionVector);
+    }
+
+    /**
+     * 仅在可视化时使用: 将带状存储还原为稠密增广矩阵.
+     */
+    private RealMatrix toDisplay(double[][] band, int p, int q, double[] rhs) {
+        int n = band.length;
+        RealMatrix aug = new Array2DRowRealMatrix(n, n + 1);
+        for (int i = 0; i < n; i++) {
+            for (int j = Math.max(0, i - p); j <= Math.min(n - 1, i + q); j++) {
+                aug.setEntry(i, j, band[i][j - i + p]);
+            }
+            aug.setEntry(i, n, rhs[i]);
+        }
+        return aug;
+    }
+}
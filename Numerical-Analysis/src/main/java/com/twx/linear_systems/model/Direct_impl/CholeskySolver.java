@@ -1,9 +1,11 @@
-// 文件路径: src/main/java/com/twx/linear_systems/model/Direct_impl/SquareRootMethodSolver.java
+// 文件路径: src/main/java/com/twx/linear_systems/model/Direct_impl/CholeskySolver.java
 package com.twx.linear_systems.model.Direct_impl;
 
+import com.twx.linear_systems.model.BandStructure;
 import com.twx.linear_systems.model.DirectSolution;
 import com.twx.linear_systems.model.DirectSolver;
 import com.twx.linear_systems.model.MatrixState;
+import com.twx.linear_systems.model.Preconditioner;
 import org.apache.commons.math3.linear.Array2DRowRealMatrix;
 import org.apache.commons.math3.linear.ArrayRealVector;
 import org.apache.commons.math3.linear.RealMatrix;
@@ -17,6 +19,8 @@ import java.util.List;
  * 此方法通过一种类似高斯消元的过程，将对称正定矩阵 A 转化为上三角矩阵 U，
  * 使得 A = U^T * U。同时对向量 b 进行相应变换，然后通过回代求解。
  * 该方法仅适用于对称正定矩阵。
+ * U 的第 i 行即 L = U^T 的第 i 列, 因此两种模式都只在压缩下三角存储中原地计算:
+ * 可视化模式逐行计算 U 并记录每一行的结果, 快速模式使用 {@link PackedSymmetricFactor} 的分块并行分解.
  */
 public class CholeskySolver implements DirectSolver {
 
@@ -27,71 +31,101 @@ public class CholeskySolver implements DirectSolver {
         return "平方根法 (类高斯消元)";
     }
 
+    @Override
+    public boolean isApplicable(RealMatrix a) {
+        return BandStructure.isSymmetric(a, BandStructure.detect(a));
+    }
+
+    @Override
+    public DirectSolution solveFast(RealMatrix a, RealVector b) {
+        PackedSymmetricFactor factor = PackedSymmetricFactor.pack(a, false);
+        if (factor.factor(EPSILON) >= 0) {
+            return new DirectSolution(new ArrayList<>(), null);
+        }
+        double[] x = b.toArray();
+        factor.solveInPlace(x);
+        return ConditionEstimator.attach(new DirectSolution(new ArrayList<>(), new ArrayRealVector(x, false)), a, b, factor);
+    }
+
+    /**
+     * Cholesky 分解一次, 此后每次求解 O(n²).
+     */
+    @Override
+    public Preconditioner factorize(RealMatrix a) {
+        PackedSymmetricFactor factor = PackedSymmetricFactor.pack(a, false);
+        if (factor.factor(EPSILON) >= 0) {
+            throw new IllegalArgumentException("矩阵非正定, 无法进行 Cholesky 分解");
+        }
+        return (r, z) -> {
+            System.arraycopy(r, 0, z, 0, r.length);
+            factor.solveInPlace(z);
+        };
+    }
+
     @Override
     public DirectSolution solve(RealMatrix a, RealVector b) {
         List<MatrixState> history = new ArrayList<>();
         int n = b.getDimension();
-        RealMatrix aug = new Array2DRowRealMatrix(n, n + 1);
-        aug.setSubMatrix(a.getData(), 0, 0);
-        aug.setColumnVector(n, b);
+        // u.get(j, i) (j >= i) 初始为 A(j,i) = A(i,j), 计算后为 U(i,j)
+        PackedSymmetricFactor u = PackedSymmetricFactor.pack(a, false);
+        double[] y = b.toArray();
 
-        history.add(new MatrixState("初始增广矩阵", aug.copy(), null));
+        history.add(new MatrixState("初始增广矩阵 (仅存储下三角部分)", toDisplay(u, y, 0), null));
 
         // --- 步骤 1: 将增广矩阵 [A|b] 变换为 [U|y] ---
-        // 这个过程看起来像高斯消元，但计算方式不同
         for (int i = 0; i < n; i++) {
-            // a. 计算并更新对角线元素 A(i,i)
+            // a. 计算对角线元素 U(i,i)
             double sumSq = 0.0;
             for (int k = 0; k < i; k++) {
-                sumSq += Math.pow(aug.getEntry(k, i), 2);
+                double uki = u.get(i, k);
+                sumSq += uki * uki;
             }
-            double aii = aug.getEntry(i, i) - sumSq;
+            double originalAii = u.get(i, i);
+            double aii = originalAii - sumSq;
             if (aii < EPSILON) {
-                history.add(new MatrixState("错误: 矩阵非正定或计算不稳定", aug.copy(), new int[]{i}));
+                history.add(new MatrixState("错误: 矩阵非正定或计算不稳定", toDisplay(u, y, i), new int[]{i}));
                 return new DirectSolution(history, null);
             }
             double newAii = Math.sqrt(aii);
-            String descAii = String.format("更新主元 U(%d,%d) = sqrt(A(%d,%d) - ΣU_ki²) = sqrt(%.2f - %.2f) = %.3f",
-                    i + 1, i + 1, i + 1, i + 1, aug.getEntry(i, i), sumSq, newAii);
-            aug.setEntry(i, i, newAii);
-            history.add(new MatrixState(descAii, aug.copy(), new int[]{i}));
-
+            u.set(i, i, newAii);
 
-            // b. 更新主元所在行的其余元素 (A(i,j) 和 b_i)
-            for (int j = i + 1; j < n + 1; j++) { // j < n+1 以包含 b 向量部分
+            // b. 计算主元所在行的其余元素 U(i,j) 和 y_i
+            for (int j = i + 1; j < n; j++) {
                 double sumProd = 0.0;
                 for (int k = 0; k < i; k++) {
-                    sumProd += aug.getEntry(k, i) * aug.getEntry(k, j);
+                    sumProd += u.get(i, k) * u.get(j, k);
                 }
-                double newValue = (aug.getEntry(i, j) - sumProd) / newAii;
-                String descRow = String.format("更新 U/y(%d,%d) = (A/b(%d,%d) - ΣU_ki*U_kj) / U(%d,%d) = %.3f",
-                        i + 1, j + 1, i + 1, j + 1, i + 1, i + 1, newValue);
-                aug.setEntry(i, j, newValue);
-                history.add(new MatrixState(descRow, aug.copy(), new int[]{i,j}));
+                u.set(j, i, (u.get(j, i) - sumProd) / newAii);
             }
-            // 将下三角部分清零，使其在视觉上是上三角矩阵
-            for (int j = 0; j < i; j++) {
-                aug.setEntry(i, j, 0.0);
+            double sumY = 0.0;
+            for (int k = 0; k < i; k++) {
+                sumY += u.get(i, k) * y[k];
             }
+            y[i] = (y[i] - sumY) / newAii;
+
+            String desc = String.format("计算 U 第 %d 行: U(%d,%d) = sqrt(A(%d,%d) - ΣU_ki²) = sqrt(%.2f - %.2f) = %.3f, " +
+                            "U(%d,j) = (A(%d,j) - ΣU_ki*U_kj) / U(%d,%d), y%d = %.3f",
+                    i + 1, i + 1, i + 1, i + 1, i + 1, originalAii, sumSq, newAii, i + 1, i + 1, i + 1, i + 1, i + 1, y[i]);
+            history.add(new MatrixState(desc, toDisplay(u, y, i + 1), new int[]{i}));
         }
-        history.add(new MatrixState("变换完成，形成上三角矩阵 U 和新向量 y", aug.copy(), null));
+        history.add(new MatrixState("变换完成，形成上三角矩阵 U 和新向量 y", toDisplay(u, y, n), null));
 
         // --- 步骤 2: 回代求解 Ux = y (与高斯消元法完全一致) ---
         double[] x = new double[n];
-        RealMatrix displayMatrix = aug.copy();
+        RealMatrix displayMatrix = toDisplay(u, y, n);
         for (int i = n - 1; i >= 0; i--) {
             double sum = 0.0;
             StringBuilder sumDesc = new StringBuilder();
             for (int j = i + 1; j < n; j++) {
-                double term = aug.getEntry(i, j) * x[j];
-                sum += term;
+                double uij = u.get(j, i);
+                sum += uij * x[j];
                 if (sumDesc.length() > 0) sumDesc.append(" + ");
-                sumDesc.append(String.format("%.2f*x%d(%.2f)", aug.getEntry(i, j), j + 1, x[j]));
+                sumDesc.append(String.format("%.2f*x%d(%.2f)", uij, j + 1, x[j]));
             }
 
-            double originalB = aug.getEntry(i, n);
+            double originalB = y[i];
             double newB = originalB - sum;
-            double divisor = aug.getEntry(i, i);
+            double divisor = u.get(i, i);
             String substitutionDesc = (sumDesc.length() > 0)
                     ? String.format("回代 R%d: b' = %.2f - (%s) = %.2f", i + 1, originalB, sumDesc, newB)
                     : String.format("回代 R%d: 方程已简化", i + 1);
@@ -110,6 +144,23 @@ public class CholeskySolver implements DirectSolver {
 
         RealVector solutionVector = new ArrayRealVector(x);
         history.add(new MatrixState("回代完成，得到最终解", displayMatrix, null));
-        return new DirectSolution(history, solutionVector);
+        return ConditionEstimator.attach(new DirectSolution(history, solutionVector), a, b, u);
+    }
+
+    /**
+     * 仅在可视化时使用: 前 done 行显示 U 的对应行, 其余行显示尚未处理的 A (利用对称性).
+     */
+    private RealMatrix toDisplay(PackedSymmetricFactor u, double[] rhs, int done) {
+        int n = u.dimension();
+        RealMatrix aug = new Array2DRowRealMatrix(n, n + 1);
+        for (int i = 0; i < n; i++) {
+            for (int j = i; j < n; j++) {
+                double value = u.get(j, i);
+                aug.setEntry(i, j, value);
+                if (i >= done) aug.setEntry(j, i, value);
+            }
+            aug.setEntry(i, n, rhs[i]);
+        }
+        return aug;
     }
-}
\ No newline at end of file
+}
@@ -11,126 +11,363 @@ import java.util.Arrays;
 import java.util.List;
 import java.util.stream.IntStream;
 
+/**
+ * 高斯全主元消元法
+ * 行交换与列交换只记录在置换数组 rowPerm / colPerm 中, 不移动矩阵数据:
+ * 逻辑位置 (i, j) 对应物理元素 m[rowPerm[i]][colPerm[j]].
+ * 全主元策略在消去第 k 列的同时记录每行剩余元素的最大值, 下一步选主元只需比较这些行最大值,
+ * 因此选主元不再需要额外扫描整个右下子矩阵; 规模较大时消元与行最大值的归约按行并行执行.
+ * 也可以选择代价更低的车式主元 (rook pivoting).
+ */
 public class CompletePivotingGaussianSolver implements DirectSolver {
 
+    /**
+     * 选主元策略.
+     */
+    public enum PivotStrategy {
+        /** 全主元: 在整个右下子矩阵中选取绝对值最大的元素. */
+        COMPLETE,
+        /** 车式主元: 交替搜索列和行, 直到所选元素同时是所在行和所在列中绝对值最大的. */
+        ROOK
+    }
+
     private static final double EPSILON = 1e-10;
+    /** 剩余行数低于该值时按行并行不值得. */
+    private static final int PARALLEL_THRESHOLD = 128;
+
+    private final PivotStrategy strategy;
+
+    public CompletePivotingGaussianSolver() {
+        this(PivotStrategy.COMPLETE);
+    }
+
+    public CompletePivotingGaussianSolver(PivotStrategy strategy) {
+        this.strategy = strategy;
+    }
 
     @Override
     public String getName() {
-        return "高斯全主元消元法";
+        return strategy == PivotStrategy.COMPLETE ? "高斯全主元消元法" : "高斯车式主元消元法";
     }
 
     @Override
     public DirectSolution solve(RealMatrix a, RealVector b) {
+        return solve(a, b, true);
+    }
+
+    @Override
+    public DirectSolution solveFast(RealMatrix a, RealVector b) {
+        return solve(a, b, false);
+    }
+
+    private DirectSolution solve(RealMatrix a, RealVector b, boolean recordHistory) {
         List<MatrixState> history = new ArrayList<>();
         int n = b.getDimension();
-        RealMatrix aug = new Array2DRowRealMatrix(n, n + 1);
-        aug.setSubMatrix(a.getData(), 0, 0);
-        aug.setColumnVector(n, b);
-
-        // 用于追踪列交换的数组, 初始为 [0, 1, 2, ..., n-1]
-        int[] colIndices = IntStream.range(0, n).toArray();
+        Elimination e = new Elimination(a.getData(), b.toArray());
 
-        history.add(new MatrixState("初始增广矩阵, 列顺序: " + Arrays.toString(colIndices), aug.copy(), null));
+        if (recordHistory) {
+            history.add(new MatrixState("初始增广矩阵, 列顺序: " + Arrays.toString(e.colPerm), e.toDisplay(0, 0), null));
+        }
+        if (strategy == PivotStrategy.COMPLETE) {
+            e.initRowMax(!recordHistory);
+        }
 
-        // 1. 前向消元 (全主元选择)
+        // 1. 前向消元
         for (int i = 0; i < n; i++) {
-            int pivotRow = i;
-            int pivotCol = i;
-            double maxVal = Math.abs(aug.getEntry(i, i));
-
-            for (int row = i; row < n; row++) {
-                for (int col = i; col < n; col++) {
-                    if (Math.abs(aug.getEntry(row, col)) > maxVal) {
-                        maxVal = Math.abs(aug.getEntry(row, col));
-                        pivotRow = row;
-                        pivotCol = col;
-                    }
-                }
-            }
+            int[] pivot = (strategy == PivotStrategy.COMPLETE) ? e.completePivot(i) : e.rookPivot(i);
+            int pivotRow = pivot[0];
+            int pivotCol = pivot[1];
 
-            // --- 行交换 ---
+            // --- 行交换 (只交换置换数组) ---
             if (i != pivotRow) {
-                double[] temp = aug.getRow(i);
-                aug.setRow(i, aug.getRow(pivotRow));
-                aug.setRow(pivotRow, temp);
-                history.add(new MatrixState("行交换: R" + (i + 1) + " <-> R" + (pivotRow + 1), aug.copy(), new int[]{i, pivotRow}));
+                swap(e.rowPerm, i, pivotRow);
+                if (recordHistory) {
+                    history.add(new MatrixState("行交换: R" + (i + 1) + " <-> R" + (pivotRow + 1), e.toDisplay(i, i), new int[]{i, pivotRow}));
+                }
             }
 
-            // --- 列交换 ---
+            // --- 列交换 (只交换置换数组) ---
             if (i != pivotCol) {
-                RealVector temp = aug.getColumnVector(i);
-                aug.setColumnVector(i, aug.getColumnVector(pivotCol));
-                aug.setColumnVector(pivotCol, temp);
-
-                int tempIndex = colIndices[i];
-                colIndices[i] = colIndices[pivotCol];
-                colIndices[pivotCol] = tempIndex;
-
-                history.add(new MatrixState("列交换: C" + (i + 1) + " <-> C" + (pivotCol + 1) +
-                        ", 新列顺序: " + Arrays.toString(colIndices), aug.copy(), null));
+                swap(e.colPerm, i, pivotCol);
+                if (recordHistory) {
+                    history.add(new MatrixState("列交换: C" + (i + 1) + " <-> C" + (pivotCol + 1) +
+                            ", 新列顺序: " + Arrays.toString(e.colPerm), e.toDisplay(i, i), null));
+                }
             }
 
-            if (Math.abs(aug.getEntry(i, i)) < EPSILON) {
-                history.add(new MatrixState("错误: 主元过小, 矩阵奇异或接近奇异", aug.copy(), new int[]{i}));
+            if (Math.abs(e.entry(i, i)) < EPSILON) {
+                if (recordHistory) {
+                    history.add(new MatrixState("错误: 主元过小, 矩阵奇异或接近奇异", e.toDisplay(i, i), new int[]{i}));
+                }
                 return new DirectSolution(history, null);
             }
 
             // 消元
-            for (int j = i + 1; j < n; j++) {
-                double factor = aug.getEntry(j, i) / aug.getEntry(i, i);
-                if (Math.abs(factor) < EPSILON) continue;
-                RealVector rowI = aug.getRowVector(i).mapMultiply(factor);
-                RealVector rowJ = aug.getRowVector(j).subtract(rowI);
-                aug.setRowVector(j, rowJ);
-                String desc = String.format("行变换: R%d = R%d - (%.3f) * R%d", j + 1, j + 1, factor, i + 1);
-                history.add(new MatrixState(desc, aug.copy(), new int[]{i, j}));
+            final int k = i;
+            if (recordHistory) {
+                for (int j = i + 1; j < n; j++) {
+                    double factor = e.eliminateRow(k, j);
+                    if (factor == 0.0) continue;
+                    String desc = String.format("行变换: R%d = R%d - (%.3f) * R%d", j + 1, j + 1, factor, i + 1);
+                    history.add(new MatrixState(desc, e.toDisplay(i, j), new int[]{i, j}));
+                }
+            } else {
+                IntStream rows = IntStream.range(i + 1, n);
+                if (n - i > PARALLEL_THRESHOLD) rows = rows.parallel();
+                rows.forEach(j -> e.eliminateRow(k, j));
             }
         }
-        history.add(new MatrixState("前向消元完成，形成上三角矩阵", aug.copy(), null));
+        if (recordHistory) {
+            history.add(new MatrixState("前向消元完成，形成上三角矩阵", e.toDisplay(n, n), null));
+        }
 
         // 2. 回代求解
         double[] x_permuted = new double[n];
-        // ======================= 代码修改部分开始 =======================
         // 创建一个专门用于可视化的矩阵副本
-        RealMatrix displayMatrix = aug.copy();
+        RealMatrix displayMatrix = recordHistory ? e.toDisplay(n, n) : null;
 
         for (int i = n - 1; i >= 0; i--) {
-            // 计算过程仍然使用未被修改的上三角矩阵 `aug`，保证精度
+            double[] row = e.m[e.rowPerm[i]];
             double sum = 0.0;
             for (int j = i + 1; j < n; j++) {
-                sum += aug.getEntry(i, j) * x_permuted[j];
+                sum += row[e.colPerm[j]] * x_permuted[j];
             }
-            double newB = aug.getEntry(i, n) - sum;
-            double divisor = aug.getEntry(i, i);
-            x_permuted[i] = newB / divisor;
+            double rhs = e.rhs[e.rowPerm[i]];
+            double divisor = row[e.colPerm[i]];
+            x_permuted[i] = (rhs - sum) / divisor;
 
-            // --- 更新可视化矩阵 `displayMatrix` ---
-            // 为了清晰地展示回代过程，我们将已求解的行进行变换
-            // 将该行的主元变为1，其他系数变为0，右侧常数项变为解，模拟出已求解的样子
-            displayMatrix.setEntry(i, i, 1.0); // 主元变为1
-            for (int j = i + 1; j < n; j++) {
-                displayMatrix.setEntry(i, j, 0.0); // 主元右边的系数变为0
-            }
-            displayMatrix.setEntry(i, n, x_permuted[i]); // 右侧常数项更新为解
+            if (recordHistory) {
+                // 将该行的主元变为1，其他系数变为0，右侧常数项变为解，模拟出已求解的样子
+                displayMatrix.setEntry(i, i, 1.0);
+                for (int j = i + 1; j < n; j++) {
+                    displayMatrix.setEntry(i, j, 0.0);
+                }
+                displayMatrix.setEntry(i, n, x_permuted[i]);
 
-            // 将更新后的可视化矩阵存入历史记录
-            String desc = String.format("回代(乱序): x'%d = (%.3f - %.3f) / %.3f = %.4f",
-                    i + 1, aug.getEntry(i, n), sum, divisor, x_permuted[i]);
-            history.add(new MatrixState(desc, displayMatrix.copy(), new int[]{i}));
+                String desc = String.format("回代(乱序): x'%d = (%.3f - %.3f) / %.3f = %.4f",
+                        i + 1, rhs, sum, divisor, x_permuted[i]);
+                history.add(new MatrixState(desc, displayMatrix.copy(), new int[]{i}));
+            }
         }
-        // ======================= 代码修改部分结束 =======================
 
         // 3. 重排序解向量
         double[] x = new double[n];
         for (int i = 0; i < n; i++) {
-            x[colIndices[i]] = x_permuted[i];
+            x[e.colPerm[i]] = x_permuted[i];
         }
 
         RealVector solutionVector = new ArrayRealVector(x);
-        // 使用最终的可视化矩阵（此时应该近似为一个单位阵和解向量的组合）
-        history.add(new MatrixState("回代完成，并根据列交换重排序，得到最终解", displayMatrix, null));
+        if (recordHistory) {
+            // 使用最终的可视化矩阵（此时应该近似为一个单位阵和解向量的组合）
+            history.add(new MatrixState("回代完成，并根据列交换重排序，得到最终解", displayMatrix, null));
+        }
 
-        return new DirectSolution(history, solutionVector);
+        return ConditionEstimator.attach(new DirectSolution(history, solutionVector), a, b, e);
+    }
+
+    private static void swap(int[] perm, int i, int j) {
+        int temp = perm[i];
+        perm[i] = perm[j];
+        perm[j] = temp;
+    }
+
+    /**
+     * 消元过程的工作数据: 物理矩阵、右端项、行列置换, 以及全主元策略使用的每行最大值.
+     * 消元因子保留在被消去的位置上, 消元完成后 m 即为 P·A·Q = L·U 的合并存储, 可以直接用于条件数估计.
+     */
+    private static final class Elimination implements Factorization {
+        final double[][] m;
+        final double[] rhs;
+        final int[] rowPerm;
+        final int[] colPerm;
+        /** 以物理行号为下标: 该行在尚未消去的列中的最大绝对值及其物理列号. */
+        final double[] rowMax;
+        final int[] rowMaxCol;
+
+        Elimination(double[][] m, double[] rhs) {
+            int n = rhs.length;
+            this.m = m;
+            this.rhs = rhs;
+            this.rowPerm = IntStream.range(0, n).toArray();
+            this.colPerm = IntStream.range(0, n).toArray();
+            this.rowMax = new double[n];
+            this.rowMaxCol = new int[n];
+        }
+
+        double entry(int i, int j) {
+            return m[rowPerm[i]][colPerm[j]];
+        }
+
+        void initRowMax(boolean parallel) {
+            IntStream rows = IntStream.range(0, m.length);
+            if (parallel && m.length > PARALLEL_THRESHOLD) rows = rows.parallel();
+            rows.forEach(p -> {
+                double best = -1.0;
+                int bestCol = 0;
+                for (int c = 0; c < m.length; c++) {
+                    double v = Math.abs(m[p][c]);
+                    if (v > best) {
+                        best = v;
+                        bestCol = c;
+                    }
+                }
+                rowMax[p] = best;
+                rowMaxCol[p] = bestCol;
+            });
+        }
+
+        /**
+         * 全主元: 在逻辑行 k..n-1 的行最大值中取最大者, 只需 O(n) 次比较.
+         * @return 主元的逻辑位置 {行, 列}
+         */
+        int[] completePivot(int k) {
+            int bestRow = k;
+            for (int t = k + 1; t < rowPerm.length; t++) {
+                if (rowMax[rowPerm[t]] > rowMax[rowPerm[bestRow]]) bestRow = t;
+            }
+            int physicalCol = rowMaxCol[rowPerm[bestRow]];
+            int bestCol = k;
+            while (colPerm[bestCol] != physicalCol) bestCol++;
+            return new int[]{bestRow, bestCol};
+        }
+
+        /**
+         * 车式主元: 先在第 k 列中选最大元, 再在其所在行中选最大元, 如此交替, 直到不再变化.
+         * @return 主元的逻辑位置 {行, 列}
+         */
+        int[] rookPivot(int k) {
+            int col = k;
+            int row = argmaxInColumn(col, k);
+            while (true) {
+                int c = argmaxInRow(row, k);
+                if (Math.abs(entry(row, c)) <= Math.abs(entry(row, col))) break;
+                col = c;
+                int r = argmaxInColumn(col, k);
+                if (Math.abs(entry(r, col)) <= Math.abs(entry(row, col))) break;
+                row = r;
+            }
+            return new int[]{row, col};
+        }
+
+        private int argmaxInColumn(int col, int k) {
+            int best = k;
+            for (int t = k + 1; t < rowPerm.length; t++) {
+                if (Math.abs(entry(t, col)) > Math.abs(entry(best, col))) best = t;
+            }
+            return best;
+        }
+
+        private int argmaxInRow(int row, int k) {
+            int best = k;
+            for (int t = k + 1; t < colPerm.length; t++) {
+                if (Math.abs(entry(row, t)) > Math.abs(entry(row, best))) best = t;
+            }
+            return best;
+        }
+
+        /**
+         * 用第 k 个主元行消去逻辑行 j 的第 k 列, 同时更新该行的最大值.
+         * @return 消元因子
+         */
+        double eliminateRow(int k, int j) {
+            int n = colPerm.length;
+            double[] pivotRow = m[rowPerm[k]];
+            double[] row = m[rowPerm[j]];
+            int pivotCol = colPerm[k];
+            double factor = row[pivotCol] / pivotRow[pivotCol];
+            row[pivotCol] = factor;
+
+            double best = -1.0;
+            int bestCol = pivotCol;
+            for (int t = k + 1; t < n; t++) {
+                int c = colPerm[t];
+                double v = row[c] - factor * pivotRow[c];
+                row[c] = v;
+                if (Math.abs(v) > best) {
+                    best = Math.abs(v);
+                    bestCol = c;
+                }
+            }
+            rhs[rowPerm[j]] -= factor * rhs[rowPerm[k]];
+            rowMax[rowPerm[j]] = best;
+            rowMaxCol[rowPerm[j]] = bestCol;
+            return factor;
+        }
+
+        @Override
+        public int dimension() {
+            return rhs.length;
+        }
+
+        /** A = P^T·L·U·Q^T: 依次求解 L·y = P·b, U·z = y, x = Q·z. */
+        @Override
+        public void solveInPlace(double[] x) {
+            int n = rhs.length;
+            double[] z = new double[n];
+            for (int i = 0; i < n; i++) {
+                double[] row = m[rowPerm[i]];
+                double sum = x[rowPerm[i]];
+                for (int j = 0; j < i; j++) {
+                    sum -= row[colPerm[j]] * z[j];
+                }
+                z[i] = sum;
+            }
+            for (int i = n - 1; i >= 0; i--) {
+                double[] row = m[rowPerm[i]];
+                double sum = z[i];
+                for (int j = i + 1; j < n; j++) {
+                    sum -= row[colPerm[j]] * z[j];
+                }
+                z[i] = sum / row[colPerm[i]];
+            }
+            for (int i = 0; i < n; i++) {
+                x[colPerm[i]] = z[i];
+            }
+        }
+
+        /** A^T = Q·U^T·L^T·P: 依次求解 U^T·s = Q^T·b, L^T·t = s, x = P^T·t. */
+        @Override
+        public void solveTransposeInPlace(double[] x) {
+            int n = rhs.length;
+            double[] s = new double[n];
+            for (int i = 0; i < n; i++) {
+                s[i] = x[colPerm[i]];
+            }
+            for (int j = 0; j < n; j++) {
+                double[] row = m[rowPerm[j]];
+                double sj = s[j] / row[colPerm[j]];
+                s[j] = sj;
+                for (int i = j + 1; i < n; i++) {
+                    s[i] -= row[colPerm[i]] * sj;
+                }
+            }
+            for (int j = n - 1; j > 0; j--) {
+                double[] row = m[rowPerm[j]];
+                double sj = s[j];
+                for (int i = 0; i < j; i++) {
+                    s[i] -= row[colPerm[i]] * sj;
+                }
+            }
+            for (int i = 0; i < n; i++) {
+                x[rowPerm[i]] = s[i];
+            }
+        }
+
+        /**
+         * 仅在可视化时使用: 按当前行列顺序生成增广矩阵, 与物理交换后的矩阵一致.
+         * 前 step 列以及第 step 列中第 row 行以上已消去的位置存放的是消元因子, 显示为 0.
+         */
+        RealMatrix toDisplay(int step, int row) {
+            int n = rhs.length;
+            RealMatrix aug = new Array2DRowRealMatrix(n, n + 1);
+            for (int i = 0; i < n; i++) {
+                for (int j = 0; j < n; j++) {
+                    boolean eliminated = j < i && (j < step || (j == step && i <= row));
+                    aug.setEntry(i, j, eliminated ? 0.0 : entry(i, j));
+                }
+                aug.setEntry(i, n, rhs[rowPerm[i]]);
+            }
+            return aug;
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,100 @@
+// 文件路径: src/main/java/com/twx/linear_systems/model/Direct_impl/ConditionEstimator.java
+package com.twx.linear_systems.model.Direct_impl;
+
+import com.twx.linear_systems.model.DirectSolution;
+import org.apache.commons.math3.linear.RealMatrix;
+import org.apache.commons.math3.linear.RealVector;
+
+/**
+ * Hager/Higham 1-范数条件数估计.
+ * 复用已经完成的分解, 只需几次 A^{-1}·x 与 A^{-T}·x 的求解 (每次 O(n²)) 即可估计 ||A^{-1}||_1,
+ * 从而得到 κ_1(A) = ||A||_1 · ||A^{-1}||_1 的估计值 (通常与真实值相差不超过 3 倍).
+ * 再结合双精度残差, 给出解的相对误差上界 ||x - x̂||_1 / ||x̂||_1 <= κ_1(A) · ||b - A·x̂||_1 / (||A||_1 · ||x̂||_1).
+ */
+final class ConditionEstimator {
+
+    /** Hager 算法的最大迭代次数 (Higham 建议值). */
+    private static final int MAX_ITERATIONS = 5;
+
+    private ConditionEstimator() {
+    }
+
+    /**
+     * 为求解结果附加条件数估计和误差上界; 求解失败时原样返回.
+     */
+    static DirectSolution attach(DirectSolution solution, RealMatrix a, RealVector b, Factorization factorization) {
+        if (solution.solution() == null || factorization == null) {
+            return solution;
+        }
+        int n = b.getDimension();
+        double aNorm = a.getNorm();  // commons-math 的 getNorm() 即最大列和范数 ||A||_1
+        double condition = aNorm * estimateInverseNorm1(factorization);
+
+        double residualNorm = 0.0;
+        double xNorm = 0.0;
+        for (int i = 0; i < n; i++) {
+            double sum = b.getEntry(i);
+            for (int j = 0; j < n; j++) {
+                sum -= a.getEntry(i, j) * solution.solution().getEntry(j);
+            }
+            residualNorm += Math.abs(sum);
+            xNorm += Math.abs(solution.solution().getEntry(i));
+        }
+        double bound = (xNorm == 0.0 || aNorm == 0.0) ? 0.0 : condition * residualNorm / (aNorm * xNorm);
+        return solution.withConditioning(condition, bound);
+    }
+
+    /**
+     * 估计 ||A^{-1}||_1 (Higham, 1988, Algorithm 4.1).
+     */
+    static double estimateInverseNorm1(Factorization f) {
+        int n = f.dimension();
+        double[] x = new double[n];
+        double[] y = new double[n];
+        java.util.Arrays.fill(x, 1.0 / n);
+
+        double estimate = 0.0;
+        for (int iter = 0; iter < MAX_ITERATIONS; iter++) {
+            System.arraycopy(x, 0, y, 0, n);
+            f.solveInPlace(y);
+            double yNorm = norm1(y);
+            if (iter > 0 && yNorm <= estimate) {
+                break;
+            }
+            estimate = yNorm;
+
+            // z = A^{-T}·sign(y), 选出 |z_j| 最大的分量作为下一个试探方向 e_j
+            for (int i = 0; i < n; i++) {
+                y[i] = y[i] >= 0 ? 1.0 : -1.0;
+            }
+            f.solveTransposeInPlace(y);
+            int best = 0;
+            double zTx = 0.0;
+            for (int i = 0; i < n; i++) {
+                if (Math.abs(y[i]) > Math.abs(y[best])) best = i;
+                zTx += y[i] * x[i];
+            }
+            if (iter > 0 && Math.abs(y[best]) <= zTx) {
+                break;
+            }
+            java.util.Arrays.fill(x, 0.0);
+            x[best] = 1.0;
+        }
+
+        // Higham 的补充试探向量, 防止估计值在特殊结构的矩阵上严重偏小
+        double sign = 1.0;
+        for (int i = 0; i < n; i++) {
+            y[i] = sign * (1.0 + (n > 1 ? (double) i / (n - 1) : 0.0));
+            sign = -sign;
+        }
+        f.solveInPlace(y);
+        double alternative = 2.0 * norm1(y) / (3.0 * n);
+        return Math.max(estimate, alternative);
+    }
+
+    private static double norm1(double[] v) {
+        double sum = 0.0;
+        for (double value : v) sum += Math.abs(value);
+        return sum;
+    }
+}
@@ -0,0 +1,168 @@
+// 文件路径: src/main/java/com/twx/linear_systems/model/Direct_impl/DenseLU.java
+package com.twx.linear_systems.model.Direct_impl;
+
+import java.util.stream.IntStream;
+
+/**
+ * 稠密矩阵的列主元 LU 分解 P·A = L·U, 是高斯列主元消元法的快速路径.
+ * L (单位下三角, 不存对角线) 与 U 原地存放在同一个 double[][] 中;
+ * 行交换只交换行引用, 并记录在 perm 中 (perm[i] 为第 i 行对应的原始行号).
+ * 剩余行数较多时, 消元按行并行执行.
+ */
+final class DenseLU implements Factorization {
+
+    private static final int PARALLEL_THRESHOLD = 128;
+
+    private final double[][] lu;
+    private final int[] perm;
+    private final int n;
+    private final boolean singular;
+
+    /**
+     * 原地分解 a (调用方需传入副本).
+     * @param epsilon 主元绝对值的下限, 低于该值视为奇异
+     */
+    DenseLU(double[][] a, double epsilon) {
+        this.lu = a;
+        this.n = a.length;
+        this.perm = IntStream.range(0, n).toArray();
+        this.singular = !factor(epsilon);
+    }
+
+    private DenseLU(double[][] lu, int[] perm) {
+        this.lu = lu;
+        this.n = lu.length;
+        this.perm = perm;
+        this.singular = false;
+    }
+
+    /**
+     * 包装在其他地方 (如可视化的逐步消元) 已经完成的分解, 不再重新分解.
+     * @param lu   L (单位下三角, 不含对角线) 与 U 的合并存储, 第 i 行对应原始行 perm[i]
+     * @param perm 行置换
+     */
+    static DenseLU of(double[][] lu, int[] perm) {
+        return new DenseLU(lu, perm);
+    }
+
+    private boolean factor(double epsilon) {
+        for (int k = 0; k < n; k++) {
+            int max = k;
+            for (int i = k + 1; i < n; i++) {
+                if (Math.abs(lu[i][k]) > Math.abs(lu[max][k])) max = i;
+            }
+            if (max != k) {
+                double[] tempRow = lu[k];
+                lu[k] = lu[max];
+                lu[max] = tempRow;
+                int tempIndex = perm[k];
+                perm[k] = perm[max];
+                perm[max] = tempIndex;
+            }
+            double pivot = lu[k][k];
+            if (Math.abs(pivot) < epsilon) return false;
+
+            final int col = k;
+            IntStream rows = IntStream.range(k + 1, n);
+            if (n - k > PARALLEL_THRESHOLD) rows = rows.parallel();
+            rows.forEach(i -> eliminate(col, i));
+        }
+        return true;
+    }
+
+    private void eliminate(int k, int i) {
+        double[] pivotRow = lu[k];
+        double[] row = lu[i];
+        double factor = row[k] / pivotRow[k];
+        row[k] = factor;
+        if (factor == 0.0) return;
+        for (int j = k + 1; j < n; j++) {
+            row[j] -= factor * pivotRow[j];
+        }
+    }
+
+    boolean isSingular() {
+        return singular;
+    }
+
+    /** L 与 U 的合并存储 (不复制), 第 i 行对应原始行 perm[i]. */
+    double[][] data() {
+        return lu;
+    }
+
+    /** 行置换 (不复制). */
+    int[] permutation() {
+        return perm;
+    }
+
+    @Override
+    public int dimension() {
+        return n;
+    }
+
+    /**
+     * 利用分解结果求解 A·x = b.
+     * @param b 常数向量 (不会被修改)
+     * @param x 输出的解向量, 长度为 n
+     */
+    void solve(double[] b, double[] x) {
+        for (int i = 0; i < n; i++) {
+            x[i] = b[perm[i]];
+        }
+        // L·y = P·b
+        for (int i = 1; i < n; i++) {
+            double[] row = lu[i];
+            double sum = 0.0;
+            for (int j = 0; j < i; j++) {
+                sum += row[j] * x[j];
+            }
+            x[i] -= sum;
+        }
+        // U·x = y
+        for (int i = n - 1; i >= 0; i--) {
+            double[] row = lu[i];
+            double sum = 0.0;
+            for (int j = i + 1; j < n; j++) {
+                sum += row[j] * x[j];
+            }
+            x[i] = (x[i] - sum) / row[i];
+        }
+    }
+
+    @Override
+    public void solveInPlace(double[] x) {
+        double[] b = x.clone();
+        solve(b, x);
+    }
+
+    /**
+     * 求解 A^T·x = b: A^T = U^T·L^T·P, 先解 U^T·w = b, 再解 L^T·v = w, 最后 x = P^T·v.
+     * 两次三角求解都按 U / L 的行访问 (即 U^T / L^T 的列), 保持连续内存访问.
+     */
+    @Override
+    public void solveTransposeInPlace(double[] x) {
+        // U^T·w = b (前代, 按列)
+        for (int j = 0; j < n; j++) {
+            double[] row = lu[j];
+            double wj = x[j] / row[j];
+            x[j] = wj;
+            if (wj == 0.0) continue;
+            for (int i = j + 1; i < n; i++) {
+                x[i] -= row[i] * wj;
+            }
+        }
+        // L^T·v = w (回代, 按列)
+        for (int j = n - 1; j > 0; j--) {
+            double[] row = lu[j];
+            double vj = x[j];
+            if (vj == 0.0) continue;
+            for (int i = 0; i < j; i++) {
+                x[i] -= row[i] * vj;
+            }
+        }
+        double[] v = x.clone();
+        for (int i = 0; i < n; i++) {
+            x[perm[i]] = v[i];
+        }
+    }
+}
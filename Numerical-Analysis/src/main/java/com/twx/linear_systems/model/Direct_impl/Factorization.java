@@ -0,0 +1,23 @@
+// 文件路径: src/main/java/com/twx/linear_systems/model/Direct_impl/Factorization.java
+package com.twx.linear_systems.model.Direct_impl;
+
+/**
+ * 已完成的矩阵分解, 可以反复求解 A·x = b 与 A^T·x = b, 每次 O(n²).
+ * 条件数估计 ({@link ConditionEstimator}) 只通过该接口复用分解结果.
+ */
+interface Factorization {
+
+    int dimension();
+
+    /**
+     * 原地求解 A·x = b.
+     * @param x 输入为 b, 输出为 x
+     */
+    void solveInPlace(double[] x);
+
+    /**
+     * 原地求解 A^T·x = b.
+     * @param x 输入为 b, 输出为 x
+     */
+    void solveTransposeInPlace(double[] x);
+}
@@ -1,10 +1,15 @@
 // 文件路径: src/main/java/com/twx/linear_systems/model/Direct_impl/GaussianEliminationSolver.java
 package com.twx.linear_systems.model.Direct_impl;
 
+import com.twx.linear_systems.io.BinaryMatrixFile;
 import com.twx.linear_systems.model.DirectSolution;
 import com.twx.linear_systems.model.DirectSolver;
 import com.twx.linear_systems.model.MatrixState;
+import com.twx.linear_systems.model.Preconditioner;
+import com.twx.linear_systems.model.Operator_impl.OffHeapDenseMatrix;
 import org.apache.commons.math3.linear.*;
+import java.io.IOException;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
@@ -19,6 +24,80 @@ public class GaussianEliminationSolver implements DirectSolver {
         return "高斯列主元消元法";
     }
 
+    @Override
+    public DirectSolution solveFast(RealMatrix a, RealVector b) {
+        if (a instanceof OffHeapDenseMatrix offHeap) {
+            return solveOffHeap(offHeap, b);
+        }
+        DenseLU lu = new DenseLU(a.getData(), EPSILON);
+        if (lu.isSingular()) {
+            return new DirectSolution(new ArrayList<>(), null);
+        }
+        double[] x = new double[b.getDimension()];
+        lu.solve(b.toArray(), x);
+        return ConditionEstimator.attach(new DirectSolution(new ArrayList<>(), new ArrayRealVector(x, false)), a, b, lu);
+    }
+
+    /**
+     * 列主元 LU 分解一次, 此后每次求解 O(n²).
+     * 堆外矩阵在堆外副本上分解, 返回的预处理子同时是 {@link AutoCloseable}, 由调用者关闭以释放副本.
+     */
+    @Override
+    public Preconditioner factorize(RealMatrix a) {
+        if (a instanceof OffHeapDenseMatrix offHeap) {
+            OffHeapLU lu = new OffHeapLU(offHeap.copy(), EPSILON);
+            if (lu.isSingular()) {
+                lu.close();
+                throw new IllegalArgumentException("矩阵奇异, 无法进行 LU 分解");
+            }
+            return lu;
+        }
+        DenseLU lu = new DenseLU(a.getData(), EPSILON);
+        if (lu.isSingular()) {
+            throw new IllegalArgumentException("矩阵奇异, 无法进行 LU 分解");
+        }
+        return lu::solve;
+    }
+
+    /**
+     * 在堆外原地分解 a (a 被 L 与 U 覆盖), 不占用 O(n²) 的堆内存. 返回的预处理子引用 a, 在 a 关闭前有效.
+     * @throws IllegalArgumentException 矩阵奇异时
+     */
+    public Preconditioner factorizeInPlace(OffHeapDenseMatrix a) {
+        OffHeapLU lu = new OffHeapLU(a, EPSILON);
+        if (lu.isSingular()) {
+            throw new IllegalArgumentException("矩阵奇异, 无法进行 LU 分解");
+        }
+        return lu::solve;
+    }
+
+    /**
+     * 堆外矩阵的快速路径: 在堆外副本上分解, 求解后立即释放副本; a 本身不变.
+     */
+    private DirectSolution solveOffHeap(OffHeapDenseMatrix a, RealVector b) {
+        try (OffHeapDenseMatrix copy = a.copy()) {
+            OffHeapLU lu = new OffHeapLU(copy, EPSILON);
+            if (lu.isSingular()) {
+                return new DirectSolution(new ArrayList<>(), null);
+            }
+            double[] x = new double[b.getDimension()];
+            lu.solve(b.toArray(), x);
+            return ConditionEstimator.attach(new DirectSolution(new ArrayList<>(), new ArrayRealVector(x, false)), a, b, lu);
+        }
+    }
+
+    /**
+     * 分解 a 并把 LU 因子写入二进制文件, 之后可用 {@link BinaryMatrixFile#openFactorization} 映射回来直接求解.
+     * @throws IllegalArgumentException 矩阵奇异时
+     */
+    public void writeFactorization(RealMatrix a, Path file) throws IOException {
+        DenseLU lu = new DenseLU(a.getData(), EPSILON);
+        if (lu.isSingular()) {
+            throw new IllegalArgumentException("矩阵奇异, 无法进行 LU 分解");
+        }
+        BinaryMatrixFile.writeFactorization(lu.data(), lu.permutation(), file);
+    }
+
     @Override
     public DirectSolution solve(RealMatrix a, RealVector b) {
         List<MatrixState> history = new ArrayList<>();
@@ -28,6 +107,9 @@ public class GaussianEliminationSolver implements DirectSolver {
         aug.setColumnVector(n, b);
 
         history.add(new MatrixState("初始增广矩阵", aug.copy(), null));
+        // 记录消元因子和行置换, 消元结束后与 U 合并为 LU 分解, 供条件数估计使用
+        double[][] lower = new double[n][n];
+        int[] perm = IntStream.range(0, n).toArray();
 
         // 1. 前向消元 (这部分代码保持不变)
         for (int i = 0; i < n; i++) {
@@ -41,6 +123,12 @@ public class GaussianEliminationSolver implements DirectSolver {
                 double[] temp = aug.getRow(i);
                 aug.setRow(i, aug.getRow(max));
                 aug.setRow(max, temp);
+                double[] tempLower = lower[i];
+                lower[i] = lower[max];
+                lower[max] = tempLower;
+                int tempIndex = perm[i];
+                perm[i] = perm[max];
+                perm[max] = tempIndex;
                 history.add(new MatrixState("行交换: R" + (i + 1) + " <-> R" + (max + 1), aug.copy(), new int[]{i, max}));
             }
             if (Math.abs(aug.getEntry(i, i)) < EPSILON) {
@@ -50,6 +138,7 @@ public class GaussianEliminationSolver implements DirectSolver {
             for (int j = i + 1; j < n; j++) {
                 double factor = aug.getEntry(j, i) / aug.getEntry(i, i);
                 if (Math.abs(factor) < EPSILON) continue;
+                lower[j][i] = factor;
                 RealVector rowI = aug.getRowVector(i).mapMultiply(factor);
                 RealVector rowJ = aug.getRowVector(j).subtract(rowI);
                 aug.setRowVector(j, rowJ);
@@ -115,6 +204,11 @@ public class GaussianEliminationSolver implements DirectSolver {
         RealVector solutionVector = new ArrayRealVector(x);
         history.add(new MatrixState("回代完成，得到最终解", displayMatrix, null));
 
-        return new DirectSolution(history, solutionVector);
+        for (int i = 0; i < n; i++) {
+            for (int j = i; j < n; j++) {
+                lower[i][j] = aug.getEntry(i, j);
+            }
+        }
+        return ConditionEstimator.attach(new DirectSolution(history, solutionVector), a, b, DenseLU.of(lower, perm));
     }
 }
\ No newline at end of file
@@ -0,0 +1,143 @@
+// 文件路径: src/main/java/com/twx/linear_systems/model/Direct_impl/LDLTSolver.java
+package com.twx.linear_systems.model.Direct_impl;
+
+import com.twx.linear_systems.model.BandStructure;
+import com.twx.linear_systems.model.DirectSolution;
+import com.twx.linear_systems.model.DirectSolver;
+import com.twx.linear_systems.model.MatrixState;
+import org.apache.commons.math3.linear.Array2DRowRealMatrix;
+import org.apache.commons.math3.linear.ArrayRealVector;
+import org.apache.commons.math3.linear.RealMatrix;
+import org.apache.commons.math3.linear.RealVector;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 改进平方根法 (LDL^T 分解)
+ * 将对称矩阵分解为 A = L * D * L^T, 其中 L 为单位下三角矩阵, D 为对角矩阵.
+ * 与平方根法相比不需要开方, 也不要求 A 正定 (只要求各阶顺序主子式不为零).
+ * L 与 D 原地存放在压缩下三角存储中 (D 位于对角线上).
+ */
+public class LDLTSolver implements DirectSolver {
+
+    private static final double EPSILON = 1e-10;
+
+    @Override
+    public String getName() {
+        return "改进平方根法 (LDLᵀ)";
+    }
+
+    @Override
+    public boolean isApplicable(RealMatrix a) {
+        return BandStructure.isSymmetric(a, BandStructure.detect(a));
+    }
+
+    @Override
+    public DirectSolution solveFast(RealMatrix a, RealVector b) {
+        PackedSymmetricFactor factor = PackedSymmetricFactor.pack(a, true);
+        if (factor.factor(EPSILON) >= 0) {
+            return new DirectSolution(new ArrayList<>(), null);
+        }
+        double[] x = b.toArray();
+        factor.solveInPlace(x);
+        return ConditionEstimator.attach(new DirectSolution(new ArrayList<>(), new ArrayRealVector(x, false)), a, b, factor);
+    }
+
+    @Override
+    public DirectSolution solve(RealMatrix a, RealVector b) {
+        List<MatrixState> history = new ArrayList<>();
+        int n = b.getDimension();
+        PackedSymmetricFactor f = PackedSymmetricFactor.pack(a, true);
+        double[] y = b.toArray();
+        double[] t = new double[n];
+
+        history.add(new MatrixState("初始增广矩阵 (仅存储下三角部分)", toDisplay(f, y, 0), null));
+
+        // --- 步骤 1: 逐行计算 L 和 D ---
+        // t_ij = a_ij - Σ_{k<j} t_ik * l_jk,  l_ij = t_ij / d_j,  d_i = a_ii - Σ_{k<i} t_ik * l_ik
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < i; j++) {
+                double sum = 0.0;
+                for (int k = 0; k < j; k++) {
+                    sum += t[k] * f.get(j, k);
+                }
+                t[j] = f.get(i, j) - sum;
+                f.set(i, j, t[j] / f.get(j, j));
+            }
+            double sum = 0.0;
+            for (int k = 0; k < i; k++) {
+                sum += t[k] * f.get(i, k);
+            }
+            double originalAii = f.get(i, i);
+            double di = originalAii - sum;
+            if (Math.abs(di) < EPSILON) {
+                history.add(new MatrixState("错误: d" + (i + 1) + " 为零或过小, 顺序主子式奇异", toDisplay(f, y, i), new int[]{i}));
+                return new DirectSolution(history, null);
+            }
+            f.set(i, i, di);
+            String desc = String.format("计算 L 第 %d 行: l_%dj = t_%dj / d_j, d%d = a%d%d - Σt_%dk*l_%dk = %.2f - %.2f = %.3f",
+                    i + 1, i + 1, i + 1, i + 1, i + 1, i + 1, i + 1, i + 1, originalAii, sum, di);
+            history.add(new MatrixState(desc, toDisplay(f, y, i + 1), new int[]{i}));
+        }
+        history.add(new MatrixState("分解完成 A = L * D * L^T (对角线上为 D)", toDisplay(f, y, n), null));
+
+        // --- 步骤 2: 前代求解 L * y = b ---
+        RealMatrix displayMatrix = toDisplay(f, y, n);
+        for (int i = 0; i < n; i++) {
+            double sum = 0.0;
+            for (int k = 0; k < i; k++) {
+                sum += f.get(i, k) * y[k];
+            }
+            double originalB = y[i];
+            y[i] = originalB - sum;
+            for (int k = 0; k < i; k++) displayMatrix.setEntry(i, k, 0.0);
+            displayMatrix.setEntry(i, n, y[i]);
+            String desc = String.format("前代: y%d = b%d - Σl_%dk*y_k = %.3f - %.3f = %.4f", i + 1, i + 1, i + 1, originalB, sum, y[i]);
+            history.add(new MatrixState(desc, displayMatrix.copy(), new int[]{i}));
+        }
+
+        // --- 步骤 3: 回代求解 L^T * x = D^-1 * y ---
+        for (int i = 0; i < n; i++) {
+            for (int j = i + 1; j < n; j++) displayMatrix.setEntry(i, j, f.get(j, i));
+        }
+        double[] x = new double[n];
+        for (int i = n - 1; i >= 0; i--) {
+            double sum = 0.0;
+            for (int k = i + 1; k < n; k++) {
+                sum += f.get(k, i) * x[k];
+            }
+            double di = f.get(i, i);
+            x[i] = y[i] / di - sum;
+            for (int j = i + 1; j < n; j++) displayMatrix.setEntry(i, j, 0.0);
+            displayMatrix.setEntry(i, i, 1.0);
+            displayMatrix.setEntry(i, n, x[i]);
+            String desc = String.format("回代: x%d = y%d / d%d - Σl_k%d*x_k = %.3f / %.3f - %.3f = %.4f",
+                    i + 1, i + 1, i + 1, i + 1, y[i], di, sum, x[i]);
+            history.add(new MatrixState(desc, displayMatrix.copy(), new int[]{i}));
+        }
+
+        RealVector solutionVector = new ArrayRealVector(x);
+        history.add(new MatrixState("回代完成，得到最终解", displayMatrix, null));
+        return ConditionEstimator.attach(new DirectSolution(history, solutionVector), a, b, f);
+    }
+
+    /**
+     * 仅在可视化时使用: 前 done 行显示 L 的对应行 (对角线上为 d_i), 其余行显示尚未处理的 A.
+     */
+    private RealMatrix toDisplay(PackedSymmetricFactor f, double[] rhs, int done) {
+        int n = f.dimension();
+        RealMatrix aug = new Array2DRowRealMatrix(n, n + 1);
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j <= i; j++) {
+                double value = f.get(i, j);
+                aug.setEntry(i, j, value);
+            }
+            if (i >= done) {
+                for (int j = i + 1; j < n; j++) aug.setEntry(i, j, f.get(j, i));
+            }
+            aug.setEntry(i, n, rhs[i]);
+        }
+        return aug;
+    }
+}
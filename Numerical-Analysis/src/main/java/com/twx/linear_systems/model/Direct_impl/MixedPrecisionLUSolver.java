@@ -0,0 +1,328 @@
+// 文件路径: src/main/java/com/twx/linear_systems/model/Direct_impl/MixedPrecisionLUSolver.java
+package com.twx.linear_systems.model.Direct_impl;
+
+import com.twx.linear_systems.model.DirectSolution;
+import com.twx.linear_systems.model.DirectSolver;
+import com.twx.linear_systems.model.MatrixState;
+import org.apache.commons.math3.linear.Array2DRowRealMatrix;
+import org.apache.commons.math3.linear.ArrayRealVector;
+import org.apache.commons.math3.linear.RealMatrix;
+import org.apache.commons.math3.linear.RealVector;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * 混合精度 LU 分解法 (迭代精化)
+ * 先以单精度 (float) 做列主元 LU 分解, 内存带宽减半; 再用双精度计算残差 r = b - A·x,
+ * 以单精度因子求解修正量 A·d = r 并更新 x = x + d, 直到修正量降到双精度舍入水平,
+ * 或修正量不再减小但残差已达到双精度舍入水平 (此时精度已受条件数限制).
+ * 对于条件数不太大的矩阵, 通常只需几步精化即可得到双精度精度的解.
+ * 若矩阵超出单精度范围、单精度分解失败或精化停滞 (修正量不再明显减小),
+ * 则回退到双精度的高斯列主元消元法.
+ */
+public class MixedPrecisionLUSolver implements DirectSolver {
+
+    private static final double EPSILON = 1e-10;
+    /** 最大精化步数 (与 LAPACK dsgesv 相同). */
+    private static final int MAX_REFINEMENT = 30;
+    /** 双精度的单位舍入误差. */
+    private static final double UNIT_ROUNDOFF = Math.ulp(1.0) / 2;
+
+    @Override
+    public String getName() {
+        return "混合精度LU分解法 (迭代精化)";
+    }
+
+    @Override
+    public DirectSolution solve(RealMatrix a, RealVector b) {
+        return solve(a, b, true);
+    }
+
+    @Override
+    public DirectSolution solveFast(RealMatrix a, RealVector b) {
+        return solve(a, b, false);
+    }
+
+    private DirectSolution solve(RealMatrix a, RealVector b, boolean recordHistory) {
+        List<MatrixState> history = new ArrayList<>();
+        int n = b.getDimension();
+        double[][] aData = a.getData();
+        double[] bData = b.toArray();
+
+        if (recordHistory) {
+            RealMatrix aug = new Array2DRowRealMatrix(n, n + 1);
+            aug.setSubMatrix(aData, 0, 0);
+            aug.setColumn(n, bData);
+            history.add(new MatrixState("初始增广矩阵", aug, null));
+        }
+
+        // 1. 单精度列主元 LU 分解
+        FloatLU lu = FloatLU.factor(aData, EPSILON);
+        if (lu == null) {
+            return fallback(a, b, history, recordHistory, 0, "矩阵超出单精度范围或单精度主元过小");
+        }
+        if (recordHistory) {
+            history.add(new MatrixState("单精度 (float) 列主元 LU 分解完成, L 与 U 存放在同一矩阵中", lu.toDisplay(bData), null));
+        }
+
+        // 2. 单精度求解初始解, 然后以双精度残差迭代精化
+        double[] x = new double[n];
+        double[] r = new double[n];
+        double[] d = new double[n];
+        lu.solve(bData, x);
+        double tolerance = Math.sqrt(n) * UNIT_ROUNDOFF;
+        double residualTolerance = tolerance * normInf(aData);
+        double previousCorrection = Double.POSITIVE_INFINITY;
+        int steps = 0;
+
+        while (true) {
+            double rNorm = residual(aData, bData, x, r);
+            if (rNorm == 0.0) {
+                break;
+            }
+            if (steps == MAX_REFINEMENT) {
+                return fallback(a, b, history, recordHistory, steps, "已达到最大精化步数 " + MAX_REFINEMENT);
+            }
+            lu.solve(r, d);
+            double dNorm = normInf(d);
+            if (!Double.isFinite(dNorm) || dNorm > 0.5 * previousCorrection) {
+                // 残差已经是双精度舍入水平 (向后稳定), 修正量不再减小只是受条件数所限
+                if (rNorm <= residualTolerance * normInf(x)) {
+                    break;
+                }
+                return fallback(a, b, history, recordHistory, steps,
+                        String.format("修正量未明显减小 (||d||∞ = %.3e, 上一步 %.3e)", dNorm, previousCorrection));
+            }
+            for (int i = 0; i < n; i++) {
+                x[i] += d[i];
+            }
+            steps++;
+            previousCorrection = dNorm;
+            if (recordHistory) {
+                String desc = String.format("迭代精化 第 %d 步: 双精度残差 ||r||∞ = %.3e, 单精度求解修正量 ||d||∞ = %.3e, x = x + d (左列为 r, 右列为 x)",
+                        steps, rNorm, dNorm);
+                history.add(new MatrixState(desc, residualDisplay(r, x), null));
+            }
+            // 修正量已降到双精度舍入水平, 继续精化不会再改进 x
+            if (dNorm <= tolerance * normInf(x)) {
+                break;
+            }
+        }
+
+        if (recordHistory) {
+            String desc = String.format("精化收敛: 修正量或残差已达到双精度舍入水平, 共迭代精化 %d 步 (左列为 r, 右列为 x)", steps);
+            history.add(new MatrixState(desc, residualDisplay(r, x), null));
+        }
+        DirectSolution solution = new DirectSolution(history, new ArrayRealVector(x, false), steps, false);
+        return ConditionEstimator.attach(solution, a, b, lu);
+    }
+
+    /**
+     * 精化停滞时回退到双精度列主元 LU 分解.
+     */
+    private DirectSolution fallback(RealMatrix a, RealVector b, List<MatrixState> history,
+                                    boolean recordHistory, int steps, String reason) {
+        int n = b.getDimension();
+        double[] bData = b.toArray();
+        DenseLU lu = new DenseLU(a.getData(), EPSILON);
+        if (lu.isSingular()) {
+            if (recordHistory) {
+                history.add(new MatrixState("错误: " + reason + ", 且双精度分解中主元过小, 矩阵奇异或接近奇异", new Array2DRowRealMatrix(n, n + 1), null));
+            }
+            return new DirectSolution(history, null, steps, true);
+        }
+        double[] x = new double[n];
+        lu.solve(bData, x);
+        if (recordHistory) {
+            RealMatrix display = new Array2DRowRealMatrix(n, 2);
+            display.setColumn(1, x);
+            history.add(new MatrixState(reason + ", 回退到全双精度 LU 分解求解", display, null));
+        }
+        DirectSolution solution = new DirectSolution(history, new ArrayRealVector(x, false), steps, true);
+        return ConditionEstimator.attach(solution, a, b, lu);
+    }
+
+    /** 以双精度计算 r = b - A·x, 返回 ||r||∞. */
+    private static double residual(double[][] a, double[] b, double[] x, double[] r) {
+        double max = 0.0;
+        for (int i = 0; i < b.length; i++) {
+            double[] row = a[i];
+            double sum = b[i];
+            for (int j = 0; j < x.length; j++) {
+                sum -= row[j] * x[j];
+            }
+            r[i] = sum;
+            max = Math.max(max, Math.abs(sum));
+        }
+        return max;
+    }
+
+    private static double normInf(double[][] a) {
+        double max = 0.0;
+        for (double[] row : a) {
+            double sum = 0.0;
+            for (double v : row) sum += Math.abs(v);
+            max = Math.max(max, sum);
+        }
+        return max;
+    }
+
+    private static double normInf(double[] x) {
+        double max = 0.0;
+        for (double v : x) max = Math.max(max, Math.abs(v));
+        return max;
+    }
+
+    private static RealMatrix residualDisplay(double[] r, double[] x) {
+        RealMatrix display = new Array2DRowRealMatrix(r.length, 2);
+        display.setColumn(0, r);
+        display.setColumn(1, x);
+        return display;
+    }
+
+    /**
+     * 单精度列主元 LU 分解, 结构与 {@link DenseLU} 相同.
+     */
+    private static final class FloatLU implements Factorization {
+        private static final int PARALLEL_THRESHOLD = 128;
+
+        private final float[][] lu;
+        private final int[] perm;
+        /** 前代/回代的单精度工作向量, 各精化步之间复用. */
+        private final float[] work;
+
+        private FloatLU(float[][] lu, int[] perm) {
+            this.lu = lu;
+            this.perm = perm;
+            this.work = new float[lu.length];
+        }
+
+        /**
+         * @return 分解结果; 矩阵元素超出单精度范围或主元过小时返回 null
+         */
+        static FloatLU factor(double[][] a, double epsilon) {
+            int n = a.length;
+            float[][] lu = new float[n][n];
+            for (int i = 0; i < n; i++) {
+                for (int j = 0; j < n; j++) {
+                    float v = (float) a[i][j];
+                    if (Float.isInfinite(v)) return null;
+                    lu[i][j] = v;
+                }
+            }
+            int[] perm = IntStream.range(0, n).toArray();
+            for (int k = 0; k < n; k++) {
+                int max = k;
+                for (int i = k + 1; i < n; i++) {
+                    if (Math.abs(lu[i][k]) > Math.abs(lu[max][k])) max = i;
+                }
+                if (max != k) {
+                    float[] tempRow = lu[k];
+                    lu[k] = lu[max];
+                    lu[max] = tempRow;
+                    int tempIndex = perm[k];
+                    perm[k] = perm[max];
+                    perm[max] = tempIndex;
+                }
+                if (Math.abs(lu[k][k]) < epsilon) return null;
+
+                final int col = k;
+                IntStream rows = IntStream.range(k + 1, n);
+                if (n - k > PARALLEL_THRESHOLD) rows = rows.parallel();
+                rows.forEach(i -> {
+                    float[] pivotRow = lu[col];
+                    float[] row = lu[i];
+                    float factor = row[col] / pivotRow[col];
+                    row[col] = factor;
+                    if (factor == 0.0f) return;
+                    for (int j = col + 1; j < n; j++) {
+                        row[j] -= factor * pivotRow[j];
+                    }
+                });
+            }
+            return new FloatLU(lu, perm);
+        }
+
+        /** 以单精度前代和回代求解 A·x = b, 结果写入双精度的 x. */
+        void solve(double[] b, double[] x) {
+            int n = lu.length;
+            float[] y = work;
+            for (int i = 0; i < n; i++) {
+                y[i] = (float) b[perm[i]];
+            }
+            for (int i = 1; i < n; i++) {
+                float[] row = lu[i];
+                float sum = 0.0f;
+                for (int j = 0; j < i; j++) {
+                    sum += row[j] * y[j];
+                }
+                y[i] -= sum;
+            }
+            for (int i = n - 1; i >= 0; i--) {
+                float[] row = lu[i];
+                float sum = 0.0f;
+                for (int j = i + 1; j < n; j++) {
+                    sum += row[j] * y[j];
+                }
+                y[i] = (y[i] - sum) / row[i];
+            }
+            for (int i = 0; i < n; i++) {
+                x[i] = y[i];
+            }
+        }
+
+        @Override
+        public int dimension() {
+            return lu.length;
+        }
+
+        /** solve 先把 b 读入工作向量, 因此 b 与 x 可以是同一个数组. */
+        @Override
+        public void solveInPlace(double[] x) {
+            solve(x, x);
+        }
+
+        /** 以单精度求解 A^T·x = b, 仅用于条件数估计 (估计只需数量级正确). */
+        @Override
+        public void solveTransposeInPlace(double[] x) {
+            int n = lu.length;
+            float[] y = work;
+            for (int i = 0; i < n; i++) {
+                y[i] = (float) x[i];
+            }
+            for (int j = 0; j < n; j++) {
+                float[] row = lu[j];
+                float yj = y[j] / row[j];
+                y[j] = yj;
+                for (int i = j + 1; i < n; i++) {
+                    y[i] -= row[i] * yj;
+                }
+            }
+            for (int j = n - 1; j > 0; j--) {
+                float[] row = lu[j];
+                float yj = y[j];
+                for (int i = 0; i < j; i++) {
+                    y[i] -= row[i] * yj;
+                }
+            }
+            for (int i = 0; i < n; i++) {
+                x[perm[i]] = y[i];
+            }
+        }
+
+        /** 仅在可视化时使用: [L\U | P·b]. */
+        RealMatrix toDisplay(double[] b) {
+            int n = lu.length;
+            RealMatrix aug = new Array2DRowRealMatrix(n, n + 1);
+            for (int i = 0; i < n; i++) {
+                for (int j = 0; j < n; j++) {
+                    aug.setEntry(i, j, lu[i][j]);
+                }
+                aug.setEntry(i, n, b[perm[i]]);
+            }
+            return aug;
+        }
+    }
+}
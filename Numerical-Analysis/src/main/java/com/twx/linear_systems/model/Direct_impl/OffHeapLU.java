@@ -0,0 +1,149 @@
+// 文件路径: src/main/java/com/twx/linear_systems/model/Direct_impl/OffHeapLU.java
+package com.twx.linear_systems.model.Direct_impl;
+
+import com.twx.linear_systems.model.Operator_impl.OffHeapDenseMatrix;
+import com.twx.linear_systems.model.Preconditioner;
+
+import java.util.stream.IntStream;
+
+/**
+ * 堆外稠密矩阵的列主元 LU 分解 P·A = L·U, 与 {@link DenseLU} 的算法相同, 但 L 与 U 原地覆盖堆外矩阵,
+ * 堆上只有置换数组和 O(n) 的工作行. 行交换直接交换元素. 消元时把主元行与当前行批量复制到堆上的工作行再计算,
+ * 使内层循环与 {@link DenseLU} 一样是连续的数组运算. 剩余行数较多时, 消元按行并行执行.
+ * 作为预处理子时 {@link #close()} 释放存放 L 与 U 的堆外矩阵.
+ */
+final class OffHeapLU implements Factorization, Preconditioner, AutoCloseable {
+
+    private static final int PARALLEL_THRESHOLD = 128;
+
+    private final OffHeapDenseMatrix lu;
+    private final int[] perm;
+    private final int n;
+    private final boolean singular;
+    /** 每个线程的工作行 (消元时存放当前行). */
+    private final ThreadLocal<double[]> workRow;
+
+    /**
+     * 原地分解 a (a 的内容会被 L 与 U 覆盖).
+     * @param epsilon 主元绝对值的下限, 低于该值视为奇异
+     */
+    OffHeapLU(OffHeapDenseMatrix a, double epsilon) {
+        this.lu = a;
+        this.n = a.dimension();
+        this.perm = IntStream.range(0, n).toArray();
+        this.workRow = ThreadLocal.withInitial(() -> new double[n]);
+        this.singular = !factor(epsilon);
+    }
+
+    private boolean factor(double epsilon) {
+        double[] pivotRow = new double[n];
+        for (int k = 0; k < n; k++) {
+            int max = k;
+            double maxValue = Math.abs(lu.getEntry(k, k));
+            for (int i = k + 1; i < n; i++) {
+                double value = Math.abs(lu.getEntry(i, k));
+                if (value > maxValue) {
+                    max = i;
+                    maxValue = value;
+                }
+            }
+            if (max != k) {
+                lu.swapRows(k, max);
+                int tempIndex = perm[k];
+                perm[k] = perm[max];
+                perm[max] = tempIndex;
+            }
+            double pivot = lu.getEntry(k, k);
+            if (Math.abs(pivot) < epsilon) return false;
+
+            lu.getRow(k, k, n, pivotRow);
+            final int col = k;
+            IntStream rows = IntStream.range(k + 1, n);
+            if (n - k > PARALLEL_THRESHOLD) rows = rows.parallel();
+            rows.forEach(i -> eliminate(col, i, pivotRow));
+        }
+        return true;
+    }
+
+    private void eliminate(int k, int i, double[] pivotRow) {
+        double[] row = workRow.get();
+        lu.getRow(i, k, n, row);
+        double factor = row[k] / pivotRow[k];
+        row[k] = factor;
+        if (factor != 0.0) {
+            for (int j = k + 1; j < n; j++) {
+                row[j] -= factor * pivotRow[j];
+            }
+        }
+        lu.setRow(i, k, n, row);
+    }
+
+    boolean isSingular() {
+        return singular;
+    }
+
+    @Override
+    public int dimension() {
+        return n;
+    }
+
+    /**
+     * 利用分解结果求解 A·x = b.
+     * @param b 常数向量 (不会被修改)
+     * @param x 输出的解向量, 长度为 n
+     */
+    void solve(double[] b, double[] x) {
+        for (int i = 0; i < n; i++) {
+            x[i] = b[perm[i]];
+        }
+        // L·y = P·b
+        for (int i = 1; i < n; i++) {
+            x[i] -= lu.dotRow(i, x, 0, i);
+        }
+        // U·x = y
+        for (int i = n - 1; i >= 0; i--) {
+            x[i] = (x[i] - lu.dotRow(i, x, i + 1, n)) / lu.getEntry(i, i);
+        }
+    }
+
+    @Override
+    public void apply(double[] r, double[] z) {
+        solve(r, z);
+    }
+
+    /** 释放存放 L 与 U 的堆外矩阵, 之后不能再求解. */
+    @Override
+    public void close() {
+        lu.close();
+    }
+
+    @Override
+    public void solveInPlace(double[] x) {
+        double[] b = x.clone();
+        solve(b, x);
+    }
+
+    /**
+     * 求解 A^T·x = b, 与 {@link DenseLU#solveTransposeInPlace} 相同, 按 U / L 的行访问.
+     */
+    @Override
+    public void solveTransposeInPlace(double[] x) {
+        // U^T·w = b (前代, 按列)
+        for (int j = 0; j < n; j++) {
+            double wj = x[j] / lu.getEntry(j, j);
+            x[j] = wj;
+            if (wj == 0.0) continue;
+            lu.addScaledRowTo(j, -wj, x, j + 1, n);
+        }
+        // L^T·v = w (回代, 按列)
+        for (int j = n - 1; j > 0; j--) {
+            double vj = x[j];
+            if (vj == 0.0) continue;
+            lu.addScaledRowTo(j, -vj, x, 0, j);
+        }
+        double[] v = x.clone();
+        for (int i = 0; i < n; i++) {
+            x[perm[i]] = v[i];
+        }
+    }
+}
@@ -0,0 +1,178 @@
+// 文件路径: src/main/java/com/twx/linear_systems/model/Direct_impl/PackedSymmetricFactor.java
+package com.twx.linear_systems.model.Direct_impl;
+
+import org.apache.commons.math3.linear.RealMatrix;
+
+import java.util.stream.IntStream;
+
+/**
+ * 对称矩阵的压缩下三角存储及其原地分解 (A = L·L^T 或 A = L·D·L^T).
+ * 下三角按列连续存放: 第 j 列的 A(j..n-1, j) 从 colStart(j) 开始, 共 n(n+1)/2 个元素.
+ * 分解采用右视分块算法: 先分解宽度为 BLOCK 的列面板, 再用面板一次性更新右下方的每一列,
+ * 使被更新的列在面板处理期间始终留在缓存中; 尾部更新按列划分并行执行.
+ */
+final class PackedSymmetricFactor implements Factorization {
+
+    /** 列面板的宽度. */
+    private static final int BLOCK = 64;
+    /** 尾部更新的列数低于该值时不值得并行. */
+    private static final int PARALLEL_THRESHOLD = 256;
+
+    private final int n;
+    private final double[] data;
+    private final boolean ldlt;
+
+    private PackedSymmetricFactor(int n, double[] data, boolean ldlt) {
+        this.n = n;
+        this.data = data;
+        this.ldlt = ldlt;
+    }
+
+    /**
+     * 读取 A 的下三角部分到压缩存储中, 只读取一次.
+     * @param ldlt true 表示按 L·D·L^T 分解 (对角线存放 D, L 为单位下三角)
+     */
+    static PackedSymmetricFactor pack(RealMatrix a, boolean ldlt) {
+        int n = a.getRowDimension();
+        long size = (long) n * (n + 1) / 2;
+        if (size > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("矩阵阶数过大, 超出压缩存储的容量: n = " + n);
+        }
+        double[] data = new double[(int) size];
+        int idx = 0;
+        for (int j = 0; j < n; j++) {
+            for (int i = j; i < n; i++) {
+                data[idx++] = a.getEntry(i, j);
+            }
+        }
+        return new PackedSymmetricFactor(n, data, ldlt);
+    }
+
+    @Override
+    public int dimension() {
+        return n;
+    }
+
+    /** 第 j 列对角元在 data 中的位置. */
+    int colStart(int j) {
+        return (int) ((long) j * n - (long) j * (j - 1) / 2);
+    }
+
+    /** 下三角元素 (i >= j) 在 data 中的位置. */
+    int index(int i, int j) {
+        return colStart(j) + (i - j);
+    }
+
+    double get(int i, int j) {
+        return data[index(i, j)];
+    }
+
+    void set(int i, int j, double value) {
+        data[index(i, j)] = value;
+    }
+
+    /**
+     * 原地分块分解.
+     * @param epsilon 主元下限 (Cholesky 要求主元为正, LDL^T 要求主元绝对值不小于该值)
+     * @return 分解失败的列号; 成功时返回 -1
+     */
+    int factor(double epsilon) {
+        for (int jb = 0; jb < n; jb += BLOCK) {
+            int jend = Math.min(jb + BLOCK, n);
+            int failed = factorPanel(jb, jend, epsilon);
+            if (failed >= 0) return failed;
+            updateTrailing(jb, jend);
+        }
+        return -1;
+    }
+
+    /** 分解面板 [jb, jend) 的各列, 只更新面板内部的列. */
+    private int factorPanel(int jb, int jend, double epsilon) {
+        for (int j = jb; j < jend; j++) {
+            int cj = colStart(j);
+            double pivot = data[cj];
+            if (ldlt ? Math.abs(pivot) < epsilon : pivot < epsilon) return j;
+            if (!ldlt) {
+                pivot = Math.sqrt(pivot);
+                data[cj] = pivot;
+            }
+            double inv = 1.0 / pivot;
+            int end = cj + (n - j);
+            for (int i = cj + 1; i < end; i++) {
+                data[i] *= inv;
+            }
+            for (int k = j + 1; k < jend; k++) {
+                double w = data[cj + (k - j)];
+                if (ldlt) w *= pivot;
+                if (w == 0.0) continue;
+                axpyColumn(k, cj + (k - j), w);
+            }
+        }
+        return -1;
+    }
+
+    /** 用面板 [jb, jend) 更新其右下方所有列: A(k:n, k) -= Σ_p L(k:n, p) · w_p. */
+    private void updateTrailing(int jb, int jend) {
+        if (jend >= n) return;
+        IntStream columns = IntStream.range(jend, n);
+        if (n - jend >= PARALLEL_THRESHOLD) {
+            columns = columns.parallel();
+        }
+        columns.forEach(k -> {
+            for (int p = jb; p < jend; p++) {
+                int offset = index(k, p);
+                double w = data[offset];
+                if (ldlt) w *= data[colStart(p)];
+                if (w != 0.0) axpyColumn(k, offset, w);
+            }
+        });
+    }
+
+    /** 第 k 列自对角线以下减去 w 乘以从 source 开始的连续段. */
+    private void axpyColumn(int k, int source, double w) {
+        int ck = colStart(k);
+        int len = n - k;
+        for (int t = 0; t < len; t++) {
+            data[ck + t] -= data[source + t] * w;
+        }
+    }
+
+    /**
+     * 利用分解结果原地求解 A·x = b.
+     * @param x 输入为 b, 输出为 x
+     */
+    @Override
+    public void solveInPlace(double[] x) {
+        // L·y = b, 按列前代 (列连续访问)
+        for (int j = 0; j < n; j++) {
+            int cj = colStart(j);
+            if (!ldlt) x[j] /= data[cj];
+            double xj = x[j];
+            if (xj == 0.0) continue;
+            for (int i = j + 1; i < n; i++) {
+                x[i] -= data[cj + (i - j)] * xj;
+            }
+        }
+        if (ldlt) {
+            for (int j = 0; j < n; j++) {
+                x[j] /= data[colStart(j)];
+            }
+        }
+        // L^T·x = y, 第 j 行即 L 的第 j 列
+        for (int j = n - 1; j >= 0; j--) {
+            int cj = colStart(j);
+            double sum = 0.0;
+            for (int i = j + 1; i < n; i++) {
+                sum += data[cj + (i - j)] * x[i];
+            }
+            x[j] -= sum;
+            if (!ldlt) x[j] /= data[cj];
+        }
+    }
+
+    /** A 对称, A^T·x = b 与 A·x = b 相同. */
+    @Override
+    public void solveTransposeInPlace(double[] x) {
+        solveInPlace(x);
+    }
+}
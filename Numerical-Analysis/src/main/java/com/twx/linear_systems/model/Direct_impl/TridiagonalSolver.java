@@ -0,0 +1,125 @@
+// 文件路径: src/main/java/com/twx/linear_systems/model/Direct_impl/TridiagonalSolver.java
+package com.twx.linear_systems.model.Direct_impl;
+
+import com.twx.linear_systems.model.BandStructure;
+import com.twx.linear_systems.model.DirectSolution;
+import com.twx.linear_systems.model.DirectSolver;
+import com.twx.linear_systems.model.MatrixState;
+import org.apache.commons.math3.linear.Array2DRowRealMatrix;
+import org.apache.commons.math3.linear.ArrayRealVector;
+import org.apache.commons.math3.linear.RealMatrix;
+import org.apache.commons.math3.linear.RealVector;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 追赶法 (Thomas 算法)
+ * 只存储三条对角线: 下对角线 sub, 主对角线 diag 和上对角线 sup, 总计算量为 O(n).
+ * 记下对角线为 a, 主对角线为 b, 上对角线为 c, 右端项为 d.
+ * "追" 的过程将每行主元归一化并消去下对角线元素, "赶" 的过程自下而上回代求解.
+ * 该方法仅适用于三对角矩阵, 且要求消元过程中主元不为零 (例如对角占优矩阵).
+ */
+public class TridiagonalSolver implements DirectSolver {
+
+    private static final double EPSILON = 1e-10;
+
+    @Override
+    public String getName() {
+        return "追赶法 (三对角)";
+    }
+
+    @Override
+    public boolean isApplicable(RealMatrix a) {
+        return BandStructure.detect(a).isTridiagonal();
+    }
+
+    @Override
+    public DirectSolution solve(RealMatrix a, RealVector b) {
+        return solve(a, b, true);
+    }
+
+    @Override
+    public DirectSolution solveFast(RealMatrix a, RealVector b) {
+        return solve(a, b, false);
+    }
+
+    private DirectSolution solve(RealMatrix a, RealVector b, boolean recordHistory) {
+        List<MatrixState> history = new ArrayList<>();
+        int n = b.getDimension();
+        double[] sub = new double[n];
+        double[] diag = new double[n];
+        double[] sup = new double[n];
+        double[] y = b.toArray();
+        for (int i = 0; i < n; i++) {
+            diag[i] = a.getEntry(i, i);
+            if (i > 0) sub[i] = a.getEntry(i, i - 1);
+            if (i < n - 1) sup[i] = a.getEntry(i, i + 1);
+        }
+
+        if (recordHistory) {
+            history.add(new MatrixState("初始增广矩阵 (仅存储三条对角线)", toDisplay(sub, diag, sup, y), null));
+        }
+
+        // 1. 追: 消去下对角线并将主元归一化, sup 中保存 c'_i, y 中保存 y_i
+        for (int i = 0; i < n; i++) {
+            double m = (i == 0) ? diag[0] : diag[i] - sub[i] * sup[i - 1];
+            if (Math.abs(m) < EPSILON) {
+                if (recordHistory) {
+                    history.add(new MatrixState("错误: 主元 m" + (i + 1) + " 为零或过小，追赶法无法继续", toDisplay(sub, diag, sup, y), new int[]{i}));
+                }
+                return new DirectSolution(history, null);
+            }
+            if (i > 0) {
+                y[i] -= sub[i] * y[i - 1];
+            }
+            sup[i] /= m;
+            y[i] /= m;
+            diag[i] = 1.0;
+            if (recordHistory) {
+                String desc = (i == 0)
+                        ? String.format("追: m1 = b1 = %.3f, c'1 = c1 / m1 = %.3f, y1 = d1 / m1 = %.3f", m, sup[i], y[i])
+                        : String.format("追: m%d = b%d - a%d * c'%d = %.3f, c'%d = c%d / m%d = %.3f, y%d = (d%d - a%d * y%d) / m%d = %.3f",
+                        i + 1, i + 1, i + 1, i, m, i + 1, i + 1, i + 1, sup[i], i + 1, i + 1, i + 1, i, i + 1, y[i]);
+                sub[i] = 0.0;
+                history.add(new MatrixState(desc, toDisplay(sub, diag, sup, y), new int[]{i}));
+            }
+        }
+
+        // 2. 赶: 自下而上回代 x_i = y_i - c'_i * x_{i+1}
+        double[] x = y;
+        for (int i = n - 2; i >= 0; i--) {
+            double xi = y[i] - sup[i] * x[i + 1];
+            if (recordHistory) {
+                String desc = String.format("赶: x%d = y%d - c'%d * x%d = %.3f - %.3f * %.4f = %.4f",
+                        i + 1, i + 1, i + 1, i + 2, y[i], sup[i], x[i + 1], xi);
+                x[i] = xi;
+                sup[i] = 0.0;
+                history.add(new MatrixState(desc, toDisplay(sub, diag, sup, x), new int[]{i}));
+            } else {
+                x[i] = xi;
+            }
+        }
+
+        RealVector solutionVector = new ArrayRealVector(x);
+        if (recordHistory) {
+            history.add(new MatrixState("回代完成，得到最终解", toDisplay(sub, diag, sup, x), null));
+        }
+        return new DirectSolution(history, solutionVector);
+    }
+
+    /**
+     * 仅在可视化时使用: 将三条对角线还原为稠密增广矩阵.
+     */
+    private RealMatrix toDisplay(double[] sub, double[] diag, double[] sup, double[] rhs) {
+        int n = diag.length;
+        RealMatrix aug = new Array2DRowRealMatrix(n, n + 1);
+        for (int i = 0; i < n; i++) {
+            aug.setEntry(i, i, diag[i]);
+            if (i > 0) aug.setEntry(i, i - 1, sub[i]);
+            if (i < n - 1) aug.setEntry(i, i + 1, sup[i]);
+            aug.setEntry(i, n, rhs[i]);
+        }
+        return aug;
+    }
+}
@@ -19,4 +19,65 @@ public interface IterativeSolver extends LinearSystemSolver {
      * @return 包含迭代状态的迭代器
      */
     Iterator<VectorIterationState> createIterator(RealMatrix a, RealVector b, RealVector x0, double tol, int maxIter);
-}
\ No newline at end of file
+
+    /**
+     * 该求解器能否使用预处理子.
+     */
+    default boolean supportsPreconditioner() {
+        return false;
+    }
+
+    /**
+     * 创建带预处理的迭代器.
+     * @param m 预处理子, 为 null 时等价于不带预处理的 {@link #createIterator(RealMatrix, RealVector, RealVector, double, int)}
+     * @throws UnsupportedOperationException 求解器不支持预处理而 m 不为 null 时
+     */
+    default Iterator<VectorIterationState> createIterator(RealMatrix a, RealVector b, RealVector x0, Preconditioner m,
+                                                          double tol, int maxIter) {
+        if (m != null) {
+            throw new UnsupportedOperationException(getName() + " 不支持预处理");
+        }
+        return createIterator(a, b, x0, tol, maxIter);
+    }
+
+    /**
+     * 以线性算子代替显式矩阵创建迭代器 (如模板算子, 不需要构造 n×n 的矩阵).
+     * @throws UnsupportedOperationException 求解器需要显式的系数矩阵时
+     */
+    default Iterator<VectorIterationState> createIterator(LinearOperator a, RealVector b, RealVector x0, double tol, int maxIter) {
+        throw new UnsupportedOperationException(getName() + " 需要显式的系数矩阵");
+    }
+
+    /**
+     * 以线性算子代替显式矩阵创建带预处理的迭代器.
+     * @param m 预处理子, 为 null 时等价于 {@link #createIterator(LinearOperator, RealVector, RealVector, double, int)}
+     * @throws UnsupportedOperationException 求解器需要显式的系数矩阵, 或不支持预处理而 m 不为 null 时
+     */
+    default Iterator<VectorIterationState> createIterator(LinearOperator a, RealVector b, RealVector x0, Preconditioner m,
+                                                          double tol, int maxIter) {
+        if (m != null) {
+            throw new UnsupportedOperationException(getName() + " 不支持预处理");
+        }
+        return createIterator(a, b, x0, tol, maxIter);
+    }
+
+    /**
+     * 按收敛策略 (相对容差、残差检查间隔、停滞/发散判定) 创建迭代器.
+     * 默认实现只使用策略中的绝对容差和最大迭代次数.
+     * @param m 预处理子, 可以为 null
+     * @throws UnsupportedOperationException 求解器不支持预处理而 m 不为 null 时
+     */
+    default Iterator<VectorIterationState> createIterator(RealMatrix a, RealVector b, RealVector x0, Preconditioner m,
+                                                          ConvergencePolicy policy) {
+        return createIterator(a, b, x0, m, policy.absoluteTolerance(), policy.maxIterations());
+    }
+
+    /**
+     * 以线性算子代替显式矩阵, 按收敛策略创建迭代器. 默认实现只使用策略中的绝对容差和最大迭代次数.
+     * @throws UnsupportedOperationException 求解器需要显式的系数矩阵, 或不支持预处理而 m 不为 null 时
+     */
+    default Iterator<VectorIterationState> createIterator(LinearOperator a, RealVector b, RealVector x0, Preconditioner m,
+                                                          ConvergencePolicy policy) {
+        return createIterator(a, b, x0, m, policy.absoluteTolerance(), policy.maxIterations());
+    }
+}
@@ -0,0 +1,130 @@
+// 文件路径: src/main/java/com/twx/linear_systems/model/Iterative_impl/AcceleratedSolver.java
+package com.twx.linear_systems.model.Iterative_impl;
+
+import com.twx.linear_systems.model.ConvergencePolicy;
+import com.twx.linear_systems.model.IterativeSolver;
+import com.twx.linear_systems.model.LinearOperator;
+import com.twx.linear_systems.model.Preconditioner;
+import com.twx.linear_systems.model.VectorIterationState;
+import org.apache.commons.math3.linear.RealMatrix;
+import org.apache.commons.math3.linear.RealVector;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * 定常迭代 x ← G(x) 的加速器: 包装另一个迭代法, 把它的每一步当作一次不动点映射 G,
+ * 由 G(x_k) 与历史迭代向量外推出下一个起点 x_{k+1}, 再交给被包装的迭代器继续.
+ * 返回的状态就是被包装迭代器的状态 (迭代向量为 G(x_k), 残差也对应它), 收敛判定仍由被包装迭代器的收敛策略负责.
+ * 写入外推结果后, 缓存残差 r = b - A·x 的迭代 (雅可比、并行雅可比、Richardson、块雅可比) 要重新计算残差,
+ * 即每步多一次矩阵-向量乘法; 高斯-赛德尔与 SOR 在扫描中现算残差, 没有这项开销.
+ * 只能包装允许替换迭代向量的定常迭代 (雅可比、高斯-赛德尔、固定 ω 的 SOR、Richardson、块雅可比).
+ */
+public abstract class AcceleratedSolver implements IterativeSolver {
+
+    protected final IterativeSolver inner;
+
+    protected AcceleratedSolver(IterativeSolver inner) {
+        this.inner = inner;
+    }
+
+    /**
+     * @return 被加速的迭代法
+     */
+    public IterativeSolver inner() {
+        return inner;
+    }
+
+    @Override
+    public boolean supportsPreconditioner() {
+        return inner.supportsPreconditioner();
+    }
+
+    @Override
+    public Iterator<VectorIterationState> createIterator(RealMatrix a, RealVector b, RealVector x0, double tol, int maxIter) {
+        return createIterator(a, b, x0, null, ConvergencePolicy.of(tol, maxIter));
+    }
+
+    @Override
+    public Iterator<VectorIterationState> createIterator(RealMatrix a, RealVector b, RealVector x0, Preconditioner m,
+                                                         double tol, int maxIter) {
+        return createIterator(a, b, x0, m, ConvergencePolicy.of(tol, maxIter));
+    }
+
+    @Override
+    public Iterator<VectorIterationState> createIterator(LinearOperator a, RealVector b, RealVector x0, double tol, int maxIter) {
+        return createIterator(a, b, x0, null, ConvergencePolicy.of(tol, maxIter));
+    }
+
+    @Override
+    public Iterator<VectorIterationState> createIterator(LinearOperator a, RealVector b, RealVector x0, Preconditioner m,
+                                                         double tol, int maxIter) {
+        return createIterator(a, b, x0, m, ConvergencePolicy.of(tol, maxIter));
+    }
+
+    @Override
+    public Iterator<VectorIterationState> createIterator(RealMatrix a, RealVector b, RealVector x0, Preconditioner m,
+                                                         ConvergencePolicy policy) {
+        return accelerate(inner.createIterator(a, b, x0, m, policy));
+    }
+
+    @Override
+    public Iterator<VectorIterationState> createIterator(LinearOperator a, RealVector b, RealVector x0, Preconditioner m,
+                                                         ConvergencePolicy policy) {
+        return accelerate(inner.createIterator(a, b, x0, m, policy));
+    }
+
+    /**
+     * 为一次求解创建外推状态.
+     * @param n 方程组的阶数
+     */
+    abstract Extrapolation newExtrapolation(int n);
+
+    /**
+     * 一次求解的外推状态 (历史向量等), 不在多次求解之间共享.
+     */
+    interface Extrapolation {
+        /**
+         * @param x      本步的起点 x_k
+         * @param mapped 一步迭代的结果 G(x_k)
+         * @param next   输出下一步的起点
+         * @return 是否写入了 next; 返回 false 时直接从 G(x_k) 继续
+         */
+        boolean extrapolate(double[] x, double[] mapped, double[] next);
+    }
+
+    private Iterator<VectorIterationState> accelerate(Iterator<VectorIterationState> iterator) {
+        if (!(iterator instanceof WorkspaceIterator base) || !base.restartable()) {
+            throw new IllegalArgumentException(inner.getName() + " 不是可以加速的定常迭代");
+        }
+        return new Iterator<>() {
+            private final double[] before = new double[base.n];
+            private final double[] pending = new double[base.n];
+            private final Extrapolation extrapolation = newExtrapolation(base.n);
+            private boolean hasPending = false;
+
+            @Override
+            public boolean hasNext() {
+                return base.hasNext();
+            }
+
+            @Override
+            public VectorIterationState next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                // 上一步返回的状态包装着迭代向量, 因此外推的结果推迟到这里才写入
+                if (hasPending) {
+                    base.moveTo(pending);
+                    hasPending = false;
+                }
+                System.arraycopy(base.iterate(), 0, before, 0, before.length);
+                VectorIterationState state = base.next();
+                if (state.k() > 0 && base.hasNext()) {
+                    hasPending = extrapolation.extrapolate(before, base.iterate(), pending);
+                }
+                return state;
+            }
+        };
+    }
+}
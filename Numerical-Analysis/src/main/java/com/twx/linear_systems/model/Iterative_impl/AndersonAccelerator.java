@@ -0,0 +1,176 @@
+// 文件路径: src/main/java/com/twx/linear_systems/model/Iterative_impl/AndersonAccelerator.java
+package com.twx.linear_systems.model.Iterative_impl;
+
+import com.twx.linear_systems.model.IterativeSolver;
+
+/**
+ * Anderson 加速 (Anderson mixing).
+ * 记 f_k = G(x_k) - x_k, 保留最近 depth 步的差分 ΔF = [f_{i+1} - f_i], ΔG = [G(x_{i+1}) - G(x_i)],
+ * 解小规模最小二乘问题 min_γ ||f_k - ΔF·γ||_2, 取 x_{k+1} = G(x_k) - ΔG·γ.
+ * 最小二乘问题通过 depth×depth 的法方程求解, ΔF 的 Gram 矩阵随新列加入增量更新, 每步 O(depth·n);
+ * 法方程病态 (历史差分近似线性相关) 时清空历史, 从普通迭代重新开始积累.
+ */
+public class AndersonAccelerator extends AcceleratedSolver {
+
+    /** 法方程对角线的相对正则化量. */
+    private static final double REGULARIZATION = 1e-12;
+
+    private final int depth;
+
+    /**
+     * @param depth 历史窗口的长度 m (通常 3 ~ 10)
+     */
+    public AndersonAccelerator(IterativeSolver inner, int depth) {
+        super(inner);
+        if (depth < 1) {
+            throw new IllegalArgumentException("Anderson 加速的历史窗口长度必须为正整数: " + depth);
+        }
+        this.depth = depth;
+    }
+
+    @Override
+    public String getName() {
+        return inner.getName() + " + Anderson 加速 (m=" + depth + ")";
+    }
+
+    @Override
+    Extrapolation newExtrapolation(int n) {
+        return new Mixing(n);
+    }
+
+    private final class Mixing implements Extrapolation {
+        private final int n;
+        /** 环形缓冲: 第 (first + j) % depth 列为第 j 个历史差分. */
+        private final double[][] deltaF;
+        private final double[][] deltaG;
+        private final double[][] gram = new double[depth][depth];
+        private final double[] previousF;
+        private final double[] previousG;
+        private final double[] f;
+        private int count = 0;
+        private int first = 0;
+        private boolean hasPrevious = false;
+
+        Mixing(int n) {
+            this.n = n;
+            this.deltaF = new double[depth][n];
+            this.deltaG = new double[depth][n];
+            this.previousF = new double[n];
+            this.previousG = new double[n];
+            this.f = new double[n];
+        }
+
+        @Override
+        public boolean extrapolate(double[] x, double[] mapped, double[] next) {
+            for (int i = 0; i < n; i++) {
+                f[i] = mapped[i] - x[i];
+            }
+            if (hasPrevious) {
+                addColumn(mapped);
+            }
+            System.arraycopy(f, 0, previousF, 0, n);
+            System.arraycopy(mapped, 0, previousG, 0, n);
+            hasPrevious = true;
+            if (count == 0) {
+                return false;
+            }
+            double[] gamma = leastSquares();
+            if (gamma == null) {
+                count = 0;
+                return false;
+            }
+            System.arraycopy(mapped, 0, next, 0, n);
+            for (int j = 0; j < count; j++) {
+                double[] dg = deltaG[(first + j) % depth];
+                double g = gamma[j];
+                for (int i = 0; i < n; i++) {
+                    next[i] -= g * dg[i];
+                }
+            }
+            return true;
+        }
+
+        /** 加入新的差分列 (窗口已满时覆盖最旧的一列), 并更新 Gram 矩阵中与它相关的行和列. */
+        private void addColumn(double[] mapped) {
+            int slot;
+            if (count < depth) {
+                slot = (first + count) % depth;
+                count++;
+            } else {
+                slot = first;
+                first = (first + 1) % depth;
+            }
+            double[] df = deltaF[slot];
+            double[] dg = deltaG[slot];
+            for (int i = 0; i < n; i++) {
+                df[i] = f[i] - previousF[i];
+                dg[i] = mapped[i] - previousG[i];
+            }
+            for (int j = 0; j < count; j++) {
+                int other = (first + j) % depth;
+                double dot = dot(df, deltaF[other]);
+                gram[slot][other] = dot;
+                gram[other][slot] = dot;
+            }
+        }
+
+        /**
+         * 解法方程 (ΔF^T·ΔF)·γ = ΔF^T·f (列主元消元).
+         * @return γ; 法方程病态时返回 null
+         */
+        private double[] leastSquares() {
+            double[][] m = new double[count][count + 1];
+            double trace = 0.0;
+            for (int j = 0; j < count; j++) {
+                trace += gram[(first + j) % depth][(first + j) % depth];
+            }
+            if (!(trace > 0.0)) {
+                return null;
+            }
+            for (int j = 0; j < count; j++) {
+                int sj = (first + j) % depth;
+                for (int l = 0; l < count; l++) {
+                    m[j][l] = gram[sj][(first + l) % depth];
+                }
+                m[j][j] += REGULARIZATION * trace;
+                m[j][count] = dot(deltaF[sj], f);
+            }
+            for (int k = 0; k < count; k++) {
+                int max = k;
+                for (int i = k + 1; i < count; i++) {
+                    if (Math.abs(m[i][k]) > Math.abs(m[max][k])) max = i;
+                }
+                double[] temp = m[k];
+                m[k] = m[max];
+                m[max] = temp;
+                // 主元相对于 Gram 矩阵的迹过小: 历史差分近似线性相关
+                if (Math.abs(m[k][k]) < 2 * REGULARIZATION * trace) {
+                    return null;
+                }
+                for (int i = k + 1; i < count; i++) {
+                    double factor = m[i][k] / m[k][k];
+                    for (int j = k; j <= count; j++) {
+                        m[i][j] -= factor * m[k][j];
+                    }
+                }
+            }
+            double[] gamma = new double[count];
+            for (int i = count - 1; i >= 0; i--) {
+                double sum = m[i][count];
+                for (int j = i + 1; j < count; j++) {
+                    sum -= m[i][j] * gamma[j];
+                }
+                gamma[i] = sum / m[i][i];
+            }
+            return gamma;
+        }
+
+        private double dot(double[] u, double[] v) {
+            double sum = 0.0;
+            for (int i = 0; i < n; i++) {
+                sum += u[i] * v[i];
+            }
+            return sum;
+        }
+    }
+}
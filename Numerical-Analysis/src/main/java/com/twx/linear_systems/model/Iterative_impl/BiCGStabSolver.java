@@ -0,0 +1,125 @@
+// 文件路径: src/main/java/com/twx/linear_systems/model/Iterative_impl/BiCGStabSolver.java
+package com.twx.linear_systems.model.Iterative_impl;
+
+import com.twx.linear_systems.model.ConvergencePolicy;
+import com.twx.linear_systems.model.IterativeSolver;
+import com.twx.linear_systems.model.LinearOperator;
+import com.twx.linear_systems.model.Operator_impl.DenseOperator;
+import com.twx.linear_systems.model.Preconditioner;
+import com.twx.linear_systems.model.VectorIterationState;
+import org.apache.commons.math3.linear.RealMatrix;
+import org.apache.commons.math3.linear.RealVector;
+
+import java.util.Iterator;
+
+/**
+ * 稳定双共轭梯度法 (BiCGSTAB), 适用于一般的非对称矩阵.
+ * 每步两次矩阵-向量乘法, 存储量固定 (与 GMRES 不同, 不随迭代步数增长).
+ * 使用右预处理 A·M^{-1}·u = b, x = M^{-1}·u, 因此显示的残差仍是原方程组的真实残差.
+ * 若出现 ρ = r̂^T·r = 0 或 r̂^T·v = 0, 迭代在当前状态终止.
+ */
+public class BiCGStabSolver implements IterativeSolver {
+
+    @Override
+    public String getName() {
+        return "稳定双共轭梯度法 (BiCGSTAB)";
+    }
+
+    @Override
+    public boolean supportsPreconditioner() {
+        return true;
+    }
+
+    @Override
+    public Iterator<VectorIterationState> createIterator(RealMatrix a, RealVector b, RealVector x0, double tol, int maxIter) {
+        return createIterator(a, b, x0, null, tol, maxIter);
+    }
+
+    @Override
+    public Iterator<VectorIterationState> createIterator(RealMatrix a, RealVector b, RealVector x0, Preconditioner m,
+                                                         double tol, int maxIter) {
+        return createIterator(DenseOperator.of(a), b, x0, m, tol, maxIter);
+    }
+
+    @Override
+    public Iterator<VectorIterationState> createIterator(LinearOperator a, RealVector b, RealVector x0, double tol, int maxIter) {
+        return createIterator(a, b, x0, null, tol, maxIter);
+    }
+
+    @Override
+    public Iterator<VectorIterationState> createIterator(LinearOperator a, RealVector b, RealVector x0, Preconditioner m,
+                                                         double tol, int maxIter) {
+        return createIterator(a, b, x0, m, ConvergencePolicy.of(tol, maxIter));
+    }
+
+    @Override
+    public Iterator<VectorIterationState> createIterator(RealMatrix a, RealVector b, RealVector x0, Preconditioner m,
+                                                         ConvergencePolicy policy) {
+        return createIterator(DenseOperator.of(a), b, x0, m, policy);
+    }
+
+    @Override
+    public Iterator<VectorIterationState> createIterator(LinearOperator a, RealVector b, RealVector x0, Preconditioner m,
+                                                         ConvergencePolicy policy) {
+        Preconditioner preconditioner = (m == null) ? Preconditioner.IDENTITY : m;
+        return new WorkspaceIterator(a, b, x0, policy) {
+            private final double[] r = new double[n];
+            /** 影子残差 r̂ = r_0. */
+            private final double[] shadow = new double[n];
+            private final double[] p = new double[n];
+            private final double[] v = new double[n];
+            private final double[] s = new double[n];
+            private final double[] t = new double[n];
+            /** 预处理后的搜索方向 M^{-1}·p 与 M^{-1}·s. */
+            private final double[] pHat = new double[n];
+            private final double[] sHat = new double[n];
+            private double rho = 1.0;
+            private double alpha = 1.0;
+            private double omega = 1.0;
+            private double rNorm;
+
+            {
+                rNorm = residual(r);
+                System.arraycopy(r, 0, shadow, 0, n);
+            }
+
+            @Override
+            protected double sweep() {
+                double rhoNew = dot(shadow, r);
+                if (rhoNew == 0.0 || omega == 0.0) {
+                    breakdown();
+                    return rNorm;
+                }
+                double beta = (rhoNew / rho) * (alpha / omega);
+                for (int i = 0; i < n; i++) {
+                    p[i] = r[i] + beta * (p[i] - omega * v[i]);
+                }
+                preconditioner.apply(p, pHat);
+                multiply(pHat, v);
+                double shadowV = dot(shadow, v);
+                if (shadowV == 0.0) {
+                    breakdown();
+                    return rNorm;
+                }
+                alpha = rhoNew / shadowV;
+                rho = rhoNew;
+                for (int i = 0; i < n; i++) {
+                    s[i] = r[i] - alpha * v[i];
+                }
+                preconditioner.apply(s, sHat);
+                multiply(sHat, t);
+                double tt = dot(t, t);
+                // t = 0 说明 s = 0, 半步更新 x + α·p̂ 已经是精确解
+                omega = tt == 0.0 ? 0.0 : dot(t, s) / tt;
+                double sumSq = 0.0;
+                for (int i = 0; i < n; i++) {
+                    x[i] += alpha * pHat[i] + omega * sHat[i];
+                    r[i] = s[i] - omega * t[i];
+                    sumSq += r[i] * r[i];
+                }
+                rNorm = Math.sqrt(sumSq);
+                return rNorm;
+            }
+        };
+    }
+}
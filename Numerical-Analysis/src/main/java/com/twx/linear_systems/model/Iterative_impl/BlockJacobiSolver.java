@@ -0,0 +1,249 @@
+// 文件路径: src/main/java/com/twx/linear_systems/model/Iterative_impl/BlockJacobiSolver.java
+package com.twx.linear_systems.model.Iterative_impl;
+
+import com.twx.linear_systems.model.ConvergencePolicy;
+import com.twx.linear_systems.model.DirectSolver;
+import com.twx.linear_systems.model.Direct_impl.GaussianEliminationSolver;
+import com.twx.linear_systems.model.IterativeSolver;
+import com.twx.linear_systems.model.LinearOperator;
+import com.twx.linear_systems.model.Operator_impl.DenseOperator;
+import com.twx.linear_systems.model.Preconditioner;
+import com.twx.linear_systems.model.VectorIterationState;
+import org.apache.commons.math3.linear.Array2DRowRealMatrix;
+import org.apache.commons.math3.linear.RealMatrix;
+import org.apache.commons.math3.linear.RealVector;
+
+import java.util.Iterator;
+import java.util.StringJoiner;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.IntConsumer;
+
+/**
+ * 块雅可比法 / 限制型加性 Schwarz 法 (RAS).
+ * 把未知量按自然顺序划分为若干连续的块, 每块向两侧各扩展 overlap 个未知量形成子区域,
+ * 创建迭代器时用直接法 ({@link DirectSolver#factorize}) 把每个子区域的对角块分解一次.
+ * 每步外迭代: 由 r = b - A·x 取出各子区域的残差, 在线程池上并行求解子问题 A_i·z_i = r_i,
+ * 只把 z_i 在本块 (不含重叠部分) 上的分量加到 x 上. 各块写入的分量互不相交, 因此无需同步.
+ * overlap = 0 时即块雅可比法; 重叠使相邻块交换更多信息, 通常可以减少外迭代次数.
+ * 子区域的对角块以稠密矩阵存放, 块数应随 n 增大, 使每块的规模不超过 {@link #MAX_BLOCK_SIZE}.
+ */
+public class BlockJacobiSolver implements IterativeSolver {
+
+    /** 子区域的最大阶数; 更大的块需要 O(m²) 内存和 O(m³) 的分解时间. */
+    public static final int MAX_BLOCK_SIZE = 2048;
+
+    private final int blocks;
+    private final int overlap;
+    private final DirectSolver localSolver;
+    private final ForkJoinPool pool;
+
+    /**
+     * 块数取公共线程池的并行度 (至少 2), 不重叠, 子问题用列主元 LU 分解求解.
+     */
+    public BlockJacobiSolver() {
+        this(Math.max(2, ForkJoinPool.commonPool().getParallelism()), 0);
+    }
+
+    public BlockJacobiSolver(int blocks, int overlap) {
+        this(blocks, overlap, new GaussianEliminationSolver(), ForkJoinPool.commonPool());
+    }
+
+    /**
+     * @param blocks      块数 (超过方程组阶数时取 n)
+     * @param overlap     每个子区域向两侧扩展的未知量个数
+     * @param localSolver 分解子区域对角块的直接法, 如对称正定矩阵可使用平方根法
+     * @param pool        并行求解子问题的线程池
+     */
+    public BlockJacobiSolver(int blocks, int overlap, DirectSolver localSolver, ForkJoinPool pool) {
+        if (blocks < 1) {
+            throw new IllegalArgumentException("块数必须为正整数: " + blocks);
+        }
+        if (overlap < 0) {
+            throw new IllegalArgumentException("重叠宽度必须非负: " + overlap);
+        }
+        this.blocks = blocks;
+        this.overlap = overlap;
+        this.localSolver = localSolver;
+        this.pool = pool;
+    }
+
+    @Override
+    public String getName() {
+        return overlap == 0
+                ? "块雅可比法 (" + blocks + " 块)"
+                : "加性 Schwarz 法 (" + blocks + " 块, 重叠 " + overlap + ")";
+    }
+
+    public int blocks() {
+        return blocks;
+    }
+
+    public int overlap() {
+        return overlap;
+    }
+
+    /**
+     * @return n 阶方程组的划分情况, 如 "3 块, 重叠 1: [0, 4) [2, 7) [5, 9); 子问题: 高斯列主元消元法"
+     */
+    public String describePartition(int n) {
+        int count = Math.min(blocks, n);
+        StringJoiner ranges = new StringJoiner(" ");
+        for (int t = 0; t < count; t++) {
+            ranges.add(String.format("[%d, %d)", Math.max(0, start(t, count, n) - overlap),
+                    Math.min(n, start(t + 1, count, n) + overlap)));
+        }
+        return String.format("%d 块, 重叠 %d: %s; 子问题: %s", count, overlap, ranges, localSolver.getName());
+    }
+
+    /** 第 t 块的起点: 各块大小相差至多 1. */
+    private static int start(int t, int count, int n) {
+        return (int) ((long) t * n / count);
+    }
+
+    @Override
+    public Iterator<VectorIterationState> createIterator(RealMatrix a, RealVector b, RealVector x0, double tol, int maxIter) {
+        return createIterator(DenseOperator.of(a), b, x0, null, ConvergencePolicy.of(tol, maxIter));
+    }
+
+    @Override
+    public Iterator<VectorIterationState> createIterator(LinearOperator a, RealVector b, RealVector x0, double tol, int maxIter) {
+        return createIterator(a, b, x0, null, ConvergencePolicy.of(tol, maxIter));
+    }
+
+    @Override
+    public Iterator<VectorIterationState> createIterator(RealMatrix a, RealVector b, RealVector x0, Preconditioner m,
+                                                         ConvergencePolicy policy) {
+        return createIterator(DenseOperator.of(a), b, x0, m, policy);
+    }
+
+    /**
+     * 子区域的对角块只在这里按行读取并分解一次 (并行).
+     * 残差本来就是下一步子问题的右端项, 因此每步都计算残差.
+     * @throws IllegalArgumentException 算子不支持按行访问、子区域过大或某个对角块无法分解时
+     */
+    @Override
+    public Iterator<VectorIterationState> createIterator(LinearOperator a, RealVector b, RealVector x0, Preconditioner m,
+                                                         ConvergencePolicy policy) {
+        WorkspaceIterator.rejectPreconditioner(m, getName());
+        WorkspaceIterator.requireRowAccess(a, getName());
+        int n = a.dimension();
+        int count = Math.min(blocks, n);
+        Subdomain[] subdomains = new Subdomain[count];
+        forEach(count, t -> subdomains[t] = new Subdomain(a, start(t, count, n), start(t + 1, count, n), overlap, localSolver));
+        return new WorkspaceIterator(a, b, x0, policy) {
+            /** r = b - A·x, 始终对应当前的 x. */
+            private final double[] residual = new double[n];
+            private final double[] updates = new double[count];
+
+            {
+                residual(residual);
+            }
+
+            @Override
+            protected boolean restartable() {
+                return true;
+            }
+
+            @Override
+            protected void restart() {
+                residual(residual);
+            }
+
+            @Override
+            protected double sweep() {
+                forEach(count, t -> updates[t] = subdomains[t].correct(residual, x));
+                double update = 0.0;
+                for (double u : updates) {
+                    update = Math.max(update, u);
+                }
+                reportUpdate(update);
+                return residual(residual);
+            }
+        };
+    }
+
+    /** 在线程池上对每个块执行一次 action; 单线程或只有一块时直接在调用线程上执行. */
+    private void forEach(int count, IntConsumer action) {
+        if (count == 1 || pool.getParallelism() == 1) {
+            for (int t = 0; t < count; t++) {
+                action.accept(t);
+            }
+            return;
+        }
+        pool.invoke(new BlockTask(0, count, action));
+    }
+
+    private static final class BlockTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final int from;
+        private final int to;
+        private final IntConsumer action;
+
+        BlockTask(int from, int to, IntConsumer action) {
+            this.from = from;
+            this.to = to;
+            this.action = action;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from == 1) {
+                action.accept(from);
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new BlockTask(from, mid, action), new BlockTask(mid, to, action));
+        }
+    }
+
+    /**
+     * 一个子区域: 本块 [start, end) 向两侧扩展后的 [from, to), 及其对角块的分解.
+     */
+    private static final class Subdomain {
+        private final int start;
+        private final int end;
+        private final int from;
+        private final Preconditioner solver;
+        private final double[] rhs;
+        private final double[] correction;
+
+        Subdomain(LinearOperator a, int start, int end, int overlap, DirectSolver localSolver) {
+            this.start = start;
+            this.end = end;
+            this.from = Math.max(0, start - overlap);
+            int to = Math.min(a.dimension(), end + overlap);
+            int size = to - from;
+            if (size > MAX_BLOCK_SIZE) {
+                throw new IllegalArgumentException(String.format("子区域 [%d, %d) 过大 (%d > %d), 请增加块数", from, to, size, MAX_BLOCK_SIZE));
+            }
+            double[][] block = new double[size][size];
+            for (int i = from; i < to; i++) {
+                double[] row = block[i - from];
+                a.forEachInRow(i, (j, value) -> {
+                    if (j >= from && j < to) row[j - from] = value;
+                });
+            }
+            this.solver = localSolver.factorize(new Array2DRowRealMatrix(block, false));
+            this.rhs = new double[size];
+            this.correction = new double[size];
+        }
+
+        /**
+         * 求解 A_i·z = r_i, 把 z 在本块上的分量加到 x 上.
+         * @return 本块修正量的最大绝对值
+         */
+        double correct(double[] residual, double[] x) {
+            System.arraycopy(residual, from, rhs, 0, rhs.length);
+            solver.apply(rhs, correction);
+            double update = 0.0;
+            for (int i = start; i < end; i++) {
+                double d = correction[i - from];
+                x[i] += d;
+                update = Math.max(update, Math.abs(d));
+            }
+            return update;
+        }
+    }
+}
@@ -0,0 +1,108 @@
+// 文件路径: src/main/java/com/twx/linear_systems/model/Iterative_impl/ConjugateGradientSolver.java
+package com.twx.linear_systems.model.Iterative_impl;
+
+import com.twx.linear_systems.model.ConvergencePolicy;
+import com.twx.linear_systems.model.IterativeSolver;
+import com.twx.linear_systems.model.LinearOperator;
+import com.twx.linear_systems.model.Operator_impl.DenseOperator;
+import com.twx.linear_systems.model.Preconditioner;
+import com.twx.linear_systems.model.VectorIterationState;
+import org.apache.commons.math3.linear.RealMatrix;
+import org.apache.commons.math3.linear.RealVector;
+
+import java.util.Iterator;
+
+/**
+ * 共轭梯度法 (CG), 适用于对称正定矩阵.
+ * 每步一次矩阵-向量乘法, 在精确运算下至多 n 步收敛, 收敛速度取决于 sqrt(κ(A)).
+ * 可使用对称正定的预处理子 M (PCG), 此时收敛速度取决于 sqrt(κ(M^{-1}·A)).
+ * 若出现 p^T·A·p <= 0 (矩阵不是正定的), 迭代在当前状态终止.
+ */
+public class ConjugateGradientSolver implements IterativeSolver {
+
+    @Override
+    public String getName() {
+        return "共轭梯度法 (CG)";
+    }
+
+    @Override
+    public boolean supportsPreconditioner() {
+        return true;
+    }
+
+    @Override
+    public Iterator<VectorIterationState> createIterator(RealMatrix a, RealVector b, RealVector x0, double tol, int maxIter) {
+        return createIterator(a, b, x0, null, tol, maxIter);
+    }
+
+    @Override
+    public Iterator<VectorIterationState> createIterator(RealMatrix a, RealVector b, RealVector x0, Preconditioner m,
+                                                         double tol, int maxIter) {
+        return createIterator(DenseOperator.of(a), b, x0, m, tol, maxIter);
+    }
+
+    @Override
+    public Iterator<VectorIterationState> createIterator(LinearOperator a, RealVector b, RealVector x0, double tol, int maxIter) {
+        return createIterator(a, b, x0, null, tol, maxIter);
+    }
+
+    @Override
+    public Iterator<VectorIterationState> createIterator(LinearOperator a, RealVector b, RealVector x0, Preconditioner m,
+                                                         double tol, int maxIter) {
+        return createIterator(a, b, x0, m, ConvergencePolicy.of(tol, maxIter));
+    }
+
+    @Override
+    public Iterator<VectorIterationState> createIterator(RealMatrix a, RealVector b, RealVector x0, Preconditioner m,
+                                                         ConvergencePolicy policy) {
+        return createIterator(DenseOperator.of(a), b, x0, m, policy);
+    }
+
+    @Override
+    public Iterator<VectorIterationState> createIterator(LinearOperator a, RealVector b, RealVector x0, Preconditioner m,
+                                                         ConvergencePolicy policy) {
+        Preconditioner preconditioner = (m == null) ? Preconditioner.IDENTITY : m;
+        return new WorkspaceIterator(a, b, x0, policy) {
+            private final double[] r = new double[n];
+            /** z = M^{-1}·r. */
+            private final double[] z = new double[n];
+            private final double[] p = new double[n];
+            private final double[] q = new double[n];
+            private double rz;
+            private double rNorm;
+
+            {
+                rNorm = residual(r);
+                preconditioner.apply(r, z);
+                rz = dot(r, z);
+                System.arraycopy(z, 0, p, 0, n);
+            }
+
+            @Override
+            protected double sweep() {
+                multiply(p, q);
+                double pq = dot(p, q);
+                if (!(pq > 0.0)) {
+                    breakdown();
+                    return rNorm;
+                }
+                double alpha = rz / pq;
+                double rr = 0.0;
+                for (int i = 0; i < n; i++) {
+                    x[i] += alpha * p[i];
+                    r[i] -= alpha * q[i];
+                    rr += r[i] * r[i];
+                }
+                rNorm = Math.sqrt(rr);
+                preconditioner.apply(r, z);
+                double rzNew = dot(r, z);
+                double beta = rzNew / rz;
+                for (int i = 0; i < n; i++) {
+                    p[i] = z[i] + beta * p[i];
+                }
+                rz = rzNew;
+                return rNorm;
+            }
+        };
+    }
+}
@@ -0,0 +1,103 @@
+// 文件路径: src/main/java/com/twx/linear_systems/model/Iterative_impl/ConvergenceMonitor.java
+package com.twx.linear_systems.model.Iterative_impl;
+
+import com.twx.linear_systems.model.ConvergencePolicy;
+import com.twx.linear_systems.model.ConvergenceStatus;
+
+/**
+ * 按 {@link ConvergencePolicy} 跟踪一次迭代过程: 决定哪些步需要计算完整残差, 并判定收敛、停滞或发散.
+ */
+final class ConvergenceMonitor {
+
+    /** 残差比历史最小值至少下降这个比例才算有进展. */
+    private static final double STAGNATION_IMPROVEMENT = 1e-3;
+
+    private final ConvergencePolicy policy;
+    private final double initialResidual;
+    private final double threshold;
+    private double best;
+    private int bestStep = 0;
+    private int lastCheck = 0;
+    /** 修正量已降到阈值以下, 下一步必须计算残差确认. */
+    private boolean checkRequested = false;
+    private ConvergenceStatus status = ConvergenceStatus.RUNNING;
+
+    /**
+     * @param initialResidual 初始残差 ||A·x_0 - b||_2, 相对容差与发散判定都以它为基准
+     */
+    ConvergenceMonitor(ConvergencePolicy policy, double initialResidual) {
+        this.policy = policy;
+        this.initialResidual = initialResidual;
+        this.threshold = policy.threshold(initialResidual);
+        this.best = initialResidual;
+        if (!Double.isFinite(initialResidual)) {
+            status = ConvergenceStatus.DIVERGED;
+        } else if (initialResidual <= threshold) {
+            status = ConvergenceStatus.CONVERGED;
+        } else if (policy.maxIterations() == 0) {
+            status = ConvergenceStatus.MAX_ITERATIONS;
+        }
+    }
+
+    ConvergenceStatus status() {
+        return status;
+    }
+
+    boolean isRunning() {
+        return status == ConvergenceStatus.RUNNING;
+    }
+
+    /**
+     * 第 k 步是否需要计算完整残差: 到了检查间隔、修正量提示可能已收敛, 或已是最后一步.
+     */
+    boolean residualDue(int k) {
+        return checkRequested || k - lastCheck >= policy.checkInterval() || k >= policy.maxIterations();
+    }
+
+    /** 第 k 步计算了完整残差. */
+    void recordResidual(int k, double residualNorm) {
+        lastCheck = k;
+        checkRequested = false;
+        if (!Double.isFinite(residualNorm) || residualNorm > policy.divergenceFactor() * initialResidual) {
+            status = ConvergenceStatus.DIVERGED;
+            return;
+        }
+        if (residualNorm <= threshold) {
+            status = ConvergenceStatus.CONVERGED;
+            return;
+        }
+        if (residualNorm < best * (1 - STAGNATION_IMPROVEMENT)) {
+            best = residualNorm;
+            bestStep = k;
+        } else if (policy.stagnationWindow() > 0 && k - bestStep >= policy.stagnationWindow()) {
+            status = ConvergenceStatus.STAGNATED;
+            return;
+        }
+        checkLimit(k);
+    }
+
+    /**
+     * 第 k 步只得到了修正量 ||x_k - x_{k-1}||∞ (未计算残差).
+     * 修正量本身不能判定收敛, 但降到阈值以下时要求下一步计算残差; 出现非有限值则立即判为发散.
+     */
+    void recordUpdate(int k, double updateNorm) {
+        if (!Double.isFinite(updateNorm)) {
+            status = ConvergenceStatus.DIVERGED;
+            return;
+        }
+        if (updateNorm <= threshold) {
+            checkRequested = true;
+        }
+        checkLimit(k);
+    }
+
+    void breakdown() {
+        status = ConvergenceStatus.BREAKDOWN;
+    }
+
+    private void checkLimit(int k) {
+        if (k >= policy.maxIterations()) {
+            status = ConvergenceStatus.MAX_ITERATIONS;
+        }
+    }
+}
@@ -0,0 +1,178 @@
+// 文件路径: src/main/java/com/twx/linear_systems/model/Iterative_impl/CsrMatrix.java
+package com.twx.linear_systems.model.Iterative_impl;
+
+import com.twx.linear_systems.model.LinearOperator;
+
+import java.util.Arrays;
+
+/**
+ * 按行压缩存储 (CSR) 的稀疏矩阵, 供多重网格等需要 O(nnz) 运算的迭代法使用.
+ * 第 i 行的元素位于 [rowStart[i], rowStart[i+1]), 各行列号升序.
+ */
+final class CsrMatrix {
+
+    final int rows;
+    final int columns;
+    final int[] rowStart;
+    final int[] cols;
+    final double[] values;
+
+    CsrMatrix(int rows, int columns, int[] rowStart, int[] cols, double[] values) {
+        this.rows = rows;
+        this.columns = columns;
+        this.rowStart = rowStart;
+        this.cols = cols;
+        this.values = values;
+    }
+
+    /** 从稠密矩阵提取非零元. */
+    static CsrMatrix of(double[][] a) {
+        int rows = a.length;
+        int columns = rows == 0 ? 0 : a[0].length;
+        int[] rowStart = new int[rows + 1];
+        for (int i = 0; i < rows; i++) {
+            int count = 0;
+            for (double v : a[i]) {
+                if (v != 0.0) count++;
+            }
+            rowStart[i + 1] = rowStart[i] + count;
+        }
+        int[] cols = new int[rowStart[rows]];
+        double[] values = new double[rowStart[rows]];
+        for (int i = 0; i < rows; i++) {
+            int p = rowStart[i];
+            double[] row = a[i];
+            for (int j = 0; j < columns; j++) {
+                if (row[j] != 0.0) {
+                    cols[p] = j;
+                    values[p++] = row[j];
+                }
+            }
+        }
+        return new CsrMatrix(rows, columns, rowStart, cols, values);
+    }
+
+    /** 通过按行访问提取线性算子的非零元 (两遍: 先计数, 再填充). */
+    static CsrMatrix of(LinearOperator op) {
+        int n = op.dimension();
+        int[] rowStart = new int[n + 1];
+        for (int i = 0; i < n; i++) {
+            int[] count = {0};
+            op.forEachInRow(i, (j, value) -> count[0]++);
+            rowStart[i + 1] = rowStart[i] + count[0];
+        }
+        int[] cols = new int[rowStart[n]];
+        double[] values = new double[rowStart[n]];
+        for (int i = 0; i < n; i++) {
+            int[] p = {rowStart[i]};
+            op.forEachInRow(i, (j, value) -> {
+                cols[p[0]] = j;
+                values[p[0]++] = value;
+            });
+        }
+        return new CsrMatrix(n, n, rowStart, cols, values);
+    }
+
+    /** out = A·v. */
+    void multiply(double[] v, double[] out) {
+        for (int i = 0; i < rows; i++) {
+            double sum = 0.0;
+            for (int p = rowStart[i]; p < rowStart[i + 1]; p++) {
+                sum += values[p] * v[cols[p]];
+            }
+            out[i] = sum;
+        }
+    }
+
+    /** 对角元; 缺失的对角元为 0. */
+    double[] diagonal() {
+        double[] d = new double[Math.min(rows, columns)];
+        for (int i = 0; i < d.length; i++) {
+            for (int p = rowStart[i]; p < rowStart[i + 1]; p++) {
+                if (cols[p] == i) {
+                    d[i] = values[p];
+                    break;
+                }
+            }
+        }
+        return d;
+    }
+
+    CsrMatrix transpose() {
+        int[] start = new int[columns + 1];
+        for (int p = 0; p < rowStart[rows]; p++) {
+            start[cols[p] + 1]++;
+        }
+        for (int j = 0; j < columns; j++) {
+            start[j + 1] += start[j];
+        }
+        int[] next = Arrays.copyOf(start, columns);
+        int[] tCols = new int[rowStart[rows]];
+        double[] tValues = new double[rowStart[rows]];
+        // 按行顺序写入, 转置后每行的列号自然升序
+        for (int i = 0; i < rows; i++) {
+            for (int p = rowStart[i]; p < rowStart[i + 1]; p++) {
+                int q = next[cols[p]]++;
+                tCols[q] = i;
+                tValues[q] = values[p];
+            }
+        }
+        return new CsrMatrix(columns, rows, start, tCols, tValues);
+    }
+
+    /**
+     * 稀疏矩阵乘法 this·other (Gustavson 算法): 逐行以稠密累加器合并, marker 记录本行已出现的列.
+     */
+    CsrMatrix times(CsrMatrix other) {
+        int[] marker = new int[other.columns];
+        Arrays.fill(marker, -1);
+        double[] accumulator = new double[other.columns];
+        int[] rowList = new int[other.columns];
+        int[] start = new int[rows + 1];
+        int[] outCols = new int[Math.max(16, rowStart[rows])];
+        double[] outValues = new double[outCols.length];
+        int nnz = 0;
+        for (int i = 0; i < rows; i++) {
+            int count = 0;
+            for (int p = rowStart[i]; p < rowStart[i + 1]; p++) {
+                int k = cols[p];
+                double v = values[p];
+                for (int q = other.rowStart[k]; q < other.rowStart[k + 1]; q++) {
+                    int j = other.cols[q];
+                    if (marker[j] != i) {
+                        marker[j] = i;
+                        accumulator[j] = 0.0;
+                        rowList[count++] = j;
+                    }
+                    accumulator[j] += v * other.values[q];
+                }
+            }
+            Arrays.sort(rowList, 0, count);
+            if (nnz + count > outCols.length) {
+                int capacity = Math.max(outCols.length * 2, nnz + count);
+                outCols = Arrays.copyOf(outCols, capacity);
+                outValues = Arrays.copyOf(outValues, capacity);
+            }
+            for (int t = 0; t < count; t++) {
+                int j = rowList[t];
+                if (accumulator[j] != 0.0) {
+                    outCols[nnz] = j;
+                    outValues[nnz++] = accumulator[j];
+                }
+            }
+            start[i + 1] = nnz;
+        }
+        return new CsrMatrix(rows, other.columns, start, Arrays.copyOf(outCols, nnz), Arrays.copyOf(outValues, nnz));
+    }
+
+    /** 仅用于最粗层的直接求解. */
+    double[][] toDense() {
+        double[][] a = new double[rows][columns];
+        for (int i = 0; i < rows; i++) {
+            for (int p = rowStart[i]; p < rowStart[i + 1]; p++) {
+                a[i][cols[p]] = values[p];
+            }
+        }
+        return a;
+    }
+}
@@ -1,60 +1,79 @@
 // 文件路径: src/main/java/com/twx/linear_systems/model/GaussSeidelSolver.java
 package com.twx.linear_systems.model.Iterative_impl;
 
+import com.twx.linear_systems.model.ConvergencePolicy;
 import com.twx.linear_systems.model.IterativeSolver;
+import com.twx.linear_systems.model.LinearOperator;
+import com.twx.linear_systems.model.Operator_impl.DenseOperator;
+import com.twx.linear_systems.model.Preconditioner;
 import com.twx.linear_systems.model.VectorIterationState;
 import org.apache.commons.math3.linear.*;
 import java.util.Iterator;
+import java.util.concurrent.ForkJoinPool;
 
+/**
+ * 高斯-赛德尔迭代法: 逐个分量原地更新, 计算第 i 个分量时已使用前 i-1 个分量的新值.
+ * 指定线程池时改用多色排序 (见 {@link MulticolorOrdering}), 每一类颜色内的分量并行更新.
+ */
 public class GaussSeidelSolver implements IterativeSolver {
 
+    /** 为 null 时按自然顺序顺序扫描. */
+    private final ForkJoinPool pool;
+
+    public GaussSeidelSolver() {
+        this(null);
+    }
+
+    /**
+     * @param pool 多色并行扫描使用的线程池
+     */
+    public GaussSeidelSolver(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
     @Override
     public String getName() {
-        return "高斯-赛德尔迭代法";
+        return pool == null ? "高斯-赛德尔迭代法" : "高斯-赛德尔迭代法 (多色并行)";
     }
 
     @Override
     public Iterator<VectorIterationState> createIterator(RealMatrix a, RealVector b, RealVector x0, double tol, int maxIter) {
-        return new Iterator<>() {
-            private int k = 0;
-            private RealVector x = x0.copy();
-            private double residualNorm = a.operate(x).subtract(b).getNorm();
+        return createIterator(DenseOperator.of(a), b, x0, null, ConvergencePolicy.of(tol, maxIter));
+    }
+
+    @Override
+    public Iterator<VectorIterationState> createIterator(LinearOperator a, RealVector b, RealVector x0, double tol, int maxIter) {
+        return createIterator(a, b, x0, null, ConvergencePolicy.of(tol, maxIter));
+    }
+
+    @Override
+    public Iterator<VectorIterationState> createIterator(RealMatrix a, RealVector b, RealVector x0, Preconditioner m,
+                                                         ConvergencePolicy policy) {
+        return createIterator(DenseOperator.of(a), b, x0, m, policy);
+    }
+
+    /**
+     * @throws IllegalArgumentException 算子不支持按行访问时
+     */
+    @Override
+    public Iterator<VectorIterationState> createIterator(LinearOperator a, RealVector b, RealVector x0, Preconditioner m,
+                                                         ConvergencePolicy policy) {
+        WorkspaceIterator.rejectPreconditioner(m, getName());
+        WorkspaceIterator.requireRowAccess(a, getName());
+        return new WorkspaceIterator(a, b, x0, policy) {
+            private final double[] residual = new double[n];
+            private final double[] delta = new double[n];
+            private final MulticolorOrdering ordering = MulticolorOrdering.orNull(pool, op);
 
             @Override
-            public boolean hasNext() {
-                // 首次调用 next() 总是返回初始状态
-                if (k == 0) return true;
-                // 检查是否达到最大迭代次数或残差是否小于容忍度
-                return k <= maxIter && residualNorm > tol;
+            protected boolean restartable() {
+                return true;
             }
 
             @Override
-            public VectorIterationState next() {
-                if (k == 0) {
-                    k++;
-                    return new VectorIterationState(0, x0.copy(), residualNorm);
-                }
-
-                RealVector x_new = x.copy();
-                for (int i = 0; i < a.getRowDimension(); i++) {
-                    double sigma1 = 0;
-                    for (int j = 0; j < i; j++) {
-                        sigma1 += a.getEntry(i, j) * x_new.getEntry(j);
-                    }
-
-                    double sigma2 = 0;
-                    for (int j = i + 1; j < a.getColumnDimension(); j++) {
-                        sigma2 += a.getEntry(i, j) * x.getEntry(j);
-                    }
-
-                    x_new.setEntry(i, (b.getEntry(i) - sigma1 - sigma2) / a.getEntry(i, i));
-                }
-
-                x = x_new;
-                residualNorm = a.operate(x).subtract(b).getNorm();
-
-                return new VectorIterationState(k++, x.copy(), residualNorm);
+            protected double sweep() {
+                return ordering == null ? relaxationSweep(1.0, residual, delta) : multicolorSweep(1.0, ordering, pool, delta);
             }
         };
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,191 @@
+// 文件路径: src/main/java/com/twx/linear_systems/model/Iterative_impl/GmresSolver.java
+package com.twx.linear_systems.model.Iterative_impl;
+
+import com.twx.linear_systems.model.ConvergencePolicy;
+import com.twx.linear_systems.model.IterativeSolver;
+import com.twx.linear_systems.model.LinearOperator;
+import com.twx.linear_systems.model.Operator_impl.DenseOperator;
+import com.twx.linear_systems.model.Preconditioner;
+import com.twx.linear_systems.model.VectorIterationState;
+import org.apache.commons.math3.linear.RealMatrix;
+import org.apache.commons.math3.linear.RealVector;
+
+import java.util.Arrays;
+import java.util.Iterator;
+
+/**
+ * 重启型广义极小残差法 GMRES(m), 适用于一般的非对称矩阵.
+ * 每一步做一次 Arnoldi 扩张 (修正 Gram-Schmidt 正交化), 用 Givens 旋转把 Hessenberg 矩阵化为上三角,
+ * 残差范数 |g_{j+1}| 无需额外的矩阵-向量乘法即可得到; 每 m 步以当前解重启, 存储量为 O(m·n).
+ * 每一步都解出当前的极小残差解, 以便逐步显示 x_k.
+ * 使用右预处理 A·M^{-1}·u = b, x = M^{-1}·u, 因此 |g_{j+1}| 仍是原方程组的真实残差.
+ */
+public class GmresSolver implements IterativeSolver {
+
+    private static final int DEFAULT_RESTART = 30;
+
+    private final int restart;
+
+    public GmresSolver() {
+        this(DEFAULT_RESTART);
+    }
+
+    /**
+     * @param restart 重启周期 m
+     */
+    public GmresSolver(int restart) {
+        if (restart < 1) {
+            throw new IllegalArgumentException("GMRES 的重启周期必须为正整数: " + restart);
+        }
+        this.restart = restart;
+    }
+
+    /**
+     * @return 重启周期 m
+     */
+    public int restart() {
+        return restart;
+    }
+
+    @Override
+    public String getName() {
+        return "广义极小残差法 (GMRES(" + restart + "))";
+    }
+
+    @Override
+    public boolean supportsPreconditioner() {
+        return true;
+    }
+
+    @Override
+    public Iterator<VectorIterationState> createIterator(RealMatrix a, RealVector b, RealVector x0, double tol, int maxIter) {
+        return createIterator(a, b, x0, null, tol, maxIter);
+    }
+
+    @Override
+    public Iterator<VectorIterationState> createIterator(RealMatrix a, RealVector b, RealVector x0, Preconditioner m,
+                                                         double tol, int maxIter) {
+        return createIterator(DenseOperator.of(a), b, x0, m, tol, maxIter);
+    }
+
+    @Override
+    public Iterator<VectorIterationState> createIterator(LinearOperator a, RealVector b, RealVector x0, double tol, int maxIter) {
+        return createIterator(a, b, x0, null, tol, maxIter);
+    }
+
+    @Override
+    public Iterator<VectorIterationState> createIterator(LinearOperator a, RealVector b, RealVector x0, Preconditioner m,
+                                                         double tol, int maxIter) {
+        return createIterator(a, b, x0, m, ConvergencePolicy.of(tol, maxIter));
+    }
+
+    @Override
+    public Iterator<VectorIterationState> createIterator(RealMatrix a, RealVector b, RealVector x0, Preconditioner m,
+                                                         ConvergencePolicy policy) {
+        return createIterator(DenseOperator.of(a), b, x0, m, policy);
+    }
+
+    @Override
+    public Iterator<VectorIterationState> createIterator(LinearOperator a, RealVector b, RealVector x0, Preconditioner m,
+                                                         ConvergencePolicy policy) {
+        Preconditioner preconditioner = (m == null) ? Preconditioner.IDENTITY : m;
+        return new WorkspaceIterator(a, b, x0, policy) {
+            private final int m = Math.min(restart, n);
+            /** Krylov 子空间的标准正交基 v_0..v_m. */
+            private final double[][] basis = new double[m + 1][n];
+            /** 经 Givens 旋转后的上 Hessenberg 矩阵 (实际为上三角), h[i][j]. */
+            private final double[][] h = new double[m + 1][m];
+            private final double[] cs = new double[m];
+            private final double[] sn = new double[m];
+            private final double[] g = new double[m + 1];
+            private final double[] y = new double[m];
+            /** 本轮重启开始时的解. */
+            private final double[] xStart = new double[n];
+            /** 预处理的工作向量. */
+            private final double[] u = new double[n];
+            private final double[] z = new double[n];
+            private int j;
+
+            {
+                restartCycle();
+            }
+
+            /** 以当前 x 开始新一轮: v_0 = r / ||r||, g = ||r||·e_1. */
+            private void restartCycle() {
+                System.arraycopy(x, 0, xStart, 0, n);
+                double beta = residual(basis[0]);
+                Arrays.fill(g, 0.0);
+                g[0] = beta;
+                if (beta > 0.0) {
+                    for (int i = 0; i < n; i++) basis[0][i] /= beta;
+                }
+                j = 0;
+            }
+
+            @Override
+            protected double sweep() {
+                if (j == m) {
+                    restartCycle();
+                }
+                if (g[0] == 0.0) {
+                    // 重启时的残差已为零: 当前解即精确解
+                    return 0.0;
+                }
+                // Arnoldi: w = A·M^{-1}·v_j, 对 v_0..v_j 做修正 Gram-Schmidt 正交化
+                double[] w = basis[j + 1];
+                preconditioner.apply(basis[j], z);
+                multiply(z, w);
+                for (int i = 0; i <= j; i++) {
+                    double hij = dot(w, basis[i]);
+                    h[i][j] = hij;
+                    double[] vi = basis[i];
+                    for (int t = 0; t < n; t++) w[t] -= hij * vi[t];
+                }
+                double hNext = Math.sqrt(dot(w, w));
+                if (hNext > 0.0) {
+                    for (int t = 0; t < n; t++) w[t] /= hNext;
+                }
+
+                // 依次作用此前的 Givens 旋转, 再构造新的旋转消去 h[j+1][j]
+                for (int i = 0; i < j; i++) {
+                    double temp = cs[i] * h[i][j] + sn[i] * h[i + 1][j];
+                    h[i + 1][j] = -sn[i] * h[i][j] + cs[i] * h[i + 1][j];
+                    h[i][j] = temp;
+                }
+                double denominator = Math.hypot(h[j][j], hNext);
+                if (denominator == 0.0) {
+                    // A 在当前子空间上奇异, 无法继续扩张
+                    breakdown();
+                    return Math.abs(g[j]);
+                }
+                cs[j] = h[j][j] / denominator;
+                sn[j] = hNext / denominator;
+                h[j][j] = denominator;
+                h[j + 1][j] = 0.0;
+                g[j + 1] = -sn[j] * g[j];
+                g[j] = cs[j] * g[j];
+                j++;
+
+                // 解上三角方程 H·y = g, x = x_start + M^{-1}·V·y
+                for (int i = j - 1; i >= 0; i--) {
+                    double sum = g[i];
+                    for (int t = i + 1; t < j; t++) sum -= h[i][t] * y[t];
+                    y[i] = sum / h[i][i];
+                }
+                Arrays.fill(u, 0.0);
+                for (int i = 0; i < j; i++) {
+                    double yi = y[i];
+                    double[] vi = basis[i];
+                    for (int t = 0; t < n; t++) u[t] += yi * vi[t];
+                }
+                preconditioner.apply(u, z);
+                for (int t = 0; t < n; t++) x[t] = xStart[t] + z[t];
+                if (hNext == 0.0) {
+                    // 幸运中断: Krylov 子空间已不变, 上面解出的极小残差解即精确解, 残差为零 (判为收敛而非中断)
+                    return 0.0;
+                }
+                return Math.abs(g[j]);
+            }
+        };
+    }
+}
@@ -1,11 +1,20 @@
 // 文件路径: src/main/java/com/twx/linear_systems/model/JacobiSolver.java
 package com.twx.linear_systems.model.Iterative_impl;
 
+import com.twx.linear_systems.model.ConvergencePolicy;
 import com.twx.linear_systems.model.IterativeSolver;
+import com.twx.linear_systems.model.LinearOperator;
+import com.twx.linear_systems.model.Operator_impl.DenseOperator;
+import com.twx.linear_systems.model.Preconditioner;
 import com.twx.linear_systems.model.VectorIterationState;
 import org.apache.commons.math3.linear.*;
 import java.util.Iterator;
 
+/**
+ * 雅可比迭代法: x(新) = x + D^{-1}·(b - A·x).
+ * 上一步算出的残差 r = b - A·x 正好是这一步的更新量, 因此每步只需一次矩阵-向量乘法,
+ * 并在同一次遍历中得到新残差及其范数.
+ */
 public class JacobiSolver implements IterativeSolver {
 
     @Override
@@ -15,39 +24,57 @@ public class JacobiSolver implements IterativeSolver {
 
     @Override
     public Iterator<VectorIterationState> createIterator(RealMatrix a, RealVector b, RealVector x0, double tol, int maxIter) {
-        return new Iterator<>() {
-            private int k = 0;
-            private RealVector x = x0.copy();
-            private double residualNorm = a.operate(x).subtract(b).getNorm();
+        return createIterator(DenseOperator.of(a), b, x0, null, ConvergencePolicy.of(tol, maxIter));
+    }
+
+    @Override
+    public Iterator<VectorIterationState> createIterator(LinearOperator a, RealVector b, RealVector x0, double tol, int maxIter) {
+        return createIterator(a, b, x0, null, ConvergencePolicy.of(tol, maxIter));
+    }
+
+    @Override
+    public Iterator<VectorIterationState> createIterator(RealMatrix a, RealVector b, RealVector x0, Preconditioner m,
+                                                         ConvergencePolicy policy) {
+        return createIterator(DenseOperator.of(a), b, x0, m, policy);
+    }
+
+    /**
+     * 只用到算子乘法和对角元, 不需要按行访问.
+     * 残差本来就是下一步的更新量, 因此每步都计算残差, 检查间隔不会节省工作量.
+     */
+    @Override
+    public Iterator<VectorIterationState> createIterator(LinearOperator a, RealVector b, RealVector x0, Preconditioner m,
+                                                         ConvergencePolicy policy) {
+        WorkspaceIterator.rejectPreconditioner(m, getName());
+        return new WorkspaceIterator(a, b, x0, policy) {
+            /** r = b - A·x, 始终对应当前的 x. */
+            private final double[] residual = new double[n];
+
+            {
+                residual(residual);
+            }
 
             @Override
-            public boolean hasNext() {
-                // 首次调用 next() 总是返回初始状态
-                if (k == 0) return true;
-                return k <= maxIter && residualNorm > tol;
+            protected boolean restartable() {
+                return true;
             }
 
             @Override
-            public VectorIterationState next() {
-                if (k == 0) {
-                    k++;
-                    return new VectorIterationState(0, x0.copy(), residualNorm);
-                }
+            protected void restart() {
+                residual(residual);
+            }
 
-                RealVector x_new = new ArrayRealVector(x.getDimension());
-                for (int i = 0; i < a.getRowDimension(); i++) {
-                    double sigma = 0;
-                    for (int j = 0; j < a.getColumnDimension(); j++) {
-                        if (i != j) {
-                            sigma += a.getEntry(i, j) * x.getEntry(j);
-                        }
-                    }
-                    x_new.setEntry(i, (b.getEntry(i) - sigma) / a.getEntry(i, i));
+            @Override
+            protected double sweep() {
+                double update = 0.0;
+                for (int i = 0; i < n; i++) {
+                    double d = residual[i] / diagonal[i];
+                    x[i] += d;
+                    update = Math.max(update, Math.abs(d));
                 }
-                x = x_new;
-                residualNorm = a.operate(x).subtract(b).getNorm();
-                return new VectorIterationState(k++, x.copy(), residualNorm);
+                reportUpdate(update);
+                return residual(residual);
             }
         };
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,177 @@
+// 文件路径: src/main/java/com/twx/linear_systems/model/Iterative_impl/MulticolorOrdering.java
+package com.twx.linear_systems.model.Iterative_impl;
+
+import com.twx.linear_systems.model.LinearOperator;
+import com.twx.linear_systems.model.Operator_impl.DenseOperator;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * 矩阵图 (a_ij ≠ 0 或 a_ji ≠ 0 时 i 与 j 相邻) 的多色排序.
+ * 同一颜色的未知量之间互不耦合, 高斯-赛德尔/SOR 可以对每一类颜色并行更新.
+ * 若矩阵图是二部图 (如一维/二维差分格式的矩阵) 则得到红黑排序, 否则使用贪心着色.
+ */
+final class MulticolorOrdering {
+
+    /** classes[c] 为颜色 c 的所有行号 (升序). */
+    private final int[][] classes;
+    private final boolean redBlack;
+
+    private MulticolorOrdering(int[][] classes, boolean redBlack) {
+        this.classes = classes;
+        this.redBlack = redBlack;
+    }
+
+    static MulticolorOrdering of(double[][] a) {
+        return of(adjacency(a));
+    }
+
+    /**
+     * 稠密矩阵直接扫描元素, 其他算子通过 {@link LinearOperator#forEachInRow} 取得非零结构.
+     */
+    static MulticolorOrdering of(LinearOperator op) {
+        return (op instanceof DenseOperator dense) ? of(dense.data()) : of(adjacency(op));
+    }
+
+    private static MulticolorOrdering of(int[][] adjacency) {
+        int n = adjacency.length;
+        int[] color = twoColoring(adjacency);
+        boolean redBlack = color != null;
+        if (!redBlack) {
+            color = greedyColoring(adjacency);
+        }
+        int colors = 0;
+        for (int c : color) colors = Math.max(colors, c + 1);
+        int[] counts = new int[colors];
+        for (int c : color) counts[c]++;
+        int[][] classes = new int[colors][];
+        for (int c = 0; c < colors; c++) classes[c] = new int[counts[c]];
+        Arrays.fill(counts, 0);
+        for (int i = 0; i < n; i++) {
+            classes[color[i]][counts[color[i]]++] = i;
+        }
+        return new MulticolorOrdering(classes, redBlack);
+    }
+
+    /**
+     * 需要多色并行时计算排序; 不指定线程池, 或着色后平均每类不足 2 行 (接近稠密, 无并行度可言) 时返回 null,
+     * 此时求解器退回自然顺序扫描.
+     */
+    static MulticolorOrdering orNull(ForkJoinPool pool, LinearOperator op) {
+        if (pool == null) {
+            return null;
+        }
+        MulticolorOrdering ordering = of(op);
+        return ordering.colorCount() * 2 > op.dimension() ? null : ordering;
+    }
+
+    int[][] classes() {
+        return classes;
+    }
+
+    int colorCount() {
+        return classes.length;
+    }
+
+    boolean isRedBlack() {
+        return redBlack;
+    }
+
+    private static int[][] adjacency(double[][] a) {
+        int n = a.length;
+        int[][] adjacency = new int[n][];
+        int[] buffer = new int[n];
+        for (int i = 0; i < n; i++) {
+            int count = 0;
+            for (int j = 0; j < n; j++) {
+                if (j != i && (a[i][j] != 0.0 || a[j][i] != 0.0)) buffer[count++] = j;
+            }
+            adjacency[i] = Arrays.copyOf(buffer, count);
+        }
+        return adjacency;
+    }
+
+    /** 对称化的邻接表: 先按行收集 i → j 与 j → i 两个方向的边, 再对每个顶点排序去重. */
+    private static int[][] adjacency(LinearOperator op) {
+        int n = op.dimension();
+        int[] degree = new int[n];
+        for (int i = 0; i < n; i++) {
+            final int row = i;
+            op.forEachInRow(i, (j, value) -> {
+                if (j != row) {
+                    degree[row]++;
+                    degree[j]++;
+                }
+            });
+        }
+        int[][] adjacency = new int[n][];
+        for (int i = 0; i < n; i++) {
+            adjacency[i] = new int[degree[i]];
+        }
+        Arrays.fill(degree, 0);
+        for (int i = 0; i < n; i++) {
+            final int row = i;
+            op.forEachInRow(i, (j, value) -> {
+                if (j != row) {
+                    adjacency[row][degree[row]++] = j;
+                    adjacency[j][degree[j]++] = row;
+                }
+            });
+        }
+        for (int i = 0; i < n; i++) {
+            int[] list = adjacency[i];
+            Arrays.sort(list);
+            int count = 0;
+            for (int t = 0; t < list.length; t++) {
+                if (t == 0 || list[t] != list[t - 1]) list[count++] = list[t];
+            }
+            adjacency[i] = Arrays.copyOf(list, count);
+        }
+        return adjacency;
+    }
+
+    /** 广度优先二染色; 图中有奇环时返回 null. */
+    private static int[] twoColoring(int[][] adjacency) {
+        int n = adjacency.length;
+        int[] color = new int[n];
+        Arrays.fill(color, -1);
+        ArrayDeque<Integer> queue = new ArrayDeque<>();
+        for (int start = 0; start < n; start++) {
+            if (color[start] >= 0) continue;
+            color[start] = 0;
+            queue.add(start);
+            while (!queue.isEmpty()) {
+                int v = queue.poll();
+                for (int w : adjacency[v]) {
+                    if (color[w] < 0) {
+                        color[w] = 1 - color[v];
+                        queue.add(w);
+                    } else if (color[w] == color[v]) {
+                        return null;
+                    }
+                }
+            }
+        }
+        return color;
+    }
+
+    /** 按自然顺序贪心着色: 每个顶点取邻居未使用的最小颜色. */
+    private static int[] greedyColoring(int[][] adjacency) {
+        int n = adjacency.length;
+        int[] color = new int[n];
+        Arrays.fill(color, -1);
+        int[] usedBy = new int[n + 1];
+        Arrays.fill(usedBy, -1);
+        for (int v = 0; v < n; v++) {
+            for (int w : adjacency[v]) {
+                if (color[w] >= 0) usedBy[color[w]] = v;
+            }
+            int c = 0;
+            while (usedBy[c] == v) c++;
+            color[v] = c;
+        }
+        return color;
+    }
+}
@@ -0,0 +1,479 @@
+// 文件路径: src/main/java/com/twx/linear_systems/model/Iterative_impl/MultigridSolver.java
+package com.twx.linear_systems.model.Iterative_impl;
+
+import com.twx.linear_systems.model.BandStructure;
+import com.twx.linear_systems.model.ConvergencePolicy;
+import com.twx.linear_systems.model.IterativeSolver;
+import com.twx.linear_systems.model.LinearOperator;
+import com.twx.linear_systems.model.Operator_impl.StencilOperator;
+import com.twx.linear_systems.model.Preconditioner;
+import com.twx.linear_systems.model.VectorIterationState;
+import org.apache.commons.math3.linear.Array2DRowRealMatrix;
+import org.apache.commons.math3.linear.ArrayRealVector;
+import org.apache.commons.math3.linear.DecompositionSolver;
+import org.apache.commons.math3.linear.LUDecomposition;
+import org.apache.commons.math3.linear.RealMatrix;
+import org.apache.commons.math3.linear.RealVector;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * 几何多重网格法, 适用于一维/二维结构网格上的模板 (如泊松方程的差分格式) 生成的方程组.
+ * 高斯-赛德尔等定常迭代能很快消去误差的高频分量, 但低频分量衰减极慢, 网格越细越慢;
+ * 多重网格在每层网格上只做几次光滑, 把光滑后的残差限制到粗网格上求修正量, 再插值回细网格,
+ * 低频误差在粗网格上变成高频误差, 因此收敛速度与网格尺寸无关, 每次循环的工作量为 O(n).
+ * <p>
+ * 网格按行优先编号: 第 (i, j) 个未知量 (0 <= i < nx, 0 <= j < ny) 的下标为 j·nx + i.
+ * 每个方向上细网格点 2c+1 与粗网格点 c 重合, 其余细网格点由相邻粗网格点按坐标线性插值 (二维为双线性插值) 得到,
+ * 限制算子 R = P^T, 粗网格矩阵取 Galerkin 形式 A_c = R·A·P, 因此变系数问题也不需要重新离散.
+ * 各方向尺寸取 2^k - 1 时各层都是等距网格, 与标准的全加权限制一致. 最粗层 (不超过 COARSEST_SIZE 个未知量) 直接求解.
+ * 矩阵或线性算子 (如 {@link StencilOperator}) 先转为 CSR 存储, 之后每次循环只做 O(nnz) 的运算.
+ */
+public class MultigridSolver implements IterativeSolver {
+
+    /** 多重网格循环的类型: 每层访问下一层 gamma 次. */
+    public enum Cycle {
+        V(1, "V 循环"),
+        W(2, "W 循环");
+
+        private final int gamma;
+        private final String label;
+
+        Cycle(int gamma, String label) {
+            this.gamma = gamma;
+            this.label = label;
+        }
+    }
+
+    /** 光滑子: 前光滑按自然顺序, 后光滑按逆序, 使 V 循环对对称矩阵保持对称. */
+    public enum Smoother {
+        GAUSS_SEIDEL("高斯-赛德尔"),
+        /** 权重为 2/3 的雅可比迭代, 对高频分量的衰减最均匀. */
+        JACOBI("加权雅可比");
+
+        private final String label;
+
+        Smoother(String label) {
+            this.label = label;
+        }
+    }
+
+    /** 未知量不超过该数目的网格不再粗化, 直接求解. */
+    private static final int COARSEST_SIZE = 32;
+    private static final double JACOBI_WEIGHT = 2.0 / 3.0;
+
+    private final Cycle cycle;
+    private final Smoother smoother;
+    private final int preSmoothing;
+    private final int postSmoothing;
+
+    public MultigridSolver() {
+        this(Cycle.V, Smoother.GAUSS_SEIDEL);
+    }
+
+    public MultigridSolver(Cycle cycle, Smoother smoother) {
+        this(cycle, smoother, 2, 2);
+    }
+
+    /**
+     * @param preSmoothing  每层限制前的光滑次数
+     * @param postSmoothing 每层插值修正后的光滑次数
+     */
+    public MultigridSolver(Cycle cycle, Smoother smoother, int preSmoothing, int postSmoothing) {
+        if (preSmoothing < 0 || postSmoothing < 0 || preSmoothing + postSmoothing == 0) {
+            throw new IllegalArgumentException("光滑次数必须非负且不能全为零");
+        }
+        this.cycle = cycle;
+        this.smoother = smoother;
+        this.preSmoothing = preSmoothing;
+        this.postSmoothing = postSmoothing;
+    }
+
+    @Override
+    public String getName() {
+        return "多重网格法 (" + cycle.label + ", " + smoother.label + "光滑)";
+    }
+
+    /**
+     * 由带宽推断网格: 三对角矩阵视为一维网格, n = m² 且带宽为 m (五点格式) 或 m + 1 (九点格式) 时视为 m×m 的二维网格.
+     * 其他尺寸的二维网格请使用 {@link #createIterator(RealMatrix, RealVector, RealVector, int, int, double, int)}.
+     * 每步迭代为一次完整的多重网格循环.
+     * @throws IllegalArgumentException 无法推断网格结构时
+     */
+    @Override
+    public Iterator<VectorIterationState> createIterator(RealMatrix a, RealVector b, RealVector x0, double tol, int maxIter) {
+        return createIterator(a, b, x0, null, ConvergencePolicy.of(tol, maxIter));
+    }
+
+    /**
+     * 网格的推断方式同 {@link #createIterator(RealMatrix, RealVector, RealVector, double, int)}.
+     * 每次循环后的残差只占循环工作量的一小部分, 因此每步都检查残差.
+     */
+    @Override
+    public Iterator<VectorIterationState> createIterator(RealMatrix a, RealVector b, RealVector x0, Preconditioner m,
+                                                         ConvergencePolicy policy) {
+        WorkspaceIterator.rejectPreconditioner(m, getName());
+        int n = a.getRowDimension();
+        BandStructure band = BandStructure.detect(a);
+        if (band.lower() <= 1 && band.upper() <= 1) {
+            return createIterator(a, b, x0, n, 1, policy);
+        }
+        int size = (int) Math.round(Math.sqrt(n));
+        if (size * size == n && band.lower() == band.upper() && (band.lower() == size || band.lower() == size + 1)) {
+            return createIterator(a, b, x0, size, size, policy);
+        }
+        throw new IllegalArgumentException(String.format(
+                "无法从带宽 (p=%d, q=%d) 推断网格结构: 多重网格法需要一维 (三对角) 或 m×m 二维网格上的矩阵", band.lower(), band.upper()));
+    }
+
+    /**
+     * 在给定尺寸的结构网格上创建迭代器.
+     * @param nx x 方向的网格点数
+     * @param ny y 方向的网格点数, 一维问题为 1
+     */
+    public Iterator<VectorIterationState> createIterator(RealMatrix a, RealVector b, RealVector x0, int nx, int ny,
+                                                         double tol, int maxIter) {
+        return createIterator(a, b, x0, nx, ny, ConvergencePolicy.of(tol, maxIter));
+    }
+
+    /**
+     * 在给定尺寸的结构网格上按收敛策略创建迭代器.
+     */
+    public Iterator<VectorIterationState> createIterator(RealMatrix a, RealVector b, RealVector x0, int nx, int ny,
+                                                         ConvergencePolicy policy) {
+        double[][] dense = (a instanceof Array2DRowRealMatrix matrix) ? matrix.getDataRef() : a.getData();
+        return createIterator(CsrMatrix.of(dense), b.toArray(), x0.toArray(), nx, ny, policy);
+    }
+
+    /**
+     * 模板算子自带网格尺寸; 其他算子请使用 {@link #createIterator(LinearOperator, RealVector, RealVector, int, int, double, int)}.
+     * @throws IllegalArgumentException 算子不是 {@link StencilOperator} 时
+     */
+    @Override
+    public Iterator<VectorIterationState> createIterator(LinearOperator a, RealVector b, RealVector x0, double tol, int maxIter) {
+        return createIterator(a, b, x0, null, ConvergencePolicy.of(tol, maxIter));
+    }
+
+    /**
+     * 模板算子自带网格尺寸, 按收敛策略创建迭代器.
+     * @throws IllegalArgumentException 算子不是 {@link StencilOperator} 时
+     */
+    @Override
+    public Iterator<VectorIterationState> createIterator(LinearOperator a, RealVector b, RealVector x0, Preconditioner m,
+                                                         ConvergencePolicy policy) {
+        WorkspaceIterator.rejectPreconditioner(m, getName());
+        if (a instanceof StencilOperator stencil) {
+            return createIterator(a, b, x0, stencil.nx(), stencil.ny(), policy);
+        }
+        throw new IllegalArgumentException("无法从线性算子推断网格结构, 请指定网格尺寸 nx, ny");
+    }
+
+    /**
+     * 在给定尺寸的结构网格上, 以线性算子创建迭代器. 算子的非零元只在创建时按行读取一次.
+     * @throws IllegalArgumentException 算子不支持按行访问时
+     */
+    public Iterator<VectorIterationState> createIterator(LinearOperator a, RealVector b, RealVector x0, int nx, int ny,
+                                                         double tol, int maxIter) {
+        return createIterator(a, b, x0, nx, ny, ConvergencePolicy.of(tol, maxIter));
+    }
+
+    /**
+     * 在给定尺寸的结构网格上, 以线性算子按收敛策略创建迭代器.
+     * @throws IllegalArgumentException 算子不支持按行访问时
+     */
+    public Iterator<VectorIterationState> createIterator(LinearOperator a, RealVector b, RealVector x0, int nx, int ny,
+                                                         ConvergencePolicy policy) {
+        WorkspaceIterator.requireRowAccess(a, getName());
+        return createIterator(CsrMatrix.of(a), b.toArray(), x0.toArray(), nx, ny, policy);
+    }
+
+    Iterator<VectorIterationState> createIterator(CsrMatrix a, double[] b, double[] x0, int nx, int ny,
+                                                  ConvergencePolicy policy) {
+        if (nx < 1 || ny < 1 || (long) nx * ny != a.rows || a.rows != a.columns || b.length != a.rows) {
+            throw new IllegalArgumentException(String.format("网格尺寸 %d×%d 与方程组的阶数 %d 不一致", nx, ny, b.length));
+        }
+        return new CycleIterator(hierarchy(a, nx, ny), b, x0, policy);
+    }
+
+    /**
+     * 逐层粗化直到未知量不超过 COARSEST_SIZE 或两个方向都无法再粗化.
+     */
+    private static List<Level> hierarchy(CsrMatrix a, int nx, int ny) {
+        List<Level> levels = new ArrayList<>();
+        Level level = new Level(a, coordinates(nx), coordinates(ny));
+        levels.add(level);
+        while (level.a.rows > COARSEST_SIZE && (level.nx() >= 3 || level.ny() >= 3)) {
+            double[] cx = level.nx() >= 3 ? coarsen(level.xs) : level.xs;
+            double[] cy = level.ny() >= 3 ? coarsen(level.ys) : level.ys;
+            level.prolongation = interpolation(level.xs, level.ys, cx, cy, nx, ny);
+            level.restriction = level.prolongation.transpose();
+            level = new Level(level.restriction.times(level.a.times(level.prolongation)), cx, cy);
+            levels.add(level);
+        }
+        level.factorCoarsest();
+        return levels;
+    }
+
+    /** 最细层网格点的坐标 0, 1, ..., n-1; 边界位于 -1 与 n. */
+    private static double[] coordinates(int n) {
+        double[] xs = new double[n];
+        for (int i = 0; i < n; i++) xs[i] = i;
+        return xs;
+    }
+
+    /** 粗网格取细网格的奇数点 1, 3, 5, .... */
+    private static double[] coarsen(double[] fine) {
+        double[] coarse = new double[fine.length / 2];
+        for (int c = 0; c < coarse.length; c++) coarse[c] = fine[2 * c + 1];
+        return coarse;
+    }
+
+    /**
+     * 二维插值 P = P_y ⊗ P_x: 细网格点 (i, j) 的权重为两个方向一维插值权重之积.
+     * @param xs    细网格 x 方向各点的坐标
+     * @param cxs   粗网格 x 方向各点的坐标
+     * @param width 最细层 x 方向的点数 (右边界坐标)
+     */
+    private static CsrMatrix interpolation(double[] xs, double[] ys, double[] cxs, double[] cys, int width, int height) {
+        int nx = xs.length;
+        int ny = ys.length;
+        int cx = cxs.length;
+        int cy = cys.length;
+        int[][] xCols = new int[nx][];
+        double[][] xWeights = new double[nx][];
+        oneDimensional(xs, cx, width, xCols, xWeights);
+        int[][] yCols = new int[ny][];
+        double[][] yWeights = new double[ny][];
+        oneDimensional(ys, cy, height, yCols, yWeights);
+
+        int rows = nx * ny;
+        int[] rowStart = new int[rows + 1];
+        for (int j = 0; j < ny; j++) {
+            for (int i = 0; i < nx; i++) {
+                int f = j * nx + i;
+                rowStart[f + 1] = rowStart[f] + xCols[i].length * yCols[j].length;
+            }
+        }
+        int[] cols = new int[rowStart[rows]];
+        double[] values = new double[rowStart[rows]];
+        for (int j = 0; j < ny; j++) {
+            for (int i = 0; i < nx; i++) {
+                int p = rowStart[j * nx + i];
+                // y 在外层、x 在内层, 粗网格下标 cj·cx + ci 自然升序
+                for (int t = 0; t < yCols[j].length; t++) {
+                    for (int s = 0; s < xCols[i].length; s++) {
+                        cols[p] = yCols[j][t] * cx + xCols[i][s];
+                        values[p++] = yWeights[j][t] * xWeights[i][s];
+                    }
+                }
+            }
+        }
+        return new CsrMatrix(rows, cx * cy, rowStart, cols, values);
+    }
+
+    /**
+     * 一维线性插值: 粗网格点 c 与细网格点 2c+1 重合, 细网格的偶数点由两侧的粗网格点 (或边界) 按坐标线性插值,
+     * 边界上的值为零. 尺寸不是 2^k - 1 时粗网格点不再等距, 按实际坐标计算权重才能保持与尺寸无关的收敛速度.
+     * 该方向不粗化 (细网格与粗网格点数相同) 时为恒等映射.
+     * @param end 右边界的坐标
+     */
+    private static void oneDimensional(double[] xs, int coarse, int end, int[][] cols, double[][] weights) {
+        int fine = xs.length;
+        for (int f = 0; f < fine; f++) {
+            if (fine == coarse || f % 2 == 1) {
+                cols[f] = new int[]{fine == coarse ? f : f / 2};
+                weights[f] = new double[]{1.0};
+                continue;
+            }
+            boolean hasLeft = f > 0;
+            boolean hasRight = f + 1 < fine;
+            double left = hasLeft ? xs[f - 1] : -1.0;
+            double right = hasRight ? xs[f + 1] : end;
+            double leftWeight = (right - xs[f]) / (right - left);
+            double rightWeight = (xs[f] - left) / (right - left);
+            if (hasLeft && hasRight) {
+                cols[f] = new int[]{f / 2 - 1, f / 2};
+                weights[f] = new double[]{leftWeight, rightWeight};
+            } else {
+                cols[f] = new int[]{hasLeft ? f / 2 - 1 : f / 2};
+                weights[f] = new double[]{hasLeft ? leftWeight : rightWeight};
+            }
+        }
+    }
+
+    /**
+     * 一层网格: 该层的矩阵、到下一层 (更粗) 的转移算子和预先分配的工作数组.
+     */
+    private static final class Level {
+        final CsrMatrix a;
+        /** 网格点在最细层网格中的坐标. */
+        final double[] xs;
+        final double[] ys;
+        final double[] diagonal;
+        /** 该层的解和右端项; 最细层在迭代器创建时替换为迭代向量和 b. */
+        double[] x;
+        double[] b;
+        final double[] residual;
+        /** 从下一层插值到本层 (最粗层为 null). */
+        CsrMatrix prolongation;
+        CsrMatrix restriction;
+        /** 仅最粗层: 矩阵的逆, 直接求解. */
+        double[][] inverse;
+
+        Level(CsrMatrix a, double[] xs, double[] ys) {
+            this.a = a;
+            this.xs = xs;
+            this.ys = ys;
+            this.diagonal = a.diagonal();
+            for (int i = 0; i < diagonal.length; i++) {
+                if (diagonal[i] == 0.0) {
+                    throw new IllegalArgumentException("网格层 " + nx() + "×" + ny() + " 的对角元 " + (i + 1) + " 为零, 无法光滑");
+                }
+            }
+            this.x = new double[a.rows];
+            this.b = new double[a.rows];
+            this.residual = new double[a.rows];
+        }
+
+        int nx() {
+            return xs.length;
+        }
+
+        int ny() {
+            return ys.length;
+        }
+
+        void factorCoarsest() {
+            DecompositionSolver solver = new LUDecomposition(new Array2DRowRealMatrix(a.toDense(), false)).getSolver();
+            if (!solver.isNonSingular()) {
+                throw new IllegalArgumentException("最粗层网格 " + nx() + "×" + ny() + " 上的矩阵奇异");
+            }
+            inverse = solver.getInverse().getData();
+        }
+
+        /** residual = b - A·x, 返回 ||residual||_2. */
+        double computeResidual() {
+            a.multiply(x, residual);
+            double sumSq = 0.0;
+            for (int i = 0; i < residual.length; i++) {
+                double r = b[i] - residual[i];
+                residual[i] = r;
+                sumSq += r * r;
+            }
+            return Math.sqrt(sumSq);
+        }
+
+        void gaussSeidel(boolean forward) {
+            int n = a.rows;
+            for (int t = 0; t < n; t++) {
+                int i = forward ? t : n - 1 - t;
+                double sum = b[i];
+                for (int p = a.rowStart[i]; p < a.rowStart[i + 1]; p++) {
+                    sum -= a.values[p] * x[a.cols[p]];
+                }
+                x[i] += sum / diagonal[i];
+            }
+        }
+
+        void jacobi() {
+            computeResidual();
+            for (int i = 0; i < x.length; i++) {
+                x[i] += JACOBI_WEIGHT * residual[i] / diagonal[i];
+            }
+        }
+
+        void solveDirectly() {
+            for (int i = 0; i < x.length; i++) {
+                double[] row = inverse[i];
+                double sum = 0.0;
+                for (int j = 0; j < b.length; j++) {
+                    sum += row[j] * b[j];
+                }
+                x[i] = sum;
+            }
+        }
+    }
+
+    /**
+     * 每步执行一次多重网格循环. 所有工作数组在创建时分配, 返回的状态直接包装最细层的迭代向量.
+     */
+    private final class CycleIterator implements Iterator<VectorIterationState> {
+        private final Level[] levels;
+        private final Level finest;
+        private final RealVector view;
+        private final ConvergenceMonitor monitor;
+        private int k = 0;
+        private double residualNorm;
+
+        CycleIterator(List<Level> levels, double[] b, double[] x0, ConvergencePolicy policy) {
+            this.levels = levels.toArray(new Level[0]);
+            this.finest = this.levels[0];
+            finest.b = b;
+            finest.x = x0;
+            this.view = new ArrayRealVector(x0, false);
+            this.residualNorm = finest.computeResidual();
+            this.monitor = new ConvergenceMonitor(policy, residualNorm);
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (k == 0) return true;
+            return monitor.isRunning();
+        }
+
+        @Override
+        public VectorIterationState next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            if (k > 0) {
+                cycle(0);
+                residualNorm = finest.computeResidual();
+                monitor.recordResidual(k, residualNorm);
+            }
+            return new VectorIterationState(k++, view, residualNorm, Double.NaN, monitor.status());
+        }
+
+        private void cycle(int l) {
+            Level level = levels[l];
+            if (level.inverse != null) {
+                level.solveDirectly();
+                return;
+            }
+            smooth(level, preSmoothing, true);
+            level.computeResidual();
+            Level coarse = levels[l + 1];
+            level.restriction.multiply(level.residual, coarse.b);
+            Arrays.fill(coarse.x, 0.0);
+            // 最粗层直接求解, 重复访问不会改变结果
+            int visits = coarse.inverse != null ? 1 : cycle.gamma;
+            for (int v = 0; v < visits; v++) {
+                cycle(l + 1);
+            }
+            // x = x + P·x_c
+            CsrMatrix p = level.prolongation;
+            for (int i = 0; i < p.rows; i++) {
+                double sum = 0.0;
+                for (int q = p.rowStart[i]; q < p.rowStart[i + 1]; q++) {
+                    sum += p.values[q] * coarse.x[p.cols[q]];
+                }
+                level.x[i] += sum;
+            }
+            smooth(level, postSmoothing, false);
+        }
+
+        private void smooth(Level level, int sweeps, boolean forward) {
+            for (int s = 0; s < sweeps; s++) {
+                if (smoother == Smoother.GAUSS_SEIDEL) {
+                    level.gaussSeidel(forward);
+                } else {
+                    level.jacobi();
+                }
+            }
+        }
+    }
+}
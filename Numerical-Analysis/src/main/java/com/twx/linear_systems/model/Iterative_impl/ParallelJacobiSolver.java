@@ -0,0 +1,101 @@
+// 文件路径: src/main/java/com/twx/linear_systems/model/Iterative_impl/ParallelJacobiSolver.java
+package com.twx.linear_systems.model.Iterative_impl;
+
+import com.twx.linear_systems.model.ConvergencePolicy;
+import com.twx.linear_systems.model.IterativeSolver;
+import com.twx.linear_systems.model.LinearOperator;
+import com.twx.linear_systems.model.Operator_impl.DenseOperator;
+import com.twx.linear_systems.model.Preconditioner;
+import com.twx.linear_systems.model.VectorIterationState;
+import org.apache.commons.math3.linear.RealMatrix;
+import org.apache.commons.math3.linear.RealVector;
+
+import java.util.Iterator;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * 并行雅可比迭代法.
+ * 雅可比迭代的各分量只依赖上一步的 x, 因此把行划分成若干段, 在 ForkJoinPool 上并行计算残差 r = b - A·x
+ * (同时归约残差范数), 再以 x = x + D^{-1}·r 更新; 迭代结果与 {@link JacobiSolver} 完全相同.
+ */
+public class ParallelJacobiSolver implements IterativeSolver {
+
+    private final ForkJoinPool pool;
+
+    public ParallelJacobiSolver() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    public ParallelJacobiSolver(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    @Override
+    public String getName() {
+        return "雅可比迭代法 (并行)";
+    }
+
+    @Override
+    public Iterator<VectorIterationState> createIterator(RealMatrix a, RealVector b, RealVector x0, double tol, int maxIter) {
+        return createIterator(DenseOperator.of(a), b, x0, null, ConvergencePolicy.of(tol, maxIter));
+    }
+
+    @Override
+    public Iterator<VectorIterationState> createIterator(LinearOperator a, RealVector b, RealVector x0, double tol, int maxIter) {
+        return createIterator(a, b, x0, null, ConvergencePolicy.of(tol, maxIter));
+    }
+
+    @Override
+    public Iterator<VectorIterationState> createIterator(RealMatrix a, RealVector b, RealVector x0, Preconditioner m,
+                                                         ConvergencePolicy policy) {
+        return createIterator(DenseOperator.of(a), b, x0, m, policy);
+    }
+
+    /** 算子不支持按行访问时, 残差改为一次串行的算子乘法. */
+    @Override
+    public Iterator<VectorIterationState> createIterator(LinearOperator a, RealVector b, RealVector x0, Preconditioner m,
+                                                         ConvergencePolicy policy) {
+        WorkspaceIterator.rejectPreconditioner(m, getName());
+        return new WorkspaceIterator(a, b, x0, policy) {
+            /** r = b - A·x, 始终对应当前的 x. */
+            private final double[] residual = new double[n];
+
+            {
+                computeResidual();
+            }
+
+            @Override
+            protected boolean restartable() {
+                return true;
+            }
+
+            @Override
+            protected void restart() {
+                computeResidual();
+            }
+
+            @Override
+            protected double sweep() {
+                double update = 0.0;
+                for (int i = 0; i < n; i++) {
+                    double d = residual[i] / diagonal[i];
+                    x[i] += d;
+                    update = Math.max(update, Math.abs(d));
+                }
+                reportUpdate(update);
+                return computeResidual();
+            }
+
+            private double computeResidual() {
+                if (!op.hasRowAccess()) {
+                    return residual(residual);
+                }
+                return Math.sqrt(ParallelRows.sum(pool, 0, n, i -> {
+                    double sum = b[i] - op.rowDot(i, x);
+                    residual[i] = sum;
+                    return sum * sum;
+                }));
+            }
+        };
+    }
+}
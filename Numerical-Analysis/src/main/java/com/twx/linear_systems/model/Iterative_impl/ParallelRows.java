@@ -0,0 +1,64 @@
+// 文件路径: src/main/java/com/twx/linear_systems/model/Iterative_impl/ParallelRows.java
+package com.twx.linear_systems.model.Iterative_impl;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.IntToDoubleFunction;
+
+/**
+ * 按行划分的并行归约: 把 [from, to) 递归二分, 每段不超过 GRAIN 行时顺序计算,
+ * 各段结果 (通常是残差平方和) 再相加. 规模小于 GRAIN 时直接在调用线程上计算, 不提交到线程池.
+ */
+final class ParallelRows {
+
+    /** 每个叶子任务处理的行数; 过小时任务调度的开销会超过计算本身. */
+    static final int GRAIN = 64;
+
+    private ParallelRows() {
+    }
+
+    /**
+     * @param kernel 处理第 t 行并返回其贡献
+     * @return 所有行贡献之和
+     */
+    static double sum(ForkJoinPool pool, int from, int to, IntToDoubleFunction kernel) {
+        if (to - from <= GRAIN || pool.getParallelism() == 1) {
+            return sequential(from, to, kernel);
+        }
+        return pool.invoke(new RangeTask(from, to, kernel));
+    }
+
+    private static double sequential(int from, int to, IntToDoubleFunction kernel) {
+        double sum = 0.0;
+        for (int t = from; t < to; t++) {
+            sum += kernel.applyAsDouble(t);
+        }
+        return sum;
+    }
+
+    private static final class RangeTask extends RecursiveTask<Double> {
+        private static final long serialVersionUID = 1L;
+
+        private final int from;
+        private final int to;
+        private final IntToDoubleFunction kernel;
+
+        RangeTask(int from, int to, IntToDoubleFunction kernel) {
+            this.from = from;
+            this.to = to;
+            this.kernel = kernel;
+        }
+
+        @Override
+        protected Double compute() {
+            if (to - from <= GRAIN) {
+                return sequential(from, to, kernel);
+            }
+            int mid = (from + to) >>> 1;
+            RangeTask left = new RangeTask(from, mid, kernel);
+            left.fork();
+            double right = new RangeTask(mid, to, kernel).compute();
+            return right + left.join();
+        }
+    }
+}
@@ -0,0 +1,96 @@
+// 文件路径: src/main/java/com/twx/linear_systems/model/Iterative_impl/PreconditionedRichardsonSolver.java
+package com.twx.linear_systems.model.Iterative_impl;
+
+import com.twx.linear_systems.model.ConvergencePolicy;
+import com.twx.linear_systems.model.IterativeSolver;
+import com.twx.linear_systems.model.LinearOperator;
+import com.twx.linear_systems.model.Operator_impl.DenseOperator;
+import com.twx.linear_systems.model.Preconditioner;
+import com.twx.linear_systems.model.VectorIterationState;
+import org.apache.commons.math3.linear.RealMatrix;
+import org.apache.commons.math3.linear.RealVector;
+
+import java.util.Iterator;
+
+/**
+ * 预处理 Richardson 迭代法: x(新) = x + M^{-1}·(b - A·x).
+ * 这是定常迭代法的统一形式: M = D 即雅可比迭代, M 取 SSOR 矩阵即对称 SOR 迭代,
+ * M 取不完全分解则得到 ILU/IC 迭代. 不带预处理 (M = I) 时仅当 A 的特征值都在以 1 为圆心的单位圆内才收敛.
+ */
+public class PreconditionedRichardsonSolver implements IterativeSolver {
+
+    @Override
+    public String getName() {
+        return "预处理 Richardson 迭代法";
+    }
+
+    @Override
+    public boolean supportsPreconditioner() {
+        return true;
+    }
+
+    @Override
+    public Iterator<VectorIterationState> createIterator(RealMatrix a, RealVector b, RealVector x0, double tol, int maxIter) {
+        return createIterator(a, b, x0, null, tol, maxIter);
+    }
+
+    @Override
+    public Iterator<VectorIterationState> createIterator(RealMatrix a, RealVector b, RealVector x0, Preconditioner m,
+                                                         double tol, int maxIter) {
+        return createIterator(DenseOperator.of(a), b, x0, m, tol, maxIter);
+    }
+
+    @Override
+    public Iterator<VectorIterationState> createIterator(LinearOperator a, RealVector b, RealVector x0, double tol, int maxIter) {
+        return createIterator(a, b, x0, null, tol, maxIter);
+    }
+
+    @Override
+    public Iterator<VectorIterationState> createIterator(LinearOperator a, RealVector b, RealVector x0, Preconditioner m,
+                                                         double tol, int maxIter) {
+        return createIterator(a, b, x0, m, ConvergencePolicy.of(tol, maxIter));
+    }
+
+    @Override
+    public Iterator<VectorIterationState> createIterator(RealMatrix a, RealVector b, RealVector x0, Preconditioner m,
+                                                         ConvergencePolicy policy) {
+        return createIterator(DenseOperator.of(a), b, x0, m, policy);
+    }
+
+    @Override
+    public Iterator<VectorIterationState> createIterator(LinearOperator a, RealVector b, RealVector x0, Preconditioner m,
+                                                         ConvergencePolicy policy) {
+        Preconditioner preconditioner = (m == null) ? Preconditioner.IDENTITY : m;
+        return new WorkspaceIterator(a, b, x0, policy) {
+            /** r = b - A·x, 始终对应当前的 x. */
+            private final double[] residual = new double[n];
+            private final double[] z = new double[n];
+
+            {
+                residual(residual);
+            }
+
+            @Override
+            protected boolean restartable() {
+                return true;
+            }
+
+            @Override
+            protected void restart() {
+                residual(residual);
+            }
+
+            @Override
+            protected double sweep() {
+                preconditioner.apply(residual, z);
+                double update = 0.0;
+                for (int i = 0; i < n; i++) {
+                    x[i] += z[i];
+                    update = Math.max(update, Math.abs(z[i]));
+                }
+                reportUpdate(update);
+                return residual(residual);
+            }
+        };
+    }
+}
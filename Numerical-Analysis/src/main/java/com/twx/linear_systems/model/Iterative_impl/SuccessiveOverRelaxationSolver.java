@@ -1,19 +1,53 @@
 // 文件路径: src/main/java/com/twx/linear_systems/model/Iterative_impl/SuccessiveOverRelaxationSolver.java
 package com.twx.linear_systems.model.Iterative_impl;
 
+import com.twx.linear_systems.model.ConvergencePolicy;
 import com.twx.linear_systems.model.IterativeSolver;
+import com.twx.linear_systems.model.LinearOperator;
+import com.twx.linear_systems.model.Operator_impl.DenseOperator;
+import com.twx.linear_systems.model.Preconditioner;
 import com.twx.linear_systems.model.VectorIterationState;
-import org.apache.commons.math3.linear.ArrayRealVector;
 import org.apache.commons.math3.linear.RealMatrix;
 import org.apache.commons.math3.linear.RealVector;
 
 import java.util.Iterator;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.DoubleConsumer;
 
+/**
+ * 逐次超松弛迭代法.
+ * 指定线程池时改用多色排序 (见 {@link MulticolorOrdering}), 每一类颜色内的分量并行更新.
+ */
 public class SuccessiveOverRelaxationSolver implements IterativeSolver {
 
+    /** 自适应模式下, 估计雅可比迭代矩阵谱半径的幂迭代步数. */
+    private static final int POWER_STEPS = 12;
+    /** 计算修正量平均收缩比的窗口长度; 修改 ω 后也至少等待这么多次扫描再判断. */
+    private static final int WINDOW = 5;
+    /** 重新估计的 ω 比当前值大不到该量时停止调整. */
+    private static final double MIN_RETUNE_STEP = 0.02;
+    /** 相邻两个窗口平均收缩比的相对差异在该范围内时视为稳定. */
+    private static final double STABLE_TOLERANCE = 0.01;
+    /** Hageman-Young 判据的指数: 平均收缩比超过 (ω-1)^F 时认为 ω 偏小. */
+    private static final double RETUNE_EXPONENT = 0.75;
+
+    private final ForkJoinPool pool;
+
+    public SuccessiveOverRelaxationSolver() {
+        this(null);
+    }
+
+    /**
+     * @param pool 多色并行扫描使用的线程池
+     */
+    public SuccessiveOverRelaxationSolver(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
     @Override
     public String getName() {
-        return "逐次超松弛迭代法";
+        return pool == null ? "逐次超松弛迭代法" : "逐次超松弛迭代法 (多色并行)";
     }
 
     /**
@@ -26,52 +60,211 @@ public class SuccessiveOverRelaxationSolver implements IterativeSolver {
         return this.createIterator(a, b, x0, 1.0, tol, maxIter);
     }
 
+    @Override
+    public Iterator<VectorIterationState> createIterator(LinearOperator a, RealVector b, RealVector x0, double tol, int maxIter) {
+        return this.createIterator(a, b, x0, 1.0, tol, maxIter);
+    }
+
+    @Override
+    public Iterator<VectorIterationState> createIterator(RealMatrix a, RealVector b, RealVector x0, Preconditioner m,
+                                                         ConvergencePolicy policy) {
+        return createIterator(DenseOperator.of(a), b, x0, m, policy);
+    }
+
+    @Override
+    public Iterator<VectorIterationState> createIterator(LinearOperator a, RealVector b, RealVector x0, Preconditioner m,
+                                                         ConvergencePolicy policy) {
+        WorkspaceIterator.rejectPreconditioner(m, getName());
+        return createIterator(a, b, x0, 1.0, policy);
+    }
+
     /**
      * SOR 方法的核心实现，允许指定 omega 值。
      * @param omega 松弛因子 (推荐 0 < omega < 2)
      * @return 包含迭代状态的迭代器
      */
     public Iterator<VectorIterationState> createIterator(RealMatrix a, RealVector b, RealVector x0, double omega, double tol, int maxIter) {
-        return new Iterator<>() {
-            private int k = 0;
-            private RealVector x = x0.copy();
-            private double residualNorm = a.operate(x).subtract(b).getNorm();
+        return createIterator(DenseOperator.of(a), b, x0, omega, ConvergencePolicy.of(tol, maxIter));
+    }
+
+    /**
+     * 以线性算子代替矩阵, 允许指定 omega 值.
+     * @throws IllegalArgumentException 算子不支持按行访问时
+     */
+    public Iterator<VectorIterationState> createIterator(LinearOperator a, RealVector b, RealVector x0, double omega, double tol, int maxIter) {
+        return createIterator(a, b, x0, omega, ConvergencePolicy.of(tol, maxIter));
+    }
+
+    /**
+     * 按收敛策略创建指定 omega 的迭代器.
+     */
+    public Iterator<VectorIterationState> createIterator(RealMatrix a, RealVector b, RealVector x0, double omega, ConvergencePolicy policy) {
+        return createIterator(DenseOperator.of(a), b, x0, omega, policy);
+    }
+
+    /**
+     * 以线性算子代替矩阵, 按收敛策略创建指定 omega 的迭代器.
+     * @throws IllegalArgumentException 算子不支持按行访问时
+     */
+    public Iterator<VectorIterationState> createIterator(LinearOperator a, RealVector b, RealVector x0, double omega, ConvergencePolicy policy) {
+        WorkspaceIterator.requireRowAccess(a, getName());
+        return new WorkspaceIterator(a, b, x0, policy) {
+            private final double[] residual = new double[n];
+            private final double[] delta = new double[n];
+            private final MulticolorOrdering ordering = MulticolorOrdering.orNull(pool, op);
 
             @Override
-            public boolean hasNext() {
-                if (k == 0) return true;
-                return k <= maxIter && residualNorm > tol;
+            protected boolean restartable() {
+                return true;
             }
 
             @Override
-            public VectorIterationState next() {
-                if (k == 0) {
-                    k++;
-                    return new VectorIterationState(0, x0.copy(), residualNorm);
-                }
+            protected double sweep() {
+                return ordering == null ? relaxationSweep(omega, residual, delta) : multicolorSweep(omega, ordering, pool, delta);
+            }
+        };
+    }
+
+    /**
+     * 自适应 SOR: 自动估计并在线调整最优松弛因子.
+     * 先以 POWER_STEPS 步幂迭代估计雅可比迭代矩阵 J = I - D^{-1}·A 的谱半径 ρ,
+     * 取 ω = 2 / (1 + sqrt(1 - ρ²)) (对相容次序矩阵即最优值; 幂迭代步数有限, ρ 通常偏小, ω 偏保守).
+     * 迭代中按窗口统计修正量的平均收缩比 δ (相邻两个窗口一致时才采用), 若 δ 明显大于最优 SOR 应有的收敛因子 ω - 1 (δ > (ω-1)^0.75),
+     * 说明 ρ 被低估, 按 ρ² = (δ + ω - 1)² / (δ·ω²) 重新估计并增大 ω; 若修正量持续增长则退回上一个 ω.
+     *
+     * @param omegaListener 每次选定或调整 ω 时被调用, 参数为新的 ω
+     * @return 包含迭代状态的迭代器
+     */
+    public Iterator<VectorIterationState> createAdaptiveIterator(RealMatrix a, RealVector b, RealVector x0, double tol, int maxIter,
+                                                                 DoubleConsumer omegaListener) {
+        return createAdaptiveIterator(DenseOperator.of(a), b, x0, ConvergencePolicy.of(tol, maxIter), omegaListener);
+    }
+
+    /**
+     * 以线性算子代替矩阵的自适应 SOR.
+     * @throws IllegalArgumentException 算子不支持按行访问时
+     */
+    public Iterator<VectorIterationState> createAdaptiveIterator(LinearOperator a, RealVector b, RealVector x0, double tol, int maxIter,
+                                                                 DoubleConsumer omegaListener) {
+        return createAdaptiveIterator(a, b, x0, ConvergencePolicy.of(tol, maxIter), omegaListener);
+    }
 
-                RealVector x_old = x.copy();
+    /**
+     * 按收敛策略创建自适应 SOR 迭代器. ω 的调整只依赖修正量, 与残差检查间隔无关.
+     */
+    public Iterator<VectorIterationState> createAdaptiveIterator(RealMatrix a, RealVector b, RealVector x0, ConvergencePolicy policy,
+                                                                 DoubleConsumer omegaListener) {
+        return createAdaptiveIterator(DenseOperator.of(a), b, x0, policy, omegaListener);
+    }
 
-                for (int i = 0; i < a.getRowDimension(); i++) {
-                    double sigma1 = 0;
-                    for (int j = 0; j < i; j++) {
-                        sigma1 += a.getEntry(i, j) * x.getEntry(j);
+    /**
+     * 以线性算子代替矩阵, 按收敛策略创建自适应 SOR 迭代器.
+     * @throws IllegalArgumentException 算子不支持按行访问时
+     */
+    public Iterator<VectorIterationState> createAdaptiveIterator(LinearOperator a, RealVector b, RealVector x0, ConvergencePolicy policy,
+                                                                 DoubleConsumer omegaListener) {
+        WorkspaceIterator.requireRowAccess(a, getName());
+        return new WorkspaceIterator(a, b, x0, policy) {
+            private final double[] residual = new double[n];
+            private final double[] delta = new double[n];
+            private final MulticolorOrdering ordering = MulticolorOrdering.orNull(pool, op);
+            /** 最近 2·WINDOW + 1 次扫描的修正量范数 (环形缓冲). */
+            private final double[] updates = new double[2 * WINDOW + 1];
+            private double omega;
+            private double previousOmega = 1.0;
+            private int sweepsSinceChange = 0;
+            /** 估计已稳定或修正量持续增长后不再调整. */
+            private boolean frozen = false;
+
+            {
+                double rho = estimateJacobiSpectralRadius(residual, delta);
+                setOmega(rho < 1.0 ? optimalOmega(rho * rho) : 1.0);
+            }
+
+            @Override
+            protected double sweep() {
+                double norm = ordering == null ? relaxationSweep(omega, residual, delta) : multicolorSweep(omega, ordering, pool, delta);
+                double update = 0.0;
+                for (int i = 0; i < n; i++) {
+                    update = Math.max(update, Math.abs(delta[i]));
+                }
+                updates[sweepsSinceChange % updates.length] = update;
+                sweepsSinceChange++;
+                if (!frozen && sweepsSinceChange > 2 * WINDOW) {
+                    double middle = updates[(sweepsSinceChange - 1 - WINDOW) % updates.length];
+                    double oldest = updates[(sweepsSinceChange - 1 - 2 * WINDOW) % updates.length];
+                    if (oldest > 0.0 && middle > 0.0 && update > 0.0) {
+                        double ratio = Math.pow(update / middle, 1.0 / WINDOW);
+                        double previous = Math.pow(middle / oldest, 1.0 / WINDOW);
+                        // 相邻两个窗口的收缩比一致, 才认为已进入渐近阶段
+                        if (ratio >= 1.0 && previous >= 1.0 || Math.abs(ratio - previous) <= STABLE_TOLERANCE * ratio) {
+                            tune(ratio);
+                        }
                     }
+                }
+                return norm;
+            }
 
-                    double sigma2 = 0;
-                    for (int j = i + 1; j < a.getColumnDimension(); j++) {
-                        sigma2 += a.getEntry(i, j) * x_old.getEntry(j);
+            /** @param ratio 最近 WINDOW 次扫描修正量的平均收缩比 */
+            private void tune(double ratio) {
+                if (ratio >= 1.0) {
+                    if (omega > 1.0) {
+                        // 修正量持续增长: 退回上一个收敛的 ω, 不再调整
+                        frozen = true;
+                        setOmega(previousOmega);
+                    }
+                } else if (ratio > Math.pow(omega - 1.0, RETUNE_EXPONENT)) {
+                    double rhoSquared = (ratio + omega - 1.0) * (ratio + omega - 1.0) / (ratio * omega * omega);
+                    if (rhoSquared < 1.0) {
+                        // δ 接近 1 时估计对噪声很敏感, 每次至多走到 ω 与 2 的中点
+                        double candidate = Math.min(optimalOmega(rhoSquared), (omega + 2.0) / 2.0);
+                        if (candidate < omega + MIN_RETUNE_STEP) {
+                            // 估计已趋于稳定; 越过 ω_opt 后的瞬态会让 δ 偏大, 继续上调只会越调越大
+                            frozen = true;
+                        } else {
+                            previousOmega = omega;
+                            setOmega(candidate);
+                        }
                     }
+                }
+            }
 
-                    double gs_component = (b.getEntry(i) - sigma1 - sigma2) / a.getEntry(i, i);
+            private void setOmega(double value) {
+                omega = value;
+                sweepsSinceChange = 0;
+                omegaListener.accept(value);
+            }
 
-                    double new_xi = (1 - omega) * x_old.getEntry(i) + omega * gs_component;
-                    x.setEntry(i, new_xi);
+            /**
+             * 以确定的伪随机向量为初值做幂迭代, 用隔两步的范数比 sqrt(||J²·v|| / ||v||) 估计 ρ(J),
+             * 这样对相容次序矩阵成对出现的 ±ρ 特征值也能稳定估计. 借用两个工作数组, 不影响 x.
+             */
+            private double estimateJacobiSpectralRadius(double[] v, double[] w) {
+                Random random = new Random(n);
+                for (int i = 0; i < n; i++) v[i] = random.nextDouble() - 0.5;
+                double[] norms = new double[POWER_STEPS + 1];
+                norms[0] = 1.0;
+                double scale = 1.0;
+                for (int k = 1; k <= POWER_STEPS; k++) {
+                    multiply(v, w);
+                    double max = 0.0;
+                    for (int i = 0; i < n; i++) {
+                        w[i] = v[i] - w[i] / diagonal[i];
+                        max = Math.max(max, Math.abs(w[i]));
+                    }
+                    if (max == 0.0) return 0.0;
+                    // 每步归一化, norms 记录累计增长因子的对数, 避免上溢/下溢
+                    scale += Math.log(max);
+                    norms[k] = scale;
+                    for (int i = 0; i < n; i++) v[i] = w[i] / max;
                 }
-
-                residualNorm = a.operate(x).subtract(b).getNorm();
-                return new VectorIterationState(k++, x.copy(), residualNorm);
+                return Math.exp((norms[POWER_STEPS] - norms[POWER_STEPS - 2]) / 2.0);
             }
         };
     }
-}
\ No newline at end of file
+
+    /** ω_opt = 2 / (1 + sqrt(1 - ρ²)). */
+    private static double optimalOmega(double rhoSquared) {
+        return 2.0 / (1.0 + Math.sqrt(1.0 - rhoSquared));
+    }
+}
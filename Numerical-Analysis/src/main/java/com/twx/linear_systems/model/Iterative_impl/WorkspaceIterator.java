@@ -0,0 +1,305 @@
+// 文件路径: src/main/java/com/twx/linear_systems/model/Iterative_impl/WorkspaceIterator.java
+package com.twx.linear_systems.model.Iterative_impl;
+
+import com.twx.linear_systems.model.ConvergencePolicy;
+import com.twx.linear_systems.model.LinearOperator;
+import com.twx.linear_systems.model.Operator_impl.DenseOperator;
+import com.twx.linear_systems.model.Preconditioner;
+import com.twx.linear_systems.model.VectorIterationState;
+import org.apache.commons.math3.linear.ArrayRealVector;
+import org.apache.commons.math3.linear.RealVector;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * 迭代法 (定常迭代法与 Krylov 子空间法) 的公共迭代器.
+ * 矩阵和向量只在创建时读入 double[] 一次, 此后每一步都只在预先分配的工作数组上原地计算,
+ * 不再产生与 n 相关的临时对象; 返回的状态直接包装内部的迭代向量 (见 {@link VectorIterationState#snapshot()}).
+ * 子类只需实现一步迭代 {@link #sweep()}, 并在其中顺带计算新迭代向量的残差;
+ * 按收敛策略本步不需要残差时 ({@link #residualDue()} 为 false), 定常迭代可以跳过残差, 只报告修正量.
+ * 系数矩阵以 {@link LinearOperator} 给出; 稠密矩阵 ({@link DenseOperator}) 另有直接访问元素的快速路径.
+ */
+abstract class WorkspaceIterator implements Iterator<VectorIterationState> {
+
+    protected final LinearOperator op;
+    /** 稠密矩阵的行数组; 其他算子为 null. */
+    protected final double[][] a;
+    protected final double[] diagonal;
+    protected final double[] b;
+    protected final int n;
+    /** 当前迭代向量, 原地更新. */
+    protected final double[] x;
+    private final RealVector view;
+    private final ConvergenceMonitor monitor;
+    /** 非稠密算子计算残差范数时使用的工作数组, 首次需要时分配. */
+    private double[] product;
+
+    private int k = 0;
+    private double residualNorm;
+    /** 本步的修正量 ||x_k - x_{k-1}||∞, 由子类通过 {@link #reportUpdate} 报告. */
+    private double updateNorm = Double.NaN;
+
+    /** {@link #sweep()} 的返回值: 本步没有计算残差. */
+    protected static final double SKIPPED = -1.0;
+
+    WorkspaceIterator(LinearOperator op, RealVector b, RealVector x0, ConvergencePolicy policy) {
+        this.op = op;
+        this.a = (op instanceof DenseOperator dense) ? dense.data() : null;
+        this.b = b.toArray();
+        this.n = this.b.length;
+        if (op.dimension() != n || x0.getDimension() != n) {
+            throw new IllegalArgumentException(String.format("维数不一致: 算子 %d, b %d, x0 %d", op.dimension(), n, x0.getDimension()));
+        }
+        this.diagonal = new double[n];
+        for (int i = 0; i < n; i++) {
+            diagonal[i] = op.diagonal(i);
+        }
+        this.x = x0.toArray();
+        this.view = new ArrayRealVector(x, false);
+        this.residualNorm = residualNorm(x);
+        this.monitor = new ConvergenceMonitor(policy, residualNorm);
+    }
+
+    /**
+     * 逐行更新的方法 (高斯-赛德尔/SOR) 在创建迭代器前检查算子.
+     * @throws IllegalArgumentException 算子不支持按行访问时
+     */
+    static void requireRowAccess(LinearOperator op, String solverName) {
+        if (!op.hasRowAccess()) {
+            throw new IllegalArgumentException(solverName + " 需要能按行访问的线性算子");
+        }
+    }
+
+    /**
+     * @throws UnsupportedOperationException 不支持预处理的求解器收到了预处理子时
+     */
+    static void rejectPreconditioner(Preconditioner m, String solverName) {
+        if (m != null) {
+            throw new UnsupportedOperationException(solverName + " 不支持预处理");
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+        // 首次调用 next() 总是返回初始状态
+        if (k == 0) return true;
+        return monitor.isRunning();
+    }
+
+    @Override
+    public VectorIterationState next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        if (k > 0) {
+            updateNorm = Double.NaN;
+            double result = sweep();
+            residualNorm = (result == SKIPPED) ? Double.NaN : result;
+            if (monitor.isRunning()) {
+                if (result == SKIPPED) {
+                    monitor.recordUpdate(k, updateNorm);
+                } else {
+                    monitor.recordResidual(k, result);
+                }
+            }
+        }
+        return new VectorIterationState(k++, view, residualNorm, updateNorm, monitor.status());
+    }
+
+    /**
+     * 由子类在算法无法继续时调用 (如 Krylov 方法的分母为零), 当前状态成为最后一个状态.
+     */
+    protected final void breakdown() {
+        monitor.breakdown();
+    }
+
+    /**
+     * 定常迭代 x ← G(x) 只依赖当前的 x, 可以由加速器 ({@link AndersonAccelerator}, {@link ChebyshevAccelerator})
+     * 在两步之间替换迭代向量. 子类支持时返回 true, 并在 {@link #restart()} 中刷新缓存的与 x 相关的量.
+     */
+    protected boolean restartable() {
+        return false;
+    }
+
+    /** 迭代向量被 {@link #moveTo} 替换后调用; 默认没有需要刷新的量. */
+    protected void restart() {
+    }
+
+    /**
+     * 以 y 替换当前迭代向量, 下一次 {@link #next()} 从 y 开始迭代.
+     * @throws UnsupportedOperationException 子类不支持替换时
+     */
+    final void moveTo(double[] y) {
+        if (!restartable()) {
+            throw new UnsupportedOperationException("该迭代不支持从外部替换迭代向量");
+        }
+        System.arraycopy(y, 0, x, 0, n);
+        restart();
+    }
+
+    /** 当前迭代向量 (只读), 供加速器读取. */
+    final double[] iterate() {
+        return x;
+    }
+
+    /**
+     * 本步 (正在执行的 sweep) 是否必须计算残差. 返回 false 时 sweep 可以返回 {@link #SKIPPED},
+     * 但必须用 {@link #reportUpdate} 报告修正量.
+     */
+    protected final boolean residualDue() {
+        return monitor.residualDue(k);
+    }
+
+    /** 报告本步的修正量 ||x_k - x_{k-1}||∞. */
+    protected final void reportUpdate(double norm) {
+        updateNorm = norm;
+    }
+
+    /** out = A·v. */
+    protected final void multiply(double[] v, double[] out) {
+        op.apply(v, out);
+    }
+
+    protected static double dot(double[] u, double[] v) {
+        double sum = 0.0;
+        for (int i = 0; i < u.length; i++) {
+            sum += u[i] * v[i];
+        }
+        return sum;
+    }
+
+    /**
+     * 原地完成一次迭代扫描.
+     * @return 新迭代向量的残差 ||A·x - b||_2
+     */
+    protected abstract double sweep();
+
+    /** 一次遍历计算 r = b - A·x 并返回 ||r||_2. */
+    protected final double residual(double[] r) {
+        if (a == null) {
+            op.apply(x, r);
+            double sumSq = 0.0;
+            for (int i = 0; i < n; i++) {
+                r[i] = b[i] - r[i];
+                sumSq += r[i] * r[i];
+            }
+            return Math.sqrt(sumSq);
+        }
+        double sumSq = 0.0;
+        for (int i = 0; i < n; i++) {
+            double[] row = a[i];
+            double sum = b[i];
+            for (int j = 0; j < n; j++) {
+                sum -= row[j] * x[j];
+            }
+            r[i] = sum;
+            sumSq += sum * sum;
+        }
+        return Math.sqrt(sumSq);
+    }
+
+    /** 一次遍历计算 ||A·v - b||_2, 不分配临时向量. */
+    protected final double residualNorm(double[] v) {
+        if (a == null) {
+            if (product == null) product = new double[n];
+            op.apply(v, product);
+            double sumSq = 0.0;
+            for (int i = 0; i < n; i++) {
+                double r = product[i] - b[i];
+                sumSq += r * r;
+            }
+            return Math.sqrt(sumSq);
+        }
+        double sumSq = 0.0;
+        for (int i = 0; i < n; i++) {
+            double[] row = a[i];
+            double r = -b[i];
+            for (int j = 0; j < n; j++) {
+                r += row[j] * v[j];
+            }
+            sumSq += r * r;
+        }
+        return Math.sqrt(sumSq);
+    }
+
+    /**
+     * 高斯-赛德尔型扫描 (omega = 1 时即高斯-赛德尔) 并融合计算残差.
+     * 扫描第 i 行时已得到 r_i' = b_i - Σ_{j<i} a_ij·x_j(新) - Σ_{j>=i} a_ij·x_j(旧) - a_ii·δ_i,
+     * 新残差只差上三角部分的修正: r_i = r_i' - Σ_{j>i} a_ij·δ_j, 其中 δ = x(新) - x(旧),
+     * 因此只需再遍历一次上三角, 而不是重新做一次完整的矩阵-向量乘法.
+     * 非稠密算子逐行调用 {@link LinearOperator#rowDot}, 扫描后以一次算子乘法计算残差.
+     * 本步不需要残差时只做扫描, 返回 {@link #SKIPPED}.
+     * @param residual 长度为 n 的工作数组
+     * @param delta    长度为 n 的工作数组
+     */
+    protected final double relaxationSweep(double omega, double[] residual, double[] delta) {
+        boolean due = residualDue();
+        if (a == null || !due) {
+            double update = 0.0;
+            for (int i = 0; i < n; i++) {
+                double d = omega * (b[i] - op.rowDot(i, x)) / diagonal[i];
+                x[i] += d;
+                delta[i] = d;
+                update = Math.max(update, Math.abs(d));
+            }
+            reportUpdate(update);
+            return due ? residual(residual) : SKIPPED;
+        }
+        double update = 0.0;
+        for (int i = 0; i < n; i++) {
+            double[] row = a[i];
+            double sum = b[i];
+            for (int j = 0; j < n; j++) {
+                sum -= row[j] * x[j];
+            }
+            // sum = b_i - Σ_{j<i} a_ij·x_j(新) - Σ_{j>=i} a_ij·x_j(旧)
+            double d = omega * sum / row[i];
+            x[i] += d;
+            delta[i] = d;
+            residual[i] = sum - row[i] * d;
+            update = Math.max(update, Math.abs(d));
+        }
+        reportUpdate(update);
+        double sumSq = 0.0;
+        for (int i = 0; i < n; i++) {
+            double[] row = a[i];
+            double r = residual[i];
+            for (int j = i + 1; j < n; j++) {
+                r -= row[j] * delta[j];
+            }
+            sumSq += r * r;
+        }
+        return Math.sqrt(sumSq);
+    }
+
+    /**
+     * 多色排序的高斯-赛德尔型扫描: 依次处理每一类颜色, 同色的行互不耦合, 在线程池上并行更新.
+     * 扫描顺序与自然顺序不同, 因此不能使用上三角修正计算残差, 改为扫描后按行并行计算一次完整残差.
+     * @param delta 长度为 n 的工作数组, 输出本次扫描的修正量 x(新) - x(旧)
+     */
+    protected final double multicolorSweep(double omega, MulticolorOrdering ordering, ForkJoinPool pool, double[] delta) {
+        for (int[] rows : ordering.classes()) {
+            ParallelRows.sum(pool, 0, rows.length, t -> {
+                int i = rows[t];
+                double d = omega * (b[i] - op.rowDot(i, x)) / diagonal[i];
+                x[i] += d;
+                delta[i] = d;
+                return 0.0;
+            });
+        }
+        double update = 0.0;
+        for (int i = 0; i < n; i++) {
+            update = Math.max(update, Math.abs(delta[i]));
+        }
+        reportUpdate(update);
+        if (!residualDue()) {
+            return SKIPPED;
+        }
+        return Math.sqrt(ParallelRows.sum(pool, 0, n, i -> {
+            double r = op.rowDot(i, x) - b[i];
+            return r * r;
+        }));
+    }
+}
@@ -0,0 +1,57 @@
+// 文件路径: src/main/java/com/twx/linear_systems/model/LinearOperator.java
+package com.twx.linear_systems.model;
+
+/**
+ * 无需显式存储的线性算子 y = A·x.
+ * 迭代法只需要矩阵-向量乘法和对角元, 因此模板 (差分格式) 生成的大规模问题可以在乘法时现场计算系数,
+ * 不必构造 n×n 的矩阵. 高斯-赛德尔/SOR 等逐行更新的方法还需要按行访问 ({@link #hasRowAccess()}).
+ * 实现应当是只读的, 多个线程可以同时调用 apply / rowDot.
+ */
+public interface LinearOperator {
+
+    /**
+     * @return 方阵的阶数 n
+     */
+    int dimension();
+
+    /**
+     * y = A·x, 不分配内存.
+     * @param x 输入向量 (不会被修改)
+     * @param y 输出, 不能与 x 是同一个数组
+     */
+    void apply(double[] x, double[] y);
+
+    /**
+     * @return 对角元 a_ii
+     */
+    double diagonal(int i);
+
+    /**
+     * 是否支持 {@link #rowDot} 与 {@link #forEachInRow}.
+     */
+    default boolean hasRowAccess() {
+        return false;
+    }
+
+    /**
+     * @return 第 i 行与 x 的内积 Σ_j a_ij·x_j
+     * @throws UnsupportedOperationException 不支持按行访问时
+     */
+    default double rowDot(int i, double[] x) {
+        throw new UnsupportedOperationException("该线性算子不支持按行访问");
+    }
+
+    /**
+     * 按列号升序访问第 i 行的非零元.
+     * @throws UnsupportedOperationException 不支持按行访问时
+     */
+    default void forEachInRow(int i, RowVisitor visitor) {
+        throw new UnsupportedOperationException("该线性算子不支持按行访问");
+    }
+
+    /** 行元素的访问回调. */
+    @FunctionalInterface
+    interface RowVisitor {
+        void accept(int column, double value);
+    }
+}
@@ -0,0 +1,85 @@
+// 文件路径: src/main/java/com/twx/linear_systems/model/Operator_impl/DenseOperator.java
+package com.twx.linear_systems.model.Operator_impl;
+
+import com.twx.linear_systems.model.LinearOperator;
+import org.apache.commons.math3.linear.Array2DRowRealMatrix;
+import org.apache.commons.math3.linear.RealMatrix;
+
+/**
+ * 稠密矩阵的线性算子视图. 迭代法的 RealMatrix 接口都经由 {@link #of} 转到 {@link LinearOperator} 接口.
+ */
+public final class DenseOperator implements LinearOperator {
+
+    private final double[][] a;
+
+    /**
+     * Array2DRowRealMatrix 直接引用其内部数组 (只读), 其他实现复制一份.
+     */
+    public DenseOperator(RealMatrix matrix) {
+        if (!matrix.isSquare()) {
+            throw new IllegalArgumentException("系数矩阵必须是方阵");
+        }
+        this.a = (matrix instanceof Array2DRowRealMatrix dense) ? dense.getDataRef() : matrix.getData();
+    }
+
+    /**
+     * 迭代法的转换入口: 本身已是线性算子的矩阵 (如 {@link OffHeapDenseMatrix}) 直接使用, 不复制到堆上;
+     * 其他矩阵包装为 DenseOperator.
+     */
+    public static LinearOperator of(RealMatrix matrix) {
+        if (matrix instanceof LinearOperator operator) {
+            if (!matrix.isSquare()) {
+                throw new IllegalArgumentException("系数矩阵必须是方阵");
+            }
+            return operator;
+        }
+        return new DenseOperator(matrix);
+    }
+
+    /**
+     * @return 矩阵的行数组 (只读), 供需要直接访问元素的快速路径使用
+     */
+    public double[][] data() {
+        return a;
+    }
+
+    @Override
+    public int dimension() {
+        return a.length;
+    }
+
+    @Override
+    public void apply(double[] x, double[] y) {
+        for (int i = 0; i < a.length; i++) {
+            y[i] = rowDot(i, x);
+        }
+    }
+
+    @Override
+    public double diagonal(int i) {
+        return a[i][i];
+    }
+
+    @Override
+    public boolean hasRowAccess() {
+        return true;
+    }
+
+    @Override
+    public double rowDot(int i, double[] x) {
+        double[] row = a[i];
+        double sum = 0.0;
+        for (int j = 0; j < row.length; j++) {
+            sum += row[j] * x[j];
+        }
+        return sum;
+    }
+
+    @Override
+    public void forEachInRow(int i, RowVisitor visitor) {
+        double[] row = a[i];
+        for (int j = 0; j < row.length; j++) {
+            if (row[j] != 0.0) visitor.accept(j, row[j]);
+        }
+    }
+}
@@ -0,0 +1,342 @@
+// 文件路径: src/main/java/com/twx/linear_systems/model/Operator_impl/OffHeapDenseMatrix.java
+package com.twx.linear_systems.model.Operator_impl;
+
+import com.twx.linear_systems.model.LinearOperator;
+import org.apache.commons.math3.linear.AbstractRealMatrix;
+import org.apache.commons.math3.linear.Array2DRowRealMatrix;
+import org.apache.commons.math3.linear.RealMatrix;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * 存放在堆外 (直接缓冲区) 的可写稠密矩阵, 按行存放, 用于堆放不下或不希望给垃圾回收增加负担的大规模方程组
+ * (20000×20000 的矩阵约 3.2 GB, 需要用 -XX:MaxDirectMemorySize 放宽直接内存上限).
+ * <p>
+ * 生命周期是显式的: 用完后调用 {@link #close()} 立即释放内存 (推荐 try-with-resources), 之后的任何访问都抛出
+ * {@link IllegalStateException}. 未关闭的矩阵在不可达后由垃圾回收释放. 关闭时不能有其他线程仍在访问它.
+ * <p>
+ * 作为 {@link LinearOperator} (须为方阵) 可以直接交给迭代法; 高斯列主元消元法对它在堆外原地分解.
+ * 按行批量读写 ({@link #getRow}, {@link #setRow}) 与行操作 ({@link #swapRows}, {@link #dotRow}, {@link #addScaledRowTo})
+ * 供分解使用, 不同的行可以由多个线程同时读写. 它同时是 RealMatrix 与 LinearOperator, 传给两种参数都有重载的方法时
+ * 需要写明类型 (如 {@code (LinearOperator) matrix}). 由 AbstractRealMatrix 继承的矩阵运算 (加法、乘法等) 的结果放在堆上.
+ */
+public final class OffHeapDenseMatrix extends AbstractRealMatrix implements LinearOperator, AutoCloseable {
+
+    /** 单个直接缓冲区的最大字节数; 每块只存放整行, 行内访问不跨块. */
+    private static final long MAX_CHUNK_BYTES = 1L << 30;
+
+    private final int rows;
+    private final int columns;
+    private final int rowsPerChunk;
+    private final ByteBuffer[] chunks;
+    private volatile boolean closed;
+
+    /**
+     * 分配一个元素全为零的矩阵.
+     * @throws IllegalArgumentException 维数不是正数, 或一行超过单个缓冲区的上限时
+     */
+    public OffHeapDenseMatrix(int rows, int columns) {
+        super(rows, columns);
+        long rowBytes = (long) columns * Double.BYTES;
+        if (rowBytes > MAX_CHUNK_BYTES) {
+            throw new IllegalArgumentException("矩阵的列数过多: " + columns);
+        }
+        this.rows = rows;
+        this.columns = columns;
+        this.rowsPerChunk = (int) Math.min(rows, MAX_CHUNK_BYTES / rowBytes);
+        this.chunks = new ByteBuffer[(rows + rowsPerChunk - 1) / rowsPerChunk];
+        for (int c = 0; c < chunks.length; c++) {
+            int chunkRows = Math.min(rowsPerChunk, rows - c * rowsPerChunk);
+            chunks[c] = ByteBuffer.allocateDirect((int) (chunkRows * rowBytes)).order(ByteOrder.nativeOrder());
+        }
+    }
+
+    /**
+     * 把任意矩阵逐行复制到堆外 (不会整体复制到堆上).
+     */
+    public static OffHeapDenseMatrix copyOf(RealMatrix matrix) {
+        OffHeapDenseMatrix copy = new OffHeapDenseMatrix(matrix.getRowDimension(), matrix.getColumnDimension());
+        if (matrix instanceof OffHeapDenseMatrix source) {
+            source.checkOpen();
+            for (int c = 0; c < copy.chunks.length; c++) {
+                copy.chunks[c].put(0, source.chunks[c], 0, source.chunks[c].capacity());
+            }
+            return copy;
+        }
+        double[] row = new double[copy.columns];
+        for (int i = 0; i < copy.rows; i++) {
+            for (int j = 0; j < copy.columns; j++) {
+                row[j] = matrix.getEntry(i, j);
+            }
+            copy.setRow(i, row);
+        }
+        return copy;
+    }
+
+    /** 堆外占用的字节数. */
+    public long sizeInBytes() {
+        return (long) rows * columns * Double.BYTES;
+    }
+
+    public boolean isClosed() {
+        return closed;
+    }
+
+    /**
+     * 立即释放堆外内存. 可以重复调用.
+     */
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        for (int c = 0; c < chunks.length; c++) {
+            Cleaner.free(chunks[c]);
+            chunks[c] = null;
+        }
+    }
+
+    @Override
+    public int getRowDimension() {
+        return rows;
+    }
+
+    @Override
+    public int getColumnDimension() {
+        return columns;
+    }
+
+    @Override
+    public double getEntry(int row, int column) {
+        checkIndex(row, column);
+        return chunk(row).getDouble(offset(row, column));
+    }
+
+    @Override
+    public void setEntry(int row, int column, double value) {
+        checkIndex(row, column);
+        chunk(row).putDouble(offset(row, column), value);
+    }
+
+    @Override
+    public void addToEntry(int row, int column, double increment) {
+        checkIndex(row, column);
+        ByteBuffer chunk = chunk(row);
+        int offset = offset(row, column);
+        chunk.putDouble(offset, chunk.getDouble(offset) + increment);
+    }
+
+    @Override
+    public void multiplyEntry(int row, int column, double factor) {
+        checkIndex(row, column);
+        ByteBuffer chunk = chunk(row);
+        int offset = offset(row, column);
+        chunk.putDouble(offset, chunk.getDouble(offset) * factor);
+    }
+
+    @Override
+    public RealMatrix createMatrix(int rowDimension, int columnDimension) {
+        return new Array2DRowRealMatrix(rowDimension, columnDimension);
+    }
+
+    /** 堆外的副本, 同样需要关闭. */
+    @Override
+    public OffHeapDenseMatrix copy() {
+        return copyOf(this);
+    }
+
+    /** 复制到堆上. */
+    @Override
+    public double[][] getData() {
+        double[][] copy = new double[rows][];
+        for (int i = 0; i < rows; i++) {
+            copy[i] = new double[columns];
+            getRow(i, copy[i]);
+        }
+        return copy;
+    }
+
+    /**
+     * 把第 i 行读入 dst.
+     */
+    public void getRow(int i, double[] dst) {
+        getRow(i, 0, columns, dst);
+    }
+
+    /**
+     * 把第 i 行的 [from, to) 部分批量读入 dst 的相同位置.
+     */
+    public void getRow(int i, int from, int to, double[] dst) {
+        checkRow(i);
+        chunk(i).asDoubleBuffer().get(offset(i, from) / Double.BYTES, dst, from, to - from);
+    }
+
+    /**
+     * 用 src 覆盖第 i 行.
+     */
+    public void setRow(int i, double[] src) {
+        setRow(i, 0, columns, src);
+    }
+
+    /**
+     * 用 src 的 [from, to) 部分批量覆盖第 i 行的相同位置.
+     */
+    public void setRow(int i, int from, int to, double[] src) {
+        checkRow(i);
+        chunk(i).asDoubleBuffer().put(offset(i, from) / Double.BYTES, src, from, to - from);
+    }
+
+    /**
+     * 交换两行的元素.
+     */
+    public void swapRows(int i, int k) {
+        checkRow(i);
+        checkRow(k);
+        if (i == k) return;
+        ByteBuffer a = chunk(i);
+        ByteBuffer b = chunk(k);
+        int offsetA = offset(i, 0);
+        int offsetB = offset(k, 0);
+        for (int j = 0; j < columns; j++, offsetA += Double.BYTES, offsetB += Double.BYTES) {
+            double temp = a.getDouble(offsetA);
+            a.putDouble(offsetA, b.getDouble(offsetB));
+            b.putDouble(offsetB, temp);
+        }
+    }
+
+    /**
+     * @return 第 i 行的 [from, to) 部分与 x 对应部分的内积
+     */
+    public double dotRow(int i, double[] x, int from, int to) {
+        checkRow(i);
+        ByteBuffer chunk = chunk(i);
+        int offset = offset(i, from);
+        double sum = 0.0;
+        for (int j = from; j < to; j++, offset += Double.BYTES) {
+            sum += chunk.getDouble(offset) * x[j];
+        }
+        return sum;
+    }
+
+    /**
+     * y 的 [from, to) 部分加上第 i 行对应部分的 alpha 倍 (按列访问转置矩阵时使用).
+     */
+    public void addScaledRowTo(int i, double alpha, double[] y, int from, int to) {
+        checkRow(i);
+        ByteBuffer chunk = chunk(i);
+        int offset = offset(i, from);
+        for (int j = from; j < to; j++, offset += Double.BYTES) {
+            y[j] += alpha * chunk.getDouble(offset);
+        }
+    }
+
+    /**
+     * @throws IllegalStateException 矩阵不是方阵时
+     */
+    @Override
+    public int dimension() {
+        if (rows != columns) {
+            throw new IllegalStateException(String.format("只有方阵可以作为线性算子: %d×%d", rows, columns));
+        }
+        return rows;
+    }
+
+    @Override
+    public void apply(double[] x, double[] y) {
+        for (int i = 0; i < rows; i++) {
+            y[i] = dotRow(i, x, 0, columns);
+        }
+    }
+
+    @Override
+    public double diagonal(int i) {
+        return getEntry(i, i);
+    }
+
+    @Override
+    public boolean hasRowAccess() {
+        return true;
+    }
+
+    @Override
+    public double rowDot(int i, double[] x) {
+        return dotRow(i, x, 0, columns);
+    }
+
+    @Override
+    public void forEachInRow(int i, RowVisitor visitor) {
+        checkRow(i);
+        ByteBuffer chunk = chunk(i);
+        int offset = offset(i, 0);
+        for (int j = 0; j < columns; j++, offset += Double.BYTES) {
+            double value = chunk.getDouble(offset);
+            if (value != 0.0) {
+                visitor.accept(j, value);
+            }
+        }
+    }
+
+    private ByteBuffer chunk(int row) {
+        return chunks[row / rowsPerChunk];
+    }
+
+    private int offset(int row, int column) {
+        return ((row % rowsPerChunk) * columns + column) * Double.BYTES;
+    }
+
+    private void checkOpen() {
+        if (closed) {
+            throw new IllegalStateException("堆外矩阵已经关闭");
+        }
+    }
+
+    private void checkRow(int row) {
+        checkOpen();
+        if (row < 0 || row >= rows) {
+            throw new IndexOutOfBoundsException(String.format("第 %d 行超出 %d×%d 矩阵的范围", row, rows, columns));
+        }
+    }
+
+    private void checkIndex(int row, int column) {
+        checkOpen();
+        if (row < 0 || row >= rows || column < 0 || column >= columns) {
+            throw new IndexOutOfBoundsException(String.format("(%d, %d) 超出 %d×%d 矩阵的范围", row, column, rows, columns));
+        }
+    }
+
+    /**
+     * 立即释放直接缓冲区. Java 17 没有公开的释放接口 (MemorySegment 仍在孵化),
+     * 这里通过 sun.misc.Unsafe.invokeCleaner 释放; 不可用时只丢弃引用, 留给垃圾回收.
+     */
+    private static final class Cleaner {
+        private static final MethodHandle INVOKE_CLEANER = lookup();
+
+        private static MethodHandle lookup() {
+            try {
+                Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+                Field field = unsafeClass.getDeclaredField("theUnsafe");
+                field.setAccessible(true);
+                return MethodHandles.lookup()
+                        .findVirtual(unsafeClass, "invokeCleaner", MethodType.methodType(void.class, ByteBuffer.class))
+                        .bindTo(field.get(null));
+            } catch (ReflectiveOperationException | RuntimeException e) {
+                return null;
+            }
+        }
+
+        static void free(ByteBuffer buffer) {
+            if (INVOKE_CLEANER == null) return;
+            try {
+                INVOKE_CLEANER.invokeExact(buffer);
+            } catch (Throwable ignored) {
+                // 释放失败时留给垃圾回收
+            }
+        }
+    }
+}
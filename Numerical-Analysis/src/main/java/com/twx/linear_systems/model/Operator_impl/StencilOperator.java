@@ -0,0 +1,189 @@
+// 文件路径: src/main/java/com/twx/linear_systems/model/Operator_impl/StencilOperator.java
+package com.twx.linear_systems.model.Operator_impl;
+
+import com.twx.linear_systems.model.LinearOperator;
+
+/**
+ * 一维/二维结构网格上的常系数 3×3 模板算子, 乘法时现场计算, 只占 O(1) 内存.
+ * 网格按行优先编号: 第 (i, j) 个未知量 (0 <= i < nx, 0 <= j < ny) 的下标为 j·nx + i (与 MultigridSolver 一致);
+ * 越出网格的邻点取零 (齐次 Dirichlet 边界). 一维问题取 ny = 1, 只使用模板的中间一行.
+ */
+public final class StencilOperator implements LinearOperator {
+
+    private final int nx;
+    private final int ny;
+    private final int dimension;
+    private final double center;
+    /** 非零邻点的偏移和系数, 按下标偏移 dj·nx + di 升序排列. */
+    private final int[] di;
+    private final int[] dj;
+    private final int[] shift;
+    private final double[] weights;
+    /** 同一行左右邻点的系数 (一维问题只用到它们). */
+    private final double west;
+    private final double east;
+
+    /**
+     * @param stencil 3×3 模板, stencil[dj + 1][di + 1] 为邻点 (i + di, j + dj) 的系数
+     * @throws IllegalArgumentException 网格尺寸非正或未知量个数 nx·ny 超出 int 范围时
+     */
+    public StencilOperator(int nx, int ny, double[][] stencil) {
+        if (nx < 1 || ny < 1) {
+            throw new IllegalArgumentException("网格尺寸必须为正: " + nx + "×" + ny);
+        }
+        if (stencil.length != 3 || stencil[0].length != 3 || stencil[1].length != 3 || stencil[2].length != 3) {
+            throw new IllegalArgumentException("模板必须是 3×3 的");
+        }
+        if (stencil[1][1] == 0.0) {
+            throw new IllegalArgumentException("模板的中心系数不能为零");
+        }
+        try {
+            this.dimension = Math.multiplyExact(nx, ny);
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("网格过大, 未知量个数超出范围: " + nx + "×" + ny);
+        }
+        this.nx = nx;
+        this.ny = ny;
+        this.center = stencil[1][1];
+        this.west = stencil[1][0];
+        this.east = stencil[1][2];
+        int count = 0;
+        for (int y = 0; y < 3; y++) {
+            for (int x = 0; x < 3; x++) {
+                if ((x != 1 || y != 1) && stencil[y][x] != 0.0) count++;
+            }
+        }
+        di = new int[count];
+        dj = new int[count];
+        shift = new int[count];
+        weights = new double[count];
+        int k = 0;
+        for (int y = 0; y < 3; y++) {
+            for (int x = 0; x < 3; x++) {
+                if ((x != 1 || y != 1) && stencil[y][x] != 0.0) {
+                    di[k] = x - 1;
+                    dj[k] = y - 1;
+                    shift[k] = (y - 1) * nx + (x - 1);
+                    weights[k++] = stencil[y][x];
+                }
+            }
+        }
+    }
+
+    /** 一维泊松方程 -u'' = f 的三点差分格式 [-1 2 -1] (未除以 h²). */
+    public static StencilOperator laplacian1D(int n) {
+        return new StencilOperator(n, 1, new double[][]{{0, 0, 0}, {-1, 2, -1}, {0, 0, 0}});
+    }
+
+    /** 二维泊松方程的五点差分格式 (未除以 h²). */
+    public static StencilOperator laplacian2D(int nx, int ny) {
+        return new StencilOperator(nx, ny, new double[][]{{0, -1, 0}, {-1, 4, -1}, {0, -1, 0}});
+    }
+
+    /** 二维泊松方程的九点差分格式 (未除以 6h²). */
+    public static StencilOperator ninePointLaplacian(int nx, int ny) {
+        return new StencilOperator(nx, ny, new double[][]{{-1, -4, -1}, {-4, 20, -4}, {-1, -4, -1}});
+    }
+
+    public int nx() {
+        return nx;
+    }
+
+    public int ny() {
+        return ny;
+    }
+
+    @Override
+    public int dimension() {
+        return dimension;
+    }
+
+    /**
+     * 内部网格点不做越界判断, 只有边界上的一圈点逐个检查邻点.
+     */
+    @Override
+    public void apply(double[] x, double[] y) {
+        if (ny == 1) {
+            apply1D(x, y);
+            return;
+        }
+        for (int j = 0; j < ny; j++) {
+            boolean interiorRow = j > 0 && j < ny - 1;
+            int base = j * nx;
+            for (int i = 0; i < nx; i++) {
+                int p = base + i;
+                if (interiorRow && i > 0 && i < nx - 1) {
+                    double sum = center * x[p];
+                    for (int k = 0; k < shift.length; k++) {
+                        sum += weights[k] * x[p + shift[k]];
+                    }
+                    y[p] = sum;
+                } else {
+                    y[p] = boundaryDot(i, j, x);
+                }
+            }
+        }
+    }
+
+    /**
+     * 一维网格没有内部行, 上下两行的邻点总在网格之外; 除两个端点外直接用三点格式.
+     */
+    private void apply1D(double[] x, double[] y) {
+        y[0] = boundaryDot(0, 0, x);
+        for (int i = 1; i < nx - 1; i++) {
+            y[i] = west * x[i - 1] + center * x[i] + east * x[i + 1];
+        }
+        if (nx > 1) {
+            y[nx - 1] = boundaryDot(nx - 1, 0, x);
+        }
+    }
+
+    private double boundaryDot(int i, int j, double[] x) {
+        int p = j * nx + i;
+        double sum = center * x[p];
+        for (int k = 0; k < shift.length; k++) {
+            int ii = i + di[k];
+            int jj = j + dj[k];
+            if (ii >= 0 && ii < nx && jj >= 0 && jj < ny) {
+                sum += weights[k] * x[p + shift[k]];
+            }
+        }
+        return sum;
+    }
+
+    @Override
+    public double diagonal(int i) {
+        return center;
+    }
+
+    @Override
+    public boolean hasRowAccess() {
+        return true;
+    }
+
+    @Override
+    public double rowDot(int row, double[] x) {
+        return boundaryDot(row % nx, row / nx, x);
+    }
+
+    @Override
+    public void forEachInRow(int row, RowVisitor visitor) {
+        int i = row % nx;
+        int j = row / nx;
+        boolean centerVisited = false;
+        for (int k = 0; k < shift.length; k++) {
+            if (!centerVisited && shift[k] > 0) {
+                visitor.accept(row, center);
+                centerVisited = true;
+            }
+            int ii = i + di[k];
+            int jj = j + dj[k];
+            if (ii >= 0 && ii < nx && jj >= 0 && jj < ny) {
+                visitor.accept(row + shift[k], weights[k]);
+            }
+        }
+        if (!centerVisited) {
+            visitor.accept(row, center);
+        }
+    }
+}
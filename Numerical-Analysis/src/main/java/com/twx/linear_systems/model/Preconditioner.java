@@ -0,0 +1,18 @@
+// 文件路径: src/main/java/com/twx/linear_systems/model/Preconditioner.java
+package com.twx.linear_systems.model;
+
+/**
+ * 预处理子 M ≈ A. 由 {@link PreconditionerFactory} 针对某个矩阵构造一次, 此后每步迭代求解 M·z = r.
+ */
+public interface Preconditioner {
+
+    /** 不做预处理 (M = I). */
+    Preconditioner IDENTITY = (r, z) -> System.arraycopy(r, 0, z, 0, r.length);
+
+    /**
+     * 求解 M·z = r, 不分配内存.
+     * @param r 右端向量 (不会被修改)
+     * @param z 输出, 长度与 r 相同, 不能与 r 是同一个数组
+     */
+    void apply(double[] r, double[] z);
+}
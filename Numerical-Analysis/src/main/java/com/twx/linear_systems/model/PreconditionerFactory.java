@@ -0,0 +1,22 @@
+// 文件路径: src/main/java/com/twx/linear_systems/model/PreconditionerFactory.java
+package com.twx.linear_systems.model;
+
+import org.apache.commons.math3.linear.RealMatrix;
+
+/**
+ * 预处理子的构造器, 每种预处理方法一个实现, 在UI中按名称选择.
+ * 构造 (如不完全分解) 只在求解开始前进行一次, 其耗时应与迭代耗时分开统计.
+ */
+public interface PreconditionerFactory {
+
+    /**
+     * @return 预处理方法的名称, 用于在UI中显示
+     */
+    String getName();
+
+    /**
+     * 针对系数矩阵构造预处理子.
+     * @throws IllegalArgumentException 矩阵不满足该预处理方法的条件时 (如对角元为零、不完全分解失败)
+     */
+    Preconditioner build(RealMatrix a);
+}
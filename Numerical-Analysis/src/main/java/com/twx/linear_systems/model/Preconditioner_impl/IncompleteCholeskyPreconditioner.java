@@ -0,0 +1,65 @@
+// 文件路径: src/main/java/com/twx/linear_systems/model/Preconditioner_impl/IncompleteCholeskyPreconditioner.java
+package com.twx.linear_systems.model.Preconditioner_impl;
+
+import com.twx.linear_systems.model.Preconditioner;
+import com.twx.linear_systems.model.PreconditionerFactory;
+import org.apache.commons.math3.linear.RealMatrix;
+
+/**
+ * 零填充不完全 Cholesky 分解 IC(0) 预处理: M = L·L^T, L 只在 A 下三角的非零位置上有元素.
+ * 适用于对称正定矩阵 (与共轭梯度法配合); 只读取 A 的下三角部分.
+ * 对一般的对称正定矩阵 IC(0) 可能因对角元非正而失败, 此时应改用 SSOR 或雅可比预处理.
+ */
+public class IncompleteCholeskyPreconditioner implements PreconditionerFactory {
+
+    @Override
+    public String getName() {
+        return "不完全Cholesky分解 IC(0)";
+    }
+
+    @Override
+    public Preconditioner build(RealMatrix a) {
+        SparseRows l = SparseRows.of(a, true);
+        int n = l.n;
+        int[] rowStart = l.rowStart;
+        int[] cols = l.cols;
+        double[] v = l.values;
+        int[] diag = l.diag;  // 只存下三角时, 对角元是每行的最后一个元素
+
+        for (int i = 0; i < n; i++) {
+            // l_ik = (a_ik - Σ_{j<k} l_ij·l_kj) / l_kk, 两行的列号都升序, 按归并方式求内积
+            for (int p = rowStart[i]; p < diag[i]; p++) {
+                int k = cols[p];
+                double sum = v[p];
+                int q = rowStart[k];
+                for (int s = rowStart[i]; s < p; s++) {
+                    int j = cols[s];
+                    while (q < diag[k] && cols[q] < j) q++;
+                    if (q < diag[k] && cols[q] == j) sum -= v[s] * v[q];
+                }
+                v[p] = sum / v[diag[k]];
+            }
+            double d = v[diag[i]];
+            for (int p = rowStart[i]; p < diag[i]; p++) d -= v[p] * v[p];
+            if (!(d > 0.0)) {
+                throw new IllegalArgumentException("IC(0) 分解失败: 第 " + (i + 1) + " 个对角元非正, 矩阵可能不是对称正定的");
+            }
+            v[diag[i]] = Math.sqrt(d);
+        }
+
+        return (r, z) -> {
+            // L·y = r
+            for (int i = 0; i < n; i++) {
+                double sum = r[i];
+                for (int p = rowStart[i]; p < diag[i]; p++) sum -= v[p] * z[cols[p]];
+                z[i] = sum / v[diag[i]];
+            }
+            // L^T·z = y, 按 L 的行 (即 L^T 的列) 回代
+            for (int i = n - 1; i >= 0; i--) {
+                double zi = z[i] / v[diag[i]];
+                z[i] = zi;
+                for (int p = rowStart[i]; p < diag[i]; p++) z[cols[p]] -= v[p] * zi;
+            }
+        };
+    }
+}
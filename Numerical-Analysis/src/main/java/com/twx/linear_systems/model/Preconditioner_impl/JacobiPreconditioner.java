@@ -0,0 +1,35 @@
+// 文件路径: src/main/java/com/twx/linear_systems/model/Preconditioner_impl/JacobiPreconditioner.java
+package com.twx.linear_systems.model.Preconditioner_impl;
+
+import com.twx.linear_systems.model.Preconditioner;
+import com.twx.linear_systems.model.PreconditionerFactory;
+import org.apache.commons.math3.linear.RealMatrix;
+
+/**
+ * 雅可比 (对角) 预处理: M = D. 构造代价 O(n), 每次应用 O(n).
+ */
+public class JacobiPreconditioner implements PreconditionerFactory {
+
+    @Override
+    public String getName() {
+        return "雅可比 (对角) 预处理";
+    }
+
+    @Override
+    public Preconditioner build(RealMatrix a) {
+        int n = a.getRowDimension();
+        double[] inverseDiagonal = new double[n];
+        for (int i = 0; i < n; i++) {
+            double d = a.getEntry(i, i);
+            if (d == 0.0) {
+                throw new IllegalArgumentException("对角元 a" + (i + 1) + (i + 1) + " 为零, 无法使用雅可比预处理");
+            }
+            inverseDiagonal[i] = 1.0 / d;
+        }
+        return (r, z) -> {
+            for (int i = 0; i < r.length; i++) {
+                z[i] = r[i] * inverseDiagonal[i];
+            }
+        };
+    }
+}
@@ -0,0 +1,64 @@
+// 文件路径: src/main/java/com/twx/linear_systems/model/Preconditioner_impl/SparseRows.java
+package com.twx.linear_systems.model.Preconditioner_impl;
+
+import org.apache.commons.math3.linear.Array2DRowRealMatrix;
+import org.apache.commons.math3.linear.RealMatrix;
+
+/**
+ * 按行压缩存储 (CSR) 的稀疏矩阵, 用于不完全分解: 只保留原矩阵的非零位置, 各行列号升序.
+ * 第 i 行的元素位于 [rowStart[i], rowStart[i+1]), diag[i] 为对角元的位置.
+ */
+final class SparseRows {
+
+    final int n;
+    final int[] rowStart;
+    final int[] cols;
+    final double[] values;
+    final int[] diag;
+
+    private SparseRows(int n, int[] rowStart, int[] cols, double[] values, int[] diag) {
+        this.n = n;
+        this.rowStart = rowStart;
+        this.cols = cols;
+        this.values = values;
+        this.diag = diag;
+    }
+
+    /**
+     * 从稠密矩阵提取非零位置 (对角元总是保留).
+     * @param lowerOnly 只保留下三角部分 (含对角线)
+     */
+    static SparseRows of(RealMatrix matrix, boolean lowerOnly) {
+        double[][] a = dense(matrix);
+        int n = a.length;
+        int[] rowStart = new int[n + 1];
+        for (int i = 0; i < n; i++) {
+            int end = lowerOnly ? i + 1 : n;
+            int count = 0;
+            for (int j = 0; j < end; j++) {
+                if (a[i][j] != 0.0 || j == i) count++;
+            }
+            rowStart[i + 1] = rowStart[i] + count;
+        }
+        int[] cols = new int[rowStart[n]];
+        double[] values = new double[rowStart[n]];
+        int[] diag = new int[n];
+        for (int i = 0; i < n; i++) {
+            int end = lowerOnly ? i + 1 : n;
+            int p = rowStart[i];
+            for (int j = 0; j < end; j++) {
+                if (a[i][j] != 0.0 || j == i) {
+                    if (j == i) diag[i] = p;
+                    cols[p] = j;
+                    values[p++] = a[i][j];
+                }
+            }
+        }
+        return new SparseRows(n, rowStart, cols, values, diag);
+    }
+
+    /** Array2DRowRealMatrix 直接引用其内部数组 (只读), 其他实现复制一份. */
+    static double[][] dense(RealMatrix a) {
+        return (a instanceof Array2DRowRealMatrix dense) ? dense.getDataRef() : a.getData();
+    }
+}
@@ -0,0 +1,72 @@
+// 文件路径: src/main/java/com/twx/linear_systems/model/Preconditioner_impl/SsorPreconditioner.java
+package com.twx.linear_systems.model.Preconditioner_impl;
+
+import com.twx.linear_systems.model.Preconditioner;
+import com.twx.linear_systems.model.PreconditionerFactory;
+import org.apache.commons.math3.linear.RealMatrix;
+
+/**
+ * 对称逐次超松弛 (SSOR) 预处理:
+ * M = 1/(ω(2-ω)) · (D + ωL)·D^{-1}·(D + ωU) = 1/(2-ω) · (D/ω + L)·(D/ω)^{-1}·(D/ω + U), 其中 A = L + D + U.
+ * 这是 SSOR 迭代的分裂矩阵, 因此预处理 Richardson 迭代 x ← x + M^{-1}·r 与 SSOR 迭代相同.
+ * 不需要构造任何因子 (直接使用 A 的下三角和上三角部分), 每次应用为一次前代和一次回代.
+ * A 对称正定且 0 < ω < 2 时 M 也对称正定, 可用于共轭梯度法.
+ */
+public class SsorPreconditioner implements PreconditionerFactory {
+
+    private final double omega;
+
+    public SsorPreconditioner() {
+        this(1.0);
+    }
+
+    /**
+     * @param omega 松弛因子, 0 < omega < 2
+     */
+    public SsorPreconditioner(double omega) {
+        if (omega <= 0 || omega >= 2) {
+            throw new IllegalArgumentException("SSOR 的松弛因子必须在 (0, 2) 范围内: " + omega);
+        }
+        this.omega = omega;
+    }
+
+    @Override
+    public String getName() {
+        return "SSOR 预处理";
+    }
+
+    @Override
+    public Preconditioner build(RealMatrix matrix) {
+        double[][] a = SparseRows.dense(matrix);
+        int n = a.length;
+        for (int i = 0; i < n; i++) {
+            if (a[i][i] == 0.0) {
+                throw new IllegalArgumentException("对角元 a" + (i + 1) + (i + 1) + " 为零, 无法使用 SSOR 预处理");
+            }
+        }
+        double scale = 2.0 - omega;
+        return (r, z) -> {
+            // (D/ω + L)·y = r
+            for (int i = 0; i < n; i++) {
+                double[] row = a[i];
+                double sum = r[i];
+                for (int j = 0; j < i; j++) {
+                    sum -= row[j] * z[j];
+                }
+                z[i] = sum * omega / row[i];
+            }
+            // y ← (D/ω)·y, 再解 (D/ω + U)·z = y, 最后乘以 (2-ω)
+            for (int i = n - 1; i >= 0; i--) {
+                double[] row = a[i];
+                double sum = row[i] / omega * z[i];
+                for (int j = i + 1; j < n; j++) {
+                    sum -= row[j] * z[j];
+                }
+                z[i] = sum * omega / row[i];
+            }
+            for (int i = 0; i < n; i++) {
+                z[i] *= scale;
+            }
+        };
+    }
+}
@@ -3,4 +3,32 @@ package com.twx.linear_systems.model;
 
 import org.apache.commons.math3.linear.RealVector;
 
-public record VectorIterationState(int k, RealVector x_k, double residualNorm) {}
\ No newline at end of file
+/**
+ * 迭代法的一步状态.
+ * 为避免每步复制迭代向量, x_k 可能直接包装求解器内部的工作数组, 只保证在下一次调用 next() 之前有效;
+ * 需要长期保存该状态的调用方应使用 {@link #snapshot()}.
+ *
+ * @param residualNorm 残差 ||A·x_k - b||_2; 按收敛策略本步未计算残差时为 NaN
+ * @param updateNorm   修正量 ||x_k - x_{k-1}||∞; 求解器不提供时为 NaN
+ * @param status       本步之后的迭代状态, 不是 RUNNING 时这是最后一步
+ */
+public record VectorIterationState(int k, RealVector x_k, double residualNorm, double updateNorm, ConvergenceStatus status) {
+
+    public VectorIterationState(int k, RealVector x_k, double residualNorm) {
+        this(k, x_k, residualNorm, Double.NaN, ConvergenceStatus.RUNNING);
+    }
+
+    /**
+     * 本步是否计算了残差.
+     */
+    public boolean hasResidual() {
+        return !Double.isNaN(residualNorm);
+    }
+
+    /**
+     * @return 复制了 x_k 的独立状态, 不受后续迭代影响
+     */
+    public VectorIterationState snapshot() {
+        return new VectorIterationState(k, x_k.copy(), residualNorm, updateNorm, status);
+    }
+}
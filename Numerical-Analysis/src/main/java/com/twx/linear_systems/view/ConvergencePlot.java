@@ -1,13 +1,24 @@
 // 文件路径: src/com/twx/linear_systems/view/ConvergencePlot.java
 package com.twx.linear_systems.view;
 
+import com.twx.linear_systems.io.TraceReader;
 import com.twx.linear_systems.model.VectorIterationState;
 import javafx.scene.chart.LineChart;
 import javafx.scene.chart.NumberAxis;
 import javafx.scene.chart.XYChart;
 
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 残差收敛曲线. 每种方法对应一条曲线 (series), 可以叠加多种方法在同一输入上的收敛过程进行比较.
+ */
 public class ConvergencePlot extends LineChart<Number, Number> {
-    private final XYChart.Series<Number, Number> series;
+    /** 回放轨迹时一条曲线至多画这么多个点. */
+    private static final int MAX_REPLAY_POINTS = 2000;
+
+    private XYChart.Series<Number, Number> series;
 
     public ConvergencePlot() {
         super(new NumberAxis(), new NumberAxis());
@@ -15,17 +26,78 @@ public class ConvergencePlot extends LineChart<Number, Number> {
         getYAxis().setLabel("残差范数 ||Ax-b||");
         this.setTitle("迭代收敛过程");
         this.setAnimated(true);
+        startSeries("残差");
+    }
 
+    /**
+     * 开始一条新曲线, 此后 {@link #addState} 的数据都加入该曲线.
+     * @param name 图例中显示的名称 (通常为方法名)
+     */
+    public void startSeries(String name) {
+        if (series != null && series.getData().isEmpty()) {
+            // 尚无数据的曲线直接复用, 避免图例中出现空曲线
+            series.setName(name);
+            return;
+        }
         series = new XYChart.Series<>();
-        series.setName("残差");
+        series.setName(name);
         this.getData().add(series);
     }
 
+    /**
+     * 加入一个迭代状态; 未计算残差的状态 (只有修正量) 不画点.
+     */
     public void addState(VectorIterationState state) {
+        if (!state.hasResidual()) {
+            return;
+        }
         series.getData().add(new XYChart.Data<>(state.k(), state.residualNorm()));
     }
 
+    /**
+     * 把磁盘上的迭代轨迹回放为一条新曲线 (见 {@link #replayPoints}).
+     * @param name 图例中显示的名称
+     */
+    public void replay(TraceReader trace, String name) throws IOException {
+        addSeries(name, replayPoints(trace));
+    }
+
+    /**
+     * 读出轨迹中的残差点, 可以在后台线程上调用.
+     * 残差点很多时等间隔抽取至多 {@value #MAX_REPLAY_POINTS} 个 (保留最后一个), 避免图表节点过多.
+     */
+    public static List<XYChart.Data<Number, Number>> replayPoints(TraceReader trace) throws IOException {
+        int total = trace.residualCount();
+        int stride = Math.max(1, (total + MAX_REPLAY_POINTS - 1) / MAX_REPLAY_POINTS);
+        List<XYChart.Data<Number, Number>> points = new ArrayList<>(Math.min(total, MAX_REPLAY_POINTS + 1));
+        int[] index = {0};
+        trace.forEachStep((k, residualNorm, updateNorm, status) -> {
+            if (Double.isNaN(residualNorm)) {
+                return;
+            }
+            int i = index[0]++;
+            if (i % stride == 0 || i == total - 1) {
+                points.add(new XYChart.Data<>(k, residualNorm));
+            }
+        });
+        return points;
+    }
+
+    /**
+     * 以给定的点开始一条新曲线, 所有点一次性加入.
+     * @param name 图例中显示的名称
+     */
+    public void addSeries(String name, List<XYChart.Data<Number, Number>> points) {
+        startSeries(name);
+        series.getData().addAll(points);
+    }
+
+    /**
+     * 清除所有曲线.
+     */
     public void clear() {
-        series.getData().clear();
+        this.getData().clear();
+        series = null;
+        startSeries("残差");
     }
-}
\ No newline at end of file
+}
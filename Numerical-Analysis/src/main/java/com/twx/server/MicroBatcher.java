@@ -0,0 +1,138 @@
+// 文件路径: src/main/java/com/twx/server/MicroBatcher.java
+package com.twx.server;
+
+import com.twx.batch.BatchJob;
+import com.twx.batch.BatchResult;
+import com.twx.batch.BatchRunner;
+import com.twx.batch.Cancellation;
+import com.twx.batch.SolveService;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 把同时到达的小作业合并成一批, 作为 {@link SolveService} 的一个作业在同一个工作线程上依次执行,
+ * 省去每个小作业各自排队、调度的开销. 第一个作业到达后最多再等待 window, 或攒够 maxBatch 个作业就提交.
+ * 每个作业仍有自己的 future 和时限; 超时或取消的作业在轮到它时被跳过, 正在运行时在下一步迭代前停止.
+ */
+final class MicroBatcher implements AutoCloseable {
+
+    private record Item(BatchJob job, CompletableFuture<BatchResult> future, Cancellation cancellation) {
+    }
+
+    private final SolveService service;
+    private final Duration window;
+    private final int maxBatch;
+    private final BlockingQueue<Item> queue = new LinkedBlockingQueue<>();
+    private final Thread collector;
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder batchedJobs = new LongAdder();
+    private volatile boolean closed;
+
+    MicroBatcher(SolveService service, Duration window, int maxBatch) {
+        this.service = service;
+        this.window = window;
+        this.maxBatch = maxBatch;
+        this.collector = new Thread(this::collect, "micro-batcher");
+        this.collector.setDaemon(true);
+        this.collector.start();
+    }
+
+    /**
+     * @param timeout 从提交开始计算的时限; 为 null 时不限时
+     * @throws IllegalStateException 已经关闭时
+     */
+    CompletableFuture<BatchResult> submit(BatchJob job, Duration timeout) {
+        if (closed) {
+            throw new IllegalStateException("求解服务已经关闭");
+        }
+        Cancellation cancellation = new Cancellation();
+        CompletableFuture<BatchResult> future = new CompletableFuture<>();
+        future.whenComplete((result, error) -> {
+            if (error != null) {
+                cancellation.cancel(error instanceof CancellationException ? "已取消" : "超时");
+            }
+        });
+        if (timeout != null) {
+            future.orTimeout(timeout.toNanos(), TimeUnit.NANOSECONDS);
+        }
+        Item item = new Item(job, future, cancellation);
+        queue.add(item);
+        if (closed && queue.remove(item)) {
+            // close() 在上面的检查之后清空了队列, 没有看到这一项; 否则 close() 已经取消了它
+            future.cancel(false);
+        }
+        return future;
+    }
+
+    /** 已提交的批数. */
+    long batches() {
+        return batches.sum();
+    }
+
+    /** 经由合并提交的作业数. */
+    long batchedJobs() {
+        return batchedJobs.sum();
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        collector.interrupt();
+        List<Item> rest = new ArrayList<>();
+        queue.drainTo(rest);
+        rest.forEach(item -> item.future().cancel(false));
+    }
+
+    private void collect() {
+        List<Item> batch = new ArrayList<>(maxBatch);
+        try {
+            while (!closed) {
+                batch.add(queue.take());
+                long deadline = System.nanoTime() + window.toNanos();
+                while (batch.size() < maxBatch) {
+                    long remaining = deadline - System.nanoTime();
+                    Item next = remaining > 0 ? queue.poll(remaining, TimeUnit.NANOSECONDS) : queue.poll();
+                    if (next == null) break;
+                    batch.add(next);
+                }
+                dispatch(List.copyOf(batch));
+                batch.clear();
+            }
+        } catch (InterruptedException e) {
+            batch.forEach(item -> item.future().cancel(false));
+        }
+    }
+
+    private void dispatch(List<Item> batch) {
+        batches.increment();
+        batchedJobs.add(batch.size());
+        try {
+            service.submit(cancellation -> {
+                for (Item item : batch) {
+                    if (cancellation.isCancelled()) {
+                        item.future().cancel(false);  // 服务关闭
+                    }
+                    if (item.future().isDone()) continue;
+                    try {
+                        item.future().complete(BatchRunner.run(item.job(), item.cancellation(), service.cache()));
+                    } catch (CancellationException e) {
+                        item.future().cancel(false);
+                    } catch (Throwable e) {
+                        item.future().completeExceptionally(e);
+                    }
+                }
+                return batch.size();
+            }, null);
+        } catch (IllegalStateException e) {
+            batch.forEach(item -> item.future().completeExceptionally(e));
+        }
+    }
+}
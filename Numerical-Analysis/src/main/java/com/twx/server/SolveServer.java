@@ -0,0 +1,477 @@
+// 文件路径: src/main/java/com/twx/server/SolveServer.java
+package com.twx.server;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import com.twx.batch.BatchCache;
+import com.twx.batch.BatchJob;
+import com.twx.batch.BatchResult;
+import com.twx.batch.SolveService;
+import com.twx.cache.ResultCache;
+import com.twx.linear_systems.io.BinaryMatrixFile;
+import com.twx.linear_systems.metrics.SolveMetrics;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 内嵌的 HTTP/JSON 求解服务 (JDK 自带的 com.sun.net.httpserver, 无外部依赖), 缺省只监听 127.0.0.1.
+ * <ul>
+ *     <li>{@code POST /solve/direct}、{@code POST /solve/iterative}、{@code POST /solve/root}: 请求体为 JSON 对象,
+ *         键与批处理作业文件相同 (见 {@link BatchJob}), 另外 matrix 可以是二维数组, vector / initial 可以是一维数组,
+ *         timeout 为本请求的时限 (秒). 例如
+ *         {@code {"method": "gauss", "matrix": [[4, 1], [1, 3]], "vector": [1, 2]}}.
+ *         不接受服务器上的文件路径 (matrix、vector、initial 为字符串, 以及 trace、output、solution.binary).</li>
+ *     <li>{@code POST /solve/binary?type=iterative&method=cg&tolerance=1e-8}: 大规模方程组以流的方式上传,
+ *         请求体为 {@link BinaryMatrixFile} 格式的矩阵, 可以紧跟一个同格式的向量 b (也可以用 vector.fill 等查询参数给出);
+ *         请求体边读边写入临时文件, 再映射求解, 不在堆上缓存. 请求头 Accept 为 application/octet-stream 时,
+ *         解向量以同样的二进制格式返回, 状态放在 X-Status、X-Iterations、X-Residual 响应头中 (X-Status 按 URL 编码).</li>
+ *     <li>{@code GET /stats}: 求解服务的统计 (队列深度、吞吐量等)、合并提交的批数和结果缓存的命中率.</li>
+ * </ul>
+ * 求根请求和请求体不超过 {@value #SMALL_REQUEST_BYTES} 字节的线性方程组请求经 {@link MicroBatcher} 合并,
+ * 同时到达的小请求在同一个工作线程上依次求解; 其他请求各自作为一个作业提交.
+ * 结果为 JSON 对象 (与 {@link BatchResult} 的内容相同); 作业无效时返回 400, 超时返回 504, 其他错误返回 500,
+ * 错误的响应体为 {@code {"error": "原因"}}.
+ * 以 --cache (内存上限, MB) 或 --cache-dir (磁盘层目录) 启动时, 内容相同的请求直接返回缓存的结果 (见 {@link BatchCache}).
+ * <pre>
+ * java -cp ... com.twx.server.SolveServer --port 8080 -j 4 --timeout 60 --cache 256
+ * java -cp ... com.twx.Main --serve --port 8080
+ * </pre>
+ */
+public final class SolveServer implements AutoCloseable {
+
+    /** 不超过这么多字节的请求体视为小请求, 参与合并. */
+    static final int SMALL_REQUEST_BYTES = 16 * 1024;
+    /** 合并窗口: 第一个小请求到达后最多再等待这么久. */
+    private static final Duration BATCH_WINDOW = Duration.ofMillis(2);
+    private static final int MAX_BATCH = 64;
+
+    /** 值为服务器上文件路径的键; matrix / vector / initial 另外允许以数组给出. */
+    private static final Set<String> PATH_KEYS = Set.of("matrix", "vector", "initial", "trace", "output", "solution.binary");
+
+    private static final String JSON = "application/json; charset=utf-8";
+    private static final String BINARY = "application/octet-stream";
+
+    private final HttpServer server;
+    private final ExecutorService handlers;
+    private final SolveService service;
+    private final MicroBatcher batcher;
+    private final Duration timeout;
+
+    private SolveServer(HttpServer server, int threads, Duration timeout, BatchCache cache) {
+        this.server = server;
+        this.timeout = timeout;
+        this.service = new SolveService(threads, cache);
+        this.batcher = new MicroBatcher(service, BATCH_WINDOW, MAX_BATCH);
+        AtomicInteger counter = new AtomicInteger();
+        this.handlers = Executors.newCachedThreadPool(r -> {
+            Thread thread = new Thread(r, "http-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        server.setExecutor(handlers);
+        server.createContext("/solve/direct", exchange -> handle(exchange, () -> solveJson(exchange, BatchJob.Type.DIRECT)));
+        server.createContext("/solve/iterative", exchange -> handle(exchange, () -> solveJson(exchange, BatchJob.Type.ITERATIVE)));
+        server.createContext("/solve/root", exchange -> handle(exchange, () -> solveJson(exchange, BatchJob.Type.ROOT)));
+        server.createContext("/solve/binary", exchange -> handle(exchange, () -> solveBinary(exchange)));
+        server.createContext("/stats", exchange -> handle(exchange, () -> stats(exchange)));
+    }
+
+    /**
+     * 启动服务.
+     * @param address 监听地址; 端口为 0 时由系统分配 (见 {@link #port()})
+     * @param threads 同时求解的作业数
+     * @param timeout 每个请求的缺省时限; 为 null 时不限时
+     * @throws IOException 无法监听该地址时
+     */
+    public static SolveServer start(InetSocketAddress address, int threads, Duration timeout) throws IOException {
+        return start(address, threads, timeout, null);
+    }
+
+    /**
+     * @param cache 结果缓存; 为 null 时不使用缓存
+     * @throws IOException 无法监听该地址时
+     */
+    public static SolveServer start(InetSocketAddress address, int threads, Duration timeout, BatchCache cache)
+            throws IOException {
+        SolveServer solveServer = new SolveServer(HttpServer.create(address, 0), threads, timeout, cache);
+        solveServer.server.start();
+        return solveServer;
+    }
+
+    public int port() {
+        return server.getAddress().getPort();
+    }
+
+    /**
+     * 停止接受请求, 取消未完成的作业.
+     */
+    @Override
+    public void close() {
+        server.stop(0);
+        batcher.close();
+        service.close();
+        handlers.shutdownNow();
+    }
+
+    public static void main(String[] args) {
+        String host = "127.0.0.1";
+        int port = 8080;
+        int threads = Runtime.getRuntime().availableProcessors();
+        Duration timeout = null;
+        long cacheMegabytes = 0;
+        String cacheDir = null;
+        BatchCache cache = null;
+        try {
+            for (int i = 0; i < args.length; i++) {
+                switch (args[i]) {
+                    case "--host" -> host = args[++i];
+                    case "--port" -> port = Integer.parseInt(args[++i]);
+                    case "-j" -> threads = Integer.parseInt(args[++i]);
+                    case "--timeout" -> timeout = Duration.ofMillis(Math.round(Double.parseDouble(args[++i]) * 1000));
+                    case "--cache" -> cacheMegabytes = Long.parseLong(args[++i]);
+                    case "--cache-dir" -> cacheDir = args[++i];
+                    default -> throw new IllegalArgumentException("未知的选项 " + args[i]);
+                }
+            }
+            cache = BatchCache.create(cacheMegabytes, cacheDir);
+        } catch (ArrayIndexOutOfBoundsException | IllegalArgumentException e) {
+            System.err.println("用法: SolveServer [--host 地址] [--port 端口] [-j 并发数] [--timeout 秒] [--cache MB] [--cache-dir 目录]");
+            System.exit(2);
+        }
+        try {
+            SolveServer solveServer = start(new InetSocketAddress(host, port), threads, timeout, cache);
+            System.err.printf("求解服务已启动: http://%s:%d/ (%d 个工作线程)%n", host, solveServer.port(), threads);
+        } catch (IOException e) {
+            System.err.println("无法启动求解服务: " + e.getMessage());
+            System.exit(1);
+        }
+    }
+
+    @FunctionalInterface
+    private interface Handler {
+        void run() throws Exception;
+    }
+
+    /** 统一把异常转换为 HTTP 状态码. */
+    private static void handle(HttpExchange exchange, Handler handler) {
+        try (exchange) {
+            try {
+                handler.run();
+            } catch (Exception e) {
+                Throwable cause = (e instanceof CompletionException && e.getCause() != null) ? e.getCause() : e;
+                int status;
+                String message;
+                if (cause instanceof TimeoutException) {
+                    status = 504;
+                    message = "超时";
+                } else if (cause instanceof CancellationException) {
+                    status = 503;
+                    message = "作业已取消";
+                } else if (cause instanceof IllegalArgumentException || cause instanceof UnsupportedOperationException) {
+                    status = 400;
+                    message = cause.getMessage();
+                } else if (cause instanceof HttpError error) {
+                    status = error.status;
+                    message = error.getMessage();
+                } else {
+                    status = 500;
+                    message = String.valueOf(cause);
+                }
+                respond(exchange, status, JSON, ("{\"error\": " + Json.quote(String.valueOf(message)) + "}\n")
+                        .getBytes(StandardCharsets.UTF_8));
+            }
+        } catch (IOException ignored) {
+            // 客户端已断开
+        }
+    }
+
+    private void solveJson(HttpExchange exchange, BatchJob.Type type) throws Exception {
+        requireMethod(exchange, "POST");
+        requireExactPath(exchange);
+        byte[] body = exchange.getRequestBody().readAllBytes();
+        if (!(Json.parse(new String(body, StandardCharsets.UTF_8)) instanceof Map<?, ?> request)) {
+            throw new IllegalArgumentException("请求体必须是 JSON 对象");
+        }
+        Properties properties = new Properties();
+        properties.setProperty("type", type.name().toLowerCase());
+        Duration requestTimeout = timeout;
+        for (Map.Entry<?, ?> entry : request.entrySet()) {
+            String key = (String) entry.getKey();
+            Object value = entry.getValue();
+            if (key.equals("type")) {
+                continue;
+            }
+            if (key.equals("timeout")) {
+                requestTimeout = Duration.ofMillis(Math.round(toDouble(value, key) * 1000));
+            } else if (value instanceof List<?> list && key.equals("matrix")) {
+                properties.setProperty("matrix.inline", matrixText(list));
+            } else if (value instanceof List<?> list && (key.equals("vector") || key.equals("initial"))) {
+                properties.setProperty(key + ".inline", vectorText(list, key));
+            } else {
+                properties.setProperty(checkKey(key), scalarText(value, key));
+            }
+        }
+        BatchJob job = BatchJob.of(properties);
+        CompletableFuture<BatchResult> result = (type == BatchJob.Type.ROOT || body.length <= SMALL_REQUEST_BYTES)
+                ? batcher.submit(job, requestTimeout)
+                : service.submit(job, requestTimeout);
+        respond(exchange, 200, JSON, toJson(result.join()).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private void solveBinary(HttpExchange exchange) throws Exception {
+        requireMethod(exchange, "POST");
+        requireExactPath(exchange);
+        Properties properties = new Properties();
+        String query = exchange.getRequestURI().getRawQuery();
+        if (query != null) {
+            for (String pair : query.split("&")) {
+                if (pair.isEmpty()) continue;
+                int eq = pair.indexOf('=');
+                String key = URLDecoder.decode(eq < 0 ? pair : pair.substring(0, eq), StandardCharsets.UTF_8);
+                String value = eq < 0 ? "" : URLDecoder.decode(pair.substring(eq + 1), StandardCharsets.UTF_8);
+                properties.setProperty(checkKey(key), value);
+            }
+        }
+        if (!properties.containsKey("type")) {
+            properties.setProperty("type", "iterative");
+        }
+        Duration requestTimeout = properties.containsKey("timeout")
+                ? Duration.ofMillis(Math.round(Double.parseDouble(properties.getProperty("timeout")) * 1000))
+                : timeout;
+
+        Path matrixFile = Files.createTempFile("request", ".namx");
+        Path vectorFile = null;
+        try {
+            try (InputStream in = exchange.getRequestBody()) {
+                if (!receiveFile(in, matrixFile)) {
+                    throw new IllegalArgumentException("请求体为空, 应为二进制格式的矩阵");
+                }
+                properties.setProperty("matrix", matrixFile.toAbsolutePath().toString());
+                Path candidate = Files.createTempFile("request", ".namx");
+                if (receiveFile(in, candidate)) {
+                    vectorFile = candidate;
+                    properties.setProperty("vector", vectorFile.toAbsolutePath().toString());
+                } else {
+                    Files.delete(candidate);
+                }
+            }
+            BatchResult result = service.submit(BatchJob.of(properties), requestTimeout).join();
+            String accept = exchange.getRequestHeaders().getFirst("Accept");
+            if (accept != null && accept.contains(BINARY) && result.solution() != null) {
+                respondBinary(exchange, result);
+            } else {
+                respond(exchange, 200, JSON, toJson(result).getBytes(StandardCharsets.UTF_8));
+            }
+        } finally {
+            Files.deleteIfExists(matrixFile);
+            if (vectorFile != null) {
+                Files.deleteIfExists(vectorFile);
+            }
+        }
+    }
+
+    private void stats(HttpExchange exchange) throws IOException {
+        requireMethod(exchange, "GET");
+        requireExactPath(exchange);
+        SolveService.Stats stats = service.stats();
+        String json = "{\"queued\": " + stats.queued()
+                + ", \"running\": " + stats.running()
+                + ", \"submitted\": " + stats.submitted()
+                + ", \"completed\": " + stats.completed()
+                + ", \"failed\": " + stats.failed()
+                + ", \"cancelled\": " + stats.cancelled()
+                + ", \"timedOut\": " + stats.timedOut()
+                + ", \"throughput\": " + Json.number(stats.throughput())
+                + ", \"meanWaitMillis\": " + Json.number(stats.meanWaitMillis())
+                + ", \"meanRunMillis\": " + Json.number(stats.meanRunMillis())
+                + ", \"batches\": " + batcher.batches()
+                + ", \"batchedJobs\": " + batcher.batchedJobs()
+                + cacheStats() + "}\n";
+        respond(exchange, 200, JSON, json.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private String cacheStats() {
+        if (service.cache() == null) {
+            return "";
+        }
+        ResultCache.Stats cache = service.cache().stats();
+        return ", \"cache\": {\"hits\": " + cache.hits()
+                + ", \"diskHits\": " + cache.diskHits()
+                + ", \"misses\": " + cache.misses()
+                + ", \"hitRatio\": " + Json.number(cache.hitRatio())
+                + ", \"entries\": " + cache.entries()
+                + ", \"bytes\": " + cache.bytes()
+                + ", \"evictions\": " + cache.evictions() + "}";
+    }
+
+    /**
+     * 从流中读出一个完整的二进制矩阵文件 (长度由文件头决定) 并写入 file.
+     * @return 流已经结束 (没有更多文件) 时返回 false
+     * @throws IllegalArgumentException 文件头无效或数据被截断时
+     */
+    private static boolean receiveFile(InputStream in, Path file) throws IOException {
+        byte[] header = in.readNBytes(BinaryMatrixFile.HEADER_BYTES);
+        if (header.length == 0) {
+            return false;
+        }
+        long remaining = BinaryMatrixFile.parseHeader(header).fileBytes() - header.length;
+        try (OutputStream out = Files.newOutputStream(file)) {
+            out.write(header);
+            byte[] buffer = new byte[1 << 16];
+            while (remaining > 0) {
+                int read = in.read(buffer, 0, (int) Math.min(buffer.length, remaining));
+                if (read < 0) {
+                    throw new IllegalArgumentException("请求体被截断: 还缺 " + remaining + " 字节");
+                }
+                out.write(buffer, 0, read);
+                remaining -= read;
+            }
+        }
+        return true;
+    }
+
+    private static void respondBinary(HttpExchange exchange, BatchResult result) throws IOException {
+        Path file = Files.createTempFile("solution", ".namx");
+        try {
+            BinaryMatrixFile.writeVector(result.solution(), file);
+            exchange.getResponseHeaders().set("X-Status", URLEncoder.encode(result.status(), StandardCharsets.UTF_8));
+            exchange.getResponseHeaders().set("X-Iterations", Integer.toString(result.iterations()));
+            exchange.getResponseHeaders().set("X-Residual", Double.toString(result.residualNorm()));
+            exchange.getResponseHeaders().set("Content-Type", BINARY);
+            exchange.sendResponseHeaders(200, Files.size(file));
+            try (OutputStream out = exchange.getResponseBody()) {
+                Files.copy(file, out);
+            }
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    private static void respond(HttpExchange exchange, int status, String contentType, byte[] body) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", contentType);
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    static String toJson(BatchResult result) {
+        StringBuilder json = new StringBuilder(256);
+        json.append("{\"type\": ").append(Json.quote(result.type().name().toLowerCase()))
+                .append(", \"method\": ").append(Json.quote(result.method()))
+                .append(", \"status\": ").append(Json.quote(result.status()))
+                .append(", \"iterations\": ").append(result.iterations())
+                .append(", \"residual\": ").append(Json.number(result.residualNorm()))
+                .append(", \"setupMillis\": ").append(Json.number(result.setupMillis()))
+                .append(", \"solveMillis\": ").append(Json.number(result.solveMillis()));
+        SolveMetrics metrics = result.metrics();
+        json.append(", \"metrics\": {\"totalMillis\": ").append(Json.number(metrics.totalMillis()))
+                .append(", \"flops\": ").append(Json.number(metrics.flops()))
+                .append(", \"gflops\": ").append(Json.number(metrics.gflops()))
+                .append(", \"allocatedBytes\": ").append(metrics.allocatedBytes())
+                .append(", \"phases\": {");
+        for (int i = 0; i < metrics.phases().size(); i++) {
+            SolveMetrics.Phase phase = metrics.phases().get(i);
+            json.append(i == 0 ? "" : ", ").append(Json.quote(phase.name())).append(": ").append(Json.number(phase.millis()));
+        }
+        json.append("}}, \"solution\": ");
+        if (result.solution() == null) {
+            json.append("null");
+        } else {
+            json.append('[');
+            double[] x = result.solution();
+            for (int i = 0; i < x.length; i++) {
+                json.append(i == 0 ? "" : ", ").append(Json.number(x[i]));
+            }
+            json.append(']');
+        }
+        return json.append("}\n").toString();
+    }
+
+    private static String checkKey(String key) {
+        if (PATH_KEYS.contains(key)) {
+            throw new IllegalArgumentException("不接受服务器上的文件路径: " + key);
+        }
+        return key;
+    }
+
+    private static String matrixText(List<?> rows) {
+        StringBuilder text = new StringBuilder();
+        for (Object row : rows) {
+            if (!(row instanceof List<?> values)) {
+                throw new IllegalArgumentException("matrix 必须是二维数组");
+            }
+            if (text.length() > 0) text.append(';');
+            text.append(vectorText(values, "matrix"));
+        }
+        return text.toString();
+    }
+
+    private static String vectorText(List<?> values, String key) {
+        StringBuilder text = new StringBuilder();
+        for (Object value : values) {
+            if (text.length() > 0) text.append(' ');
+            text.append(toDouble(value, key));
+        }
+        return text.toString();
+    }
+
+    private static double toDouble(Object value, String key) {
+        if (value instanceof Double d) return d;
+        throw new IllegalArgumentException(key + " 的元素必须是数值");
+    }
+
+    /** 标量的文本形式; 整数值的数值写成整数, 以便按整数读取 (如 maxIterations). */
+    private static String scalarText(Object value, String key) {
+        if (value instanceof String s) return s;
+        if (value instanceof Boolean b) return b.toString();
+        if (value instanceof Double d) {
+            return (d == Math.rint(d) && Math.abs(d) < 1e15) ? Long.toString(d.longValue()) : d.toString();
+        }
+        throw new IllegalArgumentException(key + " 的值必须是数值、字符串或布尔值");
+    }
+
+    private static void requireMethod(HttpExchange exchange, String method) {
+        if (!exchange.getRequestMethod().equalsIgnoreCase(method)) {
+            throw new HttpError(405, "只支持 " + method + " 请求");
+        }
+    }
+
+    private static void requireExactPath(HttpExchange exchange) {
+        if (!exchange.getRequestURI().getPath().equals(exchange.getHttpContext().getPath())) {
+            throw new HttpError(404, "未知的路径 " + exchange.getRequestURI().getPath());
+        }
+    }
+
+    /** 带状态码的请求错误. */
+    private static final class HttpError extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        final int status;
+
+        HttpError(int status, String message) {
+            super(message);
+            this.status = status;
+        }
+    }
+}